@@ -0,0 +1,185 @@
+package fr.cnam.stefangeorgesco.dmp.domain.service;
+
+import fr.cnam.stefangeorgesco.dmp.utils.FulltextQuery;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.*;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comparaison de la recherche de dossiers patients par {@code LIKE '%...%'}
+ * (requête de {@code PatientFileDAO.findByIdOrFirstnameOrLastname}) et par
+ * l'index FULLTEXT ngram de la migration V12
+ * ({@code PatientFileDAO.findIdsByFulltext}), sur un jeu de données généré de
+ * {@code files} dossiers patients.
+ * 
+ * La recherche plein texte n'existe pas sur H2 : le benchmark nécessite une base
+ * MySQL dédiée, désignée par les propriétés système {@code benchmark.db.url},
+ * {@code benchmark.db.username} et {@code benchmark.db.password}. Les tables
+ * {@code t_file} et {@code t_patient_file} de cette base sont recréées si elles
+ * ne contiennent pas le nombre de dossiers attendu.
+ * 
+ * Lancement : {@code ./gradlew jmh}
+ * 
+ * @author Stéfan Georgesco
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileSearchBenchmark {
+
+	private static final String LIKE_SQL = "select f.id, f.firstname, f.lastname from t_file f "
+			+ "join t_patient_file p on p.id = f.id "
+			+ "where (lower(f.id) like lower(concat('%', ?, '%')) "
+			+ "or lower(f.firstname) like lower(concat('%', ?, '%')) "
+			+ "or lower(f.lastname) like lower(concat('%', ?, '%'))) "
+			+ "order by f.id limit ?";
+
+	private static final String FULLTEXT_SQL = "(select f.id from t_file f join t_patient_file p on p.id = f.id "
+			+ "where match(f.firstname, f.lastname) against (? in boolean mode) and f.id > '' "
+			+ "order by f.id limit ?) "
+			+ "union "
+			+ "(select p.id from t_patient_file p where p.id like concat(?, '%') and p.id > '' "
+			+ "order by p.id limit ?) "
+			+ "order by id limit ?";
+
+	private static final String[] FIRSTNAMES = { "Jean", "Marie", "Pierre", "Sophie", "Lucas", "Camille", "Hugo",
+			"Léa", "Louis", "Chloé", "Gabriel", "Manon", "Arthur", "Inès", "Jules", "Sarah", "Nathan", "Emma",
+			"Raphaël", "Jade", "Éric", "Zoé", "Noah", "Alice" };
+
+	private static final String[] LASTNAMES = { "Martin", "Bernard", "Dubois", "Thomas", "Robert", "Richard",
+			"Petit", "Durand", "Leroy", "Moreau", "Simon", "Laurent", "Lefebvre", "Michel", "Garcia", "David",
+			"Bertrand", "Roux", "Vincent", "Fournier", "Morel", "Girard", "André", "Mercier", "Dupont", "Lambert" };
+
+	@Param({ "1000000" })
+	private int files;
+
+	@Param({ "ma", "martin", "dupo", "P0000012", "zzz" })
+	private String q;
+
+	@Param({ "21" })
+	private int limit;
+
+	private Connection connection;
+
+	private PreparedStatement likeStatement;
+
+	private PreparedStatement fulltextStatement;
+
+	@Setup
+	public void setup() throws SQLException {
+
+		connection = DriverManager.getConnection(
+				System.getProperty("benchmark.db.url",
+						"jdbc:mysql://localhost:3306/dmp-benchmark?serverTimezone=Europe/Paris&rewriteBatchedStatements=true"),
+				System.getProperty("benchmark.db.username", "dmp-oauth-admin"),
+				System.getProperty("benchmark.db.password", "password"));
+
+		if (countFiles() != files) {
+			generateFiles();
+		}
+
+		likeStatement = connection.prepareStatement(LIKE_SQL);
+		fulltextStatement = connection.prepareStatement(FULLTEXT_SQL);
+	}
+
+	@TearDown
+	public void tearDown() throws SQLException {
+		likeStatement.close();
+		fulltextStatement.close();
+		connection.close();
+	}
+
+	@Benchmark
+	public void like(Blackhole blackhole) throws SQLException {
+
+		likeStatement.setString(1, q);
+		likeStatement.setString(2, q);
+		likeStatement.setString(3, q);
+		likeStatement.setInt(4, limit);
+
+		try (ResultSet resultSet = likeStatement.executeQuery()) {
+			while (resultSet.next()) {
+				blackhole.consume(resultSet.getString(1));
+			}
+		}
+	}
+
+	@Benchmark
+	public void fulltext(Blackhole blackhole) throws SQLException {
+
+		fulltextStatement.setString(1, FulltextQuery.phrase(q));
+		fulltextStatement.setInt(2, limit);
+		fulltextStatement.setString(3, q);
+		fulltextStatement.setInt(4, limit);
+		fulltextStatement.setInt(5, limit);
+
+		try (ResultSet resultSet = fulltextStatement.executeQuery()) {
+			while (resultSet.next()) {
+				blackhole.consume(resultSet.getString(1));
+			}
+		}
+	}
+
+	private int countFiles() throws SQLException {
+
+		try (Statement statement = connection.createStatement();
+				ResultSet resultSet = statement.executeQuery("select count(*) from t_patient_file")) {
+			resultSet.next();
+			return resultSet.getInt(1);
+		} catch (SQLSyntaxErrorException e) {
+			return -1;
+		}
+	}
+
+	private void generateFiles() throws SQLException {
+
+		try (Statement ddl = connection.createStatement()) {
+			ddl.execute("drop table if exists t_patient_file");
+			ddl.execute("drop table if exists t_file");
+			ddl.execute("create table t_file (id varchar(255) not null, firstname varchar(255) not null, "
+					+ "lastname varchar(255) not null, primary key (id)) engine=InnoDB");
+			ddl.execute("create table t_patient_file (id varchar(255) not null, primary key (id), "
+					+ "constraint fk_benchmark_file foreign key (id) references t_file (id) on delete cascade) "
+					+ "engine=InnoDB");
+		}
+
+		Random random = new Random(42);
+		connection.setAutoCommit(false);
+
+		try (PreparedStatement file = connection
+				.prepareStatement("insert into t_file (id, firstname, lastname) values (?, ?, ?)");
+				PreparedStatement patientFile = connection
+						.prepareStatement("insert into t_patient_file (id) values (?)")) {
+			for (int i = 1; i <= files; i++) {
+				String id = String.format("P%07d", i);
+				file.setString(1, id);
+				file.setString(2, FIRSTNAMES[random.nextInt(FIRSTNAMES.length)]);
+				file.setString(3, LASTNAMES[random.nextInt(LASTNAMES.length)] + random.nextInt(1000));
+				file.addBatch();
+				patientFile.setString(1, id);
+				patientFile.addBatch();
+				if (i % 10000 == 0) {
+					file.executeBatch();
+					patientFile.executeBatch();
+					connection.commit();
+				}
+			}
+			file.executeBatch();
+			patientFile.executeBatch();
+			connection.commit();
+		} finally {
+			connection.setAutoCommit(true);
+		}
+
+		try (Statement ddl = connection.createStatement()) {
+			ddl.execute("create fulltext index ftx_file_name on t_file (firstname, lastname) with parser ngram");
+		}
+	}
+}
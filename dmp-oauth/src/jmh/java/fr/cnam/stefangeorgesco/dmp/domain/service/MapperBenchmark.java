@@ -0,0 +1,186 @@
+package fr.cnam.stefangeorgesco.dmp.domain.service;
+
+import fr.cnam.stefangeorgesco.dmp.configuration.MapperConfig;
+import fr.cnam.stefangeorgesco.dmp.domain.dto.*;
+import fr.cnam.stefangeorgesco.dmp.domain.model.*;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comparaison de la conversion en objets DTO par les mappeurs
+ * {@link ModelMapper} de {@link MapperConfig} et par les conversions écrites
+ * explicitement de {@link MapperServiceImpl}, sur une liste de {@code size}
+ * éléments médicaux (les cinq types, répartis également) et de {@code size}
+ * dossiers patients, comme pour les réponses des services de liste.
+ *
+ * Lancement : {@code ./gradlew jmh}
+ *
+ * @author Stéfan Georgesco
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+	@Param({ "1", "50", "500" })
+	private int size;
+
+	private ModelMapper commonModelMapper;
+
+	private ModelMapper diagnosisModelMapper;
+
+	private ModelMapper actModelMapper;
+
+	private ModelMapper patientFileModelMapper;
+
+	private MapperService mapperService;
+
+	private List<PatientFileItem> items;
+
+	private List<PatientFile> patientFiles;
+
+	@Setup
+	public void setup() {
+
+		MapperConfig mapperConfig = new MapperConfig();
+		commonModelMapper = mapperConfig.commonModelMapper();
+		diagnosisModelMapper = mapperConfig.diagnosisModelMapper();
+		actModelMapper = mapperConfig.actModelMapper();
+		patientFileModelMapper = mapperConfig.patientFileModelMapper();
+		mapperService = new MapperServiceImpl();
+
+		Specialty specialty = new Specialty();
+		specialty.setId("S001");
+		specialty.setDescription("Cardiologie");
+
+		Doctor doctor = new Doctor();
+		doctor.setId("D001");
+		doctor.setFirstname("Patrick");
+		doctor.setLastname("Dubois");
+		doctor.setSpecialties(List.of(specialty));
+
+		Address address = new Address();
+		address.setStreet1("1 Rue Lecourbe");
+		address.setZipcode("75015");
+		address.setCity("Paris");
+		address.setCountry("France");
+
+		Disease disease = new Disease();
+		disease.setId("J11");
+		disease.setDescription("Grippe, virus non identifié");
+
+		MedicalAct medicalAct = new MedicalAct();
+		medicalAct.setId("HBQK002");
+		medicalAct.setDescription("Radiographie panoramique dentomaxillaire");
+
+		items = new ArrayList<>(size);
+		patientFiles = new ArrayList<>(size);
+
+		for (int i = 0; i < size; i++) {
+			PatientFile patientFile = new PatientFile();
+			patientFile.setId(String.format("P%06d", i));
+			patientFile.setFirstname("Eric");
+			patientFile.setLastname("Martin");
+			patientFile.setDateOfBirth(LocalDate.of(1970, 1, 1).plusDays(i));
+			patientFile.setPhone("0123456789");
+			patientFile.setEmail("eric.martin@mail.fr");
+			patientFile.setAddress(address);
+			patientFile.setSecurityCode("code");
+			patientFile.setReferringDoctor(doctor);
+			patientFiles.add(patientFile);
+
+			PatientFileItem item;
+
+			switch (i % 5) {
+			case 0 -> {
+				Act act = new Act();
+				act.setMedicalAct(medicalAct);
+				item = act;
+			}
+			case 1 -> {
+				Diagnosis diagnosis = new Diagnosis();
+				diagnosis.setDisease(disease);
+				item = diagnosis;
+			}
+			case 2 -> {
+				Mail mail = new Mail();
+				mail.setText("Texte du courrier");
+				mail.setRecipientDoctor(doctor);
+				item = mail;
+			}
+			case 3 -> {
+				Prescription prescription = new Prescription();
+				prescription.setDescription("Paracétamol 1 g, 3 fois par jour");
+				item = prescription;
+			}
+			default -> {
+				Symptom symptom = new Symptom();
+				symptom.setDescription("Fièvre");
+				item = symptom;
+			}
+			}
+
+			item.setId(UUID.randomUUID());
+			item.setDate(LocalDate.of(2022, 7, 22));
+			item.setComments("Commentaire");
+			item.setAuthoringDoctor(doctor);
+			item.setPatientFile(patientFile);
+			items.add(item);
+		}
+	}
+
+	@Benchmark
+	public void itemsModelMapper(Blackhole blackhole) {
+		for (PatientFileItem item : items) {
+			ModelMapper modelMapper = commonModelMapper;
+			Class<? extends PatientFileItemDTO> type;
+			if (item instanceof Act) {
+				modelMapper = actModelMapper;
+				type = ActDTO.class;
+			} else if (item instanceof Diagnosis) {
+				modelMapper = diagnosisModelMapper;
+				type = DiagnosisDTO.class;
+			} else if (item instanceof Mail) {
+				type = MailDTO.class;
+			} else if (item instanceof Prescription) {
+				type = PrescriptionDTO.class;
+			} else {
+				type = SymptomDTO.class;
+			}
+			blackhole.consume(modelMapper.map(item, type));
+		}
+	}
+
+	@Benchmark
+	public void itemsMapperService(Blackhole blackhole) {
+		for (PatientFileItem item : items) {
+			blackhole.consume(mapperService.mapToDTO(item));
+		}
+	}
+
+	@Benchmark
+	public void patientFilesModelMapper(Blackhole blackhole) {
+		for (PatientFile patientFile : patientFiles) {
+			blackhole.consume(patientFileModelMapper.map(patientFile, PatientFileDTO.class));
+		}
+	}
+
+	@Benchmark
+	public void patientFilesMapperService(Blackhole blackhole) {
+		for (PatientFile patientFile : patientFiles) {
+			blackhole.consume(mapperService.mapToDTO(patientFile));
+		}
+	}
+
+}
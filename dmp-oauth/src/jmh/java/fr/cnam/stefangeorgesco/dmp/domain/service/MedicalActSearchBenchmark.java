@@ -0,0 +1,128 @@
+package fr.cnam.stefangeorgesco.dmp.domain.service;
+
+import fr.cnam.stefangeorgesco.dmp.domain.dto.MedicalActDTO;
+import fr.cnam.stefangeorgesco.dmp.domain.model.MedicalAct;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Comparaison de la recherche d'actes médicaux par requête SQL
+ * ({@code MedicalActDAO.findByIdOrDescription}, exécutée ici sur une base H2 en
+ * mémoire) et par l'index en mémoire {@link MedicalActSearchIndex}. Les
+ * données sont celles de la migration V5 (nomenclature CCAM complète).
+ * 
+ * Lancement : {@code ./gradlew jmh}
+ * 
+ * @author Stéfan Georgesco
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MedicalActSearchBenchmark {
+
+	private static final String SQL = "select distinct * from t_medical_act "
+			+ "where lower(t_medical_act.id) like lower(concat('%', ?,'%')) "
+			+ "or lower(t_medical_act.description) like lower(concat('%', ?,'%')) limit ?";
+
+	@Param({ "radio", "hbqk", "coeur", "ab", "zzz" })
+	private String q;
+
+	@Param({ "30" })
+	private int limit;
+
+	private Connection connection;
+
+	private PreparedStatement statement;
+
+	private MedicalActSearchIndex index;
+
+	@Setup
+	public void setup() throws IOException, SQLException {
+
+		List<MedicalAct> medicalActs = loadMedicalActs();
+
+		connection = DriverManager.getConnection("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+		try (Statement ddl = connection.createStatement()) {
+			ddl.execute("create table t_medical_act (id varchar(255) not null primary key, description varchar(800))");
+		}
+		try (PreparedStatement insert = connection
+				.prepareStatement("insert into t_medical_act(id, description) values (?, ?)")) {
+			for (MedicalAct medicalAct : medicalActs) {
+				insert.setString(1, medicalAct.getId());
+				insert.setString(2, medicalAct.getDescription());
+				insert.addBatch();
+			}
+			insert.executeBatch();
+		}
+		statement = connection.prepareStatement(SQL);
+
+		index = new MedicalActSearchIndex(medicalActs);
+	}
+
+	@TearDown
+	public void tearDown() throws SQLException {
+		statement.close();
+		connection.close();
+	}
+
+	@Benchmark
+	public void sql(Blackhole blackhole) throws SQLException {
+
+		statement.setString(1, q);
+		statement.setString(2, q);
+		statement.setInt(3, limit);
+
+		try (ResultSet resultSet = statement.executeQuery()) {
+			while (resultSet.next()) {
+				MedicalActDTO medicalActDTO = new MedicalActDTO();
+				medicalActDTO.setId(resultSet.getString("id"));
+				medicalActDTO.setDescription(resultSet.getString("description"));
+				blackhole.consume(medicalActDTO);
+			}
+		}
+	}
+
+	@Benchmark
+	public List<MedicalActDTO> index() {
+
+		return index.search(q, limit);
+	}
+
+	private static List<MedicalAct> loadMedicalActs() throws IOException {
+
+		String script;
+		try (InputStream in = MedicalActSearchBenchmark.class.getClassLoader()
+				.getResourceAsStream("db/migration/V5__add_medical_acts.sql")) {
+			if (in == null) {
+				throw new IOException("db/migration/V5__add_medical_acts.sql introuvable");
+			}
+			script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+
+		List<MedicalAct> medicalActs = new ArrayList<>();
+		Matcher matcher = Pattern.compile("\\('((?:[^']|'')*)', '((?:[^']|'')*)'\\)").matcher(script);
+
+		while (matcher.find()) {
+			MedicalAct medicalAct = new MedicalAct();
+			medicalAct.setId(matcher.group(1));
+			medicalAct.setDescription(matcher.group(2).replace("''", "'"));
+			medicalActs.add(medicalAct);
+		}
+
+		return medicalActs;
+	}
+}
@@ -0,0 +1,57 @@
+package fr.cnam.stefangeorgesco.dmp.domain.service;
+
+import fr.cnam.stefangeorgesco.dmp.utils.SecurityCodeGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit du hachage ({@code encode}, création d'un dossier) et de la
+ * vérification ({@code matches}, création d'un compte utilisateur) BCrypt des
+ * codes de sécurité selon le facteur de coût {@code strength} (propriété
+ * {@code security-code.bcrypt.strength}). Chaque incrément du facteur double le
+ * temps de calcul ; le débit mesuré par thread, multiplié par
+ * {@code hashing.scheduler.thread-cap}, donne le nombre maximum de créations par
+ * seconde supportées par l'ordonnanceur de hachage.
+ *
+ * Lancement : {@code ./gradlew jmh}
+ *
+ * @author Stéfan Georgesco
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityCodeHashBenchmark {
+
+	@Param({ "4", "8", "10", "12" })
+	private int strength;
+
+	private BCryptPasswordEncoder bCryptPasswordEncoder;
+
+	private String securityCode;
+
+	private String encodedSecurityCode;
+
+	@Setup
+	public void setup() {
+		bCryptPasswordEncoder = new BCryptPasswordEncoder(strength);
+		securityCode = SecurityCodeGenerator.generateCode();
+		encodedSecurityCode = bCryptPasswordEncoder.encode(securityCode);
+	}
+
+	@Benchmark
+	public String encode() {
+		return bCryptPasswordEncoder.encode(securityCode);
+	}
+
+	@Benchmark
+	public boolean matches() {
+		return bCryptPasswordEncoder.matches(securityCode, encodedSecurityCode);
+	}
+
+}
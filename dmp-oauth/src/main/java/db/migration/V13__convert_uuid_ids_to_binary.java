@@ -0,0 +1,154 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Migration des identifiants des tables {@code t_correspondence} et
+ * {@code t_patient_file_item} (et des tables des types d'éléments médicaux)
+ * de {@code VARCHAR(255)} vers {@code BINARY(16)}. Les valeurs existantes sont
+ * converties par lots de {@value #CHUNK_SIZE} lignes, parcourus dans l'ordre
+ * de la clé primaire, avant le remplacement de la colonne {@code id} ; les
+ * clés étrangères des tables des types d'éléments médicaux sont supprimées
+ * puis recréées à l'identique.
+ * <p>
+ * Les instructions DDL de MySQL n'étant pas transactionnelles, chaque étape
+ * vérifie l'état du schéma ({@code information_schema}) avant de s'exécuter :
+ * une clé étrangère n'est supprimée ou créée que si elle existe ou n'existe
+ * pas, une table dont la colonne {@code id} est déjà de type {@code BINARY}
+ * n'est pas convertie, et seules les lignes non encore converties sont mises à
+ * jour. Après un échec en cours de migration, il suffit de supprimer l'entrée
+ * en échec de l'historique ({@code flyway repair}) et de relancer la migration.
+ * 
+ * @author Stéfan Georgesco
+ *
+ */
+public class V13__convert_uuid_ids_to_binary extends BaseJavaMigration {
+
+	private static final int CHUNK_SIZE = 1000;
+
+	private static final List<String> ITEM_TYPES = List.of("act", "diagnosis", "mail", "prescription", "symptom");
+
+	@Override
+	public boolean canExecuteInTransaction() {
+		return false;
+	}
+
+	@Override
+	public void migrate(Context context) throws Exception {
+
+		Connection connection = context.getConnection();
+
+		try (Statement statement = connection.createStatement()) {
+			for (String type : ITEM_TYPES) {
+				if (foreignKeyExists(connection, "t_" + type, "FK_patient_file_item_" + type)) {
+					statement.execute("alter table t_" + type + " drop foreign key FK_patient_file_item_" + type);
+				}
+			}
+		}
+
+		convert(connection, "t_correspondence");
+		convert(connection, "t_patient_file_item");
+		for (String type : ITEM_TYPES) {
+			convert(connection, "t_" + type);
+		}
+
+		try (Statement statement = connection.createStatement()) {
+			for (String type : ITEM_TYPES) {
+				if (!foreignKeyExists(connection, "t_" + type, "FK_patient_file_item_" + type)) {
+					statement.execute("alter table t_" + type + " add constraint FK_patient_file_item_" + type
+							+ " foreign key (id) references t_patient_file_item (id) on delete cascade");
+				}
+			}
+		}
+	}
+
+	/**
+	 * Convertit la colonne {@code id} d'une table en {@code BINARY(16)}, sauf si
+	 * elle l'est déjà ; une conversion interrompue reprend là où elle s'est
+	 * arrêtée.
+	 * 
+	 * @param connection la connexion à la base.
+	 * @param table      le nom de la table.
+	 * @throws SQLException en cas d'erreur d'accès à la base.
+	 */
+	void convert(Connection connection, String table) throws SQLException {
+
+		if ("binary".equals(columnType(connection, table, "id"))) {
+			return;
+		}
+
+		if (columnType(connection, table, "id_bin") == null) {
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("alter table " + table + " add column id_bin binary(16) null after id");
+			}
+		}
+
+		try (PreparedStatement select = connection
+				.prepareStatement("select id from " + table + " where id > ? order by id limit " + CHUNK_SIZE);
+				PreparedStatement update = connection.prepareStatement("update " + table
+						+ " set id_bin = unhex(replace(id, '-', '')) where id > ? and id <= ? and id_bin is null")) {
+
+			String last = "";
+
+			while (true) {
+				String upper = null;
+
+				select.setString(1, last);
+				try (ResultSet resultSet = select.executeQuery()) {
+					while (resultSet.next()) {
+						upper = resultSet.getString(1);
+					}
+				}
+
+				if (upper == null) {
+					break;
+				}
+
+				update.setString(1, last);
+				update.setString(2, upper);
+				update.executeUpdate();
+
+				last = upper;
+			}
+		}
+
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("alter table " + table + " drop primary key, drop column id, "
+					+ "change column id_bin id binary(16) not null first, add primary key (id)");
+		}
+	}
+
+	private String columnType(Connection connection, String table, String column) throws SQLException {
+
+		try (PreparedStatement select = connection.prepareStatement("select data_type from information_schema.columns "
+				+ "where table_schema = database() and table_name = ? and column_name = ?")) {
+			select.setString(1, table);
+			select.setString(2, column);
+			try (ResultSet resultSet = select.executeQuery()) {
+				return resultSet.next() ? resultSet.getString(1).toLowerCase() : null;
+			}
+		}
+	}
+
+	private boolean foreignKeyExists(Connection connection, String table, String name) throws SQLException {
+
+		try (PreparedStatement select = connection.prepareStatement("select 1 from information_schema.table_constraints "
+				+ "where table_schema = database() and table_name = ? and constraint_name = ? "
+				+ "and constraint_type = 'FOREIGN KEY'")) {
+			select.setString(1, table);
+			select.setString(2, name);
+			try (ResultSet resultSet = select.executeQuery()) {
+				return resultSet.next();
+			}
+		}
+	}
+
+}
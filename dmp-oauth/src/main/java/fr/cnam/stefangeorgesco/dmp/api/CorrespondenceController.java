@@ -1,20 +1,19 @@
 package fr.cnam.stefangeorgesco.dmp.api;
 
 import fr.cnam.stefangeorgesco.dmp.domain.dto.CorrespondenceDTO;
-import fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileDTO;
+import fr.cnam.stefangeorgesco.dmp.domain.dto.ResourceVersionDTO;
 import fr.cnam.stefangeorgesco.dmp.domain.service.CorrespondenceService;
-import fr.cnam.stefangeorgesco.dmp.domain.service.PatientFileService;
+import fr.cnam.stefangeorgesco.dmp.domain.service.PatientFileAccessService;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.*;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.security.Principal;
-import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Contrôleur REST dédié aux dossiers patients et objets rattachés.
@@ -25,31 +24,43 @@ import java.util.stream.Collectors;
 @RestController
 public class CorrespondenceController {
 
-	private final PatientFileService patientFileService;
+	private final PatientFileAccessService patientFileAccessService;
 
 	private final CorrespondenceService correspondenceService;
 
-	public CorrespondenceController(PatientFileService patientFileService,
+	public CorrespondenceController(PatientFileAccessService patientFileAccessService,
 									CorrespondenceService correspondenceService) {
-		this.patientFileService = patientFileService;
+		this.patientFileAccessService = patientFileAccessService;
 		this.correspondenceService = correspondenceService;
 	}
 
 	/**
 	 * Gestionnaire des requêtes GET de récupération des correspondances associées
 	 * au dossier patient correspondant à l'utilisateur connecté (authentifié).
+	 * La réponse porte les en-têtes {@code ETag} et {@code Last-Modified} ; une
+	 * requête conditionnelle dont la liste n'a pas changé reçoit la réponse 304
+	 * (Not Modified) sans que les correspondances soient lues.
 	 * 
-	 * @param principal l'utilisateur authentifié.
+	 * @param principal  l'utilisateur authentifié.
+	 * @param webRequest la requête, portant les en-têtes de requête conditionnelle
+	 *                   ({@code If-None-Match}, {@code If-Modified-Since}).
 	 * @return la liste (List) d'objets
 	 *         {@link CorrespondenceDTO}
 	 *         représentant les correspondances demandées, encapsulée dans un objet
 	 *         org.springframework.http.ResponseEntity.
 	 */
 	@GetMapping("/patient-file/details/correspondence")
-	public ResponseEntity<List<CorrespondenceDTO>> findPatientCorrespondences(Principal principal) {
+	public ResponseEntity<List<CorrespondenceDTO>> findPatientCorrespondences(Principal principal,
+			WebRequest webRequest) {
 
 		String userId = principal.getName();
 
+		ResourceVersionDTO version = correspondenceService.findCorrespondencesVersion(userId);
+
+		if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+			return null;
+		}
+
 		return ResponseEntity.ok(correspondenceService.findCorrespondencesByPatientFileId(userId));
 	}
 
@@ -82,9 +93,7 @@ public class CorrespondenceController {
 
 		String userId = principal.getName();
 
-		PatientFileDTO patientFileDTO = patientFileService.findPatientFile(id);
-
-		if (!userId.equals(patientFileDTO.getReferringDoctorId())) {
+		if (!patientFileAccessService.isReferringDoctor(userId, id)) {
 			throw new CreateException("L'utilisateur n'est pas le médecin référent.");
 		}
 
@@ -92,7 +101,7 @@ public class CorrespondenceController {
 			throw new CreateException("Impossible de créer une correspondance pour le médecin référent.");
 		}
 
-		correspondenceDTO.setPatientFileId(patientFileDTO.getId());
+		correspondenceDTO.setPatientFileId(id);
 
 		return ResponseEntity.status(HttpStatus.CREATED)
 				.body(correspondenceService.createCorrespondence(correspondenceDTO));
@@ -103,11 +112,16 @@ public class CorrespondenceController {
 	 * Gestionnaire des requêtes GET de récupération des correspondances associées à
 	 * un dossier patient désigné par son identifiant. L'utilisateur doit être le
 	 * médecin référent ou un médecin correspondant (correspondance en cours de
-	 * validité).
+	 * validité). La réponse porte les en-têtes {@code ETag} et
+	 * {@code Last-Modified} ; une requête conditionnelle dont la liste n'a pas
+	 * changé reçoit la réponse 304 (Not Modified) sans que les correspondances
+	 * soient lues.
 	 * 
-	 * @param id        : l'identifiant du dossier patient, fourni en variable de
-	 *                  chemin.
-	 * @param principal l'utilisateur authentifié.
+	 * @param id         : l'identifiant du dossier patient, fourni en variable de
+	 *                   chemin.
+	 * @param principal  l'utilisateur authentifié.
+	 * @param webRequest la requête, portant les en-têtes de requête conditionnelle
+	 *                   ({@code If-None-Match}, {@code If-Modified-Since}).
 	 * @return la liste (List) d'objets
 	 *         {@link CorrespondenceDTO}
 	 *         représentant les correspondances demandées, encapsulée dans un objet
@@ -118,27 +132,21 @@ public class CorrespondenceController {
 	 */
 	@GetMapping("/patient-file/{id}/correspondence")
 	public ResponseEntity<List<CorrespondenceDTO>> findCorrespondencesByPatientFileId(@PathVariable String id,
-			Principal principal) throws FinderException {
+			Principal principal, WebRequest webRequest) throws FinderException {
 
 		String userId = principal.getName();
 
-		String referringDoctorId = patientFileService.findPatientFile(id).getReferringDoctorId();
-
-		List<CorrespondenceDTO> correspondencesDTO = correspondenceService.findCorrespondencesByPatientFileId(id);
-
-		LocalDate now = LocalDate.now();
-
-		boolean userIsReferringDoctor = userId.equals(referringDoctorId);
+		if (!patientFileAccessService.isReferringOrCorrespondingDoctor(userId, id)) {
+			throw new FinderException("L'utilisateur n'est pas le médecin référent ou correspondant.");
+		}
 
-		boolean userIsCorrespondingDoctor = correspondencesDTO.stream()
-				.filter(correspondence -> !correspondence.getDateUntil().isBefore(now))
-				.map(CorrespondenceDTO::getDoctorId).collect(Collectors.toList()).contains(userId);
+		ResourceVersionDTO version = correspondenceService.findCorrespondencesVersion(id);
 
-		if (!userIsReferringDoctor && !userIsCorrespondingDoctor) {
-			throw new FinderException("L'utilisateur n'est pas le médecin référent ou correspondant.");
+		if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+			return null;
 		}
 
-		return ResponseEntity.ok(correspondencesDTO);
+		return ResponseEntity.ok(correspondenceService.findCorrespondencesByPatientFileId(id));
 
 	}
 
@@ -166,9 +174,7 @@ public class CorrespondenceController {
 
 		String userId = principal.getName();
 
-		PatientFileDTO patientFileDTO = patientFileService.findPatientFile(patientFileId);
-
-		if (!userId.equals(patientFileDTO.getReferringDoctorId())) {
+		if (!patientFileAccessService.isReferringDoctor(userId, patientFileId)) {
 			throw new DeleteException("L'utilisateur n'est pas le médecin référent.");
 		}
 
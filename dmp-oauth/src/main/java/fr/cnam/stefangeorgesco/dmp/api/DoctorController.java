@@ -10,6 +10,7 @@ import fr.cnam.stefangeorgesco.dmp.exception.domain.UpdateException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
 import java.security.Principal;
@@ -50,6 +51,27 @@ public class DoctorController {
 		return ResponseEntity.status(HttpStatus.CREATED).body(doctorService.createDoctor(doctorDTO));
 	}
 
+	/**
+	 * Gestionnaire non bloquant des requêtes POST de création des dossiers de
+	 * médecins : le thread de traitement de la requête est libéré pendant les
+	 * vérifications et le hachage du code de sécurité.
+	 * 
+	 * @param doctorDTO l'objet
+	 *                  {@link fr.cnam.stefangeorgesco.dmp.domain.dto.DoctorDTO}
+	 *                  représentant le dossier de médecin à créer.
+	 * @return un {@link Mono} émettant l'objet
+	 *         {@link fr.cnam.stefangeorgesco.dmp.domain.dto.DoctorDTO}
+	 *         représentant le dossier de médecin créé, encapsulé dans un objet
+	 *         org.springframework.http.ResponseEntity avec le statut
+	 *         {@link org.springframework.http.HttpStatus#CREATED} en cas de succès.
+	 */
+	@PostMapping("/doctor/async")
+	public Mono<ResponseEntity<DoctorDTO>> createDoctorAsync(@Valid @RequestBody DoctorDTO doctorDTO) {
+
+		return doctorService.createDoctorAsync(doctorDTO)
+				.map(createdDoctorDTO -> ResponseEntity.status(HttpStatus.CREATED).body(createdDoctorDTO));
+	}
+
 	/**
 	 * Gestionnaire des requêtes PUT de modification du dossier de médecin
 	 * correspondant à l'utilisateur connecté (authentifé).
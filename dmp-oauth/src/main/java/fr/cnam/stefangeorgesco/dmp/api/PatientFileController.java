@@ -1,15 +1,26 @@
 package fr.cnam.stefangeorgesco.dmp.api;
 
 import fr.cnam.stefangeorgesco.dmp.domain.dto.*;
+import fr.cnam.stefangeorgesco.dmp.domain.service.PatientFileAccessService;
+import fr.cnam.stefangeorgesco.dmp.domain.service.PatientFileChangesService;
 import fr.cnam.stefangeorgesco.dmp.domain.service.PatientFileService;
 import fr.cnam.stefangeorgesco.dmp.domain.service.PatientFileServiceImpl;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.*;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
 import java.util.List;
 
 /**
@@ -23,8 +34,15 @@ public class PatientFileController {
 
 	private final PatientFileService patientFileService;
 
-	public PatientFileController(PatientFileService patientFileService) {
+	private final PatientFileAccessService patientFileAccessService;
+
+	private final PatientFileChangesService patientFileChangesService;
+
+	public PatientFileController(PatientFileService patientFileService,
+			PatientFileAccessService patientFileAccessService, PatientFileChangesService patientFileChangesService) {
 		this.patientFileService = patientFileService;
+		this.patientFileAccessService = patientFileAccessService;
+		this.patientFileChangesService = patientFileChangesService;
 	}
 
 	/**
@@ -53,6 +71,33 @@ public class PatientFileController {
 		return ResponseEntity.status(HttpStatus.CREATED).body(patientFileService.createPatientFile(patientFileDTO));
 	}
 
+	/**
+	 * Gestionnaire asynchrone des requêtes POST de création des dossiers patients.
+	 * Le traitement est identique à celui de
+	 * {@link #createPatientFile(PatientFileDTO, Principal)}, mais le thread de la
+	 * requête est libéré pendant l'interrogation du RNIPP ; la réponse est
+	 * envoyée lorsque le dossier est créé.
+	 * 
+	 * @param patientFileDTO l'objet
+	 *                       {@link fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileDTO}
+	 *                       représentant le dossier patient à créer.
+	 * @param principal      l'utilisateur authentifié.
+	 * @return un {@link Mono} émettant l'objet
+	 *         {@link fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileDTO}
+	 *         représentant le dossier patient créé, encapsulé dans un objet
+	 *         org.springframework.http.ResponseEntity avec le statut
+	 *         {@link org.springframework.http.HttpStatus#CREATED} en cas de succès.
+	 */
+	@PostMapping("/patient-file/async")
+	public Mono<ResponseEntity<PatientFileDTO>> createPatientFileAsync(
+			@Valid @RequestBody PatientFileDTO patientFileDTO, Principal principal) {
+
+		patientFileDTO.setReferringDoctorId(principal.getName());
+
+		return patientFileService.createPatientFileAsync(patientFileDTO)
+				.map(createdPatientFileDTO -> ResponseEntity.status(HttpStatus.CREATED).body(createdPatientFileDTO));
+	}
+
 	/**
 	 * Gestionnaire des requêtes PUT de modification du dossier patient
 	 * correspondant à l'utilisateur connecté (authentifié).
@@ -78,32 +123,58 @@ public class PatientFileController {
 
 	/**
 	 * Gestionnaire des requêtes GET de consultation du dossier patient
-	 * correspondant à l'utilisateur connecté (authentifié).
+	 * correspondant à l'utilisateur connecté (authentifié). La réponse porte les
+	 * en-têtes {@code ETag} et {@code Last-Modified} ; une requête conditionnelle
+	 * dont le dossier n'a pas changé reçoit la réponse 304 (Not Modified) sans
+	 * que le dossier soit lu.
 	 * 
-	 * @param principal l'utilisateur authentifié.
+	 * @param principal  l'utilisateur authentifié.
+	 * @param webRequest la requête, portant les en-têtes de requête conditionnelle
+	 *                   ({@code If-None-Match}, {@code If-Modified-Since}).
 	 * @return l'objet {@link fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileDTO}
 	 *         représentant le dossier patient consulté, encapsulé dans un objet
 	 *         org.springframework.http.ResponseEntity.
 	 * @throws FinderException le compte utilisateur n'a pas été trouvé.
 	 */
 	@GetMapping("/patient-file/details")
-	public ResponseEntity<PatientFileDTO> getPatientFileDetails(Principal principal) throws FinderException {
+	public ResponseEntity<PatientFileDTO> getPatientFileDetails(Principal principal, WebRequest webRequest)
+			throws FinderException {
+
+		String userId = principal.getName();
 
-		return ResponseEntity.ok(patientFileService.findPatientFile(principal.getName()));
+		ResourceVersionDTO version = patientFileService.findPatientFileVersion(userId);
+
+		if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+			return null;
+		}
+
+		return ResponseEntity.ok(patientFileService.findPatientFile(userId));
 	}
 
 	/**
 	 * Gestionnaire des requêtes GET de consultation du dossier patient désigné par
-	 * son identifiant.
+	 * son identifiant. La réponse porte les en-têtes {@code ETag} et
+	 * {@code Last-Modified} ; une requête conditionnelle dont le dossier n'a pas
+	 * changé reçoit la réponse 304 (Not Modified) sans que le dossier soit lu.
 	 * 
-	 * @param id l'identifiant du dossier patient, fourni en variable de chemin.
+	 * @param id         l'identifiant du dossier patient, fourni en variable de
+	 *                   chemin.
+	 * @param webRequest la requête, portant les en-têtes de requête conditionnelle
+	 *                   ({@code If-None-Match}, {@code If-Modified-Since}).
 	 * @return l'objet {@link fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileDTO}
 	 *         représentant le dossier patient consulté, encapsulé dans un objet
 	 *         org.springframework.http.ResponseEntity.
 	 * @throws FinderException dossier patient non trouvé.
 	 */
 	@GetMapping("/patient-file/{id}")
-	public ResponseEntity<PatientFileDTO> getPatientFileDetails(@PathVariable String id) throws FinderException {
+	public ResponseEntity<PatientFileDTO> getPatientFileDetails(@PathVariable String id, WebRequest webRequest)
+			throws FinderException {
+
+		ResourceVersionDTO version = patientFileService.findPatientFileVersion(id);
+
+		if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+			return null;
+		}
 
 		return ResponseEntity.ok(patientFileService.findPatientFile(id));
 	}
@@ -153,19 +224,101 @@ public class PatientFileController {
 
 	/**
 	 * Gestionnaire des requêtes GET de récupération des dossiers patient trouvés
-	 * par une recherche à partir d'une chaîne de caractères.
+	 * par une recherche à partir d'une chaîne de caractères. Les résultats sont
+	 * triés par identifiant et paginés par curseur : si d'autres résultats
+	 * existent, l'URL de la page suivante est fournie dans l'en-tête
+	 * {@code Link} (relation {@code next}) et le curseur dans l'en-tête
+	 * {@code X-Next-Cursor}.
 	 * 
-	 * @param q la chaîne de caractère (String) utilisée pour la recherche, fournie
-	 *          en paramètre de requête.
+	 * @param q     la chaîne de caractère (String) utilisée pour la recherche,
+	 *              fournie en paramètre de requête.
+	 * @param after le curseur de la page demandée, fourni en paramètre de requête
+	 *              (facultatif, première page par défaut).
+	 * @param size  la taille de page, fournie en paramètre de requête (20 par
+	 *              défaut, 100 au maximum).
 	 * @return une liste ({@link java.util.List}) d'objets
 	 *         {@link fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileDTO}
-	 *         représentant le résultat de la recherche, encapsulée dans un objet
+	 *         représentant la page de résultats demandée, encapsulée dans un objet
 	 *         org.springframework.http.ResponseEntity.
 	 */
 	@GetMapping("/patient-file")
-	public ResponseEntity<List<PatientFileDTO>> findPatientFilesByIdOrFirstnameOrLastname(@RequestParam String q) {
+	public ResponseEntity<List<PatientFileDTO>> findPatientFilesByIdOrFirstnameOrLastname(@RequestParam String q,
+			@RequestParam(required = false) String after,
+			@RequestParam(defaultValue = "" + PageDTO.DEFAULT_SIZE) int size) {
+
+		PageDTO<PatientFileDTO> page = patientFileService.findPatientFilesByIdOrFirstnameOrLastname(q, after, size);
+
+		ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK);
+
+		if (page.getNext() != null) {
+			String nextUrl = ServletUriComponentsBuilder.fromCurrentRequest()
+					.replaceQueryParam("after", UriUtils.encodeQueryParam(page.getNext(), StandardCharsets.UTF_8))
+					.build(true).toUriString();
+			response.header(HttpHeaders.LINK, "<" + nextUrl + ">; rel=\"next\"");
+			response.header("X-Next-Cursor", page.getNext());
+		}
+
+		return response.body(page.getContent());
+	}
+
+	/**
+	 * Gestionnaire des requêtes GET de récupération des modifications du dossier
+	 * patient correspondant à l'utilisateur connecté (authentifié) depuis une date
+	 * donnée.
+	 * 
+	 * @param since     la date {@code watermark} renvoyée par la demande
+	 *                  précédente, au format ISO 8601, fournie en paramètre de
+	 *                  requête (facultatif, synchronisation complète par défaut).
+	 * @param principal l'utilisateur authentifié.
+	 * @return l'objet {@link PatientFileChangesDTO} représentant les
+	 *         modifications du dossier patient, encapsulé dans un objet
+	 *         org.springframework.http.ResponseEntity.
+	 */
+	@GetMapping("/patient-file/details/changes")
+	public ResponseEntity<PatientFileChangesDTO> findPatientPatientFileChanges(
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime since,
+			Principal principal) {
+
+		String userId = principal.getName();
+
+		return ResponseEntity.ok(patientFileChangesService.findPatientFileChanges(userId, toTimestamp(since)));
+	}
+
+	/**
+	 * Gestionnaire des requêtes GET de récupération des modifications d'un dossier
+	 * patient désigné par son identifiant depuis une date donnée : éléments
+	 * médicaux et correspondances créés ou modifiés, identifiants des éléments
+	 * médicaux et correspondances supprimés. L'utilisateur doit être le médecin
+	 * référent ou un médecin correspondant (correspondance en cours de validité).
+	 * 
+	 * @param id        l'identifiant du dossier patient, fourni en variable de
+	 *                  chemin.
+	 * @param since     la date {@code watermark} renvoyée par la demande
+	 *                  précédente, au format ISO 8601, fournie en paramètre de
+	 *                  requête (facultatif, synchronisation complète par défaut).
+	 * @param principal l'utilisateur authentifié.
+	 * @return l'objet {@link PatientFileChangesDTO} représentant les
+	 *         modifications du dossier patient, encapsulé dans un objet
+	 *         org.springframework.http.ResponseEntity.
+	 * @throws FinderException le dossier patient n'a pas été trouvé, ou
+	 *                         l'utilisateur n'est pas le médecin référent ou
+	 *                         correspondant.
+	 */
+	@GetMapping("/patient-file/{id}/changes")
+	public ResponseEntity<PatientFileChangesDTO> findPatientFileChanges(@PathVariable String id,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime since,
+			Principal principal) throws FinderException {
+
+		String userId = principal.getName();
+
+		if (!patientFileAccessService.isReferringOrCorrespondingDoctor(userId, id)) {
+			throw new FinderException("L'utilisateur n'est pas le médecin référent ou correspondant.");
+		}
+
+		return ResponseEntity.ok(patientFileChangesService.findPatientFileChanges(id, toTimestamp(since)));
+	}
 
-		return ResponseEntity.status(HttpStatus.OK)
-				.body(patientFileService.findPatientFilesByIdOrFirstnameOrLastname(q));
+	private static Timestamp toTimestamp(OffsetDateTime dateTime) {
+		return dateTime == null ? null : Timestamp.from(dateTime.toInstant());
 	}
 }
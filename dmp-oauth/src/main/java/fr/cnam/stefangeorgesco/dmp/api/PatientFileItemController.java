@@ -1,24 +1,33 @@
 package fr.cnam.stefangeorgesco.dmp.api;
 
-import fr.cnam.stefangeorgesco.dmp.domain.dto.CorrespondenceDTO;
+import fr.cnam.stefangeorgesco.dmp.domain.dto.PageDTO;
 import fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileItemDTO;
-import fr.cnam.stefangeorgesco.dmp.domain.service.CorrespondenceService;
+import fr.cnam.stefangeorgesco.dmp.domain.dto.ResourceVersionDTO;
+import fr.cnam.stefangeorgesco.dmp.domain.service.PatientFileAccessService;
 import fr.cnam.stefangeorgesco.dmp.domain.service.PatientFileItemService;
-import fr.cnam.stefangeorgesco.dmp.domain.service.PatientFileService;
+import fr.cnam.stefangeorgesco.dmp.exception.domain.CheckException;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.CreateException;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.DeleteException;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.FinderException;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.UpdateException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Contrôleur REST dédié aux dossiers patients et objets rattachés.
@@ -27,40 +36,90 @@ import java.util.stream.Collectors;
  * 
  */
 @RestController
+@Validated
 public class PatientFileItemController {
 
-	private final PatientFileService patientFileService;
+	private static final int MAX_BATCH_SIZE = 100;
 
-	private final CorrespondenceService correspondenceService;
+	private final PatientFileAccessService patientFileAccessService;
 
 	private final PatientFileItemService patientFileItemService;
 
-	public PatientFileItemController(PatientFileService patientFileService,
-                                     CorrespondenceService correspondenceService,
+	public PatientFileItemController(PatientFileAccessService patientFileAccessService,
                                      PatientFileItemService patientFileItemService) {
-		this.patientFileService = patientFileService;
-		this.correspondenceService = correspondenceService;
+		this.patientFileAccessService = patientFileAccessService;
 		this.patientFileItemService = patientFileItemService;
 	}
 
 	/**
 	 * Gestionnaire des requêtes GET de récupération des éléments médicaux associées
 	 * au dossier patient correspondant à l'utilisateur connecté (authentifié).
+	 * La réponse porte les en-têtes {@code ETag} et {@code Last-Modified} ; une
+	 * requête conditionnelle dont la liste n'a pas changé reçoit la réponse 304
+	 * (Not Modified) sans que les éléments médicaux soient lus.
 	 * 
-	 * @param principal l'utilisateur authentifié.
+	 * @param principal  l'utilisateur authentifié.
+	 * @param webRequest la requête, portant les en-têtes de requête conditionnelle
+	 *                   ({@code If-None-Match}, {@code If-Modified-Since}).
 	 * @return la liste (List) d'objets
 	 *         {@link PatientFileItemDTO}
 	 *         représentant les éléments médicaux demandés, encapsulée dans un objet
 	 *         org.springframework.http.ResponseEntity.
 	 */
 	@GetMapping("/patient-file/details/item")
-	public ResponseEntity<List<PatientFileItemDTO>> findPatientPatientFileItems(Principal principal) {
+	public ResponseEntity<List<PatientFileItemDTO>> findPatientPatientFileItems(Principal principal,
+			WebRequest webRequest) {
 
 		String userId = principal.getName();
 
+		ResourceVersionDTO version = patientFileItemService.findPatientFileItemsVersion(userId);
+
+		if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+			return null;
+		}
+
 		return ResponseEntity.ok(patientFileItemService.findPatientFileItemsByPatientFileId(userId));
 	}
 
+	/**
+	 * Gestionnaire des requêtes GET de récupération d'une page de la chronologie
+	 * des éléments médicaux associés au dossier patient correspondant à
+	 * l'utilisateur connecté (authentifié). Voir
+	 * {@link #findPatientFileItemsTimeline(String, List, LocalDate, LocalDate, String, int, Principal)}
+	 * pour les paramètres de filtre et la pagination.
+	 * 
+	 * @param type      les types d'éléments recherchés, fournis en paramètres de
+	 *                  requête (facultatif, tous les types par défaut).
+	 * @param from      la date de début (incluse), fournie en paramètre de requête
+	 *                  (facultatif).
+	 * @param to        la date de fin (incluse), fournie en paramètre de requête
+	 *                  (facultatif).
+	 * @param after     le curseur de la page demandée, fourni en paramètre de
+	 *                  requête (facultatif, première page par défaut).
+	 * @param size      la taille de page, fournie en paramètre de requête (20 par
+	 *                  défaut, 100 au maximum).
+	 * @param principal l'utilisateur authentifié.
+	 * @return la liste (List) d'objets {@link PatientFileItemDTO} représentant la
+	 *         page demandée, encapsulée dans un objet
+	 *         org.springframework.http.ResponseEntity.
+	 * @throws CheckException un type d'élément médical ou le curseur est
+	 *                        invalide.
+	 */
+	@GetMapping("/patient-file/details/item/timeline")
+	public ResponseEntity<List<PatientFileItemDTO>> findPatientPatientFileItemsTimeline(
+			@RequestParam(required = false) List<String> type,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+			@RequestParam(required = false) String after,
+			@RequestParam(defaultValue = "" + PageDTO.DEFAULT_SIZE) int size, Principal principal)
+			throws CheckException {
+
+		String userId = principal.getName();
+
+		return pageResponse(
+				patientFileItemService.findPatientFileItemsTimeline(userId, type, from, to, after, size));
+	}
+
 	/**
 	 * Gestionnaire des requêtes POST de création d'un élément médical associée au
 	 * dossier patient désigné par son identifiant. L'utilisateur doit être le
@@ -90,38 +149,76 @@ public class PatientFileItemController {
 
 		String userId = principal.getName();
 
-		String referringDoctorId = patientFileService.findPatientFile(id).getReferringDoctorId();
+		if (!patientFileAccessService.isReferringOrCorrespondingDoctor(userId, id)) {
+			throw new FinderException("L'utilisateur n'est pas le médecin référent ou correspondant.");
+		}
 
-		List<CorrespondenceDTO> correspondencesDTO = correspondenceService.findCorrespondencesByPatientFileId(id);
+		patientFileItemDTO.setAuthoringDoctorId(userId);
+		patientFileItemDTO.setPatientFileId(id);
 
-		LocalDate now = LocalDate.now();
+		return ResponseEntity.status(HttpStatus.CREATED)
+				.body(patientFileItemService.createPatientFileItem(patientFileItemDTO));
+	}
 
-		boolean userIsReferringDoctor = userId.equals(referringDoctorId);
+	/**
+	 * Gestionnaire des requêtes POST de création d'une liste d'éléments médicaux
+	 * associés au dossier patient désigné par son identifiant, par exemple
+	 * l'ensemble des éléments d'une consultation. L'utilisateur doit être le
+	 * médecin référent ou un médecin correspondant (correspondance en cours de
+	 * validité) ; ce contrôle est fait une seule fois pour toute la liste. Les
+	 * éléments sont tous créés, ou aucun.
+	 * 
+	 * @param patientFileItemsDTO la liste ({@link List}) d'objets
+	 *                            {@link PatientFileItemDTO} représentant les
+	 *                            éléments médicaux à créer (au plus
+	 *                            {@value #MAX_BATCH_SIZE}).
+	 * @param id                  l'identifiant du dossier patient, fourni en
+	 *                            variable de chemin.
+	 * @param principal           l'utilisateur authentifié.
+	 * @return la liste ({@link List}) d'objets {@link PatientFileItemDTO}
+	 *         représentant les éléments médicaux créés, encapsulée dans un objet
+	 *         org.springframework.http.ResponseEntity avec le statut
+	 *         {@link HttpStatus#CREATED} en cas de succès.
+	 * @throws FinderException le compte utilisateur n'a pas été trouvé, ou le
+	 *                         dossier patient n'a pas été trouvé, ou l'utilisateur
+	 *                         n'est pas le médecin référent ou correspondant.
+	 * @throws CreateException les éléments médicaux n'ont pas pu être créés.
+	 */
+	@PostMapping("/patient-file/{id}/item/batch")
+	public ResponseEntity<List<PatientFileItemDTO>> createPatientFileItems(
+			@RequestBody @NotEmpty(message = "La liste des éléments médicaux est vide.") @Size(max = MAX_BATCH_SIZE, message = "La liste des éléments médicaux ne doit pas dépasser "
+					+ MAX_BATCH_SIZE + " éléments.") List<@Valid PatientFileItemDTO> patientFileItemsDTO,
+			@PathVariable String id, Principal principal) throws FinderException, CreateException {
 
-		boolean userIsCorrespondingDoctor = correspondencesDTO.stream()
-				.filter(correspondence -> !correspondence.getDateUntil().isBefore(now))
-				.map(CorrespondenceDTO::getDoctorId).collect(Collectors.toList()).contains(userId);
+		String userId = principal.getName();
 
-		if (!userIsReferringDoctor && !userIsCorrespondingDoctor) {
+		if (!patientFileAccessService.isReferringOrCorrespondingDoctor(userId, id)) {
 			throw new FinderException("L'utilisateur n'est pas le médecin référent ou correspondant.");
 		}
 
-		patientFileItemDTO.setAuthoringDoctorId(userId);
-		patientFileItemDTO.setPatientFileId(id);
+		for (PatientFileItemDTO patientFileItemDTO : patientFileItemsDTO) {
+			patientFileItemDTO.setAuthoringDoctorId(userId);
+			patientFileItemDTO.setPatientFileId(id);
+		}
 
 		return ResponseEntity.status(HttpStatus.CREATED)
-				.body(patientFileItemService.createPatientFileItem(patientFileItemDTO));
+				.body(patientFileItemService.createPatientFileItems(patientFileItemsDTO));
 	}
 
 	/**
 	 * Gestionnaire des requêtes GET de récupération des éléments médicaux associés
 	 * à un dossier patient désigné par son identifiant. L'utilisateur doit être le
 	 * médecin référent ou un médecin correspondant (correspondance en cours de
-	 * validité).
+	 * validité). La réponse porte les en-têtes {@code ETag} et
+	 * {@code Last-Modified} ; une requête conditionnelle dont la liste n'a pas
+	 * changé reçoit la réponse 304 (Not Modified) sans que les éléments
+	 * médicaux soient lus.
 	 * 
-	 * @param id        : l'identifiant du dossier patient, fourni en variable de
-	 *                  chemin.
-	 * @param principal l'utilisateur authentifié.
+	 * @param id         : l'identifiant du dossier patient, fourni en variable de
+	 *                   chemin.
+	 * @param principal  l'utilisateur authentifié.
+	 * @param webRequest la requête, portant les en-têtes de requête conditionnelle
+	 *                   ({@code If-None-Match}, {@code If-Modified-Since}).
 	 * @return la liste (List) d'objets
 	 *         {@link PatientFileItemDTO}
 	 *         représentant les éléments médicaux demandés, encapsulée dans un objet
@@ -132,27 +229,74 @@ public class PatientFileItemController {
 	 */
 	@GetMapping("/patient-file/{id}/item")
 	public ResponseEntity<List<PatientFileItemDTO>> findPatientFileItemsByPatientFileId(@PathVariable String id,
-			Principal principal) throws FinderException {
+			Principal principal, WebRequest webRequest) throws FinderException {
 
 		String userId = principal.getName();
 
-		String referringDoctorId = patientFileService.findPatientFile(id).getReferringDoctorId();
+		if (!patientFileAccessService.isReferringOrCorrespondingDoctor(userId, id)) {
+			throw new FinderException("L'utilisateur n'est pas le médecin référent ou correspondant.");
+		}
 
-		List<CorrespondenceDTO> correspondencesDTO = correspondenceService.findCorrespondencesByPatientFileId(id);
+		ResourceVersionDTO version = patientFileItemService.findPatientFileItemsVersion(id);
 
-		LocalDate now = LocalDate.now();
+		if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+			return null;
+		}
 
-		boolean userIsReferringDoctor = userId.equals(referringDoctorId);
+		return ResponseEntity.ok(patientFileItemService.findPatientFileItemsByPatientFileId(id));
+	}
 
-		boolean userIsCorrespondingDoctor = correspondencesDTO.stream()
-				.filter(correspondence -> !correspondence.getDateUntil().isBefore(now))
-				.map(CorrespondenceDTO::getDoctorId).collect(Collectors.toList()).contains(userId);
+	/**
+	 * Gestionnaire des requêtes GET de récupération d'une page de la chronologie
+	 * des éléments médicaux associés à un dossier patient désigné par son
+	 * identifiant. L'utilisateur doit être le médecin référent ou un médecin
+	 * correspondant (correspondance en cours de validité). Les éléments sont
+	 * filtrés par type et par intervalle de dates, triés par date décroissante
+	 * (les plus récents d'abord) et paginés par curseur : si d'autres éléments
+	 * existent, l'URL de la page suivante est fournie dans l'en-tête
+	 * {@code Link} (relation {@code next}) et le curseur dans l'en-tête
+	 * {@code X-Next-Cursor}.
+	 * 
+	 * @param id        l'identifiant du dossier patient, fourni en variable de
+	 *                  chemin.
+	 * @param type      les types d'éléments recherchés ({@code act},
+	 *                  {@code diagnosis}, {@code mail}, {@code prescription} ou
+	 *                  {@code symptom}), fournis en paramètres de requête
+	 *                  (facultatif, tous les types par défaut).
+	 * @param from      la date de début (incluse), fournie en paramètre de requête
+	 *                  (facultatif).
+	 * @param to        la date de fin (incluse), fournie en paramètre de requête
+	 *                  (facultatif).
+	 * @param after     le curseur de la page demandée, fourni en paramètre de
+	 *                  requête (facultatif, première page par défaut).
+	 * @param size      la taille de page, fournie en paramètre de requête (20 par
+	 *                  défaut, 100 au maximum).
+	 * @param principal l'utilisateur authentifié.
+	 * @return la liste (List) d'objets {@link PatientFileItemDTO} représentant la
+	 *         page demandée, encapsulée dans un objet
+	 *         org.springframework.http.ResponseEntity.
+	 * @throws FinderException le dossier patient n'a pas été trouvé, ou
+	 *                         l'utilisateur n'est pas le médecin référent ou
+	 *                         correspondant.
+	 * @throws CheckException  un type d'élément médical ou le curseur est
+	 *                         invalide.
+	 */
+	@GetMapping("/patient-file/{id}/item/timeline")
+	public ResponseEntity<List<PatientFileItemDTO>> findPatientFileItemsTimeline(@PathVariable String id,
+			@RequestParam(required = false) List<String> type,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+			@RequestParam(required = false) String after,
+			@RequestParam(defaultValue = "" + PageDTO.DEFAULT_SIZE) int size, Principal principal)
+			throws FinderException, CheckException {
+
+		String userId = principal.getName();
 
-		if (!userIsReferringDoctor && !userIsCorrespondingDoctor) {
+		if (!patientFileAccessService.isReferringOrCorrespondingDoctor(userId, id)) {
 			throw new FinderException("L'utilisateur n'est pas le médecin référent ou correspondant.");
 		}
 
-		return ResponseEntity.ok(patientFileItemService.findPatientFileItemsByPatientFileId(id));
+		return pageResponse(patientFileItemService.findPatientFileItemsTimeline(id, type, from, to, after, size));
 	}
 
 	/**
@@ -203,20 +347,7 @@ public class PatientFileItemController {
 					"L'utilisateur n'est pas l'auteur de l'élément médical et ne peut pas le modifier.");
 		}
 
-		String referringDoctorId = patientFileService.findPatientFile(patientFileId).getReferringDoctorId();
-
-		List<CorrespondenceDTO> correspondencesDTO = correspondenceService
-				.findCorrespondencesByPatientFileId(patientFileId);
-
-		LocalDate now = LocalDate.now();
-
-		boolean userIsReferringDoctor = userId.equals(referringDoctorId);
-
-		boolean userIsCorrespondingDoctor = correspondencesDTO.stream()
-				.filter(correspondence -> !correspondence.getDateUntil().isBefore(now))
-				.map(CorrespondenceDTO::getDoctorId).collect(Collectors.toList()).contains(userId);
-
-		if (!userIsReferringDoctor && !userIsCorrespondingDoctor) {
+		if (!patientFileAccessService.isReferringOrCorrespondingDoctor(userId, patientFileId)) {
 			throw new FinderException("L'utilisateur n'est pas le médecin référent ou correspondant.");
 		}
 
@@ -265,20 +396,7 @@ public class PatientFileItemController {
 					"L'utilisateur n'est pas l'auteur de l'élément médical et ne peut pas le supprimer.");
 		}
 
-		String referringDoctorId = patientFileService.findPatientFile(patientFileId).getReferringDoctorId();
-
-		List<CorrespondenceDTO> correspondencesDTO = correspondenceService
-				.findCorrespondencesByPatientFileId(patientFileId);
-
-		LocalDate now = LocalDate.now();
-
-		boolean userIsReferringDoctor = userId.equals(referringDoctorId);
-
-		boolean userIsCorrespondingDoctor = correspondencesDTO.stream()
-				.filter(correspondence -> !correspondence.getDateUntil().isBefore(now))
-				.map(CorrespondenceDTO::getDoctorId).collect(Collectors.toList()).contains(userId);
-
-		if (!userIsReferringDoctor && !userIsCorrespondingDoctor) {
+		if (!patientFileAccessService.isReferringOrCorrespondingDoctor(userId, patientFileId)) {
 			throw new DeleteException("L'utilisateur n'est pas le médecin référent ou correspondant.");
 		}
 
@@ -288,4 +406,19 @@ public class PatientFileItemController {
 
 		return ResponseEntity.ok(response);
 	}
+
+	private static ResponseEntity<List<PatientFileItemDTO>> pageResponse(PageDTO<PatientFileItemDTO> page) {
+
+		ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK);
+
+		if (page.getNext() != null) {
+			String nextUrl = ServletUriComponentsBuilder.fromCurrentRequest()
+					.replaceQueryParam("after", UriUtils.encodeQueryParam(page.getNext(), StandardCharsets.UTF_8))
+					.build(true).toUriString();
+			response.header(HttpHeaders.LINK, "<" + nextUrl + ">; rel=\"next\"");
+			response.header("X-Next-Cursor", page.getNext());
+		}
+
+		return response.body(page.getContent());
+	}
 }
@@ -0,0 +1,202 @@
+package fr.cnam.stefangeorgesco.dmp.authentication.domain.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Gestion du jeton d'accès administrateur Keycloak (grant password sur le
+ * royaume master).
+ *
+ * Le jeton est conservé jusqu'à peu avant son expiration ({@code expires_in}
+ * moins la marge {@code IAM.admin.token.expiry-margin}). Lorsque sa durée de
+ * validité restante devient inférieure à {@code IAM.admin.token.refresh-ahead},
+ * un nouveau jeton est demandé en arrière-plan et le jeton courant reste
+ * utilisé en attendant. Les demandes de jeton concurrentes sont regroupées en
+ * une seule requête à Keycloak.
+ *
+ * @author Stéfan Georgesco
+ *
+ */
+@Component
+public class KeycloakAdminTokenManager {
+
+	private final WebClient keyCloakClient;
+
+	private final String username;
+
+	private final String password;
+
+	private final String grantType;
+
+	private final String clientId;
+
+	private final Duration refreshAhead;
+
+	private final Duration expiryMargin;
+
+	private final Clock clock;
+
+	private final AtomicReference<AdminToken> current = new AtomicReference<>();
+
+	private final AtomicReference<CompletableFuture<AdminToken>> pending = new AtomicReference<>();
+
+	@Autowired
+	public KeycloakAdminTokenManager(WebClient keyCloakClient,
+			@Value("${IAM.admin.client.username}") String username,
+			@Value("${IAM.admin.client.password}") String password,
+			@Value("${IAM.admin.client.grant_type}") String grantType,
+			@Value("${IAM.admin.client.client_id}") String clientId,
+			@Value("${IAM.admin.token.refresh-ahead:PT20S}") Duration refreshAhead,
+			@Value("${IAM.admin.token.expiry-margin:PT5S}") Duration expiryMargin) {
+		this(keyCloakClient, username, password, grantType, clientId, refreshAhead, expiryMargin, Clock.systemUTC());
+	}
+
+	KeycloakAdminTokenManager(WebClient keyCloakClient, String username, String password, String grantType,
+			String clientId, Duration refreshAhead, Duration expiryMargin, Clock clock) {
+		this.keyCloakClient = keyCloakClient;
+		this.username = username;
+		this.password = password;
+		this.grantType = grantType;
+		this.clientId = clientId;
+		this.refreshAhead = refreshAhead;
+		this.expiryMargin = expiryMargin;
+		this.clock = clock;
+	}
+
+	/**
+	 * Fournit un jeton d'accès administrateur valide. Le jeton en cache est
+	 * renvoyé s'il n'est pas expiré ; s'il arrive à expiration, son
+	 * renouvellement est lancé en arrière-plan. Sans jeton valide, l'appelant
+	 * attend le nouveau jeton.
+	 *
+	 * @return le jeton d'accès.
+	 */
+	public String getToken() {
+
+		AdminToken token = current.get();
+		Instant now = clock.instant();
+
+		if (token != null && now.isBefore(token.expiresAt)) {
+			if (!now.isBefore(token.refreshAt)) {
+				refresh();
+			}
+			return token.value;
+		}
+
+		return await(refresh()).value;
+	}
+
+	/**
+	 * Force le renouvellement d'un jeton refusé par Keycloak (réponse 401). Si le
+	 * jeton a déjà été remplacé entre-temps, le nouveau jeton est renvoyé sans
+	 * nouvelle requête.
+	 *
+	 * @param rejectedToken le jeton refusé.
+	 * @return un nouveau jeton d'accès.
+	 */
+	public String refreshToken(String rejectedToken) {
+
+		AdminToken token = current.get();
+
+		if (token != null && !token.value.equals(rejectedToken) && clock.instant().isBefore(token.expiresAt)) {
+			return token.value;
+		}
+
+		current.compareAndSet(token, null);
+
+		return await(refresh()).value;
+	}
+
+	private CompletableFuture<AdminToken> refresh() {
+
+		CompletableFuture<AdminToken> future = new CompletableFuture<>();
+
+		while (!pending.compareAndSet(null, future)) {
+			CompletableFuture<AdminToken> inFlight = pending.get();
+			if (inFlight != null) {
+				return inFlight;
+			}
+		}
+
+		requestToken().single().subscribe(token -> {
+			current.set(token);
+			pending.set(null);
+			future.complete(token);
+		}, error -> {
+			pending.set(null);
+			future.completeExceptionally(error);
+		});
+
+		return future;
+	}
+
+	private Mono<AdminToken> requestToken() {
+
+		String admin = "username=" + username + "&password=" + password + "&grant_type=" + grantType + "&client_id="
+				+ clientId;
+		byte[] postData = admin.getBytes(StandardCharsets.UTF_8);
+
+		return keyCloakClient.post().uri("/realms/master/protocol/openid-connect/token")
+				.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+				.body(Mono.just(postData), byte[].class).retrieve()
+				.bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
+				}).map(this::toAdminToken);
+	}
+
+	private AdminToken toAdminToken(Map<String, Object> response) {
+
+		String value = (String) Objects.requireNonNull(response.get("access_token"));
+		Object expiresIn = response.get("expires_in");
+		long lifetime = expiresIn == null ? 0 : Long.parseLong(expiresIn.toString());
+
+		Instant now = clock.instant();
+		Instant expiresAt = now.plusSeconds(lifetime).minus(expiryMargin);
+		Instant refreshAt = now.plusSeconds(lifetime).minus(refreshAhead);
+		Instant halfLife = now.plusSeconds(lifetime / 2);
+
+		return new AdminToken(value, expiresAt, refreshAt.isBefore(halfLife) ? halfLife : refreshAt);
+	}
+
+	private static AdminToken await(CompletableFuture<AdminToken> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	private static class AdminToken {
+
+		private final String value;
+
+		private final Instant expiresAt;
+
+		private final Instant refreshAt;
+
+		private AdminToken(String value, Instant expiresAt, Instant refreshAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+			this.refreshAt = refreshAt;
+		}
+	}
+
+}
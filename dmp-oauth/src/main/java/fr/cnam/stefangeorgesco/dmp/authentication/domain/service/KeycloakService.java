@@ -4,7 +4,8 @@ import fr.cnam.stefangeorgesco.dmp.authentication.domain.dto.UserDTO;
 import org.keycloak.representations.idm.CredentialRepresentation;
 import org.keycloak.representations.idm.UserRepresentation;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -13,35 +14,71 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.nio.charset.StandardCharsets;
+import java.net.URI;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 
 @Service
 public class KeycloakService implements IAMService {
 
-	@Value("${IAM.admin.client.username}")
-	private String username;
-
-	@Value("${IAM.admin.client.password}")
-	private String password;
-
-	@Value("${IAM.admin.client.grant_type}")
-	private String grant_type;
-
-	@Value("${IAM.admin.client.client_id}")
-	private String client_id;
+	private static final int WARM_UP_PAGE_SIZE = 100;
 
 	@Value("${keycloak.realm}")
 	private String realm;
 
 	private final WebClient keyCloakClient;
 
-	public KeycloakService(WebClient keyCloakClient) {
+	private final KeycloakAdminTokenManager adminTokenManager;
+
+	private final KeycloakUserIdStore userIdStore;
+
+	private final boolean userIdWarmUp;
+
+	public KeycloakService(WebClient keyCloakClient, KeycloakAdminTokenManager adminTokenManager,
+			KeycloakUserIdStore userIdStore, @Value("${IAM.user-id.cache.warm-up:true}") boolean userIdWarmUp) {
 		this.keyCloakClient = keyCloakClient;
+		this.adminTokenManager = adminTokenManager;
+		this.userIdStore = userIdStore;
+		this.userIdWarmUp = userIdWarmUp;
+	}
+
+	/**
+	 * Chargement au démarrage des identifiants Keycloak des utilisateurs
+	 * existants, dans la limite de la taille du cache. En cas d'erreur (Keycloak
+	 * indisponible), les identifiants seront recherchés à la demande.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUpUserIds() {
+
+		if (!userIdWarmUp) {
+			return;
+		}
+
+		try {
+			int first = 0;
+			UserRepresentation[] page;
+			do {
+				int offset = first;
+				page = withAdminToken(token -> keyCloakClient.get()
+						.uri("/admin/realms/" + realm + "/users?first=" + offset + "&max=" + WARM_UP_PAGE_SIZE)
+						.header("Authorization", "Bearer " + token).retrieve()
+						.bodyToMono(UserRepresentation[].class).block());
+				if (page == null) {
+					break;
+				}
+				for (UserRepresentation user : page) {
+					userIdStore.put(getIdAttribute(user), user.getId());
+				}
+				first += page.length;
+			} while (page.length == WARM_UP_PAGE_SIZE && userIdStore.hasCapacity());
+		} catch (RuntimeException e) {
+			System.err.println("Les identifiants des utilisateurs keycloak n'ont pas pu être chargés.");
+		}
 	}
 
 	/**
@@ -52,13 +89,7 @@ public class KeycloakService implements IAMService {
 	 */
 	@Override
 	public boolean userExistsByUsername(String username) {
-		String token = getAdminToken();
-
-		UserRepresentation[] ur = keyCloakClient.get()
-				.uri("/admin/realms/" + realm + "/users?username=" + username + "&exact=true")
-				.header("Authorization", "Bearer " + token).retrieve().bodyToMono(UserRepresentation[].class).block();
-
-		return ur != null && ur.length > 0;
+		return Boolean.TRUE.equals(userExistsByUsernameAsync(username).block());
 	}
 
 	/**
@@ -69,12 +100,37 @@ public class KeycloakService implements IAMService {
 	 */
 	@Override
 	public boolean userExistsById(String id) {
-		String token = getAdminToken();
+		return Boolean.TRUE.equals(userExistsByIdAsync(id).block());
+	}
 
-		UserRepresentation[] ur = keyCloakClient.get().uri("/admin/realms/" + realm + "/users?q=id:" + id)
-				.header("Authorization", "Bearer " + token).retrieve().bodyToMono(UserRepresentation[].class).block();
+	/**
+	 * Service réactif indiquant si un utilisateur existe, recherche par nom
+	 * d'utilisateur. La requête est émise à la souscription.
+	 * 
+	 * @param username le nom d'utilisateur.
+	 * @return un {@link Mono} émettant true si l'utilisateur existe, false sinon.
+	 */
+	@Override
+	public Mono<Boolean> userExistsByUsernameAsync(String username) {
+		return withAdminTokenAsync(token -> keyCloakClient.get()
+				.uri("/admin/realms/" + realm + "/users?username=" + username + "&exact=true")
+				.header("Authorization", "Bearer " + token).retrieve().bodyToMono(UserRepresentation[].class))
+				.map(ur -> ur.length > 0).defaultIfEmpty(false);
+	}
 
-		return ur != null && ur.length > 0;
+	/**
+	 * Service réactif indiquant si un utilisateur existe, recherche par
+	 * identifiant. La requête est émise à la souscription.
+	 * 
+	 * @param id l'identifiant.
+	 * @return un {@link Mono} émettant true si l'utilisateur existe, false sinon.
+	 */
+	@Override
+	public Mono<Boolean> userExistsByIdAsync(String id) {
+		return withAdminTokenAsync(token -> keyCloakClient.get()
+				.uri("/admin/realms/" + realm + "/users?q=id:" + id)
+				.header("Authorization", "Bearer " + token).retrieve().bodyToMono(UserRepresentation[].class))
+				.map(ur -> ur.length > 0).defaultIfEmpty(false);
 	}
 
 	/**
@@ -87,8 +143,6 @@ public class KeycloakService implements IAMService {
 	 */
 	@Override
 	public HttpStatus createUser(UserDTO userDTO) throws WebClientResponseException {
-		String token = getAdminToken();
-
 		CredentialRepresentation credentials = new CredentialRepresentation();
 		credentials.setType("password");
 		credentials.setTemporary(false);
@@ -108,12 +162,19 @@ public class KeycloakService implements IAMService {
 
 		user.setAttributes(attributes);
 
-		ResponseEntity<Void> resp = keyCloakClient.post().uri("/admin/realms/" + realm + "/users")
+		ResponseEntity<Void> resp = withAdminToken(token -> keyCloakClient.post().uri("/admin/realms/" + realm + "/users")
 				.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
 				.header("Authorization", "Bearer " + token).body(Mono.just(user), UserRepresentation.class).retrieve()
-				.toBodilessEntity().block();
+				.toBodilessEntity().block());
 
-		return Objects.requireNonNull(resp).getStatusCode();
+		URI location = Objects.requireNonNull(resp).getHeaders().getLocation();
+
+		if (location != null) {
+			String path = location.getPath();
+			userIdStore.put(userDTO.getId(), path.substring(path.lastIndexOf('/') + 1));
+		}
+
+		return resp.getStatusCode();
 	}
 
 	/**
@@ -126,18 +187,16 @@ public class KeycloakService implements IAMService {
 	 */
 	@Override
 	public HttpStatus updateUser(UserDTO userDTO) throws WebClientResponseException {
-		String token = getAdminToken();
-		String userId = getUserIdById(token, userDTO.getId());
-
 		UserRepresentation user = new UserRepresentation();
 		user.setFirstName(userDTO.getFirstname());
 		user.setLastName(userDTO.getLastname());
 		user.setEmail(userDTO.getEmail());
 
-		ResponseEntity<Void> resp = keyCloakClient.put().uri("/admin/realms/" + realm + "/users/" + userId)
-				.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-				.header("Authorization", "Bearer " + token).body(Mono.just(user), UserRepresentation.class).retrieve()
-				.toBodilessEntity().block();
+		ResponseEntity<Void> resp = withAdminToken(token -> withUserId(token, userDTO.getId(),
+				userId -> keyCloakClient.put().uri("/admin/realms/" + realm + "/users/" + userId)
+						.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+						.header("Authorization", "Bearer " + token).body(Mono.just(user), UserRepresentation.class)
+						.retrieve().toBodilessEntity().block()));
 
 		return Objects.requireNonNull(resp).getStatusCode();
 	}
@@ -150,37 +209,76 @@ public class KeycloakService implements IAMService {
 	 */
 	@Override
 	public HttpStatus deleteUser(String id) {
-		String token = getAdminToken();
+		ResponseEntity<Void> resp = withAdminToken(token -> withUserId(token, id,
+				userId -> keyCloakClient.delete().uri("/admin/realms/" + realm + "/users/" + userId)
+						.header("Authorization", "Bearer " + token).retrieve().toBodilessEntity().block()));
 
-		String userId = getUserIdById(token, id);
-
-		ResponseEntity<Void> resp = keyCloakClient.delete().uri("/admin/realms/" + realm + "/users/" + userId)
-				.header("Authorization", "Bearer " + token).retrieve().toBodilessEntity().block();
+		userIdStore.evict(id);
 
 		return Objects.requireNonNull(resp).getStatusCode();
 	}
 
+	/**
+	 * Exécute une requête sur un utilisateur désigné par son identifiant Keycloak,
+	 * pris dans le cache des identifiants s'il y est connu. Si l'utilisateur
+	 * n'existe plus sous cet identifiant (404), l'identifiant est recherché dans
+	 * Keycloak et la requête est rejouée.
+	 */
+	private <T> T withUserId(String token, String id, Function<String, T> request) {
+		String cachedUserId = userIdStore.get(id);
+		if (cachedUserId != null) {
+			try {
+				return request.apply(cachedUserId);
+			} catch (WebClientResponseException.NotFound e) {
+				userIdStore.evict(id);
+			}
+		}
+		return request.apply(getUserIdById(token, id));
+	}
+
 	private String getUserIdById(String token, String id) {
 		UserRepresentation[] ur = keyCloakClient.get().uri("/admin/realms/" + realm + "/users?q=id:" + id)
 				.header("Authorization", "Bearer " + token).retrieve().bodyToMono(UserRepresentation[].class).block();
 		try {
-			return Objects.requireNonNull(ur)[0].getId();
+			String userId = Objects.requireNonNull(ur)[0].getId();
+			userIdStore.put(id, userId);
+			return userId;
 		} catch (ArrayIndexOutOfBoundsException e) {
 			return "unknown";
 		}
 	}
 
-	private String getAdminToken() {
-		String admin = "username=" + username + "&password=" + password + "&grant_type=" + grant_type + "&client_id="
-				+ client_id;
-		byte[] postData = admin.getBytes(StandardCharsets.UTF_8);
-		Map<String, String> result = keyCloakClient.post().uri("/realms/master/protocol/openid-connect/token")
-				.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED_VALUE)
-				.body(Mono.just(postData), byte[].class).retrieve()
-				.bodyToMono(new ParameterizedTypeReference<Map<String, String>>() {
-				}).block();
-
-		return Objects.requireNonNull(result).get("access_token");
+	private static String getIdAttribute(UserRepresentation user) {
+		Map<String, List<String>> attributes = user.getAttributes();
+		if (attributes == null || attributes.get("id") == null || attributes.get("id").isEmpty()) {
+			return null;
+		}
+		return attributes.get("id").get(0);
+	}
+
+	/**
+	 * Exécute une requête d'administration avec le jeton administrateur en cache.
+	 * Si Keycloak refuse le jeton (401), la requête est rejouée une fois avec un
+	 * nouveau jeton.
+	 */
+	private <T> T withAdminToken(Function<String, T> request) {
+		String token = adminTokenManager.getToken();
+		try {
+			return request.apply(token);
+		} catch (WebClientResponseException.Unauthorized e) {
+			return request.apply(adminTokenManager.refreshToken(token));
+		}
+	}
+
+	/**
+	 * Version réactive de {@link #withAdminToken(Function)}. Le renouvellement
+	 * forcé du jeton, bloquant, est exécuté hors des threads d'entrée-sortie.
+	 */
+	private <T> Mono<T> withAdminTokenAsync(Function<String, Mono<T>> request) {
+		return Mono.fromCallable(adminTokenManager::getToken)
+				.flatMap(token -> request.apply(token).onErrorResume(WebClientResponseException.Unauthorized.class,
+						e -> Mono.fromCallable(() -> adminTokenManager.refreshToken(token))
+								.subscribeOn(Schedulers.boundedElastic()).flatMap(request)));
 	}
 
 }
@@ -0,0 +1,91 @@
+package fr.cnam.stefangeorgesco.dmp.authentication.domain.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Correspondance entre l'identifiant d'un dossier (attribut {@code id} de
+ * l'utilisateur Keycloak, par exemple « D001 » ou « P001 ») et l'identifiant
+ * (UUID) de l'utilisateur dans Keycloak. Cette correspondance ne change pas
+ * tant que le compte existe : elle est conservée dans un cache borné
+ * ({@code IAM.user-id.cache.max-size} entrées, les moins récemment utilisées
+ * sont retirées en premier).
+ *
+ * @author Stéfan Georgesco
+ *
+ */
+@Component
+public class KeycloakUserIdStore {
+
+	private final int maxSize;
+
+	private final Map<String, String> userIds;
+
+	public KeycloakUserIdStore(@Value("${IAM.user-id.cache.max-size:10000}") int maxSize) {
+		this.maxSize = maxSize;
+		this.userIds = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+				return size() > KeycloakUserIdStore.this.maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Recherche l'identifiant Keycloak d'un utilisateur.
+	 *
+	 * @param id l'identifiant du dossier de l'utilisateur.
+	 * @return l'identifiant Keycloak, ou {@code null} s'il n'est pas connu.
+	 */
+	public String get(String id) {
+
+		synchronized (userIds) {
+			return userIds.get(id);
+		}
+	}
+
+	/**
+	 * Enregistre l'identifiant Keycloak d'un utilisateur.
+	 *
+	 * @param id         l'identifiant du dossier de l'utilisateur.
+	 * @param keycloakId l'identifiant Keycloak.
+	 */
+	public void put(String id, String keycloakId) {
+
+		if (maxSize <= 0 || id == null || keycloakId == null) {
+			return;
+		}
+
+		synchronized (userIds) {
+			userIds.put(id, keycloakId);
+		}
+	}
+
+	/**
+	 * Supprime la correspondance d'un utilisateur.
+	 *
+	 * @param id l'identifiant du dossier de l'utilisateur.
+	 */
+	public void evict(String id) {
+
+		synchronized (userIds) {
+			userIds.remove(id);
+		}
+	}
+
+	/**
+	 * Indique si le cache peut encore accueillir des entrées sans en retirer.
+	 *
+	 * @return {@code true} si le cache n'est pas plein.
+	 */
+	public boolean hasCapacity() {
+
+		synchronized (userIds) {
+			return userIds.size() < maxSize;
+		}
+	}
+
+}
@@ -5,15 +5,19 @@ import fr.cnam.stefangeorgesco.dmp.authentication.domain.model.User;
 import fr.cnam.stefangeorgesco.dmp.domain.dao.FileDAO;
 import fr.cnam.stefangeorgesco.dmp.domain.model.Doctor;
 import fr.cnam.stefangeorgesco.dmp.domain.model.File;
+import fr.cnam.stefangeorgesco.dmp.domain.service.MapperService;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.*;
-import org.modelmapper.ModelMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
-
-import java.util.Optional;
+import org.springframework.web.reactive.function.client.WebClientException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.function.Tuple2;
 
 /**
  * Classe de service pour la gestion des utilisateurs.
@@ -29,29 +33,52 @@ public class UserServiceImpl implements UserService {
 
 	private final FileDAO fileDAO;
 
-	private final ModelMapper commonModelMapper;
+	private final MapperService mapperService;
 
 	private final BCryptPasswordEncoder bCryptPasswordEncoder;
 
-	public UserServiceImpl(IAMService IAMService, FileDAO fileDAO, ModelMapper commonModelMapper, BCryptPasswordEncoder bCryptPasswordEncoder) {
+	private final Scheduler checksScheduler;
+
+	private final Scheduler hashingScheduler;
+
+	private final Counter upgradedCounter;
+
+	private final Counter upgradeFailedCounter;
+
+	public UserServiceImpl(IAMService IAMService, FileDAO fileDAO, MapperService mapperService, BCryptPasswordEncoder bCryptPasswordEncoder, Scheduler checksScheduler, Scheduler hashingScheduler,
+			MeterRegistry meterRegistry) {
 		this.IAMService = IAMService;
 		this.fileDAO = fileDAO;
-		this.commonModelMapper = commonModelMapper;
+		this.mapperService = mapperService;
 		this.bCryptPasswordEncoder = bCryptPasswordEncoder;
+		this.checksScheduler = checksScheduler;
+		this.hashingScheduler = hashingScheduler;
+		this.upgradedCounter = Counter.builder("security.code.upgrades").tag("outcome", "upgraded")
+				.register(meterRegistry);
+		this.upgradeFailedCounter = Counter.builder("security.code.upgrades").tag("outcome", "failed")
+				.register(meterRegistry);
 	}
 
 	/**
 	 * Service de création d'un compte utilisateur. Le service vérifie qu'un compte
 	 * avec le même identifiant ou le même nom d'utilsateur n'existe pas, qu'un
 	 * dossier (de médecin ou de patient) avec le même identifiant existe et que les
-	 * données fournies concordent avec ce dossier.
+	 * données fournies concordent avec ce dossier. Les deux recherches dans
+	 * Keycloak et la vérification du dossier sont exécutées en parallèle ; la
+	 * première vérification en échec interrompt les autres. La vérification BCrypt
+	 * du code de sécurité est exécutée par l'ordonnanceur dédié
+	 * {@code hashingScheduler} ; si le code a été haché avec un facteur de coût
+	 * inférieur au facteur configuré, il est rehaché avec ce facteur en
+	 * arrière-plan, une fois le compte créé, sans retarder la réponse (mesure
+	 * {@code security.code.upgrades}).
 	 * 
 	 * @param userDTO l'objet
 	 *                {@link fr.cnam.stefangeorgesco.dmp.authentication.domain.dto.UserDTO}
 	 *                représentant le compte utilisateur à créer.
 	 * @throws FinderException       le dossier n'existe pas.
 	 * @throws CheckException        les données ne concordent pas.
-	 * @throws CreateException       le compte utilisateur n'a pas pu être créé.
+	 * @throws CreateException       le compte utilisateur n'a pas pu être créé, ou
+	 *                               Keycloak est indisponible.
 	 * @throws DuplicateKeyException Le compte utilisateur existe déjà ou le nom
 	 *                               d'utilisateur existe déjà.
 	 */
@@ -59,26 +86,29 @@ public class UserServiceImpl implements UserService {
 	public void createUser(UserDTO userDTO)
 			throws FinderException, CheckException, CreateException, DuplicateKeyException {
 		
-		if (IAMService.userExistsById(userDTO.getId())) {
-			throw new DuplicateKeyException("Le compte utilisateur existe déjà.");
-		}
-
-		if (IAMService.userExistsByUsername(userDTO.getUsername())) {
-			throw new DuplicateKeyException("Le nom d'utilisateur existe déjà.");
-		}
-
-		Optional<File> optionalFile = fileDAO.findById(userDTO.getId());
-
-		if (optionalFile.isEmpty()) {
-			throw new FinderException("Le dossier n'existe pas.");
-		}
-
-		File file = optionalFile.get();
-
-		User user = commonModelMapper.map(userDTO, User.class);
+		User user = mapperService.mapToEntity(userDTO);
+
+		Mono<Boolean> accountChecks = Mono.when(
+				IAMService.userExistsByIdAsync(userDTO.getId())
+						.flatMap(exists -> exists
+								? Mono.error(new DuplicateKeyException("Le compte utilisateur existe déjà."))
+								: Mono.empty()),
+				IAMService.userExistsByUsernameAsync(userDTO.getUsername())
+						.flatMap(exists -> exists
+								? Mono.error(new DuplicateKeyException("Le nom d'utilisateur existe déjà."))
+								: Mono.empty()))
+				.thenReturn(true);
+
+		Mono<File> fileCheck = Mono.fromCallable(() -> fileDAO.findById(userDTO.getId())
+				.orElseThrow(() -> new FinderException("Le dossier n'existe pas.")))
+				.subscribeOn(checksScheduler)
+				.flatMap(file -> Mono.fromCallable(() -> {
+					file.checkUserData(user, bCryptPasswordEncoder);
+					return file;
+				}).subscribeOn(hashingScheduler));
+
+		File file = awaitChecks(Mono.zip(accountChecks, fileCheck).map(Tuple2::getT2));
 
-		file.checkUserData(user, bCryptPasswordEncoder);
-		
 		userDTO.setEmail(file.getEmail());
 		userDTO.setFirstname(file.getFirstname());
 		userDTO.setLastname(file.getLastname());
@@ -91,10 +121,60 @@ public class UserServiceImpl implements UserService {
 
 		try {
 			IAMService.createUser(userDTO);
-		} catch (WebClientResponseException e) {
+		} catch (WebClientException e) {
 			throw new CreateException("Le compte utilisateur n'a pas pu être créé (erreur webclient Keycloak).");
 		}
 
+		if (bCryptPasswordEncoder.upgradeEncoding(file.getSecurityCode())) {
+			upgradeSecurityCode(file, user.getSecurityCode());
+		}
+
+	}
+
+	/**
+	 * Rehache un code de sécurité avec le facteur de coût configuré, sans attendre
+	 * le résultat : le hachage est exécuté par l'ordonnanceur
+	 * {@code hashingScheduler}, l'enregistrement par l'ordonnanceur
+	 * {@code checksScheduler}. Un échec (file d'attente de hachage pleine, erreur
+	 * d'accès à la base) est compté et le code reste haché avec l'ancien facteur,
+	 * jusqu'à la vérification suivante.
+	 */
+	private void upgradeSecurityCode(File file, String securityCode) {
+		Mono.fromCallable(() -> bCryptPasswordEncoder.encode(securityCode))
+				.subscribeOn(hashingScheduler)
+				.publishOn(checksScheduler)
+				.map(upgradedSecurityCode -> fileDAO.updateSecurityCode(file.getId(), file.getSecurityCode(),
+						upgradedSecurityCode))
+				.subscribe(updated -> {
+					if (updated > 0) {
+						upgradedCounter.increment();
+					}
+				}, e -> {
+					upgradeFailedCounter.increment();
+					System.err.println("Le code de sécurité du dossier " + file.getId() + " n'a pas pu être rehaché.");
+				});
+	}
+
+	private static File awaitChecks(Mono<File> checks)
+			throws FinderException, CheckException, CreateException, DuplicateKeyException {
+		try {
+			return checks.block();
+		} catch (RuntimeException e) {
+			Throwable cause = Exceptions.unwrap(e);
+			if (cause instanceof DuplicateKeyException) {
+				throw (DuplicateKeyException) cause;
+			}
+			if (cause instanceof FinderException) {
+				throw (FinderException) cause;
+			}
+			if (cause instanceof CheckException) {
+				throw (CheckException) cause;
+			}
+			if (cause instanceof WebClientException) {
+				throw new CreateException("Le compte utilisateur n'a pas pu être créé (Keycloak indisponible).");
+			}
+			throw e;
+		}
 	}
 	
 	/**
@@ -106,7 +186,7 @@ public class UserServiceImpl implements UserService {
 	public void updateUser(UserDTO userDTO) {
 		try {
 			IAMService.updateUser(userDTO);
-		} catch (WebClientResponseException e) {
+		} catch (WebClientException e) {
 			System.err.println("L'utilisateur keycloak n'a pas pu être mise à jour.");
 		}
 	}
@@ -128,7 +208,7 @@ public class UserServiceImpl implements UserService {
 
 		try {
 			responseStatus = IAMService.deleteUser(id);
-		} catch (WebClientResponseException e) {
+		} catch (WebClientException e) {
 			throw new DeleteException("Le compte utilisateur n'a pas pu être supprimé (erreur webclient Keycloak).");
 		}
 
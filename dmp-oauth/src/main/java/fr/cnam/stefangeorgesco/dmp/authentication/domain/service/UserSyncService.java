@@ -0,0 +1,11 @@
+package fr.cnam.stefangeorgesco.dmp.authentication.domain.service;
+
+import fr.cnam.stefangeorgesco.dmp.authentication.domain.dto.UserDTO;
+
+public interface UserSyncService {
+    void scheduleUserUpdate(UserDTO userDTO);
+
+    void scheduleUserDeletion(String id);
+
+    void dispatchPendingEvents();
+}
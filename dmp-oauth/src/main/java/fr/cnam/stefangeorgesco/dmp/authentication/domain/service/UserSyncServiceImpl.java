@@ -0,0 +1,217 @@
+package fr.cnam.stefangeorgesco.dmp.authentication.domain.service;
+
+import fr.cnam.stefangeorgesco.dmp.authentication.domain.dto.UserDTO;
+import fr.cnam.stefangeorgesco.dmp.domain.dao.UserSyncEventDAO;
+import fr.cnam.stefangeorgesco.dmp.domain.model.UserSyncEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import javax.transaction.Transactional;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Classe de service pour la synchronisation des comptes utilisateurs Keycloak
+ * par boîte d'envoi transactionnelle. Les mises à jour et suppressions de
+ * comptes sont enregistrées comme événements dans la transaction de la
+ * modification du dossier, puis transmises à Keycloak par lots, en
+ * arrière-plan, dans l'ordre d'enregistrement pour un même utilisateur. Une
+ * transmission en échec est rejouée après un délai qui double à chaque
+ * tentative, borné par {@code user-sync.retry.max-backoff}.
+ * 
+ * @author Stéfan Georgesco
+ *
+ */
+@Service
+public class UserSyncServiceImpl implements UserSyncService {
+
+	private static final int MAX_BACKOFF_SHIFT = 20;
+
+	private final UserSyncEventDAO userSyncEventDAO;
+
+	private final IAMService IAMService;
+
+	private final int batchSize;
+
+	private final Duration initialBackoff;
+
+	private final Duration maxBackoff;
+
+	private final AtomicLong backlogSize = new AtomicLong();
+
+	private final AtomicLong backlogAgeMillis = new AtomicLong();
+
+	private final Counter dispatchedCounter;
+
+	private final Counter supersededCounter;
+
+	private final Counter failedCounter;
+
+	public UserSyncServiceImpl(UserSyncEventDAO userSyncEventDAO, IAMService IAMService, MeterRegistry meterRegistry,
+			@Value("${user-sync.batch-size:50}") int batchSize,
+			@Value("${user-sync.retry.initial-backoff:PT1S}") Duration initialBackoff,
+			@Value("${user-sync.retry.max-backoff:PT5M}") Duration maxBackoff) {
+		this.userSyncEventDAO = userSyncEventDAO;
+		this.IAMService = IAMService;
+		this.batchSize = batchSize;
+		this.initialBackoff = initialBackoff;
+		this.maxBackoff = maxBackoff;
+		Gauge.builder("user.sync.backlog", backlogSize, AtomicLong::get)
+				.description("Nombre d'événements de synchronisation en attente").register(meterRegistry);
+		TimeGauge.builder("user.sync.backlog.age", backlogAgeMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+				.description("Ancienneté du plus ancien événement de synchronisation en attente")
+				.register(meterRegistry);
+		this.dispatchedCounter = Counter.builder("user.sync.events").tag("outcome", "dispatched")
+				.register(meterRegistry);
+		this.supersededCounter = Counter.builder("user.sync.events").tag("outcome", "superseded")
+				.register(meterRegistry);
+		this.failedCounter = Counter.builder("user.sync.events").tag("outcome", "failed").register(meterRegistry);
+	}
+
+	/**
+	 * Enregistre la mise à jour des données d'un utilisateur (prénom, nom, email)
+	 * à reporter dans Keycloak. Le service doit être appelé dans la transaction de
+	 * la modification du dossier.
+	 * 
+	 * @param userDTO l'objet UserDTO contenant les données à mettre à jour.
+	 */
+	@Override
+	@Transactional(Transactional.TxType.MANDATORY)
+	public void scheduleUserUpdate(UserDTO userDTO) {
+
+		UserSyncEvent event = newEvent(userDTO.getId(), UserSyncEvent.UPDATE);
+		event.setFirstname(userDTO.getFirstname());
+		event.setLastname(userDTO.getLastname());
+		event.setEmail(userDTO.getEmail());
+
+		userSyncEventDAO.save(event);
+	}
+
+	/**
+	 * Enregistre la suppression d'un compte utilisateur à reporter dans Keycloak.
+	 * Le service doit être appelé dans la transaction de la suppression du
+	 * dossier.
+	 * 
+	 * @param id l'identifiant du compte utilisateur.
+	 */
+	@Override
+	@Transactional(Transactional.TxType.MANDATORY)
+	public void scheduleUserDeletion(String id) {
+
+		userSyncEventDAO.save(newEvent(id, UserSyncEvent.DELETE));
+	}
+
+	/**
+	 * Transmet à Keycloak, par lots de {@code user-sync.batch-size} événements,
+	 * les événements en attente dont la date de transmission est atteinte, puis
+	 * met à jour les mesures de l'arriéré. Les lots sont lus tant qu'au moins un
+	 * événement du lot précédent a été transmis ou écarté, de sorte qu'un passage
+	 * transmet tous les événements successifs d'un même utilisateur. Une mise à
+	 * jour suivie d'un autre
+	 * événement pour le même utilisateur n'est pas transmise. Un compte
+	 * utilisateur inexistant dans Keycloak (404) n'est pas une erreur : il n'y a
+	 * rien à synchroniser.
+	 */
+	@Override
+	@Scheduled(fixedDelayString = "${user-sync.dispatch-interval:PT1S}")
+	public void dispatchPendingEvents() {
+
+		boolean removed;
+
+		do {
+			removed = false;
+			for (UserSyncEvent event : userSyncEventDAO.findDueEvents(now(), PageRequest.of(0, batchSize))) {
+				removed |= dispatch(event);
+			}
+		} while (removed);
+
+		backlogSize.set(userSyncEventDAO.count());
+		Timestamp oldest = userSyncEventDAO.findOldestCreatedDate();
+		backlogAgeMillis.set(oldest == null ? 0 : Math.max(0, System.currentTimeMillis() - oldest.getTime()));
+	}
+
+	// true si l'événement a été transmis ou écarté, false s'il est reporté
+	private boolean dispatch(UserSyncEvent event) {
+
+		if (UserSyncEvent.UPDATE.equals(event.getEventType())
+				&& userSyncEventDAO.existsByUserIdAndIdGreaterThan(event.getUserId(), event.getId())) {
+			userSyncEventDAO.deleteById(event.getId());
+			supersededCounter.increment();
+			return true;
+		}
+
+		try {
+			HttpStatus responseStatus = send(event);
+			if (responseStatus != null && responseStatus.isError()) {
+				retryLater(event, "HTTPStatus : " + responseStatus);
+				return false;
+			}
+		} catch (WebClientResponseException.NotFound e) {
+			// pas de compte utilisateur associé au dossier : rien à synchroniser
+		} catch (RuntimeException e) {
+			retryLater(event, e.getClass().getSimpleName() + " : " + e.getMessage());
+			return false;
+		}
+
+		userSyncEventDAO.deleteById(event.getId());
+		dispatchedCounter.increment();
+		return true;
+	}
+
+	private HttpStatus send(UserSyncEvent event) {
+
+		if (UserSyncEvent.DELETE.equals(event.getEventType())) {
+			return IAMService.deleteUser(event.getUserId());
+		}
+
+		UserDTO userDTO = new UserDTO();
+		userDTO.setId(event.getUserId());
+		userDTO.setFirstname(event.getFirstname());
+		userDTO.setLastname(event.getLastname());
+		userDTO.setEmail(event.getEmail());
+
+		return IAMService.updateUser(userDTO);
+	}
+
+	private void retryLater(UserSyncEvent event, String error) {
+
+		int attempts = event.getAttempts() + 1;
+		long backoffMillis = Math.min(maxBackoff.toMillis(),
+				initialBackoff.toMillis() << Math.min(attempts - 1, MAX_BACKOFF_SHIFT));
+
+		event.setAttempts(attempts);
+		event.setLastError(StringUtils.abbreviate(error, 255));
+		event.setNextAttemptDate(new Timestamp(System.currentTimeMillis() + backoffMillis));
+		userSyncEventDAO.save(event);
+		failedCounter.increment();
+
+		System.err.println("L'utilisateur keycloak " + event.getUserId() + " n'a pas pu être synchronisé (tentative "
+				+ attempts + ", " + error + ").");
+	}
+
+	private static UserSyncEvent newEvent(String userId, String eventType) {
+		UserSyncEvent event = new UserSyncEvent();
+		event.setUserId(userId);
+		event.setEventType(eventType);
+		event.setCreatedDate(now());
+		event.setNextAttemptDate(event.getCreatedDate());
+		return event;
+	}
+
+	private static Timestamp now() {
+		return new Timestamp(System.currentTimeMillis());
+	}
+
+}
@@ -0,0 +1,191 @@
+package fr.cnam.stefangeorgesco.dmp.configuration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Décodeur des jetons d'accès conservant les jetons vérifiés et les rôles
+ * correspondants.
+ *
+ * Le résultat de la vérification d'un jeton (signature, dates de validité) par
+ * le décodeur {@code delegate} est conservé, sous l'empreinte SHA-256 du jeton,
+ * jusqu'à l'expiration du jeton (revendication {@code exp}) dans un cache borné
+ * ({@code maxSize} entrées, les moins récemment utilisées sont retirées en
+ * premier). Les rôles d'un jeton conservé, obtenus par le convertisseur
+ * {@code authoritiesConverter}, sont calculés une seule fois.
+ *
+ * Les consultations du cache sont publiées par la mesure {@code cache.gets}
+ * (cache {@code jwt} ou {@code jwt-authorities}, résultat {@code hit} ou
+ * {@code miss}) et sa taille par la mesure {@code cache.size}.
+ *
+ * @author Stéfan Georgesco
+ *
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+	private final JwtDecoder delegate;
+
+	private final Converter<Jwt, Collection<GrantedAuthority>> authoritiesConverter;
+
+	private final int maxSize;
+
+	private final Clock clock;
+
+	private final Map<String, CachedJwt> tokens;
+
+	private final Counter jwtHits;
+
+	private final Counter jwtMisses;
+
+	private final Counter authoritiesHits;
+
+	private final Counter authoritiesMisses;
+
+	public CachingJwtDecoder(JwtDecoder delegate, Converter<Jwt, Collection<GrantedAuthority>> authoritiesConverter,
+			int maxSize, MeterRegistry meterRegistry) {
+		this(delegate, authoritiesConverter, maxSize, meterRegistry, Clock.systemUTC());
+	}
+
+	CachingJwtDecoder(JwtDecoder delegate, Converter<Jwt, Collection<GrantedAuthority>> authoritiesConverter,
+			int maxSize, MeterRegistry meterRegistry, Clock clock) {
+		this.delegate = delegate;
+		this.authoritiesConverter = authoritiesConverter;
+		this.maxSize = maxSize;
+		this.clock = clock;
+		this.tokens = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CachedJwt> eldest) {
+				return size() > CachingJwtDecoder.this.maxSize;
+			}
+		};
+		this.jwtHits = Counter.builder("cache.gets").tag("cache", "jwt").tag("result", "hit")
+				.register(meterRegistry);
+		this.jwtMisses = Counter.builder("cache.gets").tag("cache", "jwt").tag("result", "miss")
+				.register(meterRegistry);
+		this.authoritiesHits = Counter.builder("cache.gets").tag("cache", "jwt-authorities").tag("result", "hit")
+				.register(meterRegistry);
+		this.authoritiesMisses = Counter.builder("cache.gets").tag("cache", "jwt-authorities")
+				.tag("result", "miss").register(meterRegistry);
+		Gauge.builder("cache.size", this, CachingJwtDecoder::size).tag("cache", "jwt").register(meterRegistry);
+	}
+
+	/**
+	 * Décode et vérifie un jeton d'accès, ou renvoie le résultat conservé d'une
+	 * vérification précédente du même jeton non expiré.
+	 *
+	 * @param token le jeton d'accès.
+	 * @return le jeton vérifié.
+	 */
+	@Override
+	public Jwt decode(String token) {
+
+		String key = digest(token);
+		CachedJwt cached = get(key);
+
+		if (cached != null) {
+			jwtHits.increment();
+			return cached.jwt;
+		}
+
+		jwtMisses.increment();
+		Jwt jwt = delegate.decode(token);
+
+		if (maxSize > 0 && jwt.getExpiresAt() != null) {
+			synchronized (tokens) {
+				tokens.put(key, new CachedJwt(jwt));
+			}
+		}
+
+		return jwt;
+	}
+
+	/**
+	 * Convertisseur des rôles d'un jeton vérifié, à fournir au
+	 * {@link org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter}.
+	 *
+	 * @return le convertisseur.
+	 */
+	public Converter<Jwt, Collection<GrantedAuthority>> authoritiesConverter() {
+		return this::authorities;
+	}
+
+	private Collection<GrantedAuthority> authorities(Jwt jwt) {
+
+		CachedJwt cached = get(digest(jwt.getTokenValue()));
+
+		if (cached == null || cached.jwt != jwt) {
+			authoritiesMisses.increment();
+			return authoritiesConverter.convert(jwt);
+		}
+
+		Collection<GrantedAuthority> authorities = cached.authorities;
+
+		if (authorities != null) {
+			authoritiesHits.increment();
+			return authorities;
+		}
+
+		authoritiesMisses.increment();
+		authorities = Collections.unmodifiableList(new ArrayList<>(authoritiesConverter.convert(jwt)));
+		cached.authorities = authorities;
+
+		return authorities;
+	}
+
+	private CachedJwt get(String key) {
+
+		synchronized (tokens) {
+			CachedJwt cached = tokens.get(key);
+			if (cached != null && !clock.instant().isBefore(cached.jwt.getExpiresAt())) {
+				tokens.remove(key);
+				return null;
+			}
+			return cached;
+		}
+	}
+
+	private int size() {
+
+		synchronized (tokens) {
+			return tokens.size();
+		}
+	}
+
+	private static String digest(String token) {
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+			return Base64.getEncoder().encodeToString(hash);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static class CachedJwt {
+
+		private final Jwt jwt;
+
+		private volatile Collection<GrantedAuthority> authorities;
+
+		private CachedJwt(Jwt jwt) {
+			this.jwt = jwt;
+		}
+
+	}
+
+}
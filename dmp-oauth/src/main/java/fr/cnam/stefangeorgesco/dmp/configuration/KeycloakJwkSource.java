@@ -0,0 +1,143 @@
+package fr.cnam.stefangeorgesco.dmp.configuration;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.net.URI;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Jeu de clés publiques (JWKS) du royaume Keycloak, utilisé pour vérifier la
+ * signature des jetons d'accès.
+ *
+ * Le jeu de clés est chargé au démarrage de l'application (sauf si la
+ * propriété {@code IAM.jwks.prefetch} vaut {@code false}), puis rechargé en
+ * arrière-plan toutes les {@code IAM.jwks.refresh-interval}, de sorte que la
+ * vérification d'un jeton n'attende pas Keycloak. Un jeton signé par une clé
+ * inconnue (renouvellement des clés du royaume) provoque un rechargement
+ * immédiat, au plus une fois par {@code IAM.jwks.min-refresh-interval} ; en cas
+ * d'échec d'un rechargement, le jeu de clés précédent reste utilisé.
+ *
+ * Le même intervalle s'applique aux échecs de chargement : tant que le jeu de
+ * clés n'a jamais pu être chargé, la vérification d'un jeton échoue
+ * immédiatement, sans appel à Keycloak, jusqu'à
+ * {@code IAM.jwks.min-refresh-interval} après la dernière tentative.
+ *
+ * @author Stéfan Georgesco
+ *
+ */
+@Component
+public class KeycloakJwkSource implements JWKSource<SecurityContext> {
+
+	private final WebClient keyCloakClient;
+
+	private final URI jwkSetUri;
+
+	private final boolean prefetch;
+
+	private final long minRefreshIntervalNanos;
+
+	private final Object refreshLock = new Object();
+
+	private volatile JWKSet jwkSet;
+
+	private volatile long attemptedAt;
+
+	@Autowired
+	public KeycloakJwkSource(WebClient keyCloakClient,
+			@Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}") String jwkSetUri,
+			@Value("${IAM.jwks.prefetch:true}") boolean prefetch,
+			@Value("${IAM.jwks.min-refresh-interval:PT30S}") Duration minRefreshInterval) {
+		this.keyCloakClient = keyCloakClient;
+		this.jwkSetUri = URI.create(jwkSetUri);
+		this.prefetch = prefetch;
+		this.minRefreshIntervalNanos = minRefreshInterval.toNanos();
+		this.attemptedAt = System.nanoTime() - minRefreshIntervalNanos;
+	}
+
+	/**
+	 * Chargement du jeu de clés au démarrage. En cas d'erreur (Keycloak
+	 * indisponible), le jeu de clés sera chargé à la première vérification d'un
+	 * jeton.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void prefetch() {
+
+		if (prefetch) {
+			refreshQuietly();
+		}
+	}
+
+	/**
+	 * Rechargement périodique du jeu de clés.
+	 */
+	@Scheduled(initialDelayString = "${IAM.jwks.refresh-interval:PT5M}",
+			fixedDelayString = "${IAM.jwks.refresh-interval:PT5M}")
+	public void refreshQuietly() {
+		try {
+			refresh();
+		} catch (RuntimeException | ParseException e) {
+			System.err.println("Le jeu de clés keycloak n'a pas pu être chargé.");
+		}
+	}
+
+	@Override
+	public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) throws KeySourceException {
+
+		JWKSet current = jwkSet;
+
+		if (current != null) {
+			List<JWK> keys = jwkSelector.select(current);
+			if (!keys.isEmpty() || !refreshAllowed()) {
+				return keys;
+			}
+		} else if (!refreshAllowed()) {
+			throw new KeySourceException("Le jeu de clés keycloak n'a pas pu être chargé.");
+		}
+
+		try {
+			synchronized (refreshLock) {
+				if (jwkSet == current && refreshAllowed()) {
+					refresh();
+				}
+			}
+		} catch (RuntimeException | ParseException e) {
+			throw new KeySourceException("Le jeu de clés keycloak n'a pas pu être chargé.", e);
+		}
+
+		JWKSet refreshed = jwkSet;
+
+		if (refreshed == null) {
+			throw new KeySourceException("Le jeu de clés keycloak n'a pas pu être chargé.");
+		}
+
+		return jwkSelector.select(refreshed);
+	}
+
+	private boolean refreshAllowed() {
+		return System.nanoTime() - attemptedAt >= minRefreshIntervalNanos;
+	}
+
+	private void refresh() throws ParseException {
+
+		attemptedAt = System.nanoTime();
+
+		String json = keyCloakClient.get().uri(jwkSetUri).retrieve().bodyToMono(String.class).block();
+
+		jwkSet = JWKSet.parse(json);
+	}
+
+}
@@ -15,7 +15,11 @@ import fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileDTO;
 
 /**
  * Classe de configuration des mappeurs de conversion entre les objets entités
- * et les objets de transfert de données.
+ * et les objets de transfert de données. Les services utilisent les
+ * conversions écrites explicitement de
+ * {@link fr.cnam.stefangeorgesco.dmp.domain.service.MapperService} pour les
+ * dossiers, éléments médicaux, correspondances et utilisateurs ; les mappeurs
+ * définis ici en sont la référence de comportement.
  * 
  * @author Stéfan Georgesco
  *
@@ -0,0 +1,84 @@
+package fr.cnam.stefangeorgesco.dmp.configuration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classe de configuration des ordonnanceurs utilisés pour exécuter en parallèle
+ * des traitements bloquants (requêtes en base de données) ou coûteux en calcul
+ * (hachage BCrypt).
+ * 
+ * @author Stéfan Georgesco
+ *
+ */
+@Configuration
+public class SchedulersConfig {
+
+	/**
+	 * Ordonnanceur borné des vérifications préalables aux créations (comptes
+	 * utilisateurs, dossiers). Au-delà de {@code checks.scheduler.thread-cap}
+	 * threads, les tâches sont mises en attente, dans la limite de
+	 * {@code checks.scheduler.queued-task-cap} tâches.
+	 * 
+	 * @param threadCap     le nombre maximum de threads.
+	 * @param queuedTaskCap le nombre maximum de tâches en attente.
+	 * @return le bean ordonnanceur
+	 */
+	@Bean(destroyMethod = "dispose")
+	public Scheduler checksScheduler(@Value("${checks.scheduler.thread-cap:16}") int threadCap,
+			@Value("${checks.scheduler.queued-task-cap:1000}") int queuedTaskCap) {
+		return Schedulers.newBoundedElastic(threadCap, queuedTaskCap, "checks");
+	}
+
+	/**
+	 * Ordonnanceur dédié aux hachages et vérifications BCrypt des codes de
+	 * sécurité, pour qu'un afflux de créations de dossiers ou de comptes
+	 * utilisateurs n'occupe pas tous les processeurs au détriment des autres
+	 * requêtes. Le nombre de threads est fixé à
+	 * {@code hashing.scheduler.thread-cap} ; au-delà, les tâches sont mises en
+	 * attente, dans la limite de {@code hashing.scheduler.queued-task-cap} tâches.
+	 * Les tâches refusées lèvent une
+	 * {@link java.util.concurrent.RejectedExecutionException} et sont comptées par
+	 * la mesure {@code executor.rejected} ; l'occupation de l'ordonnanceur est
+	 * publiée par les mesures {@code executor.*} (nom {@code hashing}).
+	 * 
+	 * @param threadCap     le nombre de threads.
+	 * @param queuedTaskCap le nombre maximum de tâches en attente.
+	 * @param meterRegistry le registre des mesures.
+	 * @return le bean ordonnanceur
+	 */
+	@Bean(destroyMethod = "dispose")
+	public Scheduler hashingScheduler(@Value("${hashing.scheduler.thread-cap:4}") int threadCap,
+			@Value("${hashing.scheduler.queued-task-cap:100}") int queuedTaskCap, MeterRegistry meterRegistry) {
+
+		Counter rejectedCounter = Counter.builder("executor.rejected").tag("name", "hashing")
+				.description("Nombre de tâches refusées par l'ordonnanceur").register(meterRegistry);
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("hashing-");
+		threadFactory.setDaemon(true);
+
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threadCap, threadCap, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queuedTaskCap), threadFactory, (task, pool) -> {
+					rejectedCounter.increment();
+					throw new RejectedExecutionException("Le service de hachage est saturé.");
+				});
+
+		new ExecutorServiceMetrics(executor, "hashing", Tags.empty()).bindTo(meterRegistry);
+
+		return Schedulers.fromExecutorService(executor, "hashing");
+	}
+
+}
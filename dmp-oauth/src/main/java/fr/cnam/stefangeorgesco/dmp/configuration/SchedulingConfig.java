@@ -0,0 +1,22 @@
+package fr.cnam.stefangeorgesco.dmp.configuration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Classe de configuration des tâches planifiées (transmission des événements
+ * de synchronisation des comptes utilisateurs, purge des traces de
+ * suppression des dossiers patients). Les tâches planifiées peuvent
+ * être désactivées par la propriété {@code scheduling.enabled}, les tests
+ * déclenchant alors les traitements explicitement.
+ * 
+ * @author Stéfan Georgesco
+ *
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+
+}
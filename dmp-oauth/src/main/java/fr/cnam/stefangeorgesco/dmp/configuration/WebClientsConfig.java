@@ -1,35 +1,102 @@
 package fr.cnam.stefangeorgesco.dmp.configuration;
 
+import fr.cnam.stefangeorgesco.dmp.utils.ResilientExchangeFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertyResolver;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.time.Duration;
+
+/**
+ * Classe de configuration des clients WebClient des services externes (RNIPP,
+ * Keycloak).
+ *
+ * Chaque client dispose de son propre pool de connexions et de ses délais,
+ * réglables par les propriétés {@code <préfixe>.*} ({@code rnipp.client} ou
+ * {@code IAM.client}) : nombre maximum de connexions
+ * ({@code max-connections}), nombre maximum et délai d'attente d'une connexion
+ * libre ({@code pending-acquire-max-count}, {@code pending-acquire-timeout}),
+ * durée de conservation d'une connexion inactive ({@code max-idle-time}), délais
+ * de connexion et de réponse ({@code connect-timeout}, {@code response-timeout})
+ * et délai maximum d'une requête ({@code deadline}). Les requêtes passent par un
+ * {@link ResilientExchangeFilter} (cloison {@code bulkhead.max-concurrent-calls},
+ * disjoncteur {@code circuit-breaker.failure-threshold} et
+ * {@code circuit-breaker.open-duration}).
+ *
+ * @author Stéfan Georgesco
+ *
+ */
 @Configuration
 public class WebClientsConfig {
 
 	@Value("${rnipp.url}")
 	private String rnippUrl;
-	
+
 	@Value("${keycloak.auth-server-url}")
 	private String keycloakUri;
-	
+
+	@Bean
+	public WebClient rnippClient(Environment environment, MeterRegistry meterRegistry) {
+		return webClient("rnipp", rnippUrl, environment, "rnipp.client", meterRegistry);
+	}
+
 	@Bean
-	public WebClient rnippClient() {
+	public WebClient keyCloakClient(Environment environment, MeterRegistry meterRegistry) {
+		return webClient("keycloak", keycloakUri, environment, "IAM.client", meterRegistry);
+	}
+
+	/**
+	 * Construit un client WebClient d'un service externe.
+	 *
+	 * @param name             le nom du client (pool de connexions, mesures).
+	 * @param baseUrl          l'URL de base du service.
+	 * @param propertyResolver les propriétés de configuration.
+	 * @param prefix           le préfixe des propriétés du client.
+	 * @param meterRegistry    le registre des mesures.
+	 * @return le client WebClient.
+	 */
+	static WebClient webClient(String name, String baseUrl, PropertyResolver propertyResolver, String prefix,
+			MeterRegistry meterRegistry) {
+
+		ConnectionProvider connectionProvider = ConnectionProvider.builder(name)
+				.maxConnections(propertyResolver.getProperty(prefix + ".max-connections", Integer.class, 50))
+				.pendingAcquireMaxCount(
+						propertyResolver.getProperty(prefix + ".pending-acquire-max-count", Integer.class, 100))
+				.pendingAcquireTimeout(duration(propertyResolver, prefix + ".pending-acquire-timeout", "PT1S"))
+				.maxIdleTime(duration(propertyResolver, prefix + ".max-idle-time", "PT30S"))
+				.build();
+
+		HttpClient httpClient = HttpClient.create(connectionProvider)
+				.option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+						(int) duration(propertyResolver, prefix + ".connect-timeout", "PT2S").toMillis())
+				.responseTimeout(duration(propertyResolver, prefix + ".response-timeout", "PT5S"));
+
+		ResilientExchangeFilter resilientExchangeFilter = new ResilientExchangeFilter(name,
+				duration(propertyResolver, prefix + ".deadline", "PT5S"),
+				propertyResolver.getProperty(prefix + ".bulkhead.max-concurrent-calls", Integer.class, 20),
+				propertyResolver.getProperty(prefix + ".circuit-breaker.failure-threshold", Integer.class, 5),
+				duration(propertyResolver, prefix + ".circuit-breaker.open-duration", "PT30S"), meterRegistry);
+
 		return WebClient.builder()
-				.baseUrl(rnippUrl)
+				.baseUrl(baseUrl)
 				.defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+				.clientConnector(new ReactorClientHttpConnector(httpClient))
+				.filter(resilientExchangeFilter)
 				.build();
 	}
 
-	@Bean
-    public WebClient keyCloakClient() {
-    	return  WebClient.builder()
-    			.baseUrl(keycloakUri)
-    			.defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-    			.build();
-    }
+	private static Duration duration(PropertyResolver propertyResolver, String key, String defaultValue) {
+		return Duration.parse(propertyResolver.getProperty(key, defaultValue));
+	}
 
 }
@@ -1,12 +1,19 @@
 package fr.cnam.stefangeorgesco.dmp.configuration;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
@@ -24,9 +31,10 @@ public class WebSecurityConfig {
 	private String principalClaimName;
 
 	@Bean
-	public SecurityFilterChain defaultSecurityFilterChain(HttpSecurity http) throws Exception {
+	public SecurityFilterChain defaultSecurityFilterChain(HttpSecurity http, CachingJwtDecoder jwtDecoder)
+			throws Exception {
         JwtAuthenticationConverter jwtAuthenticationConverter = new JwtAuthenticationConverter();
-        jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(new KeycloakRoleConverter());
+        jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(jwtDecoder.authoritiesConverter());
         jwtAuthenticationConverter.setPrincipalClaimName(principalClaimName);
 		
 		http.sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS).and().cors()
@@ -36,20 +44,24 @@ public class WebSecurityConfig {
 					config.setAllowedMethods(Collections.singletonList("*"));
 					config.setAllowCredentials(true);
 					config.setAllowedHeaders(Collections.singletonList("*"));
-					config.setExposedHeaders(List.of("Authorization"));
+					config.setExposedHeaders(List.of("Authorization", "Link", "X-Next-Cursor", "ETag"));
 					config.setMaxAge(3600L);
 					return config;
 				}).and().csrf().disable()
 				.authorizeHttpRequests()
 						.mvcMatchers(HttpMethod.POST, "/user").permitAll()
 						.mvcMatchers(HttpMethod.POST, "/doctor").hasRole("ADMIN")
+						.mvcMatchers(HttpMethod.POST, "/doctor/async").hasRole("ADMIN")
 						.mvcMatchers(HttpMethod.POST, "/patient-file").hasRole("DOCTOR")
+						.mvcMatchers(HttpMethod.POST, "/patient-file/async").hasRole("DOCTOR")
 						.mvcMatchers(HttpMethod.GET, "/doctor/details").hasRole("DOCTOR")
 						.mvcMatchers(HttpMethod.PUT, "/doctor/details").hasRole("DOCTOR")
 						.mvcMatchers(HttpMethod.GET, "/patient-file/details").hasRole("PATIENT")
 						.mvcMatchers(HttpMethod.PUT, "/patient-file/details").hasRole("PATIENT")
 						.mvcMatchers(HttpMethod.GET, "/patient-file/details/correspondence").hasRole("PATIENT")
 						.mvcMatchers(HttpMethod.GET, "/patient-file/details/item").hasRole("PATIENT")
+						.mvcMatchers(HttpMethod.GET, "/patient-file/details/item/timeline").hasRole("PATIENT")
+						.mvcMatchers(HttpMethod.GET, "/patient-file/details/changes").hasRole("PATIENT")
 						.mvcMatchers(HttpMethod.PUT, "/patient-file/{id}/referring-doctor").hasRole("ADMIN")
 						.mvcMatchers(HttpMethod.GET, "/doctor/{id}").authenticated()
 						.mvcMatchers(HttpMethod.GET, "/patient-file/{id}").hasAnyRole("ADMIN", "DOCTOR")
@@ -60,7 +72,10 @@ public class WebSecurityConfig {
 						.mvcMatchers(HttpMethod.GET, "/patient-file/{id}/correspondence").hasRole("DOCTOR")
 						.mvcMatchers(HttpMethod.POST, "/patient-file/{id}/correspondence").hasRole("DOCTOR")
 						.mvcMatchers(HttpMethod.POST, "/patient-file/{id}/item").hasRole("DOCTOR")
+						.mvcMatchers(HttpMethod.POST, "/patient-file/{id}/item/batch").hasRole("DOCTOR")
 						.mvcMatchers(HttpMethod.GET, "/patient-file/{id}/item").hasRole("DOCTOR")
+						.mvcMatchers(HttpMethod.GET, "/patient-file/{id}/item/timeline").hasRole("DOCTOR")
+						.mvcMatchers(HttpMethod.GET, "/patient-file/{id}/changes").hasRole("DOCTOR")
 						.mvcMatchers(HttpMethod.PUT, "/patient-file/{patientFileId}/item/{itemId}").hasRole("DOCTOR")
 						.mvcMatchers(HttpMethod.DELETE, "/patient-file/{patientFileId}/item/{itemId}").hasRole("DOCTOR")
 						.mvcMatchers(HttpMethod.DELETE,
@@ -71,15 +86,49 @@ public class WebSecurityConfig {
 						.mvcMatchers(HttpMethod.GET, "/disease").hasRole("DOCTOR")
 						.mvcMatchers(HttpMethod.GET, "/medical-act/{id}").hasRole("DOCTOR")
 						.mvcMatchers(HttpMethod.GET, "/medical-act").hasRole("DOCTOR")
+						.requestMatchers(EndpointRequest.to("metrics")).hasRole("ADMIN")
 						.anyRequest().denyAll()
-						.and().oauth2ResourceServer().jwt().jwtAuthenticationConverter(jwtAuthenticationConverter);
+						.and().oauth2ResourceServer().jwt().decoder(jwtDecoder)
+						.jwtAuthenticationConverter(jwtAuthenticationConverter);
 		
 		return http.build();
 	}
 
+	/**
+	 * Décodeur des jetons d'accès : vérification de la signature (RS256) avec le
+	 * jeu de clés Keycloak {@link KeycloakJwkSource} et des dates de validité ;
+	 * les jetons vérifiés et leurs rôles sont conservés jusqu'à leur expiration
+	 * ({@code IAM.jwt.cache.max-size} jetons au plus).
+	 * 
+	 * @param jwkSource     le jeu de clés Keycloak.
+	 * @param maxSize       le nombre maximum de jetons conservés.
+	 * @param meterRegistry le registre des mesures.
+	 * @return le bean décodeur
+	 */
 	@Bean
-	public BCryptPasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	public CachingJwtDecoder jwtDecoder(KeycloakJwkSource jwkSource,
+			@Value("${IAM.jwt.cache.max-size:10000}") int maxSize, MeterRegistry meterRegistry) {
+		DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+		jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+		// dates de validité vérifiées par NimbusJwtDecoder
+		jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+		});
+		return new CachingJwtDecoder(new NimbusJwtDecoder(jwtProcessor), new KeycloakRoleConverter(), maxSize,
+				meterRegistry);
+	}
+
+	/**
+	 * Encodeur BCrypt des codes de sécurité. Le facteur de coût
+	 * ({@code security-code.bcrypt.strength}, de 4 à 31) est réglable par
+	 * environnement ; les codes hachés avec un coût inférieur sont rehachés lors
+	 * de leur vérification.
+	 * 
+	 * @param strength le facteur de coût BCrypt.
+	 * @return le bean encodeur
+	 */
+	@Bean
+	public BCryptPasswordEncoder passwordEncoder(@Value("${security-code.bcrypt.strength:10}") int strength) {
+		return new BCryptPasswordEncoder(strength);
 	}
 
 }
@@ -1,9 +1,16 @@
 package fr.cnam.stefangeorgesco.dmp.domain.dao;
 
 import fr.cnam.stefangeorgesco.dmp.domain.model.Correspondence;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import javax.transaction.Transactional;
+import java.sql.Timestamp;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -16,8 +23,64 @@ import java.util.UUID;
 @Transactional
 public interface CorrespondenceDAO extends JpaRepository<Correspondence, UUID> {
 
-	Iterable<Correspondence> findByPatientFileId(String patientFileId);
+	/**
+	 * Recherche les correspondances d'un dossier patient. Le médecin
+	 * correspondant, le dossier patient et son médecin référent sont chargés par
+	 * la même requête ; les spécialités des médecins sont chargées par lots
+	 * (propriété {@code hibernate.default_batch_fetch_size}). Les correspondances
+	 * sont triées par date limite décroissante, dans l'ordre de l'index
+	 * {@code (patient_file_id, date_until)}.
+	 * 
+	 * @param patientFileId l'identifiant du dossier patient.
+	 * @return un {@link java.lang.Iterable} d'objets
+	 *         {@link fr.cnam.stefangeorgesco.dmp.domain.model.Correspondence}
+	 *         représentant les correspondances trouvées.
+	 */
+	@EntityGraph(type = EntityGraphType.LOAD,
+			attributePaths = { "doctor", "patientFile", "patientFile.referringDoctor" })
+	@Query("select c from Correspondence c where c.patientFile.id = :patientFileId order by c.dateUntil desc, c.id")
+	Iterable<Correspondence> findByPatientFileId(@Param("patientFileId") String patientFileId);
 
-	int deleteAllByPatientFileId(String patientFileId);
+	/**
+	 * Recherche les correspondances d'un dossier patient créées ou modifiées après
+	 * une date donnée, avec le même plan de chargement que
+	 * {@link #findByPatientFileId(String)}.
+	 * 
+	 * @param patientFileId l'identifiant du dossier patient.
+	 * @param since         la date à partir de laquelle les modifications sont
+	 *                      recherchées (exclue).
+	 * @return un {@link java.lang.Iterable} d'objets
+	 *         {@link fr.cnam.stefangeorgesco.dmp.domain.model.Correspondence}
+	 *         représentant les correspondances trouvées.
+	 */
+	@EntityGraph(type = EntityGraphType.LOAD,
+			attributePaths = { "doctor", "patientFile", "patientFile.referringDoctor" })
+	Iterable<Correspondence> findByPatientFileIdAndLastModifiedDateAfter(String patientFileId, Timestamp since);
 
+	/**
+	 * Supprime toutes les correspondances d'un dossier patient par une seule
+	 * requête, sans charger d'entités.
+	 * 
+	 * @param patientFileId l'identifiant du dossier patient.
+	 * @return le nombre de correspondances supprimées.
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("delete from Correspondence correspondence where correspondence.patientFile.id = :patientFileId")
+	int deleteAllByPatientFileId(@Param("patientFileId") String patientFileId);
+
+	/**
+	 * Calcule la version de la liste des correspondances d'un dossier patient :
+	 * date de modification maximum (dates des traces de suppression
+	 * comprises) et nombre de correspondances, sans charger d'entités.
+	 * 
+	 * @param patientFileId l'identifiant du dossier patient.
+	 * @return une liste contenant une ligne ({@code Object[]}) : la date de
+	 *         modification maximum et le nombre de correspondances.
+	 */
+	@Query(value = "select max(v.modified_date), sum(v.row_count) from ("
+			+ "select max(c.last_modified_date) modified_date, count(*) row_count from t_correspondence c "
+			+ "where c.patient_file_id = :patientFileId "
+			+ "union all select max(t.deleted_date), 0 from t_tombstone t "
+			+ "where t.patient_file_id = :patientFileId and t.entity_type = 'correspondence') v", nativeQuery = true)
+	List<Object[]> findVersionRowsByPatientFileId(@Param("patientFileId") String patientFileId);
 }
@@ -5,6 +5,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.sql.Timestamp;
+
 /**
  * Repository pour les objets
  * {@link fr.cnam.stefangeorgesco.dmp.domain.model.Disease}
@@ -29,4 +31,12 @@ public interface DiseaseDAO extends JpaRepository<Disease, String> {
 			+ "or lower(t_disease.description) like lower(concat('%', :keyword,'%')) limit :limit")
 	Iterable<Disease> findByIdOrDescription(@Param("keyword") String keyword, @Param("limit") int limit);
 
+	/**
+	 * Recherche la date de dernière modification la plus récente des maladies.
+	 * 
+	 * @return la date de dernière modification la plus récente, ou {@code null}.
+	 */
+	@Query("select max(disease.lastModifiedDate) from Disease disease")
+	Timestamp findLastModifiedDate();
+
 }
@@ -5,6 +5,9 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Repository pour les objets
  * {@link fr.cnam.stefangeorgesco.dmp.domain.model.Doctor}
@@ -30,4 +33,45 @@ public interface DoctorDAO extends JpaRepository<Doctor, String> {
 			+ "or lower(doctor.lastname) like lower(concat('%', :keyword,'%'))")
 	Iterable<Doctor> findByIdOrFirstnameOrLastname(@Param("keyword") String keyword);
 
+	/**
+	 * Recherche les identifiants des dossiers de médecins par recherche plein texte
+	 * (index FULLTEXT ngram {@code ftx_file_name}, MySQL uniquement) de la phrase
+	 * dans le prénom ou le nom du médecin, ou par préfixe de l'identifiant du
+	 * dossier.
+	 * 
+	 * @param phrase  la phrase de recherche en mode booléen, entre guillemets.
+	 * @param keyword le préfixe de l'identifiant, échappé par
+	 *                {@link fr.cnam.stefangeorgesco.dmp.utils.FulltextQuery#likePrefix(String)}.
+	 * @return la liste des identifiants des dossiers de médecins trouvés.
+	 */
+	@Query(value = "select f.id from t_file f join t_doctor d on d.id = f.id "
+			+ "where match(f.firstname, f.lastname) against (:phrase in boolean mode) "
+			+ "union "
+			+ "select d.id from t_doctor d where d.id like concat(:keyword, '%') escape '!'", nativeQuery = true)
+	List<String> findIdsByFulltext(@Param("phrase") String phrase, @Param("keyword") String keyword);
+
+	/**
+	 * Recherche les dossiers de médecins dont les identifiants sont donnés, triés
+	 * par identifiant.
+	 * 
+	 * @param ids les identifiants des dossiers de médecins.
+	 * @return une liste ({@link java.util.List}) d'objets
+	 *         {@link fr.cnam.stefangeorgesco.dmp.domain.model.Doctor} représentant
+	 *         les dossiers de médecins trouvés.
+	 */
+	List<Doctor> findByIdInOrderById(Collection<String> ids);
+
+	/**
+	 * Recherche les descriptions des spécialités des médecins dont les
+	 * identifiants sont donnés, sans charger les dossiers de médecins. Chaque
+	 * ligne contient l'identifiant du dossier de médecin et la description d'une
+	 * spécialité.
+	 * 
+	 * @param ids les identifiants des dossiers de médecins.
+	 * @return la liste des lignes ({@code Object[]}) trouvées.
+	 */
+	@Query("select doctor.id, specialty.description from Doctor doctor join doctor.specialties specialty "
+			+ "where doctor.id in :ids")
+	List<Object[]> findSpecialtyDescriptionsByIdIn(@Param("ids") Collection<String> ids);
+
 }
@@ -2,6 +2,11 @@ package fr.cnam.stefangeorgesco.dmp.domain.dao;
 
 import fr.cnam.stefangeorgesco.dmp.domain.model.File;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.transaction.Transactional;
 
 /**
  * Repository pour les objets
@@ -12,4 +17,21 @@ import org.springframework.data.jpa.repository.JpaRepository;
  */
 public interface FileDAO extends JpaRepository<File, String> {
 
+	/**
+	 * Remplace le hachage du code de sécurité d'un dossier, s'il n'a pas été
+	 * modifié entre-temps, sans charger le dossier ni modifier sa date de
+	 * modification.
+	 * 
+	 * @param id                   l'identifiant du dossier.
+	 * @param previousSecurityCode le hachage actuel du code de sécurité.
+	 * @param securityCode         le nouveau hachage du code de sécurité.
+	 * @return le nombre de dossiers modifiés (0 ou 1).
+	 */
+	@Transactional
+	@Modifying
+	@Query("update File file set file.securityCode = :securityCode "
+			+ "where file.id = :id and file.securityCode = :previousSecurityCode")
+	int updateSecurityCode(@Param("id") String id, @Param("previousSecurityCode") String previousSecurityCode,
+			@Param("securityCode") String securityCode);
+
 }
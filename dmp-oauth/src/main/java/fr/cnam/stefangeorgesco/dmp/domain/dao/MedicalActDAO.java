@@ -5,6 +5,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.sql.Timestamp;
+
 /**
  * Repository pour les objets
  * {@link fr.cnam.stefangeorgesco.dmp.domain.model.MedicalAct}
@@ -30,4 +32,13 @@ public interface MedicalActDAO extends JpaRepository<MedicalAct, String> {
 			+ "or lower(t_medical_act.description) like lower(concat('%', :keyword,'%')) limit :limit")
 	Iterable<MedicalAct> findByIdOrDescription(@Param("keyword") String keyword, @Param("limit") int limit);
 
+	/**
+	 * Recherche la date de dernière modification la plus récente des actes
+	 * médicaux.
+	 * 
+	 * @return la date de dernière modification la plus récente, ou {@code null}.
+	 */
+	@Query("select max(medicalAct.lastModifiedDate) from MedicalAct medicalAct")
+	Timestamp findLastModifiedDate();
+
 }
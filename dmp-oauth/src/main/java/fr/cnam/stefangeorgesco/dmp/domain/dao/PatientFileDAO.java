@@ -1,10 +1,18 @@
 package fr.cnam.stefangeorgesco.dmp.domain.dao;
 
 import fr.cnam.stefangeorgesco.dmp.domain.model.PatientFile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
 /**
  * Repository pour les objets
  * {@link fr.cnam.stefangeorgesco.dmp.domain.model.PatientFile}
@@ -17,17 +25,109 @@ public interface PatientFileDAO extends JpaRepository<PatientFile, String> {
 	/**
 	 * Recherche les dossiers patients par recherche insensible à la casse de la
 	 * présence d'une sous-chaîne dans l'identifiant du dossier ou dans le prénom ou
-	 * dans le nom du patient.
+	 * dans le nom du patient. Les dossiers sont triés par identifiant et paginés
+	 * par curseur : seuls les dossiers dont l'identifiant suit le curseur
+	 * {@code after} sont renvoyés.
 	 * 
-	 * @param keyword la sous-chaîne de recherche.
-	 * @return un {@link java.lang.Iterable} d'objets
+	 * @param keyword  la sous-chaîne de recherche.
+	 * @param after    l'identifiant du dernier dossier de la page précédente, ou
+	 *                 {@code null} pour la première page.
+	 * @param pageable la taille de la page (le numéro de page n'est pas utilisé).
+	 * @return une liste ({@link java.util.List}) d'objets
 	 *         {@link fr.cnam.stefangeorgesco.dmp.domain.model.PatientFile}
 	 *         représentant les dossiers patients trouvés.
 	 */
-	@Query("select distinct patientFile from PatientFile patientFile "
-			+ "where lower(patientFile.id) like lower(concat('%', :keyword,'%')) "
+	@EntityGraph(type = EntityGraphType.LOAD, attributePaths = "referringDoctor")
+	@Query("select patientFile from PatientFile patientFile "
+			+ "where (lower(patientFile.id) like lower(concat('%', :keyword,'%')) "
 			+ "or lower(patientFile.firstname) like lower(concat('%', :keyword,'%')) "
-			+ "or lower(patientFile.lastname) like lower(concat('%', :keyword,'%'))")
-	Iterable<PatientFile> findByIdOrFirstnameOrLastname(@Param("keyword") String keyword);
+			+ "or lower(patientFile.lastname) like lower(concat('%', :keyword,'%'))) "
+			+ "and (:after is null or patientFile.id > :after) "
+			+ "order by patientFile.id")
+	List<PatientFile> findByIdOrFirstnameOrLastname(@Param("keyword") String keyword, @Param("after") String after,
+			Pageable pageable);
+
+	/**
+	 * Recherche les identifiants des dossiers patients par recherche plein texte
+	 * (index FULLTEXT ngram {@code ftx_file_name}, MySQL uniquement) de la phrase
+	 * dans le prénom ou le nom du patient, ou par préfixe de l'identifiant du
+	 * dossier. Les identifiants sont triés et paginés par curseur comme pour
+	 * {@link #findByIdOrFirstnameOrLastname(String, String, Pageable)}.
+	 * 
+	 * @param phrase  la phrase de recherche en mode booléen, entre guillemets.
+	 * @param keyword le préfixe de l'identifiant, échappé par
+	 *                {@link fr.cnam.stefangeorgesco.dmp.utils.FulltextQuery#likePrefix(String)}.
+	 * @param after   l'identifiant du dernier dossier de la page précédente, ou
+	 *                la chaîne vide pour la première page.
+	 * @param limit   le nombre maximum d'identifiants renvoyés.
+	 * @return la liste triée des identifiants des dossiers patients trouvés.
+	 */
+	@Query(value = "(select f.id from t_file f join t_patient_file p on p.id = f.id "
+			+ "where match(f.firstname, f.lastname) against (:phrase in boolean mode) and f.id > :after "
+			+ "order by f.id limit :limit) "
+			+ "union "
+			+ "(select p.id from t_patient_file p where p.id like concat(:keyword, '%') escape '!' and p.id > :after "
+			+ "order by p.id limit :limit) "
+			+ "order by id limit :limit", nativeQuery = true)
+	List<String> findIdsByFulltext(@Param("phrase") String phrase, @Param("keyword") String keyword,
+			@Param("after") String after, @Param("limit") int limit);
+
+	/**
+	 * Recherche les dossiers patients dont les identifiants sont donnés, triés par
+	 * identifiant, avec leur médecin référent.
+	 * 
+	 * @param ids les identifiants des dossiers patients.
+	 * @return une liste ({@link java.util.List}) d'objets
+	 *         {@link fr.cnam.stefangeorgesco.dmp.domain.model.PatientFile}
+	 *         représentant les dossiers patients trouvés.
+	 */
+	@EntityGraph(type = EntityGraphType.LOAD, attributePaths = "referringDoctor")
+	List<PatientFile> findByIdInOrderById(Collection<String> ids);
 
+	/**
+	 * Recherche la date limite d'accès d'un médecin à un dossier patient, en une
+	 * seule requête : le médecin référent a un accès sans limite (date
+	 * '9999-12-31'), un médecin correspondant a accès jusqu'à la date de fin de sa
+	 * correspondance en cours de validité la plus lointaine.
+	 * 
+	 * @param doctorId      l'identifiant du médecin.
+	 * @param patientFileId l'identifiant du dossier patient.
+	 * @param today         la date du jour.
+	 * @return la date limite d'accès, ou {@code null} si le médecin n'a pas accès
+	 *         au dossier patient.
+	 */
+	@Query(value = "select max(grant_until) from ("
+			+ "select date '9999-12-31' as grant_until from t_patient_file "
+			+ "where id = :patientFileId and referring_doctor_id = :doctorId "
+			+ "union all "
+			+ "select date_until as grant_until from t_correspondence "
+			+ "where patient_file_id = :patientFileId and doctor_id = :doctorId and date_until >= :today"
+			+ ") access_grant", nativeQuery = true)
+	Date findAccessGrantDateUntil(@Param("doctorId") String doctorId, @Param("patientFileId") String patientFileId,
+			@Param("today") LocalDate today);
+
+	/**
+	 * Indique si le médecin désigné est le médecin référent du dossier patient
+	 * désigné.
+	 * 
+	 * @param id                l'identifiant du dossier patient.
+	 * @param referringDoctorId l'identifiant du médecin.
+	 * @return {@code true} si le médecin est le médecin référent du dossier
+	 *         patient.
+	 */
+	boolean existsByIdAndReferringDoctorId(String id, String referringDoctorId);
+
+	/**
+	 * Calcule la version d'un dossier patient : date de modification maximum et
+	 * nombre de lignes du dossier et du dossier de son médecin référent. Aucune
+	 * ligne n'est comptée si le dossier patient n'existe pas.
+	 * 
+	 * @param id l'identifiant du dossier patient.
+	 * @return une liste contenant une ligne ({@code Object[]}) : la date de
+	 *         modification maximum et le nombre de lignes.
+	 */
+	@Query(value = "select max(f.last_modified_date), count(*) from t_patient_file p "
+			+ "join t_file f on f.id = p.id or f.id = p.referring_doctor_id "
+			+ "where p.id = :id", nativeQuery = true)
+	List<Object[]> findVersionRowsById(@Param("id") String id);
 }
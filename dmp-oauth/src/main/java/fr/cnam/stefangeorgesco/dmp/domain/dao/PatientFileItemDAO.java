@@ -2,8 +2,16 @@ package fr.cnam.stefangeorgesco.dmp.domain.dao;
 
 import fr.cnam.stefangeorgesco.dmp.domain.model.PatientFileItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import javax.transaction.Transactional;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -16,8 +24,184 @@ import java.util.UUID;
 @Transactional
 public interface PatientFileItemDAO extends JpaRepository<PatientFileItem, UUID> {
 
+	/**
+	 * Début commun des requêtes de lecture des données d'affichage des éléments
+	 * médicaux (colonnes lues et jointures). Chaque colonne a un alias distinct,
+	 * Hibernate refusant les noms de colonnes en double dans une requête native.
+	 */
+	String ITEM_ROWS_SELECT = "select i.id as item_id, i.created_date as created_date, "
+			+ "i.last_modified_date as last_modified_date, i.date as item_date, i.comments as comments, "
+			+ "i.patient_file_id as patient_file_id, i.authoring_doctor_id as authoring_doctor_id, "
+			+ "af.firstname as author_firstname, af.lastname as author_lastname, "
+			+ "case when a.id is not null then 'act' when g.id is not null then 'diagnosis' "
+			+ "when m.id is not null then 'mail' when p.id is not null then 'prescription' "
+			+ "when s.id is not null then 'symptom' end as item_type, "
+			+ "ma.id as act_code, ma.description as act_description, "
+			+ "di.id as disease_code, di.description as disease_description, "
+			+ "m.text as mail_text, m.recipient_doctor_id as recipient_doctor_id, "
+			+ "rf.firstname as recipient_firstname, rf.lastname as recipient_lastname, "
+			+ "coalesce(p.description, s.description) as item_description "
+			+ "from t_patient_file_item i "
+			+ "left join t_file af on af.id = i.authoring_doctor_id "
+			+ "left join t_act a on a.id = i.id "
+			+ "left join t_medical_act ma on ma.id = a.medical_act_id "
+			+ "left join t_diagnosis g on g.id = i.id "
+			+ "left join t_disease di on di.id = g.disease_id "
+			+ "left join t_mail m on m.id = i.id "
+			+ "left join t_file rf on rf.id = m.recipient_doctor_id "
+			+ "left join t_prescription p on p.id = i.id "
+			+ "left join t_symptom s on s.id = i.id ";
+
+	/**
+	 * Recherche les éléments médicaux d'un dossier patient. Les listes affichées
+	 * sont lues par {@link #findRowsByPatientFileId(String)} ; cette méthode
+	 * charge les entités complètes et sert de référence aux tests.
+	 * 
+	 * @param patientFileId l'identifiant du dossier patient.
+	 * @return un {@link java.lang.Iterable} d'objets
+	 *         {@link fr.cnam.stefangeorgesco.dmp.domain.model.PatientFileItem}
+	 *         représentant les éléments médicaux trouvés.
+	 */
 	Iterable<PatientFileItem> findByPatientFileId(String patientFileId);
 
-	int deleteAllByPatientFileId(String patientFileId);
+	/**
+	 * Recherche les données d'affichage des éléments médicaux d'un dossier
+	 * patient, sans charger d'entités. Chaque ligne contient, dans l'ordre :
+	 * l'identifiant, les dates de création et de modification, la date et les
+	 * commentaires de l'élément, l'identifiant du dossier patient, l'identifiant,
+	 * le prénom et le nom du médecin auteur, le type de l'élément ({@code act},
+	 * {@code diagnosis}, {@code mail}, {@code prescription} ou {@code symptom}),
+	 * le code et la description de l'acte médical, le code et la description de
+	 * la maladie, le texte du courrier, l'identifiant, le prénom et le nom du
+	 * médecin destinataire, et la description de la prescription ou du symptôme.
+	 * Les lignes sont triées par date décroissante, dans l'ordre de l'index
+	 * {@code (patient_file_id, date)}.
+	 * 
+	 * @param patientFileId l'identifiant du dossier patient.
+	 * @return la liste des lignes ({@code Object[]}) trouvées.
+	 */
+	@Query(value = ITEM_ROWS_SELECT
+			+ "where i.patient_file_id = :patientFileId "
+			+ "order by i.date desc, i.id", nativeQuery = true)
+	List<Object[]> findRowsByPatientFileId(@Param("patientFileId") String patientFileId);
+
+	/**
+	 * Recherche les données d'affichage des éléments médicaux d'un dossier
+	 * patient créés ou modifiés après une date donnée, avec les mêmes colonnes et
+	 * le même ordre que {@link #findRowsByPatientFileId(String)}.
+	 * 
+	 * @param patientFileId l'identifiant du dossier patient.
+	 * @param since         la date à partir de laquelle les modifications sont
+	 *                      recherchées (exclue).
+	 * @return la liste des lignes ({@code Object[]}) trouvées.
+	 */
+	@Query(value = ITEM_ROWS_SELECT
+			+ "where i.patient_file_id = :patientFileId and i.last_modified_date > :since "
+			+ "order by i.date desc, i.id", nativeQuery = true)
+	List<Object[]> findChangedRowsByPatientFileId(@Param("patientFileId") String patientFileId,
+			@Param("since") Timestamp since);
+
+	/**
+	 * Recherche une page de la chronologie des éléments médicaux d'un dossier
+	 * patient, avec les mêmes colonnes que
+	 * {@link #findRowsByPatientFileId(String)}. Les éléments sont filtrés par type
+	 * et par intervalle de dates, triés par date décroissante puis par
+	 * identifiant, et paginés par curseur (keyset) : seuls les éléments qui
+	 * suivent l'élément désigné par {@code beforeDate} et {@code afterId} sont
+	 * renvoyés. La lecture parcourt l'index {@code (patient_file_id, date)}.
+	 *
+	 * @param patientFileId l'identifiant du dossier patient.
+	 * @param types         les types d'éléments recherchés ({@code act},
+	 *                      {@code diagnosis}, {@code mail}, {@code prescription}
+	 *                      ou {@code symptom}), au moins un.
+	 * @param dateFrom      la date de début (incluse).
+	 * @param dateTo        la date de fin (incluse).
+	 * @param beforeDate    la date du dernier élément de la page précédente.
+	 * @param afterId       l'identifiant du dernier élément de la page précédente.
+	 * @param limit         le nombre maximum de lignes renvoyées.
+	 * @return la liste des lignes ({@code Object[]}) trouvées.
+	 */
+	@Query(value = ITEM_ROWS_SELECT
+			+ "where i.patient_file_id = :patientFileId and i.date between :dateFrom and :dateTo "
+			+ "and (i.date < :beforeDate or (i.date = :beforeDate and i.id > :afterId)) "
+			+ "and ((a.id is not null and 'act' in (:types)) or (g.id is not null and 'diagnosis' in (:types)) "
+			+ "or (m.id is not null and 'mail' in (:types)) or (p.id is not null and 'prescription' in (:types)) "
+			+ "or (s.id is not null and 'symptom' in (:types))) "
+			+ "order by i.date desc, i.id limit :limit", nativeQuery = true)
+	List<Object[]> findTimelineRowsByPatientFileId(@Param("patientFileId") String patientFileId,
+			@Param("types") Collection<String> types, @Param("dateFrom") LocalDate dateFrom,
+			@Param("dateTo") LocalDate dateTo, @Param("beforeDate") LocalDate beforeDate,
+			@Param("afterId") UUID afterId, @Param("limit") int limit);
+
+	/**
+	 * Calcule la version de la liste des éléments médicaux d'un dossier patient :
+	 * date de modification maximum (dates des traces de suppression
+	 * comprises) et nombre d'éléments, sans charger d'entités.
+	 * 
+	 * @param patientFileId l'identifiant du dossier patient.
+	 * @return une liste contenant une ligne ({@code Object[]}) : la date de
+	 *         modification maximum et le nombre d'éléments.
+	 */
+	@Query(value = "select max(v.modified_date), sum(v.row_count) from ("
+			+ "select max(i.last_modified_date) modified_date, count(*) row_count from t_patient_file_item i "
+			+ "where i.patient_file_id = :patientFileId "
+			+ "union all select max(t.deleted_date), 0 from t_tombstone t "
+			+ "where t.patient_file_id = :patientFileId and t.entity_type = 'item') v", nativeQuery = true)
+	List<Object[]> findVersionRowsByPatientFileId(@Param("patientFileId") String patientFileId);
+
+	/**
+	 * Recherche l'identifiant du dossier patient auquel un élément médical est
+	 * associé, sans charger l'élément.
+	 * 
+	 * @param id l'identifiant de l'élément médical.
+	 * @return l'identifiant du dossier patient, s'il a été trouvé.
+	 */
+	@Query("select item.patientFile.id from PatientFileItem item where item.id = :id")
+	Optional<String> findPatientFileIdById(@Param("id") UUID id);
+
+	/**
+	 * Supprime tous les éléments médicaux d'un dossier patient, par une requête
+	 * ensembliste sur chaque table (tables des types d'éléments, puis table
+	 * commune), sans charger d'entités.
+	 * 
+	 * @param patientFileId l'identifiant du dossier patient.
+	 * @return le nombre d'éléments médicaux supprimés.
+	 */
+	default int deleteAllByPatientFileId(String patientFileId) {
+		deleteActsByPatientFileId(patientFileId);
+		deleteDiagnosesByPatientFileId(patientFileId);
+		deleteMailsByPatientFileId(patientFileId);
+		deletePrescriptionsByPatientFileId(patientFileId);
+		deleteSymptomsByPatientFileId(patientFileId);
+		return deleteItemsByPatientFileId(patientFileId);
+	}
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query(value = "delete from t_act where id in "
+			+ "(select i.id from t_patient_file_item i where i.patient_file_id = :patientFileId)", nativeQuery = true)
+	int deleteActsByPatientFileId(@Param("patientFileId") String patientFileId);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query(value = "delete from t_diagnosis where id in "
+			+ "(select i.id from t_patient_file_item i where i.patient_file_id = :patientFileId)", nativeQuery = true)
+	int deleteDiagnosesByPatientFileId(@Param("patientFileId") String patientFileId);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query(value = "delete from t_mail where id in "
+			+ "(select i.id from t_patient_file_item i where i.patient_file_id = :patientFileId)", nativeQuery = true)
+	int deleteMailsByPatientFileId(@Param("patientFileId") String patientFileId);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query(value = "delete from t_prescription where id in "
+			+ "(select i.id from t_patient_file_item i where i.patient_file_id = :patientFileId)", nativeQuery = true)
+	int deletePrescriptionsByPatientFileId(@Param("patientFileId") String patientFileId);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query(value = "delete from t_symptom where id in "
+			+ "(select i.id from t_patient_file_item i where i.patient_file_id = :patientFileId)", nativeQuery = true)
+	int deleteSymptomsByPatientFileId(@Param("patientFileId") String patientFileId);
 
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query(value = "delete from t_patient_file_item where patient_file_id = :patientFileId", nativeQuery = true)
+	int deleteItemsByPatientFileId(@Param("patientFileId") String patientFileId);
 }
@@ -0,0 +1,77 @@
+package fr.cnam.stefangeorgesco.dmp.domain.dao;
+
+import fr.cnam.stefangeorgesco.dmp.domain.model.Tombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.transaction.Transactional;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository pour les objets
+ * {@link fr.cnam.stefangeorgesco.dmp.domain.model.Tombstone}
+ * 
+ * @author Stéfan Georgesco
+ *
+ */
+@Transactional
+public interface TombstoneDAO extends JpaRepository<Tombstone, UUID> {
+
+	/**
+	 * Recherche les traces des suppressions intervenues dans un dossier patient
+	 * après une date donnée.
+	 * 
+	 * @param patientFileId l'identifiant du dossier patient.
+	 * @param since         la date à partir de laquelle les suppressions sont
+	 *                      recherchées (exclue).
+	 * @return la liste des traces de suppression trouvées.
+	 */
+	List<Tombstone> findByPatientFileIdAndDeletedDateAfter(String patientFileId, Timestamp since);
+
+	/**
+	 * Enregistre la trace de la suppression d'un objet d'un dossier patient, datée
+	 * de l'instant présent (à la microseconde).
+	 * 
+	 * @param id            l'identifiant de l'objet supprimé.
+	 * @param entityType    le type de l'objet supprimé ({@link Tombstone#ITEM} ou
+	 *                      {@link Tombstone#CORRESPONDENCE}).
+	 * @param patientFileId l'identifiant du dossier patient.
+	 * @return la trace de suppression enregistrée.
+	 */
+	default Tombstone saveTombstone(UUID id, String entityType, String patientFileId) {
+		Tombstone tombstone = new Tombstone();
+		tombstone.setId(id);
+		tombstone.setEntityType(entityType);
+		tombstone.setPatientFileId(patientFileId);
+		tombstone.setDeletedDate(Timestamp.from(Instant.now()));
+		return save(tombstone);
+	}
+
+	/**
+	 * Supprime toutes les traces de suppression d'un dossier patient par une seule
+	 * requête.
+	 * 
+	 * @param patientFileId l'identifiant du dossier patient.
+	 * @return le nombre de traces supprimées.
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("delete from Tombstone tombstone where tombstone.patientFileId = :patientFileId")
+	int deleteAllByPatientFileId(@Param("patientFileId") String patientFileId);
+
+	/**
+	 * Supprime les traces de suppression antérieures à une date donnée par une
+	 * seule requête.
+	 * 
+	 * @param before la date avant laquelle les traces sont supprimées.
+	 * @return le nombre de traces supprimées.
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("delete from Tombstone tombstone where tombstone.deletedDate < :before")
+	int deleteAllByDeletedDateBefore(@Param("before") Timestamp before);
+
+}
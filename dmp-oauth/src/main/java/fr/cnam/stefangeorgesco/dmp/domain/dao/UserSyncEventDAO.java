@@ -0,0 +1,58 @@
+package fr.cnam.stefangeorgesco.dmp.domain.dao;
+
+import fr.cnam.stefangeorgesco.dmp.domain.model.UserSyncEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.transaction.Transactional;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Repository pour les objets
+ * {@link fr.cnam.stefangeorgesco.dmp.domain.model.UserSyncEvent}
+ * 
+ * @author Stéfan Georgesco
+ *
+ */
+@Transactional
+public interface UserSyncEventDAO extends JpaRepository<UserSyncEvent, Long> {
+
+	/**
+	 * Recherche les événements à transmettre : pour chaque utilisateur, seul le
+	 * plus ancien événement en attente est renvoyé, s'il peut être transmis, de
+	 * sorte que les événements d'un même utilisateur sont transmis dans l'ordre
+	 * de leur enregistrement.
+	 * 
+	 * @param now      l'instant présent.
+	 * @param pageable la taille du lot.
+	 * @return la liste des événements à transmettre, dans l'ordre
+	 *         d'enregistrement.
+	 */
+	@Query("select event from UserSyncEvent event where event.nextAttemptDate <= :now "
+			+ "and not exists (select previous from UserSyncEvent previous "
+			+ "where previous.userId = event.userId and previous.id < event.id) order by event.id")
+	List<UserSyncEvent> findDueEvents(@Param("now") Timestamp now, Pageable pageable);
+
+	/**
+	 * Indique si un événement a été enregistré pour un utilisateur après un
+	 * événement donné.
+	 * 
+	 * @param userId l'identifiant de l'utilisateur.
+	 * @param id     l'identifiant de l'événement.
+	 * @return égal à true si un événement plus récent existe, false sinon.
+	 */
+	boolean existsByUserIdAndIdGreaterThan(String userId, Long id);
+
+	/**
+	 * Recherche la date d'enregistrement du plus ancien événement en attente.
+	 * 
+	 * @return la date trouvée, ou {@code null} s'il n'y a aucun événement en
+	 *         attente.
+	 */
+	@Query("select min(event.createdDate) from UserSyncEvent event")
+	Timestamp findOldestCreatedDate();
+
+}
@@ -0,0 +1,71 @@
+package fr.cnam.stefangeorgesco.dmp.domain.dto;
+
+import java.util.List;
+
+/**
+ * Objet de transfert de données représentant une page de résultats d'une
+ * pagination par curseur (keyset) : la page suivante est obtenue en fournissant
+ * le curseur {@code next}, qui désigne la clé de tri du dernier élément de la
+ * page courante.
+ * 
+ * @param <T> le type des éléments de la page.
+ * 
+ * @author Stéfan Georgesco
+ *
+ */
+public class PageDTO<T> {
+
+	/**
+	 * Taille de page par défaut.
+	 */
+	public static final int DEFAULT_SIZE = 20;
+
+	/**
+	 * Taille de page maximum.
+	 */
+	public static final int MAX_SIZE = 100;
+
+	/**
+	 * Eléments de la page.
+	 */
+	private List<T> content;
+
+	/**
+	 * Curseur de la page suivante, {@code null} s'il s'agit de la dernière page.
+	 */
+	private String next;
+
+	public PageDTO() {
+	}
+
+	public PageDTO(List<T> content, String next) {
+		this.content = content;
+		this.next = next;
+	}
+
+	/**
+	 * Borne une taille de page demandée entre 1 et {@link #MAX_SIZE}.
+	 * 
+	 * @param size la taille de page demandée.
+	 * @return la taille de page effective.
+	 */
+	public static int capSize(int size) {
+		return Math.max(1, Math.min(size, MAX_SIZE));
+	}
+
+	public List<T> getContent() {
+		return content;
+	}
+
+	public void setContent(List<T> content) {
+		this.content = content;
+	}
+
+	public String getNext() {
+		return next;
+	}
+
+	public void setNext(String next) {
+		this.next = next;
+	}
+}
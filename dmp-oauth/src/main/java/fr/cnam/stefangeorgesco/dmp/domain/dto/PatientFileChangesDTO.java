@@ -0,0 +1,99 @@
+package fr.cnam.stefangeorgesco.dmp.domain.dto;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Objet de transfert de données représentant les modifications d'un dossier
+ * patient depuis une date donnée : éléments médicaux et correspondances créés
+ * ou modifiés, et identifiants des éléments médicaux et correspondances
+ * supprimés. La date {@code watermark} est à fournir lors de la demande
+ * suivante. Si l'indicateur {@code resyncRequired} est positionné, la date
+ * fournie était trop ancienne : le dossier est renvoyé complet et remplace la
+ * copie locale du client.
+ * 
+ * @author Stéfan Georgesco
+ *
+ */
+public class PatientFileChangesDTO {
+
+	/**
+	 * Date de référence de la demande suivante.
+	 */
+	private Timestamp watermark;
+
+	/**
+	 * Indique que la copie locale du client doit être remplacée par le contenu
+	 * renvoyé.
+	 */
+	private boolean resyncRequired;
+
+	/**
+	 * Eléments médicaux créés ou modifiés.
+	 */
+	private List<PatientFileItemDTO> items;
+
+	/**
+	 * Correspondances créées ou modifiées.
+	 */
+	private List<CorrespondenceDTO> correspondences;
+
+	/**
+	 * Identifiants des éléments médicaux supprimés.
+	 */
+	private List<UUID> deletedItemIds;
+
+	/**
+	 * Identifiants des correspondances supprimées.
+	 */
+	private List<UUID> deletedCorrespondenceIds;
+
+	public Timestamp getWatermark() {
+		return watermark;
+	}
+
+	public void setWatermark(Timestamp watermark) {
+		this.watermark = watermark;
+	}
+
+	public boolean isResyncRequired() {
+		return resyncRequired;
+	}
+
+	public void setResyncRequired(boolean resyncRequired) {
+		this.resyncRequired = resyncRequired;
+	}
+
+	public List<PatientFileItemDTO> getItems() {
+		return items;
+	}
+
+	public void setItems(List<PatientFileItemDTO> items) {
+		this.items = items;
+	}
+
+	public List<CorrespondenceDTO> getCorrespondences() {
+		return correspondences;
+	}
+
+	public void setCorrespondences(List<CorrespondenceDTO> correspondences) {
+		this.correspondences = correspondences;
+	}
+
+	public List<UUID> getDeletedItemIds() {
+		return deletedItemIds;
+	}
+
+	public void setDeletedItemIds(List<UUID> deletedItemIds) {
+		this.deletedItemIds = deletedItemIds;
+	}
+
+	public List<UUID> getDeletedCorrespondenceIds() {
+		return deletedCorrespondenceIds;
+	}
+
+	public void setDeletedCorrespondenceIds(List<UUID> deletedCorrespondenceIds) {
+		this.deletedCorrespondenceIds = deletedCorrespondenceIds;
+	}
+}
@@ -0,0 +1,82 @@
+package fr.cnam.stefangeorgesco.dmp.domain.dto;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Objet de transfert de données représentant la version d'une ressource REST,
+ * calculée par une requête d'agrégation (date de modification maximum et
+ * nombre de lignes) sur les lignes dont la ressource est construite. Il fournit
+ * les valeurs des en-têtes {@code ETag} et {@code Last-Modified} des requêtes
+ * GET conditionnelles. Les dates de modification étant enregistrées à la
+ * microseconde, l'{@code ETag} change à chaque écriture, y compris pour deux
+ * écritures dans la même seconde.
+ * 
+ * @author Stéfan Georgesco
+ *
+ */
+public class ResourceVersionDTO {
+
+	/**
+	 * Nombre de lignes de la ressource.
+	 */
+	private final long count;
+
+	/**
+	 * Date de modification maximum des lignes de la ressource, en microsecondes
+	 * depuis le 1er janvier 1970, ou -1 si elle est inconnue.
+	 */
+	private final long lastModifiedMicros;
+
+	public ResourceVersionDTO(long count, long lastModifiedMicros) {
+		this.count = count;
+		this.lastModifiedMicros = lastModifiedMicros;
+	}
+
+	/**
+	 * Construit la version d'une ressource à partir d'une ligne résultat de
+	 * requête d'agrégation.
+	 * 
+	 * @param row la ligne ({@code Object[]}) contenant la date de modification
+	 *            maximum (éventuellement {@code null}) puis le nombre de lignes.
+	 * @return la version de la ressource.
+	 */
+	public static ResourceVersionDTO of(Object[] row) {
+		Timestamp timestamp = null;
+		if (row[0] instanceof Timestamp) {
+			timestamp = (Timestamp) row[0];
+		} else if (row[0] instanceof LocalDateTime) {
+			timestamp = Timestamp.valueOf((LocalDateTime) row[0]);
+		}
+		long lastModifiedMicros = -1;
+		if (timestamp != null) {
+			lastModifiedMicros = Math.floorDiv(timestamp.getTime(), 1000L) * 1_000_000L + timestamp.getNanos() / 1000;
+		}
+		return new ResourceVersionDTO(((Number) row[1]).longValue(), lastModifiedMicros);
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Date de modification maximum des lignes de la ressource, pour l'en-tête
+	 * {@code Last-Modified}.
+	 * 
+	 * @return la date en millisecondes depuis le 1er janvier 1970, ou -1 si elle
+	 *         est inconnue.
+	 */
+	public long getLastModified() {
+		return lastModifiedMicros < 0 ? -1 : lastModifiedMicros / 1000;
+	}
+
+	/**
+	 * Valeur de l'en-tête {@code ETag} (validateur fort) : elle change dès
+	 * qu'une ligne de la ressource est créée, modifiée ou supprimée.
+	 * 
+	 * @return la valeur de l'en-tête {@code ETag}, entre guillemets.
+	 */
+	public String getETag() {
+		return "\"" + count + "-" + Math.max(lastModifiedMicros, 0) + "\"";
+	}
+}
@@ -1,23 +1,39 @@
 package fr.cnam.stefangeorgesco.dmp.domain.model;
 
-import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.UpdateTimestamp;
-
 import javax.persistence.Column;
 import javax.persistence.MappedSuperclass;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
 import java.sql.Timestamp;
+import java.time.Instant;
 
+/**
+ * Classe de base des entités datées. Les dates de création et de modification
+ * sont renseignées à la microseconde (colonnes {@code TIMESTAMP(6)}) : la date
+ * de modification change à chaque écriture et sert de validateur aux requêtes
+ * GET conditionnelles
+ * ({@link fr.cnam.stefangeorgesco.dmp.domain.dto.ResourceVersionDTO}).
+ */
 @MappedSuperclass
 public abstract class BaseEntity {
 
-    @CreationTimestamp
     @Column(updatable = false, name = "created_date")
     private Timestamp createdDate;
 
-    @UpdateTimestamp
     @Column(name = "last_modified_date")
     private Timestamp lastModifiedDate;
 
+    @PrePersist
+    void onCreate() {
+        createdDate = Timestamp.from(Instant.now());
+        lastModifiedDate = createdDate;
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        lastModifiedDate = Timestamp.from(Instant.now());
+    }
+
     public Timestamp getCreatedDate() {
         return createdDate;
     }
@@ -12,7 +12,9 @@ import java.time.LocalDate;
  *
  */
 @Entity
-@Table(name = "t_correspondence")
+@Table(name = "t_correspondence", indexes = {
+		@Index(name = "idx_correspondence_access_grant", columnList = "patient_file_id, doctor_id, date_until"),
+		@Index(name = "idx_correspondence_date", columnList = "patient_file_id, date_until") })
 public class Correspondence extends UuidIdBaseEntity {
 
 	/**
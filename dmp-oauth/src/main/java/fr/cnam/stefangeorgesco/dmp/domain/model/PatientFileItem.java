@@ -16,7 +16,7 @@ import java.time.LocalDate;
  *
  */
 @Entity
-@Table(name = "t_patient_file_item")
+@Table(name = "t_patient_file_item", indexes = @Index(name = "idx_patient_file_item_date", columnList = "patient_file_id, date"))
 @Inheritance(strategy = InheritanceType.JOINED)
 @JsonTypeInfo(use = JsonTypeInfo.Id.NAME)
 @JsonSubTypes({ @JsonSubTypes.Type(value = Act.class, name = "act"),
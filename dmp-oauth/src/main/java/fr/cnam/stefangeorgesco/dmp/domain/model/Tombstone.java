@@ -0,0 +1,91 @@
+package fr.cnam.stefangeorgesco.dmp.domain.model;
+
+import org.hibernate.annotations.Type;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Entité représentant la trace de la suppression d'un élément médical ou d'une
+ * correspondance d'un dossier patient, permettant aux clients de synchroniser
+ * leur copie locale.
+ * 
+ * @author Stéfan Georgesco
+ *
+ */
+@Entity
+@Table(name = "t_tombstone", indexes = {
+		@Index(name = "idx_tombstone_patient_file", columnList = "patient_file_id, deleted_date"),
+		@Index(name = "idx_tombstone_deleted_date", columnList = "deleted_date") })
+public class Tombstone {
+
+	/**
+	 * Type d'objet supprimé : élément médical.
+	 */
+	public static final String ITEM = "item";
+
+	/**
+	 * Type d'objet supprimé : correspondance.
+	 */
+	public static final String CORRESPONDENCE = "correspondence";
+
+	/**
+	 * Identifiant de l'objet supprimé.
+	 */
+	@Id
+	@Type(type = "uuid-binary")
+	@Column(length = 16)
+	private UUID id;
+
+	/**
+	 * Type de l'objet supprimé ({@value #ITEM} ou {@value #CORRESPONDENCE}).
+	 */
+	@Column(name = "entity_type", length = 20)
+	private String entityType;
+
+	/**
+	 * Identifiant du dossier patient auquel l'objet supprimé était associé.
+	 */
+	@Column(name = "patient_file_id")
+	private String patientFileId;
+
+	/**
+	 * Date de la suppression.
+	 */
+	@Column(name = "deleted_date")
+	private Timestamp deletedDate;
+
+	public UUID getId() {
+		return id;
+	}
+
+	public void setId(UUID id) {
+		this.id = id;
+	}
+
+	public String getEntityType() {
+		return entityType;
+	}
+
+	public void setEntityType(String entityType) {
+		this.entityType = entityType;
+	}
+
+	public String getPatientFileId() {
+		return patientFileId;
+	}
+
+	public void setPatientFileId(String patientFileId) {
+		this.patientFileId = patientFileId;
+	}
+
+	public Timestamp getDeletedDate() {
+		return deletedDate;
+	}
+
+	public void setDeletedDate(Timestamp deletedDate) {
+		this.deletedDate = deletedDate;
+	}
+
+}
@@ -0,0 +1,168 @@
+package fr.cnam.stefangeorgesco.dmp.domain.model;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+
+/**
+ * Entité représentant une modification de compte utilisateur à reporter dans
+ * Keycloak (boîte d'envoi transactionnelle). L'événement est enregistré dans la
+ * même transaction que la modification du dossier correspondant, puis transmis
+ * à Keycloak en arrière-plan ; il est supprimé une fois transmis.
+ * 
+ * @author Stéfan Georgesco
+ *
+ */
+@Entity
+@Table(name = "t_user_sync_event", indexes = {
+		@Index(name = "idx_user_sync_event_next_attempt", columnList = "next_attempt_date"),
+		@Index(name = "idx_user_sync_event_user", columnList = "user_id, id") })
+public class UserSyncEvent {
+
+	/**
+	 * Type d'événement : mise à jour des données de l'utilisateur.
+	 */
+	public static final String UPDATE = "update";
+
+	/**
+	 * Type d'événement : suppression du compte utilisateur.
+	 */
+	public static final String DELETE = "delete";
+
+	/**
+	 * Identifiant de l'événement, croissant dans l'ordre d'enregistrement.
+	 */
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	/**
+	 * Identifiant de l'utilisateur (identifiant du dossier).
+	 */
+	@Column(name = "user_id")
+	private String userId;
+
+	/**
+	 * Type de l'événement ({@value #UPDATE} ou {@value #DELETE}).
+	 */
+	@Column(name = "event_type", length = 20)
+	private String eventType;
+
+	/**
+	 * Prénom de l'utilisateur (mise à jour).
+	 */
+	private String firstname;
+
+	/**
+	 * Nom de l'utilisateur (mise à jour).
+	 */
+	private String lastname;
+
+	/**
+	 * Adresse email de l'utilisateur (mise à jour).
+	 */
+	private String email;
+
+	/**
+	 * Date d'enregistrement de l'événement.
+	 */
+	@Column(name = "created_date")
+	private Timestamp createdDate;
+
+	/**
+	 * Nombre de tentatives de transmission en échec.
+	 */
+	private int attempts;
+
+	/**
+	 * Date à partir de laquelle l'événement peut être transmis.
+	 */
+	@Column(name = "next_attempt_date")
+	private Timestamp nextAttemptDate;
+
+	/**
+	 * Cause du dernier échec de transmission.
+	 */
+	@Column(name = "last_error")
+	private String lastError;
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getUserId() {
+		return userId;
+	}
+
+	public void setUserId(String userId) {
+		this.userId = userId;
+	}
+
+	public String getEventType() {
+		return eventType;
+	}
+
+	public void setEventType(String eventType) {
+		this.eventType = eventType;
+	}
+
+	public String getFirstname() {
+		return firstname;
+	}
+
+	public void setFirstname(String firstname) {
+		this.firstname = firstname;
+	}
+
+	public String getLastname() {
+		return lastname;
+	}
+
+	public void setLastname(String lastname) {
+		this.lastname = lastname;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public void setEmail(String email) {
+		this.email = email;
+	}
+
+	public Timestamp getCreatedDate() {
+		return createdDate;
+	}
+
+	public void setCreatedDate(Timestamp createdDate) {
+		this.createdDate = createdDate;
+	}
+
+	public int getAttempts() {
+		return attempts;
+	}
+
+	public void setAttempts(int attempts) {
+		this.attempts = attempts;
+	}
+
+	public Timestamp getNextAttemptDate() {
+		return nextAttemptDate;
+	}
+
+	public void setNextAttemptDate(Timestamp nextAttemptDate) {
+		this.nextAttemptDate = nextAttemptDate;
+	}
+
+	public String getLastError() {
+		return lastError;
+	}
+
+	public void setLastError(String lastError) {
+		this.lastError = lastError;
+	}
+
+}
@@ -1,7 +1,9 @@
 package fr.cnam.stefangeorgesco.dmp.domain.model;
 
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.Type;
 
+import javax.persistence.Column;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import javax.persistence.MappedSuperclass;
@@ -11,8 +13,10 @@ import java.util.UUID;
 public abstract class UuidIdBaseEntity extends BaseEntity {
 
     @Id
-    @GeneratedValue
-    @Type(type = "org.hibernate.type.UUIDCharType")
+    @GeneratedValue(generator = "time-ordered-uuid")
+    @GenericGenerator(name = "time-ordered-uuid", strategy = "fr.cnam.stefangeorgesco.dmp.utils.TimeOrderedUuidGenerator")
+    @Type(type = "uuid-binary")
+    @Column(length = 16)
     private UUID id;
 
     public UUID getId() {
@@ -1,9 +1,11 @@
 package fr.cnam.stefangeorgesco.dmp.domain.service;
 
 import fr.cnam.stefangeorgesco.dmp.domain.dto.CorrespondenceDTO;
+import fr.cnam.stefangeorgesco.dmp.domain.dto.ResourceVersionDTO;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.CreateException;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.FinderException;
 
+import java.sql.Timestamp;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,4 +17,8 @@ public interface CorrespondenceService {
     CorrespondenceDTO findCorrespondence(String id) throws FinderException;
 
     List<CorrespondenceDTO> findCorrespondencesByPatientFileId(String patientFileId);
+
+    List<CorrespondenceDTO> findCorrespondencesChangedSince(String patientFileId, Timestamp since);
+
+    ResourceVersionDTO findCorrespondencesVersion(String patientFileId);
 }
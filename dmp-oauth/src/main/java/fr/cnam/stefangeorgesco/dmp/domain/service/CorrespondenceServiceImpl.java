@@ -4,9 +4,10 @@ import fr.cnam.stefangeorgesco.dmp.domain.dao.*;
 import fr.cnam.stefangeorgesco.dmp.domain.dto.*;
 import fr.cnam.stefangeorgesco.dmp.domain.model.*;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.*;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 
+import javax.transaction.Transactional;
+import java.sql.Timestamp;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -23,11 +24,20 @@ public class CorrespondenceServiceImpl implements CorrespondenceService {
 
 	private final CorrespondenceDAO correspondenceDAO;
 
-	private final ModelMapper commonModelMapper;
+	private final TombstoneDAO tombstoneDAO;
 
-	public CorrespondenceServiceImpl(CorrespondenceDAO correspondenceDAO, ModelMapper commonModelMapper) {
+	private final PatientFileAccessService patientFileAccessService;
+
+	private final MapperService mapperService;
+
+	public CorrespondenceServiceImpl(CorrespondenceDAO correspondenceDAO,
+									 TombstoneDAO tombstoneDAO,
+									 PatientFileAccessService patientFileAccessService,
+									 MapperService mapperService) {
 		this.correspondenceDAO = correspondenceDAO;
-		this.commonModelMapper = commonModelMapper;
+		this.tombstoneDAO = tombstoneDAO;
+		this.patientFileAccessService = patientFileAccessService;
+		this.mapperService = mapperService;
 	}
 
 	/**
@@ -44,7 +54,7 @@ public class CorrespondenceServiceImpl implements CorrespondenceService {
 	@Override
 	public CorrespondenceDTO createCorrespondence(CorrespondenceDTO correspondenceDTO) throws CreateException {
 
-		Correspondence correspondence = commonModelMapper.map(correspondenceDTO, Correspondence.class);
+		Correspondence correspondence = mapperService.mapToEntity(correspondenceDTO);
 
 		try {
 			correspondence = correspondenceDAO.save(correspondence);
@@ -54,20 +64,66 @@ public class CorrespondenceServiceImpl implements CorrespondenceService {
 
 		correspondence = correspondenceDAO.findById(correspondence.getId()).orElseThrow();
 
-		return commonModelMapper.map(correspondence, CorrespondenceDTO.class);
+		patientFileAccessService.evict(correspondence.getDoctor().getId(), correspondence.getPatientFile().getId());
+
+		return mapperService.mapToDTO(correspondence);
 	}
 
 	/**
-	 * Service de suppression d'une correspondance désignée par son identifiant.
+	 * Service de suppression d'une correspondance désignée par son identifiant. La
+	 * trace de la suppression est enregistrée dans la même transaction.
 	 * 
 	 * @param uuid l'identifiant de la correspondance à supprimer.
 	 */
 	@Override
+	@Transactional
 	public void deleteCorrespondence(UUID uuid) {
 
+		correspondenceDAO.findById(uuid).ifPresent(correspondence -> {
+			tombstoneDAO.saveTombstone(uuid, Tombstone.CORRESPONDENCE, correspondence.getPatientFile().getId());
+			patientFileAccessService.evict(correspondence.getDoctor().getId(),
+					correspondence.getPatientFile().getId());
+		});
+
 		correspondenceDAO.deleteById(uuid);
 	}
 
+	/**
+	 * Service de recherche des correspondances associées à un dossier patient
+	 * créées ou modifiées après une date donnée.
+	 * 
+	 * @param patientFileId l'identifiant du dossier patient.
+	 * @param since         la date à partir de laquelle les modifications sont
+	 *                      recherchées (exclue).
+	 * @return une liste ({@link List}) d'objets {@link CorrespondenceDTO}
+	 *         représentant les correspondances créées ou modifiées.
+	 */
+	@Override
+	public List<CorrespondenceDTO> findCorrespondencesChangedSince(String patientFileId, Timestamp since) {
+
+		Iterable<Correspondence> correspondences = correspondenceDAO
+				.findByPatientFileIdAndLastModifiedDateAfter(patientFileId, since);
+
+		return ((List<Correspondence>) correspondences).stream()
+				.map(mapperService::mapToDTO)
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Service de calcul de la version de la liste des correspondances associées
+	 * à un dossier patient, par une requête d'agrégation (date de modification
+	 * maximum et nombre de correspondances), sans charger d'entités.
+	 * 
+	 * @param patientFileId l'identifiant du dossier patient.
+	 * @return un objet {@link ResourceVersionDTO} représentant la version de la
+	 *         liste des correspondances.
+	 */
+	@Override
+	public ResourceVersionDTO findCorrespondencesVersion(String patientFileId) {
+
+		return ResourceVersionDTO.of(correspondenceDAO.findVersionRowsByPatientFileId(patientFileId).get(0));
+	}
+
 	/**
 	 * Service de recherche d'une correspondance par son identifiant.
 	 * 
@@ -83,7 +139,7 @@ public class CorrespondenceServiceImpl implements CorrespondenceService {
 		Optional<Correspondence> optionalCorrespondence = correspondenceDAO.findById(UUID.fromString(id));
 
 		if (optionalCorrespondence.isPresent()) {
-			return commonModelMapper.map(optionalCorrespondence.get(), CorrespondenceDTO.class);
+			return mapperService.mapToDTO(optionalCorrespondence.get());
 		} else {
 			throw new FinderException("Correspondance non trouvée.");
 		}
@@ -104,7 +160,7 @@ public class CorrespondenceServiceImpl implements CorrespondenceService {
 		Iterable<Correspondence> correspondences = correspondenceDAO.findByPatientFileId(patientFileId);
 
 		return ((List<Correspondence>) correspondences).stream()
-				.map(correspondence -> commonModelMapper.map(correspondence, CorrespondenceDTO.class))
+				.map(mapperService::mapToDTO)
 				.collect(Collectors.toList());
 	}
 }
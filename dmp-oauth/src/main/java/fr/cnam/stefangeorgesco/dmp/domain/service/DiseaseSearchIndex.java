@@ -0,0 +1,134 @@
+package fr.cnam.stefangeorgesco.dmp.domain.service;
+
+import fr.cnam.stefangeorgesco.dmp.domain.dto.DiseaseDTO;
+import fr.cnam.stefangeorgesco.dmp.domain.model.Disease;
+import fr.cnam.stefangeorgesco.dmp.utils.PrefixTree;
+import fr.cnam.stefangeorgesco.dmp.utils.TextFolder;
+import fr.cnam.stefangeorgesco.dmp.utils.TokenIndex;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Moteur d'autocomplétion en mémoire de la nomenclature CIM-10 des maladies.
+ * Les codes sont indexés dans un arbre préfixe ({@link PrefixTree}), les mots
+ * des codes et des descriptions dans un index de mots ({@link TokenIndex}). La
+ * recherche est insensible à la casse et aux accents et porte, comme la
+ * requête SQL qu'elle remplace, sur la présence d'une sous-chaîne dans le code
+ * ou dans la description de la maladie. Les résultats sont classés : code
+ * identique, puis codes commençant par la chaîne recherchée, puis autres
+ * correspondances, chaque groupe étant trié par code.
+ * 
+ * @author Stéfan Georgesco
+ *
+ */
+public class DiseaseSearchIndex {
+
+	private final String[] ids;
+
+	private final String[] descriptions;
+
+	private final Timestamp[] createdDates;
+
+	private final Timestamp[] lastModifiedDates;
+
+	private final PrefixTree codeTree;
+
+	private final TokenIndex tokenIndex;
+
+	/**
+	 * Construit l'index à partir des maladies fournies.
+	 * 
+	 * @param diseases les maladies à indexer.
+	 */
+	public DiseaseSearchIndex(List<Disease> diseases) {
+
+		List<Disease> sortedDiseases = diseases.stream()
+				.sorted(Comparator.comparing((Disease disease) -> TextFolder.fold(disease.getId()))
+						.thenComparing(Disease::getId))
+				.collect(Collectors.toList());
+
+		int size = sortedDiseases.size();
+		ids = new String[size];
+		descriptions = new String[size];
+		createdDates = new Timestamp[size];
+		lastModifiedDates = new Timestamp[size];
+		List<String> codes = new ArrayList<>(size);
+		List<String> texts = new ArrayList<>(size);
+
+		for (int i = 0; i < size; i++) {
+			Disease disease = sortedDiseases.get(i);
+			ids[i] = disease.getId();
+			descriptions[i] = disease.getDescription();
+			createdDates[i] = disease.getCreatedDate();
+			lastModifiedDates[i] = disease.getLastModifiedDate();
+			String code = TextFolder.fold(disease.getId());
+			codes.add(code);
+			texts.add(code + '\u0001' + TextFolder.fold(disease.getDescription()));
+		}
+
+		codeTree = new PrefixTree(codes);
+		tokenIndex = new TokenIndex(texts);
+	}
+
+	/**
+	 * @return le nombre de maladies indexées.
+	 */
+	public int size() {
+		return ids.length;
+	}
+
+	/**
+	 * Recherche des maladies à partir d'une chaîne de caractères.
+	 * 
+	 * @param q     la chaîne de caractères de recherche.
+	 * @param limit le nombre maximum d'objets récupérés.
+	 * @return une liste ({@link List}) d'objets {@link DiseaseDTO} représentant
+	 *         le résultat de la recherche, classés par pertinence.
+	 */
+	public List<DiseaseDTO> search(String q, int limit) {
+
+		List<DiseaseDTO> results = new ArrayList<>();
+		String query = TextFolder.fold(q);
+
+		if (query.isEmpty() || limit <= 0) {
+			return results;
+		}
+
+		int exact = codeTree.indexOf(query);
+		int[] prefixRange = codeTree.prefixRange(query);
+
+		if (exact >= 0) {
+			results.add(toDTO(exact));
+		}
+
+		for (int i = prefixRange[0]; i < prefixRange[1] && results.size() < limit; i++) {
+			if (i != exact) {
+				results.add(toDTO(i));
+			}
+		}
+
+		if (results.size() < limit) {
+			for (int i : tokenIndex.search(query, limit - results.size(),
+					doc -> doc < prefixRange[0] || doc >= prefixRange[1])) {
+				results.add(toDTO(i));
+			}
+		}
+
+		return results;
+	}
+
+	private DiseaseDTO toDTO(int i) {
+
+		DiseaseDTO diseaseDTO = new DiseaseDTO();
+		diseaseDTO.setId(ids[i]);
+		diseaseDTO.setDescription(descriptions[i]);
+		diseaseDTO.setCreatedDate(createdDates[i]);
+		diseaseDTO.setLastModifiedDate(lastModifiedDates[i]);
+
+		return diseaseDTO;
+	}
+}
@@ -4,13 +4,17 @@ import fr.cnam.stefangeorgesco.dmp.domain.dao.*;
 import fr.cnam.stefangeorgesco.dmp.domain.dto.*;
 import fr.cnam.stefangeorgesco.dmp.domain.model.*;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.*;
+import fr.cnam.stefangeorgesco.dmp.utils.ReloadableIndex;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Classe de service pour la gestion des dossiers patients et objets rattachés.
@@ -25,9 +29,25 @@ public class DiseaseServiceImpl implements DiseaseService {
 
 	private final ModelMapper commonModelMapper;
 
-	public DiseaseServiceImpl(DiseaseDAO diseaseDAO, ModelMapper commonModelMapper) {
+	private final ReloadableIndex<DiseaseSearchIndex> searchIndex;
+
+	public DiseaseServiceImpl(DiseaseDAO diseaseDAO, ModelMapper commonModelMapper,
+			@Value("${disease.index.refresh-interval:PT5M}") Duration indexRefreshInterval) {
 		this.diseaseDAO = diseaseDAO;
 		this.commonModelMapper = commonModelMapper;
+		this.searchIndex = new ReloadableIndex<>(
+				() -> diseaseDAO.count() + "/" + diseaseDAO.findLastModifiedDate(),
+				() -> new DiseaseSearchIndex(diseaseDAO.findAll()), indexRefreshInterval);
+	}
+
+	/**
+	 * Chargement du moteur d'autocomplétion des maladies au démarrage de
+	 * l'application.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void buildSearchIndex() {
+
+		searchIndex.reload();
 	}
 
 	/**
@@ -51,7 +71,10 @@ public class DiseaseServiceImpl implements DiseaseService {
 	}
 
 	/**
-	 * Service de recherche de maladies à partir d'une chaîne de caractères.
+	 * Service de recherche de maladies à partir d'une chaîne de caractères. La
+	 * recherche est effectuée par le moteur d'autocomplétion en mémoire
+	 * ({@link DiseaseSearchIndex}), sans accès à la base de données hormis la
+	 * vérification périodique des modifications de la nomenclature.
 	 *
 	 * @param q     la chaîne de caractères de recherche.
 	 * @param limit le nombre maximum d'objets récupérés.
@@ -66,9 +89,6 @@ public class DiseaseServiceImpl implements DiseaseService {
 			return new ArrayList<>();
 		}
 
-		Iterable<Disease> diseases = diseaseDAO.findByIdOrDescription(q, limit);
-
-		return ((List<Disease>) diseases).stream()
-				.map(disease -> commonModelMapper.map(disease, DiseaseDTO.class)).collect(Collectors.toList());
+		return searchIndex.get().search(q, limit);
 	}
 }
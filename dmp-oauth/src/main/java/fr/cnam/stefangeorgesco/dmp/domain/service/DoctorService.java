@@ -6,11 +6,15 @@ import fr.cnam.stefangeorgesco.dmp.exception.domain.DeleteException;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.FinderException;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.UpdateException;
 
+import reactor.core.publisher.Mono;
+
 import java.util.List;
 
 public interface DoctorService {
     DoctorDTO createDoctor(DoctorDTO doctorDTO) throws FinderException, CreateException;
 
+    Mono<DoctorDTO> createDoctorAsync(DoctorDTO doctorDTO);
+
     DoctorDTO findDoctor(String id) throws FinderException;
 
     List<DoctorDTO> findDoctorsByIdOrFirstnameOrLastname(String q);
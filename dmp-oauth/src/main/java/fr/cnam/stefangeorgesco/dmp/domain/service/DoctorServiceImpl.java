@@ -1,7 +1,7 @@
 package fr.cnam.stefangeorgesco.dmp.domain.service;
 
 import fr.cnam.stefangeorgesco.dmp.authentication.domain.dto.UserDTO;
-import fr.cnam.stefangeorgesco.dmp.authentication.domain.service.UserService;
+import fr.cnam.stefangeorgesco.dmp.authentication.domain.service.UserSyncService;
 import fr.cnam.stefangeorgesco.dmp.domain.dao.DoctorDAO;
 import fr.cnam.stefangeorgesco.dmp.domain.dao.FileDAO;
 import fr.cnam.stefangeorgesco.dmp.domain.dao.SpecialtyDAO;
@@ -10,11 +10,18 @@ import fr.cnam.stefangeorgesco.dmp.domain.dto.SpecialtyDTO;
 import fr.cnam.stefangeorgesco.dmp.domain.model.Doctor;
 import fr.cnam.stefangeorgesco.dmp.domain.model.Specialty;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.*;
+import fr.cnam.stefangeorgesco.dmp.utils.FulltextQuery;
 import fr.cnam.stefangeorgesco.dmp.utils.SecurityCodeGenerator;
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
+import javax.transaction.Transactional;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -30,33 +37,41 @@ import java.util.stream.Collectors;
 @Service
 public class DoctorServiceImpl implements DoctorService {
 
-	private final UserService userService;
+	private final UserSyncService userSyncService;
 
 	private final FileDAO fileDAO;
 
 	private final DoctorDAO doctorDAO;
 
-	private final ModelMapper commonModelMapper;
-
-	private final ModelMapper doctorModelMapper;
+	private final MapperService mapperService;
 
 	private final SpecialtyDAO specialtyDAO;
 
 	private final BCryptPasswordEncoder bCryptPasswordEncoder;
 
-	public DoctorServiceImpl(UserService userService, FileDAO fileDAO, DoctorDAO doctorDAO, ModelMapper commonModelMapper, ModelMapper doctorModelMapper, SpecialtyDAO specialtyDAO, BCryptPasswordEncoder bCryptPasswordEncoder) {
-		this.userService = userService;
+	private final Scheduler checksScheduler;
+
+	private final Scheduler hashingScheduler;
+
+	private final boolean fulltextSearch;
+
+	public DoctorServiceImpl(UserSyncService userSyncService, FileDAO fileDAO, DoctorDAO doctorDAO, MapperService mapperService, SpecialtyDAO specialtyDAO, BCryptPasswordEncoder bCryptPasswordEncoder,
+			Scheduler checksScheduler, Scheduler hashingScheduler, @Value("${file.search.mode:like}") String fileSearchMode) {
+		this.userSyncService = userSyncService;
 		this.fileDAO = fileDAO;
 		this.doctorDAO = doctorDAO;
-		this.commonModelMapper = commonModelMapper;
-		this.doctorModelMapper = doctorModelMapper;
+		this.mapperService = mapperService;
 		this.specialtyDAO = specialtyDAO;
 		this.bCryptPasswordEncoder = bCryptPasswordEncoder;
+		this.checksScheduler = checksScheduler;
+		this.hashingScheduler = hashingScheduler;
+		this.fulltextSearch = "fulltext".equalsIgnoreCase(fileSearchMode);
 	}
 
 	/**
 	 * Service de création d'un dossier de médecin. Le service vérifie qu'un dossier
-	 * avec le même identifiant n'existe pas et que les spécialités existent.
+	 * avec le même identifiant n'existe pas et que les spécialités existent. Le
+	 * thread appelant attend le résultat de {@link #createDoctorAsync(DoctorDTO)}.
 	 * 
 	 * @param doctorDTO l'objet
 	 *                  {@link fr.cnam.stefangeorgesco.dmp.domain.dto.DoctorDTO}
@@ -69,33 +84,78 @@ public class DoctorServiceImpl implements DoctorService {
 	@Override
 	public DoctorDTO createDoctor(DoctorDTO doctorDTO) throws FinderException, CreateException {
 
-		if (fileDAO.existsById(doctorDTO.getId())) {
-			throw new DuplicateKeyException("Un dossier avec cet identifiant existe déjà.");
+		try {
+			return createDoctorAsync(doctorDTO).block();
+		} catch (RuntimeException e) {
+			Throwable cause = Exceptions.unwrap(e);
+			if (cause instanceof FinderException) {
+				throw (FinderException) cause;
+			}
+			if (cause instanceof CreateException) {
+				throw (CreateException) cause;
+			}
+			throw e;
 		}
+	}
+
+	/**
+	 * Version non bloquante de {@link #createDoctor(DoctorDTO)}. Les vérifications
+	 * (absence d'un dossier avec le même identifiant, existence des spécialités)
+	 * et la génération du code de sécurité avec son hachage BCrypt sont exécutées
+	 * en parallèle ; le dossier n'est enregistré que si elles réussissent toutes.
+	 * Les traitements bloquants sont exécutés par l'ordonnanceur
+	 * {@code checksScheduler}, le hachage BCrypt par l'ordonnanceur dédié
+	 * {@code hashingScheduler}.
+	 * 
+	 * @param doctorDTO l'objet
+	 *                  {@link fr.cnam.stefangeorgesco.dmp.domain.dto.DoctorDTO}
+	 *                  représentant le dossier de médecin à créer.
+	 * @return un {@link Mono} émettant l'objet
+	 *         {@link fr.cnam.stefangeorgesco.dmp.domain.dto.DoctorDTO}
+	 *         représentant le dossier de médecin créé, ou en erreur avec une
+	 *         {@link FinderException} ou une {@link CreateException}.
+	 */
+	@Override
+	public Mono<DoctorDTO> createDoctorAsync(DoctorDTO doctorDTO) {
 
-		doctorDTO.setSecurityCode(SecurityCodeGenerator.generateCode());
+		Mono<Boolean> checks = Mono.fromCallable(() -> {
+			if (fileDAO.existsById(doctorDTO.getId())) {
+				throw new DuplicateKeyException("Un dossier avec cet identifiant existe déjà.");
+			}
 
-		for (SpecialtyDTO specialtyDTO : doctorDTO.getSpecialtiesDTO()) {
-			Optional<Specialty> optionalSpecialty = specialtyDAO.findById(specialtyDTO.getId());
+			for (SpecialtyDTO specialtyDTO : doctorDTO.getSpecialtiesDTO()) {
+				Optional<Specialty> optionalSpecialty = specialtyDAO.findById(specialtyDTO.getId());
 
-			if (optionalSpecialty.isPresent()) {
-				specialtyDTO.setDescription(optionalSpecialty.get().getDescription());
-			} else {
-				throw new FinderException("La spécialité n'existe pas.");
+				if (optionalSpecialty.isPresent()) {
+					specialtyDTO.setDescription(optionalSpecialty.get().getDescription());
+				} else {
+					throw new FinderException("La spécialité n'existe pas.");
+				}
 			}
-		}
+			return true;
+		}).subscribeOn(checksScheduler);
 
-		Doctor doctor = commonModelMapper.map(doctorDTO, Doctor.class);
+		Mono<Tuple2<String, String>> securityCode = Mono.fromCallable(() -> {
+			String code = SecurityCodeGenerator.generateCode();
+			return Tuples.of(code, bCryptPasswordEncoder.encode(code));
+		}).subscribeOn(hashingScheduler);
 
-		doctor.setSecurityCode(bCryptPasswordEncoder.encode(doctorDTO.getSecurityCode()));
+		return Mono.zip(checks, securityCode)
+				.flatMap(results -> Mono.fromCallable(() -> {
+					doctorDTO.setSecurityCode(results.getT2().getT1());
 
-		try {
-			doctorDAO.save(doctor);
-		} catch (Exception e) {
-			throw new CreateException("Le dossier de médecin n'a pas pu être créé.");
-		}
+					Doctor doctor = mapperService.mapToEntity(doctorDTO);
+
+					doctor.setSecurityCode(results.getT2().getT2());
+
+					try {
+						doctorDAO.save(doctor);
+					} catch (Exception e) {
+						throw new CreateException("Le dossier de médecin n'a pas pu être créé.");
+					}
 
-		return doctorDTO;
+					return doctorDTO;
+				}).subscribeOn(checksScheduler));
 	}
 
 	/**
@@ -112,7 +172,7 @@ public class DoctorServiceImpl implements DoctorService {
 		Optional<Doctor> optionalDoctor = doctorDAO.findById(id);
 
 		if (optionalDoctor.isPresent()) {
-			return doctorModelMapper.map(optionalDoctor.get(), DoctorDTO.class);
+			return mapperService.mapToDTO(optionalDoctor.get());
 		} else {
 			throw new FinderException("Le dossier de médecin n'a pas été trouvé.");
 		}
@@ -121,7 +181,10 @@ public class DoctorServiceImpl implements DoctorService {
 
 	/**
 	 * Service de recherche de dossiers de médecins à partir d'une chaîne de
-	 * caractères.
+	 * caractères. En mode de recherche {@code fulltext} (propriété
+	 * {@code file.search.mode}), les noms sont recherchés dans l'index FULLTEXT de
+	 * MySQL et l'identifiant par préfixe ; les chaînes trop courtes pour l'index
+	 * sont recherchées avec {@code LIKE}.
 	 * 
 	 * @param q la chaîne de caractères de recherche.
 	 * @return une liste ({@link java.util.List}) d'objets
@@ -135,14 +198,25 @@ public class DoctorServiceImpl implements DoctorService {
 			return new ArrayList<>();
 		}
 
-		Iterable<Doctor> doctors = doctorDAO.findByIdOrFirstnameOrLastname(q);
+		String phrase = fulltextSearch ? FulltextQuery.phrase(q) : null;
+
+		Iterable<Doctor> doctors;
+
+		if (phrase != null) {
+			List<String> ids = doctorDAO.findIdsByFulltext(phrase, FulltextQuery.likePrefix(q));
+			doctors = ids.isEmpty() ? new ArrayList<>() : doctorDAO.findByIdInOrderById(ids);
+		} else {
+			doctors = doctorDAO.findByIdOrFirstnameOrLastname(q);
+		}
 
 		return ((List<Doctor>) doctors).stream()
-				.map(doctor -> doctorModelMapper.map(doctor, DoctorDTO.class)).collect(Collectors.toList());
+				.map(mapperService::mapToDTO).collect(Collectors.toList());
 	}
 
 	/**
-	 * Service de modification d'un dossier de médecin.
+	 * Service de modification d'un dossier de médecin. La mise à jour du compte
+	 * utilisateur est enregistrée dans la même transaction et transmise à Keycloak
+	 * en arrière-plan ({@link UserSyncService}).
 	 * 
 	 * @param doctorDTO l'objet
 	 *                  {@link fr.cnam.stefangeorgesco.dmp.domain.dto.DoctorDTO}
@@ -153,6 +227,7 @@ public class DoctorServiceImpl implements DoctorService {
 	 * @throws UpdateException le dossier de médecin n'a pas pu être modifié.
 	 */
 	@Override
+	@Transactional(rollbackOn = UpdateException.class)
 	public DoctorDTO updateDoctor(DoctorDTO doctorDTO) throws UpdateException {
 
 		Doctor doctor = doctorDAO.findById(doctorDTO.getId()).orElseThrow();
@@ -160,12 +235,12 @@ public class DoctorServiceImpl implements DoctorService {
 		doctor.setPhone(doctorDTO.getPhone());
 		doctor.setEmail(doctorDTO.getEmail());
 
-		Doctor mappedDoctor = commonModelMapper.map(doctorDTO, Doctor.class);
+		Doctor mappedDoctor = mapperService.mapToEntity(doctorDTO);
 
 		doctor.setAddress(mappedDoctor.getAddress());
 
 		try {
-			doctorDAO.save(doctor);
+			doctorDAO.saveAndFlush(doctor);
 		} catch (Exception e) {
 			throw new UpdateException("Le dossier de médecin n'a pas pu être modifié.");
 		}
@@ -175,33 +250,32 @@ public class DoctorServiceImpl implements DoctorService {
 		userDTO.setFirstname(doctorDTO.getFirstname());
 		userDTO.setLastname(doctorDTO.getLastname());
 		userDTO.setEmail(doctorDTO.getEmail());
-		userService.updateUser(userDTO);
+		userSyncService.scheduleUserUpdate(userDTO);
 
-		return doctorModelMapper.map(doctor, DoctorDTO.class);
+		return mapperService.mapToDTO(doctor);
 	}
 
 	/**
 	 * Service de suppression d'un dossier de médecin désigné par son identifiant.
-	 * L'éventuel compte utilisateur associé au dossier est également supprimé.
+	 * L'éventuel compte utilisateur associé au dossier est également supprimé : la
+	 * suppression du compte est enregistrée dans la transaction de la suppression
+	 * du dossier et transmise à Keycloak en arrière-plan ({@link UserSyncService}).
 	 * 
 	 * @param id l'identifiant du dossier à supprimer.
 	 * @throws DeleteException Le dossier de médecin n'a pas pu être supprimé.
 	 */
 	@Override
+	@Transactional(rollbackOn = DeleteException.class)
 	public void deleteDoctor(String id) throws DeleteException {
 
 		try {
 			doctorDAO.deleteById(id);
+			doctorDAO.flush();
 		} catch (Exception e) {
 			throw new DeleteException("Le dossier de médecin n'a pas pu être supprimé.");
 		}
 
-		try {
-			userService.deleteUser(id);
-		} catch (DeleteException e) {
-			System.out.println("Pas de compte utilisateur associé au dossier de médecin supprimé.");
-		}
-
+		userSyncService.scheduleUserDeletion(id);
 	}
 
 }
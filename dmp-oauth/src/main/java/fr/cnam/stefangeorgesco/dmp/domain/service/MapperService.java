@@ -1,10 +1,34 @@
 package fr.cnam.stefangeorgesco.dmp.domain.service;
 
+import fr.cnam.stefangeorgesco.dmp.authentication.domain.dto.UserDTO;
+import fr.cnam.stefangeorgesco.dmp.authentication.domain.model.User;
+import fr.cnam.stefangeorgesco.dmp.domain.dto.CorrespondenceDTO;
+import fr.cnam.stefangeorgesco.dmp.domain.dto.DoctorDTO;
+import fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileDTO;
 import fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileItemDTO;
+import fr.cnam.stefangeorgesco.dmp.domain.model.Correspondence;
+import fr.cnam.stefangeorgesco.dmp.domain.model.Doctor;
+import fr.cnam.stefangeorgesco.dmp.domain.model.PatientFile;
 import fr.cnam.stefangeorgesco.dmp.domain.model.PatientFileItem;
 
 public interface MapperService {
     PatientFileItemDTO mapToDTO(PatientFileItem item);
 
     PatientFileItem mapToEntity(PatientFileItemDTO itemDTO);
+
+    DoctorDTO mapToDTO(Doctor doctor);
+
+    Doctor mapToEntity(DoctorDTO doctorDTO);
+
+    PatientFileDTO mapToDTO(PatientFile patientFile);
+
+    PatientFile mapToEntity(PatientFileDTO patientFileDTO);
+
+    CorrespondenceDTO mapToDTO(Correspondence correspondence);
+
+    Correspondence mapToEntity(CorrespondenceDTO correspondenceDTO);
+
+    UserDTO mapToDTO(User user);
+
+    User mapToEntity(UserDTO userDTO);
 }
@@ -1,63 +1,38 @@
 package fr.cnam.stefangeorgesco.dmp.domain.service;
 
+import fr.cnam.stefangeorgesco.dmp.authentication.domain.dto.UserDTO;
+import fr.cnam.stefangeorgesco.dmp.authentication.domain.model.User;
 import fr.cnam.stefangeorgesco.dmp.domain.dto.*;
 import fr.cnam.stefangeorgesco.dmp.domain.model.*;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 /**
- * Classe de service pour la conversion des objets
- * {@link fr.cnam.stefangeorgesco.dmp.domain.model.PatientFileItem} en objets
- * {@link fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileItemDTO} et
- * vice-versa.
- * 
+ * Classe de service pour la conversion des entités en objets DTO et
+ * vice-versa : éléments médicaux
+ * ({@link fr.cnam.stefangeorgesco.dmp.domain.model.PatientFileItem}), dossiers
+ * de médecins, dossiers patients, correspondances et utilisateurs.
+ *
+ * Les conversions sont écrites explicitement, sans introspection : elles
+ * reproduisent celles des mappeurs de
+ * {@link fr.cnam.stefangeorgesco.dmp.configuration.MapperConfig}, en
+ * particulier les codes de sécurité et mots de passe ne sont jamais recopiés
+ * dans les objets DTO.
+ *
  * @author Stéfan Georgesco
  *
  */
 @Service
 public class MapperServiceImpl implements MapperService {
 
-	private final ModelMapper commonModelMapper;
-
-	private final ModelMapper diagnosisModelMapper;
-
-	private final ModelMapper actModelMapper;
-
-	private final Map<Class<? extends PatientFileItem>, Class<? extends PatientFileItemDTO>> returnDTOTypes;
-
-	private final Map<Class<? extends PatientFileItemDTO>, Class<? extends PatientFileItem>> returnEntityTypes;
-
-	public MapperServiceImpl(ModelMapper commonModelMapper, ModelMapper diagnosisModelMapper, ModelMapper actModelMapper) {
-
-		returnDTOTypes = new HashMap<>();
-
-		returnDTOTypes.put(Mail.class, MailDTO.class);
-		returnDTOTypes.put(Diagnosis.class, DiagnosisDTO.class);
-		returnDTOTypes.put(Act.class, ActDTO.class);
-		returnDTOTypes.put(Prescription.class, PrescriptionDTO.class);
-		returnDTOTypes.put(Symptom.class, SymptomDTO.class);
-
-		returnEntityTypes = new HashMap<>();
-
-		returnEntityTypes.put(MailDTO.class, Mail.class);
-		returnEntityTypes.put(DiagnosisDTO.class, Diagnosis.class);
-		returnEntityTypes.put(ActDTO.class, Act.class);
-		returnEntityTypes.put(PrescriptionDTO.class, Prescription.class);
-		returnEntityTypes.put(SymptomDTO.class, Symptom.class);
-
-		this.commonModelMapper = commonModelMapper;
-		this.diagnosisModelMapper = diagnosisModelMapper;
-		this.actModelMapper = actModelMapper;
-	}
-
 	/**
 	 * Service de conversion des objets
 	 * {@link fr.cnam.stefangeorgesco.dmp.domain.model.PatientFileItem} en objets
 	 * {@link fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileItemDTO}.
-	 * 
+	 *
 	 * @param item l'objet
 	 *             {@link fr.cnam.stefangeorgesco.dmp.domain.model.PatientFileItem}
 	 *             à convertir.
@@ -68,22 +43,67 @@ public class MapperServiceImpl implements MapperService {
 	@Override
 	public PatientFileItemDTO mapToDTO(PatientFileItem item) {
 
-		ModelMapper modelMapper = commonModelMapper;
+		PatientFileItemDTO itemDTO;
+
+		if (item instanceof Act) {
+			ActDTO actDTO = new ActDTO();
+			actDTO.setMedicalActDTO(toMedicalActDTO(((Act) item).getMedicalAct()));
+			itemDTO = actDTO;
+		} else if (item instanceof Diagnosis) {
+			DiagnosisDTO diagnosisDTO = new DiagnosisDTO();
+			diagnosisDTO.setDiseaseDTO(toDiseaseDTO(((Diagnosis) item).getDisease()));
+			itemDTO = diagnosisDTO;
+		} else if (item instanceof Mail) {
+			Mail mail = (Mail) item;
+			MailDTO mailDTO = new MailDTO();
+			mailDTO.setText(mail.getText());
+			Doctor recipientDoctor = mail.getRecipientDoctor();
+			if (recipientDoctor != null) {
+				mailDTO.setRecipientDoctorId(recipientDoctor.getId());
+				mailDTO.setRecipientDoctorFirstname(recipientDoctor.getFirstname());
+				mailDTO.setRecipientDoctorLastname(recipientDoctor.getLastname());
+				mailDTO.setRecipientDoctorSpecialties(toDescriptions(recipientDoctor.getSpecialties()));
+			}
+			itemDTO = mailDTO;
+		} else if (item instanceof Prescription) {
+			PrescriptionDTO prescriptionDTO = new PrescriptionDTO();
+			prescriptionDTO.setDescription(((Prescription) item).getDescription());
+			itemDTO = prescriptionDTO;
+		} else if (item instanceof Symptom) {
+			SymptomDTO symptomDTO = new SymptomDTO();
+			symptomDTO.setDescription(((Symptom) item).getDescription());
+			itemDTO = symptomDTO;
+		} else {
+			throw new IllegalArgumentException("Type d'élément médical inconnu.");
+		}
+
+		itemDTO.setId(item.getId());
+		itemDTO.setCreatedDate(item.getCreatedDate());
+		itemDTO.setLastModifiedDate(item.getLastModifiedDate());
+		itemDTO.setDate(item.getDate());
+		itemDTO.setComments(item.getComments());
+
+		Doctor authoringDoctor = item.getAuthoringDoctor();
 
-		if (item instanceof Diagnosis) {
-			modelMapper = diagnosisModelMapper;
-		} else if (item instanceof Act) {
-			modelMapper = actModelMapper;
+		if (authoringDoctor != null) {
+			itemDTO.setAuthoringDoctorId(authoringDoctor.getId());
+			itemDTO.setAuthoringDoctorFirstname(authoringDoctor.getFirstname());
+			itemDTO.setAuthoringDoctorLastname(authoringDoctor.getLastname());
+			itemDTO.setAuthoringDoctorSpecialties(toDescriptions(authoringDoctor.getSpecialties()));
 		}
 
-		return modelMapper.map(item, returnDTOTypes.get(item.getClass()));
+		if (item.getPatientFile() != null) {
+			itemDTO.setPatientFileId(item.getPatientFile().getId());
+		}
+
+		return itemDTO;
 	}
 
 	/**
 	 * Service de conversion des objets
 	 * {@link fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileItemDTO} en objets
 	 * {@link fr.cnam.stefangeorgesco.dmp.domain.model.PatientFileItem}.
-	 * 
+	 *
 	 * @param itemDTO l'objet
 	 *                {@link fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileItemDTO}
 	 *                à convertir.
@@ -94,6 +114,437 @@ public class MapperServiceImpl implements MapperService {
 	@Override
 	public PatientFileItem mapToEntity(PatientFileItemDTO itemDTO) {
 
-		return commonModelMapper.map(itemDTO, returnEntityTypes.get(itemDTO.getClass()));
+		PatientFileItem item;
+
+		if (itemDTO instanceof ActDTO) {
+			Act act = new Act();
+			act.setMedicalAct(toMedicalAct(((ActDTO) itemDTO).getMedicalActDTO()));
+			item = act;
+		} else if (itemDTO instanceof DiagnosisDTO) {
+			Diagnosis diagnosis = new Diagnosis();
+			diagnosis.setDisease(toDisease(((DiagnosisDTO) itemDTO).getDiseaseDTO()));
+			item = diagnosis;
+		} else if (itemDTO instanceof MailDTO) {
+			MailDTO mailDTO = (MailDTO) itemDTO;
+			Mail mail = new Mail();
+			mail.setText(mailDTO.getText());
+			mail.setRecipientDoctor(doctorReference(mailDTO.getRecipientDoctorId()));
+			item = mail;
+		} else if (itemDTO instanceof PrescriptionDTO) {
+			Prescription prescription = new Prescription();
+			prescription.setDescription(((PrescriptionDTO) itemDTO).getDescription());
+			item = prescription;
+		} else if (itemDTO instanceof SymptomDTO) {
+			Symptom symptom = new Symptom();
+			symptom.setDescription(((SymptomDTO) itemDTO).getDescription());
+			item = symptom;
+		} else {
+			throw new IllegalArgumentException("Type d'élément médical inconnu.");
+		}
+
+		item.setId(itemDTO.getId());
+		item.setCreatedDate(itemDTO.getCreatedDate());
+		item.setLastModifiedDate(itemDTO.getLastModifiedDate());
+		item.setDate(itemDTO.getDate());
+		item.setComments(itemDTO.getComments());
+		item.setAuthoringDoctor(doctorReference(itemDTO.getAuthoringDoctorId()));
+		item.setPatientFile(patientFileReference(itemDTO.getPatientFileId()));
+
+		return item;
+	}
+
+	/**
+	 * Service de conversion des objets
+	 * {@link fr.cnam.stefangeorgesco.dmp.domain.model.Doctor} en objets
+	 * {@link fr.cnam.stefangeorgesco.dmp.domain.dto.DoctorDTO}. Le code de
+	 * sécurité n'est pas recopié.
+	 *
+	 * @param doctor l'objet {@link fr.cnam.stefangeorgesco.dmp.domain.model.Doctor}
+	 *               à convertir.
+	 * @return l'objet {@link fr.cnam.stefangeorgesco.dmp.domain.dto.DoctorDTO}
+	 *         résultant de la conversion.
+	 */
+	@Override
+	public DoctorDTO mapToDTO(Doctor doctor) {
+
+		DoctorDTO doctorDTO = new DoctorDTO();
+
+		copyFile(doctor, doctorDTO);
+
+		if (doctor.getSpecialties() != null) {
+			List<SpecialtyDTO> specialtiesDTO = new ArrayList<>(doctor.getSpecialties().size());
+			for (Specialty specialty : doctor.getSpecialties()) {
+				specialtiesDTO.add(toSpecialtyDTO(specialty));
+			}
+			doctorDTO.setSpecialtiesDTO(specialtiesDTO);
+		}
+
+		return doctorDTO;
+	}
+
+	/**
+	 * Service de conversion des objets
+	 * {@link fr.cnam.stefangeorgesco.dmp.domain.dto.DoctorDTO} en objets
+	 * {@link fr.cnam.stefangeorgesco.dmp.domain.model.Doctor}.
+	 *
+	 * @param doctorDTO l'objet
+	 *                  {@link fr.cnam.stefangeorgesco.dmp.domain.dto.DoctorDTO} à
+	 *                  convertir.
+	 * @return l'objet {@link fr.cnam.stefangeorgesco.dmp.domain.model.Doctor}
+	 *         résultant de la conversion.
+	 */
+	@Override
+	public Doctor mapToEntity(DoctorDTO doctorDTO) {
+
+		Doctor doctor = new Doctor();
+
+		copyFileDTO(doctorDTO, doctor);
+
+		if (doctorDTO.getSpecialtiesDTO() != null) {
+			List<Specialty> specialties = new ArrayList<>(doctorDTO.getSpecialtiesDTO().size());
+			for (SpecialtyDTO specialtyDTO : doctorDTO.getSpecialtiesDTO()) {
+				specialties.add(toSpecialty(specialtyDTO));
+			}
+			doctor.setSpecialties(specialties);
+		}
+
+		return doctor;
+	}
+
+	/**
+	 * Service de conversion des objets
+	 * {@link fr.cnam.stefangeorgesco.dmp.domain.model.PatientFile} en objets
+	 * {@link fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileDTO}. Le code de
+	 * sécurité n'est pas recopié.
+	 *
+	 * @param patientFile l'objet
+	 *                    {@link fr.cnam.stefangeorgesco.dmp.domain.model.PatientFile}
+	 *                    à convertir.
+	 * @return l'objet {@link fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileDTO}
+	 *         résultant de la conversion.
+	 */
+	@Override
+	public PatientFileDTO mapToDTO(PatientFile patientFile) {
+
+		PatientFileDTO patientFileDTO = new PatientFileDTO();
+
+		copyFile(patientFile, patientFileDTO);
+
+		patientFileDTO.setDateOfBirth(patientFile.getDateOfBirth());
+
+		Doctor referringDoctor = patientFile.getReferringDoctor();
+
+		if (referringDoctor != null) {
+			patientFileDTO.setReferringDoctorId(referringDoctor.getId());
+			patientFileDTO.setReferringDoctorFirstname(referringDoctor.getFirstname());
+			patientFileDTO.setReferringDoctorLastname(referringDoctor.getLastname());
+			patientFileDTO.setReferringDoctorSpecialties(toDescriptions(referringDoctor.getSpecialties()));
+		}
+
+		return patientFileDTO;
+	}
+
+	/**
+	 * Service de conversion des objets
+	 * {@link fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileDTO} en objets
+	 * {@link fr.cnam.stefangeorgesco.dmp.domain.model.PatientFile}. Le médecin
+	 * référent est représenté par son seul identifiant.
+	 *
+	 * @param patientFileDTO l'objet
+	 *                       {@link fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileDTO}
+	 *                       à convertir.
+	 * @return l'objet {@link fr.cnam.stefangeorgesco.dmp.domain.model.PatientFile}
+	 *         résultant de la conversion.
+	 */
+	@Override
+	public PatientFile mapToEntity(PatientFileDTO patientFileDTO) {
+
+		PatientFile patientFile = new PatientFile();
+
+		copyFileDTO(patientFileDTO, patientFile);
+
+		patientFile.setDateOfBirth(patientFileDTO.getDateOfBirth());
+		patientFile.setReferringDoctor(doctorReference(patientFileDTO.getReferringDoctorId()));
+
+		return patientFile;
+	}
+
+	/**
+	 * Service de conversion des objets
+	 * {@link fr.cnam.stefangeorgesco.dmp.domain.model.Correspondence} en objets
+	 * {@link fr.cnam.stefangeorgesco.dmp.domain.dto.CorrespondenceDTO}.
+	 *
+	 * @param correspondence l'objet
+	 *                       {@link fr.cnam.stefangeorgesco.dmp.domain.model.Correspondence}
+	 *                       à convertir.
+	 * @return l'objet
+	 *         {@link fr.cnam.stefangeorgesco.dmp.domain.dto.CorrespondenceDTO}
+	 *         résultant de la conversion.
+	 */
+	@Override
+	public CorrespondenceDTO mapToDTO(Correspondence correspondence) {
+
+		CorrespondenceDTO correspondenceDTO = new CorrespondenceDTO();
+
+		correspondenceDTO.setId(correspondence.getId());
+		correspondenceDTO.setCreatedDate(correspondence.getCreatedDate());
+		correspondenceDTO.setLastModifiedDate(correspondence.getLastModifiedDate());
+		correspondenceDTO.setDateUntil(correspondence.getDateUntil());
+
+		Doctor doctor = correspondence.getDoctor();
+
+		if (doctor != null) {
+			correspondenceDTO.setDoctorId(doctor.getId());
+			correspondenceDTO.setDoctorFirstname(doctor.getFirstname());
+			correspondenceDTO.setDoctorLastname(doctor.getLastname());
+			correspondenceDTO.setDoctorSpecialties(toDescriptions(doctor.getSpecialties()));
+		}
+
+		if (correspondence.getPatientFile() != null) {
+			correspondenceDTO.setPatientFileId(correspondence.getPatientFile().getId());
+		}
+
+		return correspondenceDTO;
+	}
+
+	/**
+	 * Service de conversion des objets
+	 * {@link fr.cnam.stefangeorgesco.dmp.domain.dto.CorrespondenceDTO} en objets
+	 * {@link fr.cnam.stefangeorgesco.dmp.domain.model.Correspondence}. Le médecin
+	 * et le dossier patient sont représentés par leurs seuls identifiants.
+	 *
+	 * @param correspondenceDTO l'objet
+	 *                          {@link fr.cnam.stefangeorgesco.dmp.domain.dto.CorrespondenceDTO}
+	 *                          à convertir.
+	 * @return l'objet
+	 *         {@link fr.cnam.stefangeorgesco.dmp.domain.model.Correspondence}
+	 *         résultant de la conversion.
+	 */
+	@Override
+	public Correspondence mapToEntity(CorrespondenceDTO correspondenceDTO) {
+
+		Correspondence correspondence = new Correspondence();
+
+		correspondence.setId(correspondenceDTO.getId());
+		correspondence.setCreatedDate(correspondenceDTO.getCreatedDate());
+		correspondence.setLastModifiedDate(correspondenceDTO.getLastModifiedDate());
+		correspondence.setDateUntil(correspondenceDTO.getDateUntil());
+		correspondence.setDoctor(doctorReference(correspondenceDTO.getDoctorId()));
+		correspondence.setPatientFile(patientFileReference(correspondenceDTO.getPatientFileId()));
+
+		return correspondence;
+	}
+
+	/**
+	 * Service de conversion des objets
+	 * {@link fr.cnam.stefangeorgesco.dmp.authentication.domain.model.User} en
+	 * objets {@link fr.cnam.stefangeorgesco.dmp.authentication.domain.dto.UserDTO}.
+	 * Le mot de passe et le code de sécurité ne sont pas recopiés.
+	 *
+	 * @param user l'objet
+	 *             {@link fr.cnam.stefangeorgesco.dmp.authentication.domain.model.User}
+	 *             à convertir.
+	 * @return l'objet
+	 *         {@link fr.cnam.stefangeorgesco.dmp.authentication.domain.dto.UserDTO}
+	 *         résultant de la conversion.
+	 */
+	@Override
+	public UserDTO mapToDTO(User user) {
+
+		UserDTO userDTO = new UserDTO();
+
+		userDTO.setId(user.getId());
+		userDTO.setUsername(user.getUsername());
+
+		return userDTO;
+	}
+
+	/**
+	 * Service de conversion des objets
+	 * {@link fr.cnam.stefangeorgesco.dmp.authentication.domain.dto.UserDTO} en
+	 * objets {@link fr.cnam.stefangeorgesco.dmp.authentication.domain.model.User}.
+	 *
+	 * @param userDTO l'objet
+	 *                {@link fr.cnam.stefangeorgesco.dmp.authentication.domain.dto.UserDTO}
+	 *                à convertir.
+	 * @return l'objet
+	 *         {@link fr.cnam.stefangeorgesco.dmp.authentication.domain.model.User}
+	 *         résultant de la conversion.
+	 */
+	@Override
+	public User mapToEntity(UserDTO userDTO) {
+
+		User user = new User();
+
+		user.setId(userDTO.getId());
+		user.setUsername(userDTO.getUsername());
+		user.setPassword(userDTO.getPassword());
+		user.setSecurityCode(userDTO.getSecurityCode());
+
+		return user;
+	}
+
+	private static void copyFile(File file, FileDTO fileDTO) {
+		fileDTO.setId(file.getId());
+		fileDTO.setCreatedDate(file.getCreatedDate());
+		fileDTO.setLastModifiedDate(file.getLastModifiedDate());
+		fileDTO.setFirstname(file.getFirstname());
+		fileDTO.setLastname(file.getLastname());
+		fileDTO.setPhone(file.getPhone());
+		fileDTO.setEmail(file.getEmail());
+		if (file.getAddress() != null) {
+			fileDTO.setAddressDTO(toAddressDTO(file.getAddress()));
+		}
+	}
+
+	private static void copyFileDTO(FileDTO fileDTO, File file) {
+		file.setId(fileDTO.getId());
+		file.setCreatedDate(fileDTO.getCreatedDate());
+		file.setLastModifiedDate(fileDTO.getLastModifiedDate());
+		file.setFirstname(fileDTO.getFirstname());
+		file.setLastname(fileDTO.getLastname());
+		file.setPhone(fileDTO.getPhone());
+		file.setEmail(fileDTO.getEmail());
+		file.setSecurityCode(fileDTO.getSecurityCode());
+		if (fileDTO.getAddressDTO() != null) {
+			file.setAddress(toAddress(fileDTO.getAddressDTO()));
+		}
+	}
+
+	/*
+	 * Les mappeurs des dossiers ignorent les valeurs nulles : les valeurs par
+	 * défaut de l'objet AddressDTO sont conservées.
+	 */
+	private static AddressDTO toAddressDTO(Address address) {
+		AddressDTO addressDTO = new AddressDTO();
+		if (address.getStreet1() != null) {
+			addressDTO.setStreet1(address.getStreet1());
+		}
+		if (address.getStreet2() != null) {
+			addressDTO.setStreet2(address.getStreet2());
+		}
+		if (address.getCity() != null) {
+			addressDTO.setCity(address.getCity());
+		}
+		if (address.getState() != null) {
+			addressDTO.setState(address.getState());
+		}
+		if (address.getZipcode() != null) {
+			addressDTO.setZipcode(address.getZipcode());
+		}
+		if (address.getCountry() != null) {
+			addressDTO.setCountry(address.getCountry());
+		}
+		return addressDTO;
+	}
+
+	private static Address toAddress(AddressDTO addressDTO) {
+		Address address = new Address();
+		address.setStreet1(addressDTO.getStreet1());
+		address.setStreet2(addressDTO.getStreet2());
+		address.setCity(addressDTO.getCity());
+		address.setState(addressDTO.getState());
+		address.setZipcode(addressDTO.getZipcode());
+		address.setCountry(addressDTO.getCountry());
+		return address;
+	}
+
+	private static SpecialtyDTO toSpecialtyDTO(Specialty specialty) {
+		SpecialtyDTO specialtyDTO = new SpecialtyDTO();
+		specialtyDTO.setId(specialty.getId());
+		specialtyDTO.setCreatedDate(specialty.getCreatedDate());
+		specialtyDTO.setLastModifiedDate(specialty.getLastModifiedDate());
+		specialtyDTO.setDescription(specialty.getDescription());
+		return specialtyDTO;
+	}
+
+	private static Specialty toSpecialty(SpecialtyDTO specialtyDTO) {
+		Specialty specialty = new Specialty();
+		specialty.setId(specialtyDTO.getId());
+		specialty.setCreatedDate(specialtyDTO.getCreatedDate());
+		specialty.setLastModifiedDate(specialtyDTO.getLastModifiedDate());
+		specialty.setDescription(specialtyDTO.getDescription());
+		return specialty;
+	}
+
+	private static DiseaseDTO toDiseaseDTO(Disease disease) {
+		if (disease == null) {
+			return null;
+		}
+		DiseaseDTO diseaseDTO = new DiseaseDTO();
+		diseaseDTO.setId(disease.getId());
+		diseaseDTO.setCreatedDate(disease.getCreatedDate());
+		diseaseDTO.setLastModifiedDate(disease.getLastModifiedDate());
+		diseaseDTO.setDescription(disease.getDescription());
+		return diseaseDTO;
+	}
+
+	private static Disease toDisease(DiseaseDTO diseaseDTO) {
+		if (diseaseDTO == null) {
+			return null;
+		}
+		Disease disease = new Disease();
+		disease.setId(diseaseDTO.getId());
+		disease.setCreatedDate(diseaseDTO.getCreatedDate());
+		disease.setLastModifiedDate(diseaseDTO.getLastModifiedDate());
+		disease.setDescription(diseaseDTO.getDescription());
+		return disease;
+	}
+
+	private static MedicalActDTO toMedicalActDTO(MedicalAct medicalAct) {
+		if (medicalAct == null) {
+			return null;
+		}
+		MedicalActDTO medicalActDTO = new MedicalActDTO();
+		medicalActDTO.setId(medicalAct.getId());
+		medicalActDTO.setCreatedDate(medicalAct.getCreatedDate());
+		medicalActDTO.setLastModifiedDate(medicalAct.getLastModifiedDate());
+		medicalActDTO.setDescription(medicalAct.getDescription());
+		return medicalActDTO;
+	}
+
+	private static MedicalAct toMedicalAct(MedicalActDTO medicalActDTO) {
+		if (medicalActDTO == null) {
+			return null;
+		}
+		MedicalAct medicalAct = new MedicalAct();
+		medicalAct.setId(medicalActDTO.getId());
+		medicalAct.setCreatedDate(medicalActDTO.getCreatedDate());
+		medicalAct.setLastModifiedDate(medicalActDTO.getLastModifiedDate());
+		medicalAct.setDescription(medicalActDTO.getDescription());
+		return medicalAct;
+	}
+
+	/*
+	 * Les spécialités d'un médecin sont représentées dans les objets DTO par leur
+	 * description (Specialty.toString()).
+	 */
+	private static List<String> toDescriptions(Collection<Specialty> specialties) {
+		if (specialties == null) {
+			return null;
+		}
+		List<String> descriptions = new ArrayList<>(specialties.size());
+		for (Specialty specialty : specialties) {
+			descriptions.add(specialty.getDescription());
+		}
+		return descriptions;
+	}
+
+	private static Doctor doctorReference(String id) {
+		if (id == null) {
+			return null;
+		}
+		Doctor doctor = new Doctor();
+		doctor.setId(id);
+		return doctor;
+	}
+
+	private static PatientFile patientFileReference(String id) {
+		if (id == null) {
+			return null;
+		}
+		PatientFile patientFile = new PatientFile();
+		patientFile.setId(id);
+		return patientFile;
 	}
 }
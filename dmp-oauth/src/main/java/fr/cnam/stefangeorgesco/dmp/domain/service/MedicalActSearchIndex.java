@@ -0,0 +1,153 @@
+package fr.cnam.stefangeorgesco.dmp.domain.service;
+
+import fr.cnam.stefangeorgesco.dmp.domain.dto.MedicalActDTO;
+import fr.cnam.stefangeorgesco.dmp.domain.model.MedicalAct;
+import fr.cnam.stefangeorgesco.dmp.utils.TextFolder;
+import fr.cnam.stefangeorgesco.dmp.utils.TrigramIndex;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Index de recherche en mémoire de la nomenclature CCAM des actes médicaux.
+ * La recherche est insensible à la casse et aux accents et porte, comme la
+ * requête SQL qu'elle remplace, sur la présence d'une sous-chaîne dans le code
+ * ou dans la description de l'acte médical. Les résultats sont classés : code
+ * identique, puis code commençant par la chaîne recherchée, puis autres
+ * correspondances, chaque groupe étant trié par code.
+ * 
+ * @author Stéfan Georgesco
+ *
+ */
+public class MedicalActSearchIndex {
+
+	private final String[] ids;
+
+	private final String[] descriptions;
+
+	private final Timestamp[] createdDates;
+
+	private final Timestamp[] lastModifiedDates;
+
+	private final String[] foldedIds;
+
+	private final TrigramIndex trigramIndex;
+
+	/**
+	 * Construit l'index à partir des actes médicaux fournis.
+	 * 
+	 * @param medicalActs les actes médicaux à indexer.
+	 */
+	public MedicalActSearchIndex(List<MedicalAct> medicalActs) {
+
+		List<MedicalAct> sortedMedicalActs = medicalActs.stream()
+				.sorted(Comparator.comparing((MedicalAct medicalAct) -> TextFolder.fold(medicalAct.getId()))
+						.thenComparing(MedicalAct::getId))
+				.collect(Collectors.toList());
+
+		int size = sortedMedicalActs.size();
+		ids = new String[size];
+		descriptions = new String[size];
+		createdDates = new Timestamp[size];
+		lastModifiedDates = new Timestamp[size];
+		foldedIds = new String[size];
+		List<String> texts = new ArrayList<>(size);
+
+		for (int i = 0; i < size; i++) {
+			MedicalAct medicalAct = sortedMedicalActs.get(i);
+			ids[i] = medicalAct.getId();
+			descriptions[i] = medicalAct.getDescription();
+			createdDates[i] = medicalAct.getCreatedDate();
+			lastModifiedDates[i] = medicalAct.getLastModifiedDate();
+			foldedIds[i] = TextFolder.fold(medicalAct.getId());
+			texts.add(foldedIds[i] + '\u0001' + TextFolder.fold(medicalAct.getDescription()));
+		}
+
+		trigramIndex = new TrigramIndex(texts);
+	}
+
+	/**
+	 * @return le nombre d'actes médicaux indexés.
+	 */
+	public int size() {
+		return ids.length;
+	}
+
+	/**
+	 * Recherche des actes médicaux à partir d'une chaîne de caractères.
+	 * 
+	 * @param q     la chaîne de caractères de recherche.
+	 * @param limit le nombre maximum d'objets récupérés.
+	 * @return une liste ({@link List}) d'objets {@link MedicalActDTO}
+	 *         représentant le résultat de la recherche, classés par pertinence.
+	 */
+	public List<MedicalActDTO> search(String q, int limit) {
+
+		List<MedicalActDTO> results = new ArrayList<>();
+		String query = TextFolder.fold(q);
+
+		if (query.isEmpty() || limit <= 0) {
+			return results;
+		}
+
+		int prefixStart = lowerBound(query);
+		int prefixEnd = prefixStart;
+
+		while (prefixEnd < foldedIds.length && foldedIds[prefixEnd].startsWith(query)) {
+			prefixEnd++;
+		}
+
+		int exact = prefixStart < prefixEnd && foldedIds[prefixStart].equals(query) ? prefixStart : -1;
+
+		if (exact >= 0) {
+			results.add(toDTO(exact));
+		}
+
+		for (int i = prefixStart; i < prefixEnd && results.size() < limit; i++) {
+			if (i != exact) {
+				results.add(toDTO(i));
+			}
+		}
+
+		if (results.size() < limit) {
+			int start = prefixStart;
+			int end = prefixEnd;
+			for (int i : trigramIndex.search(query, limit - results.size(), doc -> doc < start || doc >= end)) {
+				results.add(toDTO(i));
+			}
+		}
+
+		return results;
+	}
+
+	private int lowerBound(String query) {
+
+		int low = 0;
+		int high = foldedIds.length;
+
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (foldedIds[middle].compareTo(query) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+
+		return low;
+	}
+
+	private MedicalActDTO toDTO(int i) {
+
+		MedicalActDTO medicalActDTO = new MedicalActDTO();
+		medicalActDTO.setId(ids[i]);
+		medicalActDTO.setDescription(descriptions[i]);
+		medicalActDTO.setCreatedDate(createdDates[i]);
+		medicalActDTO.setLastModifiedDate(lastModifiedDates[i]);
+
+		return medicalActDTO;
+	}
+}
@@ -4,13 +4,17 @@ import fr.cnam.stefangeorgesco.dmp.domain.dao.*;
 import fr.cnam.stefangeorgesco.dmp.domain.dto.MedicalActDTO;
 import fr.cnam.stefangeorgesco.dmp.domain.model.MedicalAct;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.FinderException;
+import fr.cnam.stefangeorgesco.dmp.utils.ReloadableIndex;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Classe de service pour la gestion des dossiers patients et objets rattachés.
@@ -25,9 +29,25 @@ public class MedicalActServiceImpl implements MedicalActService {
 
 	private final ModelMapper commonModelMapper;
 
-	public MedicalActServiceImpl(MedicalActDAO medicalActDAO, ModelMapper commonModelMapper) {
+	private final ReloadableIndex<MedicalActSearchIndex> searchIndex;
+
+	public MedicalActServiceImpl(MedicalActDAO medicalActDAO, ModelMapper commonModelMapper,
+			@Value("${medical-act.index.refresh-interval:PT5M}") Duration indexRefreshInterval) {
 		this.medicalActDAO = medicalActDAO;
 		this.commonModelMapper = commonModelMapper;
+		this.searchIndex = new ReloadableIndex<>(
+				() -> medicalActDAO.count() + "/" + medicalActDAO.findLastModifiedDate(),
+				() -> new MedicalActSearchIndex(medicalActDAO.findAll()), indexRefreshInterval);
+	}
+
+	/**
+	 * Construction de l'index de recherche des actes médicaux au démarrage de
+	 * l'application.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void buildSearchIndex() {
+
+		searchIndex.reload();
 	}
 
 	/**
@@ -52,6 +72,9 @@ public class MedicalActServiceImpl implements MedicalActService {
 
 	/**
 	 * Service de recherche d'actes médicaux à partir d'une chaîne de caractères.
+	 * La recherche est effectuée dans l'index en mémoire
+	 * ({@link MedicalActSearchIndex}), reconstruit lorsque la nomenclature est
+	 * modifiée.
 	 * 
 	 * @param q     la chaîne de caractères de recherche.
 	 * @param limit le nombre maximum d'objets récupérés.
@@ -66,9 +89,6 @@ public class MedicalActServiceImpl implements MedicalActService {
 			return new ArrayList<>();
 		}
 
-		Iterable<MedicalAct> medicalActs = medicalActDAO.findByIdOrDescription(q, limit);
-
-		return ((List<MedicalAct>) medicalActs).stream()
-				.map(medicalAct -> commonModelMapper.map(medicalAct, MedicalActDTO.class)).collect(Collectors.toList());
+		return searchIndex.get().search(q, limit);
 	}
 }
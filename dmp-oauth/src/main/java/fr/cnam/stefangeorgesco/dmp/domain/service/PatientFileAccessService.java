@@ -0,0 +1,13 @@
+package fr.cnam.stefangeorgesco.dmp.domain.service;
+
+import fr.cnam.stefangeorgesco.dmp.exception.domain.FinderException;
+
+public interface PatientFileAccessService {
+    boolean isReferringDoctor(String doctorId, String patientFileId) throws FinderException;
+
+    boolean isReferringOrCorrespondingDoctor(String doctorId, String patientFileId) throws FinderException;
+
+    void evict(String doctorId, String patientFileId);
+
+    void evictPatientFile(String patientFileId);
+}
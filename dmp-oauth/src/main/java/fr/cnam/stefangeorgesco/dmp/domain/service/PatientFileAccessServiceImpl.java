@@ -0,0 +1,227 @@
+package fr.cnam.stefangeorgesco.dmp.domain.service;
+
+import fr.cnam.stefangeorgesco.dmp.domain.dao.PatientFileDAO;
+import fr.cnam.stefangeorgesco.dmp.exception.domain.FinderException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Classe de service pour le contrôle d'accès des médecins aux dossiers
+ * patients. Un médecin a accès à un dossier patient s'il en est le médecin
+ * référent ou s'il est médecin correspondant (correspondance en cours de
+ * validité).
+ * 
+ * Les accès accordés sont conservés dans un cache borné, indexé par le couple
+ * (médecin, dossier patient). Une entrée expire à la fin du jour de la date de
+ * fin de la correspondance, et au plus tard après la durée
+ * {@code access-grant.cache.ttl}. Les refus ne sont pas conservés.
+ * 
+ * Chaque suppression d'accès du cache incrémente le numéro de génération du
+ * dossier patient (numéros répartis sur {@value #GENERATIONS} compteurs) ; un
+ * accès lu en base n'est conservé que si ce numéro n'a pas changé depuis la
+ * lecture, de sorte qu'une lecture concurrente ne rétablisse pas un accès
+ * supprimé. Dans une transaction, la suppression est répétée après la
+ * validation, les lectures faites avant celle-ci pouvant encore trouver
+ * l'accès en base.
+ * 
+ * @author Stéfan Georgesco
+ *
+ */
+@Service
+public class PatientFileAccessServiceImpl implements PatientFileAccessService {
+
+	private static final LocalDate UNLIMITED = LocalDate.of(9999, 12, 31);
+
+	private static final int GENERATIONS = 256;
+
+	private final PatientFileDAO patientFileDAO;
+
+	private final int maxSize;
+
+	private final Duration ttl;
+
+	private final Map<String, AccessGrant> grants;
+
+	private final long[] generations = new long[GENERATIONS];
+
+	public PatientFileAccessServiceImpl(PatientFileDAO patientFileDAO,
+			@Value("${access-grant.cache.max-size:10000}") int maxSize,
+			@Value("${access-grant.cache.ttl:PT10M}") Duration ttl) {
+		this.patientFileDAO = patientFileDAO;
+		this.maxSize = maxSize;
+		this.ttl = ttl;
+		this.grants = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, AccessGrant> eldest) {
+				return size() > PatientFileAccessServiceImpl.this.maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Service de vérification que le médecin désigné est le médecin référent du
+	 * dossier patient désigné.
+	 * 
+	 * @param doctorId      l'identifiant du médecin.
+	 * @param patientFileId l'identifiant du dossier patient.
+	 * @return {@code true} si le médecin est le médecin référent.
+	 * @throws FinderException dossier patient non trouvé.
+	 */
+	@Override
+	public boolean isReferringDoctor(String doctorId, String patientFileId) throws FinderException {
+
+		if (patientFileDAO.existsByIdAndReferringDoctorId(patientFileId, doctorId)) {
+			return true;
+		}
+
+		checkPatientFileExists(patientFileId);
+
+		return false;
+	}
+
+	/**
+	 * Service de vérification que le médecin désigné est le médecin référent ou un
+	 * médecin correspondant (correspondance en cours de validité) du dossier
+	 * patient désigné. Le résultat positif est conservé en cache.
+	 * 
+	 * @param doctorId      l'identifiant du médecin.
+	 * @param patientFileId l'identifiant du dossier patient.
+	 * @return {@code true} si le médecin est le médecin référent ou correspondant.
+	 * @throws FinderException dossier patient non trouvé.
+	 */
+	@Override
+	public boolean isReferringOrCorrespondingDoctor(String doctorId, String patientFileId) throws FinderException {
+
+		String key = key(doctorId, patientFileId);
+		int generationIndex = generationIndex(patientFileId);
+		Instant now = Instant.now();
+		long generation;
+
+		synchronized (grants) {
+			AccessGrant grant = grants.get(key);
+			if (grant != null) {
+				if (now.isBefore(grant.expiresAt)) {
+					return true;
+				}
+				grants.remove(key);
+			}
+			generation = generations[generationIndex];
+		}
+
+		LocalDate today = LocalDate.now();
+
+		Date dateUntil = patientFileDAO.findAccessGrantDateUntil(doctorId, patientFileId, today);
+
+		if (dateUntil == null) {
+			checkPatientFileExists(patientFileId);
+			return false;
+		}
+
+		if (maxSize > 0) {
+			Instant expiresAt = now.plus(ttl);
+			LocalDate grantDateUntil = new java.sql.Date(dateUntil.getTime()).toLocalDate();
+			if (grantDateUntil.isBefore(UNLIMITED)) {
+				Instant endOfGrant = grantDateUntil.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
+				if (endOfGrant.isBefore(expiresAt)) {
+					expiresAt = endOfGrant;
+				}
+			}
+			synchronized (grants) {
+				if (generations[generationIndex] == generation) {
+					grants.put(key, new AccessGrant(patientFileId, expiresAt));
+				}
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Supprime du cache l'accès du médecin désigné au dossier patient désigné,
+	 * immédiatement et, dans une transaction, après sa validation.
+	 * 
+	 * @param doctorId      l'identifiant du médecin.
+	 * @param patientFileId l'identifiant du dossier patient.
+	 */
+	@Override
+	public void evict(String doctorId, String patientFileId) {
+
+		String key = key(doctorId, patientFileId);
+
+		runNowAndAfterCommit(() -> {
+			synchronized (grants) {
+				generations[generationIndex(patientFileId)]++;
+				grants.remove(key);
+			}
+		});
+	}
+
+	/**
+	 * Supprime du cache tous les accès au dossier patient désigné, immédiatement
+	 * et, dans une transaction, après sa validation.
+	 * 
+	 * @param patientFileId l'identifiant du dossier patient.
+	 */
+	@Override
+	public void evictPatientFile(String patientFileId) {
+
+		runNowAndAfterCommit(() -> {
+			synchronized (grants) {
+				generations[generationIndex(patientFileId)]++;
+				grants.values().removeIf(grant -> grant.patientFileId.equals(patientFileId));
+			}
+		});
+	}
+
+	private static void runNowAndAfterCommit(Runnable eviction) {
+
+		eviction.run();
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					eviction.run();
+				}
+			});
+		}
+	}
+
+	private void checkPatientFileExists(String patientFileId) throws FinderException {
+
+		if (!patientFileDAO.existsById(patientFileId)) {
+			throw new FinderException("Dossier patient non trouvé.");
+		}
+	}
+
+	private static int generationIndex(String patientFileId) {
+		return Math.floorMod(patientFileId.hashCode(), GENERATIONS);
+	}
+
+	private static String key(String doctorId, String patientFileId) {
+		return doctorId + '\u0000' + patientFileId;
+	}
+
+	private static final class AccessGrant {
+
+		private final String patientFileId;
+
+		private final Instant expiresAt;
+
+		private AccessGrant(String patientFileId, Instant expiresAt) {
+			this.patientFileId = patientFileId;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+}
@@ -0,0 +1,11 @@
+package fr.cnam.stefangeorgesco.dmp.domain.service;
+
+import fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileChangesDTO;
+
+import java.sql.Timestamp;
+
+public interface PatientFileChangesService {
+    PatientFileChangesDTO findPatientFileChanges(String patientFileId, Timestamp since);
+
+    void purgeExpiredTombstones();
+}
@@ -0,0 +1,131 @@
+package fr.cnam.stefangeorgesco.dmp.domain.service;
+
+import fr.cnam.stefangeorgesco.dmp.domain.dao.TombstoneDAO;
+import fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileChangesDTO;
+import fr.cnam.stefangeorgesco.dmp.domain.model.Tombstone;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Classe de service pour la synchronisation incrémentale des dossiers patients
+ * : un client qui conserve une copie locale des éléments médicaux et des
+ * correspondances d'un dossier ne demande que les modifications intervenues
+ * depuis sa dernière demande.
+ * <p>
+ * Les modifications sont recherchées à partir de la date fournie diminuée d'une
+ * marge (propriété {@code patient-file.changes.overlap}), qui couvre les
+ * transactions validées après la demande précédente mais datées d'avant, et la
+ * précision à la seconde des colonnes {@code timestamp} de MySQL. Un même objet
+ * peut donc être renvoyé par deux demandes successives.
+ * <p>
+ * Les traces de suppression sont conservées pendant une durée limitée
+ * (propriété {@code patient-file.changes.tombstone-retention}) puis purgées
+ * périodiquement. Une demande dont la date est antérieure à cette durée de
+ * conservation ne peut plus recevoir toutes les suppressions : elle reçoit le
+ * dossier complet, avec l'indicateur {@code resyncRequired}, et le client
+ * remplace sa copie locale.
+ * 
+ * @author Stéfan Georgesco
+ *
+ */
+@Service
+public class PatientFileChangesServiceImpl implements PatientFileChangesService {
+
+	private final PatientFileItemService patientFileItemService;
+
+	private final CorrespondenceService correspondenceService;
+
+	private final TombstoneDAO tombstoneDAO;
+
+	private final Duration overlap;
+
+	private final Duration tombstoneRetention;
+
+	public PatientFileChangesServiceImpl(PatientFileItemService patientFileItemService,
+			CorrespondenceService correspondenceService, TombstoneDAO tombstoneDAO,
+			@Value("${patient-file.changes.overlap:PT5S}") Duration overlap,
+			@Value("${patient-file.changes.tombstone-retention:P30D}") Duration tombstoneRetention) {
+		this.patientFileItemService = patientFileItemService;
+		this.correspondenceService = correspondenceService;
+		this.tombstoneDAO = tombstoneDAO;
+		this.overlap = overlap;
+		this.tombstoneRetention = tombstoneRetention;
+	}
+
+	/**
+	 * Service de recherche des modifications d'un dossier patient depuis une date
+	 * donnée. Sans date, ou si la date est antérieure à la durée de conservation
+	 * des traces de suppression, tous les éléments médicaux et correspondances du
+	 * dossier sont renvoyés, sans suppressions.
+	 * 
+	 * @param patientFileId l'identifiant du dossier patient.
+	 * @param since         la date {@code watermark} renvoyée par la demande
+	 *                      précédente, ou {@code null} pour une synchronisation
+	 *                      complète.
+	 * @return un objet {@link PatientFileChangesDTO} représentant les
+	 *         modifications du dossier patient.
+	 */
+	@Override
+	public PatientFileChangesDTO findPatientFileChanges(String patientFileId, Timestamp since) {
+
+		long now = System.currentTimeMillis();
+
+		PatientFileChangesDTO patientFileChangesDTO = new PatientFileChangesDTO();
+		patientFileChangesDTO.setWatermark(new Timestamp(now));
+
+		List<UUID> deletedItemIds = new ArrayList<>();
+		List<UUID> deletedCorrespondenceIds = new ArrayList<>();
+
+		Timestamp from = since == null ? null : new Timestamp(since.getTime() - overlap.toMillis());
+
+		if (from != null && from.getTime() < now - tombstoneRetention.toMillis()) {
+			patientFileChangesDTO.setResyncRequired(true);
+			from = null;
+		}
+
+		if (from == null) {
+			patientFileChangesDTO
+					.setItems(patientFileItemService.findPatientFileItemsByPatientFileId(patientFileId));
+			patientFileChangesDTO
+					.setCorrespondences(correspondenceService.findCorrespondencesByPatientFileId(patientFileId));
+		} else {
+			patientFileChangesDTO
+					.setItems(patientFileItemService.findPatientFileItemsChangedSince(patientFileId, from));
+			patientFileChangesDTO
+					.setCorrespondences(correspondenceService.findCorrespondencesChangedSince(patientFileId, from));
+
+			for (Tombstone tombstone : tombstoneDAO.findByPatientFileIdAndDeletedDateAfter(patientFileId, from)) {
+				if (Tombstone.ITEM.equals(tombstone.getEntityType())) {
+					deletedItemIds.add(tombstone.getId());
+				} else {
+					deletedCorrespondenceIds.add(tombstone.getId());
+				}
+			}
+		}
+
+		patientFileChangesDTO.setDeletedItemIds(deletedItemIds);
+		patientFileChangesDTO.setDeletedCorrespondenceIds(deletedCorrespondenceIds);
+
+		return patientFileChangesDTO;
+	}
+
+	/**
+	 * Purge périodique des traces de suppression plus anciennes que la durée de
+	 * conservation (propriété {@code patient-file.changes.tombstone-retention}).
+	 */
+	@Override
+	@Scheduled(fixedDelayString = "${patient-file.changes.tombstone-purge-interval:PT1H}")
+	public void purgeExpiredTombstones() {
+
+		tombstoneDAO.deleteAllByDeletedDateBefore(
+				new Timestamp(System.currentTimeMillis() - tombstoneRetention.toMillis()));
+	}
+
+}
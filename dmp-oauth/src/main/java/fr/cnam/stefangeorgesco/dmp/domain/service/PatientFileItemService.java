@@ -1,20 +1,36 @@
 package fr.cnam.stefangeorgesco.dmp.domain.service;
 
+import fr.cnam.stefangeorgesco.dmp.domain.dto.PageDTO;
 import fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileItemDTO;
+import fr.cnam.stefangeorgesco.dmp.domain.dto.ResourceVersionDTO;
+import fr.cnam.stefangeorgesco.dmp.exception.domain.CheckException;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.CreateException;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.FinderException;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.UpdateException;
 
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface PatientFileItemService {
     PatientFileItemDTO createPatientFileItem(PatientFileItemDTO patientFileItemDTO) throws CreateException;
 
+    List<PatientFileItemDTO> createPatientFileItems(List<PatientFileItemDTO> patientFileItemsDTO)
+            throws CreateException;
+
     PatientFileItemDTO findPatientFileItem(UUID uuid) throws FinderException;
 
     List<PatientFileItemDTO> findPatientFileItemsByPatientFileId(String patientFileId);
 
+    List<PatientFileItemDTO> findPatientFileItemsChangedSince(String patientFileId, Timestamp since);
+
+    PageDTO<PatientFileItemDTO> findPatientFileItemsTimeline(String patientFileId, Collection<String> types,
+            LocalDate from, LocalDate to, String after, int size) throws CheckException;
+
+    ResourceVersionDTO findPatientFileItemsVersion(String patientFileId);
+
     PatientFileItemDTO updatePatientFileItem(PatientFileItemDTO patientFileItemDTO)
             throws FinderException, UpdateException;
 
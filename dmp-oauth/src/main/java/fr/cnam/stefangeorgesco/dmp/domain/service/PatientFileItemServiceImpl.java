@@ -6,10 +6,12 @@ import fr.cnam.stefangeorgesco.dmp.domain.model.*;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.*;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import javax.transaction.Transactional;
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
 
 /**
  * Classe de service pour la gestion des dossiers patients et objets rattachés.
@@ -20,12 +22,34 @@ import java.util.stream.Collectors;
 @Service
 public class PatientFileItemServiceImpl implements PatientFileItemService {
 
+	private static final Set<String> ITEM_TYPES = Set.of("act", "diagnosis", "mail", "prescription", "symptom");
+
+	private static final LocalDate MIN_DATE = LocalDate.of(1000, 1, 1);
+
+	private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
+	private static final String CURSOR_SEPARATOR = "_";
+
 	private final PatientFileItemDAO patientFileItemDAO;
 
+	private final DoctorDAO doctorDAO;
+
+	private final DiseaseDAO diseaseDAO;
+
+	private final MedicalActDAO medicalActDAO;
+
+	private final TombstoneDAO tombstoneDAO;
+
 	private final MapperService mapperService;
 
-	public PatientFileItemServiceImpl(PatientFileItemDAO patientFileItemDAO, MapperService mapperService) {
+	public PatientFileItemServiceImpl(PatientFileItemDAO patientFileItemDAO, DoctorDAO doctorDAO,
+			DiseaseDAO diseaseDAO, MedicalActDAO medicalActDAO, TombstoneDAO tombstoneDAO,
+			MapperService mapperService) {
 		this.patientFileItemDAO = patientFileItemDAO;
+		this.doctorDAO = doctorDAO;
+		this.diseaseDAO = diseaseDAO;
+		this.medicalActDAO = medicalActDAO;
+		this.tombstoneDAO = tombstoneDAO;
 		this.mapperService = mapperService;
 	}
 
@@ -56,6 +80,89 @@ public class PatientFileItemServiceImpl implements PatientFileItemService {
 		return mapperService.mapToDTO(patientFileItem);
 	}
 
+	/**
+	 * Service de création d'une liste d'éléments médicaux, dans une même
+	 * transaction. Les médecins, maladies et actes médicaux référencés sont lus
+	 * par une requête par type, les éléments sont insérés par lots JDBC
+	 * (propriété {@code hibernate.jdbc.batch_size}) et les objets DTO retournés
+	 * sont construits à partir des entités enregistrées, sans nouvelle lecture.
+	 * Les identifiants éventuellement fournis sont ignorés.
+	 * 
+	 * @param patientFileItemsDTO la liste ({@link List}) d'objets
+	 *                            {@link PatientFileItemDTO} représentant les
+	 *                            éléments médicaux à créer.
+	 * @return la liste ({@link List}) d'objets {@link PatientFileItemDTO}
+	 *         représentant les éléments médicaux créés, dans le même ordre.
+	 * @throws CreateException les éléments médicaux n'ont pas pu être créés
+	 *                         (aucun n'est créé).
+	 */
+	@Override
+	@Transactional(rollbackOn = CreateException.class)
+	public List<PatientFileItemDTO> createPatientFileItems(List<PatientFileItemDTO> patientFileItemsDTO)
+			throws CreateException {
+
+		List<PatientFileItem> patientFileItems = new ArrayList<>(patientFileItemsDTO.size());
+		Set<String> doctorIds = new HashSet<>();
+		Set<String> diseaseIds = new HashSet<>();
+		Set<String> medicalActIds = new HashSet<>();
+
+		for (PatientFileItemDTO patientFileItemDTO : patientFileItemsDTO) {
+			PatientFileItem patientFileItem = mapperService.mapToEntity(patientFileItemDTO);
+			patientFileItem.setId(null);
+			patientFileItems.add(patientFileItem);
+
+			addId(doctorIds, patientFileItem.getAuthoringDoctor());
+			if (patientFileItem instanceof Mail) {
+				addId(doctorIds, ((Mail) patientFileItem).getRecipientDoctor());
+			} else if (patientFileItem instanceof Diagnosis) {
+				addId(diseaseIds, ((Diagnosis) patientFileItem).getDisease());
+			} else if (patientFileItem instanceof Act) {
+				addId(medicalActIds, ((Act) patientFileItem).getMedicalAct());
+			}
+		}
+
+		Map<String, Doctor> doctors = new HashMap<>();
+		doctorDAO.findAllById(doctorIds).forEach(doctor -> doctors.put(doctor.getId(), doctor));
+		Map<String, Disease> diseases = new HashMap<>();
+		diseaseDAO.findAllById(diseaseIds).forEach(disease -> diseases.put(disease.getId(), disease));
+		Map<String, MedicalAct> medicalActs = new HashMap<>();
+		medicalActDAO.findAllById(medicalActIds).forEach(medicalAct -> medicalActs.put(medicalAct.getId(), medicalAct));
+
+		if (doctors.size() != doctorIds.size() || diseases.size() != diseaseIds.size()
+				|| medicalActs.size() != medicalActIds.size()) {
+			throw new CreateException("Les éléments médicaux n'ont pas pu être créés.");
+		}
+
+		for (PatientFileItem patientFileItem : patientFileItems) {
+			patientFileItem.setAuthoringDoctor(resolve(doctors, patientFileItem.getAuthoringDoctor()));
+			if (patientFileItem instanceof Mail) {
+				Mail mail = (Mail) patientFileItem;
+				mail.setRecipientDoctor(resolve(doctors, mail.getRecipientDoctor()));
+			} else if (patientFileItem instanceof Diagnosis) {
+				Diagnosis diagnosis = (Diagnosis) patientFileItem;
+				diagnosis.setDisease(resolve(diseases, diagnosis.getDisease()));
+			} else if (patientFileItem instanceof Act) {
+				Act act = (Act) patientFileItem;
+				act.setMedicalAct(resolve(medicalActs, act.getMedicalAct()));
+			}
+		}
+
+		try {
+			patientFileItemDAO.saveAll(patientFileItems);
+			patientFileItemDAO.flush();
+		} catch (Exception e) {
+			throw new CreateException("Les éléments médicaux n'ont pas pu être créés.");
+		}
+
+		List<PatientFileItemDTO> createdPatientFileItemsDTO = new ArrayList<>(patientFileItems.size());
+
+		for (PatientFileItem patientFileItem : patientFileItems) {
+			createdPatientFileItemsDTO.add(mapperService.mapToDTO(patientFileItem));
+		}
+
+		return createdPatientFileItemsDTO;
+	}
+
 	/**
 	 * Service de recherche d'un élément médical par son identifiant.
 	 * 
@@ -79,6 +186,9 @@ public class PatientFileItemServiceImpl implements PatientFileItemService {
 
 	/**
 	 * Service de recherche des éléments médicaux associés à un dossier patient.
+	 * Les objets DTO sont construits directement à partir des colonnes lues
+	 * (une requête pour les éléments, une pour les spécialités des médecins),
+	 * sans charger d'entités.
 	 * 
 	 * @param patientFileId l'identifiant du dossier patient.
 	 * @return une liste ({@link List}) d'objets
@@ -88,10 +198,140 @@ public class PatientFileItemServiceImpl implements PatientFileItemService {
 	@Override
 	public List<PatientFileItemDTO> findPatientFileItemsByPatientFileId(String patientFileId) {
 
-		Iterable<PatientFileItem> patientFileItems = patientFileItemDAO.findByPatientFileId(patientFileId);
+		return toDTOs(patientFileItemDAO.findRowsByPatientFileId(patientFileId));
+	}
+
+	/**
+	 * Service de calcul de la version de la liste des éléments médicaux associés
+	 * à un dossier patient, par une requête d'agrégation (date de modification
+	 * maximum et nombre d'éléments), sans charger d'entités.
+	 * 
+	 * @param patientFileId l'identifiant du dossier patient.
+	 * @return un objet {@link ResourceVersionDTO} représentant la version de la
+	 *         liste des éléments médicaux.
+	 */
+	@Override
+	public ResourceVersionDTO findPatientFileItemsVersion(String patientFileId) {
+
+		return ResourceVersionDTO.of(patientFileItemDAO.findVersionRowsByPatientFileId(patientFileId).get(0));
+	}
+
+	/**
+	 * Service de recherche des éléments médicaux associés à un dossier patient
+	 * créés ou modifiés après une date donnée.
+	 * 
+	 * @param patientFileId l'identifiant du dossier patient.
+	 * @param since         la date à partir de laquelle les modifications sont
+	 *                      recherchées (exclue).
+	 * @return une liste ({@link List}) d'objets {@link PatientFileItemDTO}
+	 *         représentant les éléments médicaux créés ou modifiés.
+	 */
+	@Override
+	public List<PatientFileItemDTO> findPatientFileItemsChangedSince(String patientFileId, Timestamp since) {
+
+		return toDTOs(patientFileItemDAO.findChangedRowsByPatientFileId(patientFileId, since));
+	}
+
+	/**
+	 * Service de recherche d'une page de la chronologie des éléments médicaux
+	 * associés à un dossier patient. Les éléments sont filtrés par type et par
+	 * intervalle de dates, triés par date décroissante (les plus récents
+	 * d'abord) et paginés par curseur (keyset) : le coût d'une page ne dépend
+	 * pas de la taille de l'historique du patient. Le curseur est formé de la
+	 * date et de l'identifiant du dernier élément de la page, séparés par
+	 * {@code _}.
+	 * 
+	 * @param patientFileId l'identifiant du dossier patient.
+	 * @param types         les types d'éléments recherchés ({@code act},
+	 *                      {@code diagnosis}, {@code mail}, {@code prescription}
+	 *                      ou {@code symptom}), ou {@code null} ou une collection
+	 *                      vide pour tous les types.
+	 * @param from          la date de début (incluse), ou {@code null}.
+	 * @param to            la date de fin (incluse), ou {@code null}.
+	 * @param after         le curseur de la page demandée, ou {@code null} pour la
+	 *                      première page.
+	 * @param size          la taille de page demandée, bornée à
+	 *                      {@link PageDTO#MAX_SIZE}.
+	 * @return un objet {@link PageDTO} contenant les objets
+	 *         {@link PatientFileItemDTO} représentant les éléments médicaux
+	 *         trouvés et le curseur de la page suivante.
+	 * @throws CheckException un type d'élément médical ou le curseur est
+	 *                        invalide.
+	 */
+	@Override
+	public PageDTO<PatientFileItemDTO> findPatientFileItemsTimeline(String patientFileId, Collection<String> types,
+			LocalDate from, LocalDate to, String after, int size) throws CheckException {
+
+		Set<String> itemTypes = new HashSet<>(ITEM_TYPES);
+
+		if (types != null && !types.isEmpty()) {
+			for (String type : types) {
+				if (!ITEM_TYPES.contains(type)) {
+					throw new CheckException("Type d'élément médical inconnu : '" + type + "'.");
+				}
+			}
+			itemTypes.retainAll(types);
+		}
+
+		LocalDate dateFrom = from == null ? MIN_DATE : from;
+		LocalDate dateTo = to == null ? MAX_DATE : to;
+		LocalDate beforeDate = dateTo;
+		UUID afterId = new UUID(0L, 0L);
+
+		if (after != null) {
+			int separator = after.indexOf(CURSOR_SEPARATOR);
+			try {
+				beforeDate = LocalDate.parse(after.substring(0, separator));
+				afterId = UUID.fromString(after.substring(separator + 1));
+			} catch (RuntimeException e) {
+				throw new CheckException("Le curseur de pagination est invalide.");
+			}
+		}
+
+		int pageSize = PageDTO.capSize(size);
 
-		return ((List<PatientFileItem>) patientFileItems).stream()
-				.map(mapperService::mapToDTO).collect(Collectors.toList());
+		List<Object[]> rows = patientFileItemDAO.findTimelineRowsByPatientFileId(patientFileId, itemTypes, dateFrom,
+				dateTo, beforeDate, afterId, pageSize + 1);
+
+		String next = null;
+
+		if (rows.size() > pageSize) {
+			rows = rows.subList(0, pageSize);
+			Object[] last = rows.get(pageSize - 1);
+			next = toLocalDate(last[3]) + CURSOR_SEPARATOR + toUuid(last[0]);
+		}
+
+		return new PageDTO<>(toDTOs(rows), next);
+	}
+
+	private List<PatientFileItemDTO> toDTOs(List<Object[]> rows) {
+
+		if (rows.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		Set<String> doctorIds = new HashSet<>();
+
+		for (Object[] row : rows) {
+			doctorIds.add((String) row[6]);
+			if (row[15] != null) {
+				doctorIds.add((String) row[15]);
+			}
+		}
+
+		Map<String, List<String>> specialties = new HashMap<>();
+
+		for (Object[] row : doctorDAO.findSpecialtyDescriptionsByIdIn(doctorIds)) {
+			specialties.computeIfAbsent((String) row[0], id -> new ArrayList<>()).add((String) row[1]);
+		}
+
+		List<PatientFileItemDTO> patientFileItemsDTO = new ArrayList<>(rows.size());
+
+		for (Object[] row : rows) {
+			patientFileItemsDTO.add(toDTO(row, specialties));
+		}
+
+		return patientFileItemsDTO;
 	}
 
 	/**
@@ -150,14 +390,112 @@ public class PatientFileItemServiceImpl implements PatientFileItemService {
 		return mapperService.mapToDTO(patientFileItem);
 	}
 
+	private static PatientFileItemDTO toDTO(Object[] row, Map<String, List<String>> specialties) {
+
+		PatientFileItemDTO itemDTO;
+
+		switch ((String) row[9]) {
+		case "act" -> {
+			MedicalActDTO medicalActDTO = new MedicalActDTO();
+			medicalActDTO.setId((String) row[10]);
+			medicalActDTO.setDescription((String) row[11]);
+			ActDTO actDTO = new ActDTO();
+			actDTO.setMedicalActDTO(medicalActDTO);
+			itemDTO = actDTO;
+		}
+		case "diagnosis" -> {
+			DiseaseDTO diseaseDTO = new DiseaseDTO();
+			diseaseDTO.setId((String) row[12]);
+			diseaseDTO.setDescription((String) row[13]);
+			DiagnosisDTO diagnosisDTO = new DiagnosisDTO();
+			diagnosisDTO.setDiseaseDTO(diseaseDTO);
+			itemDTO = diagnosisDTO;
+		}
+		case "mail" -> {
+			MailDTO mailDTO = new MailDTO();
+			mailDTO.setText((String) row[14]);
+			mailDTO.setRecipientDoctorId((String) row[15]);
+			mailDTO.setRecipientDoctorFirstname((String) row[16]);
+			mailDTO.setRecipientDoctorLastname((String) row[17]);
+			mailDTO.setRecipientDoctorSpecialties(specialties.getOrDefault((String) row[15], List.of()));
+			itemDTO = mailDTO;
+		}
+		case "prescription" -> {
+			PrescriptionDTO prescriptionDTO = new PrescriptionDTO();
+			prescriptionDTO.setDescription((String) row[18]);
+			itemDTO = prescriptionDTO;
+		}
+		case "symptom" -> {
+			SymptomDTO symptomDTO = new SymptomDTO();
+			symptomDTO.setDescription((String) row[18]);
+			itemDTO = symptomDTO;
+		}
+		default -> throw new IllegalStateException("Type d'élément médical inconnu.");
+		}
+
+		itemDTO.setId(toUuid(row[0]));
+		itemDTO.setCreatedDate(toTimestamp(row[1]));
+		itemDTO.setLastModifiedDate(toTimestamp(row[2]));
+		itemDTO.setDate(toLocalDate(row[3]));
+		itemDTO.setComments((String) row[4]);
+		itemDTO.setPatientFileId((String) row[5]);
+		itemDTO.setAuthoringDoctorId((String) row[6]);
+		itemDTO.setAuthoringDoctorFirstname((String) row[7]);
+		itemDTO.setAuthoringDoctorLastname((String) row[8]);
+		itemDTO.setAuthoringDoctorSpecialties(specialties.getOrDefault((String) row[6], List.of()));
+
+		return itemDTO;
+	}
+
+	private static Timestamp toTimestamp(Object value) {
+		if (value instanceof LocalDateTime) {
+			return Timestamp.valueOf((LocalDateTime) value);
+		}
+		return (Timestamp) value;
+	}
+
+	private static UUID toUuid(Object value) {
+		if (value instanceof byte[]) {
+			ByteBuffer buffer = ByteBuffer.wrap((byte[]) value);
+			return new UUID(buffer.getLong(), buffer.getLong());
+		}
+		if (value instanceof UUID) {
+			return (UUID) value;
+		}
+		return UUID.fromString(value.toString());
+	}
+
+	private static LocalDate toLocalDate(Object value) {
+		if (value instanceof java.sql.Date) {
+			return ((java.sql.Date) value).toLocalDate();
+		}
+		return (LocalDate) value;
+	}
+
 	/**
-	 * Service de suppression d'un élément médical désigné par son identifiant.
+	 * Service de suppression d'un élément médical désigné par son identifiant. La
+	 * trace de la suppression est enregistrée dans la même transaction.
 	 * 
 	 * @param uuid l'identifiant de l'élément médical à supprimer.
 	 */
 	@Override
+	@Transactional
 	public void deletePatientFileItem(UUID uuid) {
 
+		patientFileItemDAO.findPatientFileIdById(uuid)
+				.ifPresent(patientFileId -> tombstoneDAO.saveTombstone(uuid, Tombstone.ITEM, patientFileId));
+
 		patientFileItemDAO.deleteById(uuid);
 	}
+
+	private static void addId(Set<String> ids, StringIdBaseEntity entity) {
+		if (entity != null && entity.getId() != null) {
+			ids.add(entity.getId());
+		}
+	}
+
+	private static <T extends StringIdBaseEntity> T resolve(Map<String, T> entities, T entity) {
+		return entity == null || entity.getId() == null ? entity : entities.get(entity.getId());
+	}
+
 }
@@ -1,20 +1,25 @@
 package fr.cnam.stefangeorgesco.dmp.domain.service;
 
+import fr.cnam.stefangeorgesco.dmp.domain.dto.PageDTO;
 import fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileDTO;
+import fr.cnam.stefangeorgesco.dmp.domain.dto.ResourceVersionDTO;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.*;
-
-import java.util.List;
+import reactor.core.publisher.Mono;
 
 public interface PatientFileService {
     PatientFileDTO createPatientFile(PatientFileDTO patientFileDTO) throws CheckException, CreateException;
 
+    Mono<PatientFileDTO> createPatientFileAsync(PatientFileDTO patientFileDTO);
+
     PatientFileDTO findPatientFile(String id) throws FinderException;
 
+    ResourceVersionDTO findPatientFileVersion(String id) throws FinderException;
+
     PatientFileDTO updatePatientFile(PatientFileDTO patientFileDTO) throws UpdateException;
 
     PatientFileDTO updateReferringDoctor(PatientFileDTO patientFileDTO) throws FinderException, UpdateException;
 
-    List<PatientFileDTO> findPatientFilesByIdOrFirstnameOrLastname(String q);
+    PageDTO<PatientFileDTO> findPatientFilesByIdOrFirstnameOrLastname(String q, String after, int size);
 
     void deletePatientFile(String patientFileId) throws DeleteException;
 }
@@ -1,16 +1,24 @@
 package fr.cnam.stefangeorgesco.dmp.domain.service;
 
 import fr.cnam.stefangeorgesco.dmp.authentication.domain.dto.UserDTO;
-import fr.cnam.stefangeorgesco.dmp.authentication.domain.service.UserService;
+import fr.cnam.stefangeorgesco.dmp.authentication.domain.service.UserSyncService;
 import fr.cnam.stefangeorgesco.dmp.domain.dao.*;
 import fr.cnam.stefangeorgesco.dmp.domain.dto.*;
 import fr.cnam.stefangeorgesco.dmp.domain.model.*;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.*;
+import fr.cnam.stefangeorgesco.dmp.utils.FulltextQuery;
 import fr.cnam.stefangeorgesco.dmp.utils.SecurityCodeGenerator;
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
+import javax.transaction.Transactional;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -26,7 +34,7 @@ public class PatientFileServiceImpl implements PatientFileService {
 
     private final RnippService rnippService;
 
-    private final UserService userService;
+    private final UserSyncService userSyncService;
 
     private final PatientFileDAO patientFileDAO;
 
@@ -38,34 +46,50 @@ public class PatientFileServiceImpl implements PatientFileService {
 
     private final PatientFileItemDAO patientFileItemDAO;
 
-    private final ModelMapper commonModelMapper;
+    private final TombstoneDAO tombstoneDAO;
 
-    private final ModelMapper patientFileModelMapper;
+    private final PatientFileAccessService patientFileAccessService;
+
+    private final MapperService mapperService;
 
     private final BCryptPasswordEncoder bCryptPasswordEncoder;
 
+    private final Scheduler checksScheduler;
+
+    private final Scheduler hashingScheduler;
+
+    private final boolean fulltextSearch;
+
     public PatientFileServiceImpl(
             RnippService rnippService,
-            UserService userService,
+            UserSyncService userSyncService,
             PatientFileDAO patientFileDAO,
             FileDAO fileDAO,
             DoctorDAO doctorDAO,
             CorrespondenceDAO correspondenceDAO,
             PatientFileItemDAO patientFileItemDAO,
-            ModelMapper commonModelMapper,
-            ModelMapper patientFileModelMapper,
-            BCryptPasswordEncoder bCryptPasswordEncoder
+            TombstoneDAO tombstoneDAO,
+            PatientFileAccessService patientFileAccessService,
+            MapperService mapperService,
+            BCryptPasswordEncoder bCryptPasswordEncoder,
+            Scheduler checksScheduler,
+            Scheduler hashingScheduler,
+            @Value("${file.search.mode:like}") String fileSearchMode
     ) {
         this.rnippService = rnippService;
-        this.userService = userService;
+        this.userSyncService = userSyncService;
         this.patientFileDAO = patientFileDAO;
         this.fileDAO = fileDAO;
         this.doctorDAO = doctorDAO;
         this.correspondenceDAO = correspondenceDAO;
         this.patientFileItemDAO = patientFileItemDAO;
-        this.commonModelMapper = commonModelMapper;
-        this.patientFileModelMapper = patientFileModelMapper;
+        this.tombstoneDAO = tombstoneDAO;
+        this.patientFileAccessService = patientFileAccessService;
+        this.mapperService = mapperService;
         this.bCryptPasswordEncoder = bCryptPasswordEncoder;
+        this.checksScheduler = checksScheduler;
+        this.hashingScheduler = hashingScheduler;
+        this.fulltextSearch = "fulltext".equalsIgnoreCase(fileSearchMode);
     }
 
     /**
@@ -84,25 +108,70 @@ public class PatientFileServiceImpl implements PatientFileService {
     @Override
     public PatientFileDTO createPatientFile(PatientFileDTO patientFileDTO) throws CheckException, CreateException {
 
-        rnippService.checkPatientData(patientFileDTO);
-
-        if (fileDAO.existsById(patientFileDTO.getId())) {
-            throw new DuplicateKeyException("Un dossier avec cet identifiant existe déjà.");
+        try {
+            return createPatientFileAsync(patientFileDTO).block();
+        } catch (RuntimeException e) {
+            Throwable cause = Exceptions.unwrap(e);
+            if (cause instanceof CheckException) {
+                throw (CheckException) cause;
+            }
+            if (cause instanceof CreateException) {
+                throw (CreateException) cause;
+            }
+            throw e;
         }
+    }
+
+    /**
+     * Version non bloquante de {@link #createPatientFile(PatientFileDTO)}. La
+     * vérification RNIPP, la vérification de l'absence d'un dossier avec le même
+     * identifiant et la génération du code de sécurité avec son hachage BCrypt
+     * sont exécutées en parallèle ; le dossier n'est enregistré que si elles
+     * réussissent toutes. Les traitements bloquants sont exécutés par
+     * l'ordonnanceur {@code checksScheduler}, le hachage BCrypt par
+     * l'ordonnanceur dédié {@code hashingScheduler}.
+     *
+     * @param patientFileDTO l'objet
+     *                       {@link fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileDTO}
+     *                       représentant le dossier patient à créer.
+     * @return un {@link Mono} émettant l'objet
+     * {@link fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileDTO}
+     * représentant le dossier patient créé, ou en erreur avec une
+     * {@link CheckException} ou une {@link CreateException}.
+     */
+    @Override
+    public Mono<PatientFileDTO> createPatientFileAsync(PatientFileDTO patientFileDTO) {
 
-        patientFileDTO.setSecurityCode(SecurityCodeGenerator.generateCode());
+        Mono<Boolean> rnippCheck = rnippService.checkPatientDataAsync(patientFileDTO).thenReturn(true);
 
-        PatientFile patientFile = commonModelMapper.map(patientFileDTO, PatientFile.class);
+        Mono<Boolean> duplicateCheck = Mono.fromCallable(() -> {
+            if (fileDAO.existsById(patientFileDTO.getId())) {
+                throw new DuplicateKeyException("Un dossier avec cet identifiant existe déjà.");
+            }
+            return true;
+        }).subscribeOn(checksScheduler);
 
-        patientFile.setSecurityCode(bCryptPasswordEncoder.encode(patientFile.getSecurityCode()));
+        Mono<Tuple2<String, String>> securityCode = Mono.fromCallable(() -> {
+            String code = SecurityCodeGenerator.generateCode();
+            return Tuples.of(code, bCryptPasswordEncoder.encode(code));
+        }).subscribeOn(hashingScheduler);
 
-        try {
-            patientFileDAO.save(patientFile);
-        } catch (Exception e) {
-            throw new CreateException("Le dossier patient n'a pas pu être créé.");
-        }
+        return Mono.zip(rnippCheck, duplicateCheck, securityCode)
+                .flatMap(checks -> Mono.fromCallable(() -> {
+                    patientFileDTO.setSecurityCode(checks.getT3().getT1());
+
+                    PatientFile patientFile = mapperService.mapToEntity(patientFileDTO);
+
+                    patientFile.setSecurityCode(checks.getT3().getT2());
 
-        return patientFileDTO;
+                    try {
+                        patientFileDAO.save(patientFile);
+                    } catch (Exception e) {
+                        throw new CreateException("Le dossier patient n'a pas pu être créé.");
+                    }
+
+                    return patientFileDTO;
+                }).subscribeOn(checksScheduler));
     }
 
     /**
@@ -119,16 +188,41 @@ public class PatientFileServiceImpl implements PatientFileService {
         Optional<PatientFile> optionalPatientFile = patientFileDAO.findById(id);
 
         if (optionalPatientFile.isPresent()) {
-            return patientFileModelMapper.map(optionalPatientFile.get(), PatientFileDTO.class);
+            return mapperService.mapToDTO(optionalPatientFile.get());
         } else {
             throw new FinderException("Dossier patient non trouvé.");
         }
     }
 
+    /**
+     * Service de calcul de la version d'un dossier patient, par une requête
+     * d'agrégation (date de modification maximum et nombre de lignes) sur le
+     * dossier patient et le dossier de son médecin référent, sans charger
+     * d'entités.
+     *
+     * @param id l'identifiant du dossier patient.
+     * @return un objet
+     * {@link fr.cnam.stefangeorgesco.dmp.domain.dto.ResourceVersionDTO}
+     * représentant la version du dossier patient.
+     * @throws FinderException dossier patient non trouvé.
+     */
+    @Override
+    public ResourceVersionDTO findPatientFileVersion(String id) throws FinderException {
+        List<Object[]> rows = patientFileDAO.findVersionRowsById(id);
+
+        if (rows.isEmpty() || ((Number) rows.get(0)[1]).longValue() == 0) {
+            throw new FinderException("Dossier patient non trouvé.");
+        }
+
+        return ResourceVersionDTO.of(rows.get(0));
+    }
+
     /**
      * Service de modification d'un dossier patient. Les données prises en compte
      * dans la modification sont le numéro de téléphone, l'adresse email et
-     * l'adresse postale. Les autres données ne sont pas considérées.
+     * l'adresse postale. Les autres données ne sont pas considérées. La mise à
+     * jour du compte utilisateur est enregistrée dans la même transaction et
+     * transmise à Keycloak en arrière-plan ({@link UserSyncService}).
      *
      * @param patientFileDTO l'objet
      *                       {@link fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileDTO}
@@ -140,6 +234,7 @@ public class PatientFileServiceImpl implements PatientFileService {
      * @throws UpdateException le dossier patient n'a pas pu être modifié.
      */
     @Override
+    @Transactional(rollbackOn = UpdateException.class)
     public PatientFileDTO updatePatientFile(PatientFileDTO patientFileDTO) throws UpdateException {
 
         PatientFile patientFile = patientFileDAO.findById(patientFileDTO.getId()).orElseThrow();
@@ -147,12 +242,12 @@ public class PatientFileServiceImpl implements PatientFileService {
         patientFile.setPhone(patientFileDTO.getPhone());
         patientFile.setEmail(patientFileDTO.getEmail());
 
-        PatientFile mappedPatientFile = commonModelMapper.map(patientFileDTO, PatientFile.class);
+        PatientFile mappedPatientFile = mapperService.mapToEntity(patientFileDTO);
 
         patientFile.setAddress(mappedPatientFile.getAddress());
 
         try {
-            patientFile = patientFileDAO.save(patientFile);
+            patientFile = patientFileDAO.saveAndFlush(patientFile);
         } catch (Exception e) {
             throw new UpdateException("Le dossier patient n'a pas pu être modifié.");
         }
@@ -162,9 +257,9 @@ public class PatientFileServiceImpl implements PatientFileService {
         userDTO.setFirstname(patientFileDTO.getFirstname());
         userDTO.setLastname(patientFileDTO.getLastname());
         userDTO.setEmail(patientFileDTO.getEmail());
-        userService.updateUser(userDTO);
+        userSyncService.scheduleUserUpdate(userDTO);
 
-        return patientFileModelMapper.map(patientFile, PatientFileDTO.class);
+        return mapperService.mapToDTO(patientFile);
     }
 
     /**
@@ -210,45 +305,82 @@ public class PatientFileServiceImpl implements PatientFileService {
             throw new UpdateException("Le dossier patient n'a pas pu être modifié (médecin référent).");
         }
 
-        return patientFileModelMapper.map(patientFile, PatientFileDTO.class);
+        patientFileAccessService.evictPatientFile(patientFile.getId());
+
+        return mapperService.mapToDTO(patientFile);
     }
 
     /**
      * Service de recherche de dossiers patients à partir d'une chaîne de
-     * caractères.
+     * caractères. Les dossiers sont triés par identifiant et paginés par
+     * curseur (keyset) : le coût d'une page ne dépend pas du nombre total de
+     * dossiers trouvés. En mode de recherche {@code fulltext} (propriété
+     * {@code file.search.mode}), les noms sont recherchés dans l'index FULLTEXT
+     * de MySQL et l'identifiant par préfixe ; les chaînes trop courtes pour
+     * l'index sont recherchées avec {@code LIKE}.
      *
-     * @param q la chaîne de caractères de recherche.
-     * @return une liste ({@link java.util.List}) d'objets
+     * @param q     la chaîne de caractères de recherche.
+     * @param after le curseur de la page demandée (identifiant du dernier dossier
+     *              de la page précédente), ou {@code null} pour la première page.
+     * @param size  la taille de page demandée, bornée à {@link PageDTO#MAX_SIZE}.
+     * @return un objet {@link PageDTO} contenant les objets
      * {@link fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileDTO}
-     * représentant les dossiers trouvés.
+     * représentant les dossiers trouvés et le curseur de la page suivante.
      */
     @Override
-    public List<PatientFileDTO> findPatientFilesByIdOrFirstnameOrLastname(String q) {
+    public PageDTO<PatientFileDTO> findPatientFilesByIdOrFirstnameOrLastname(String q, String after, int size) {
 
         if ("".equals(q)) {
-            return new ArrayList<>();
+            return new PageDTO<>(new ArrayList<>(), null);
         }
 
-        Iterable<PatientFile> patientFiles = patientFileDAO.findByIdOrFirstnameOrLastname(q);
+        int pageSize = PageDTO.capSize(size);
 
-        return ((List<PatientFile>) patientFiles).stream()
-                .map(patientFile -> patientFileModelMapper.map(patientFile, PatientFileDTO.class))
+        String phrase = fulltextSearch ? FulltextQuery.phrase(q) : null;
+
+        List<PatientFile> patientFiles;
+
+        if (phrase != null) {
+            List<String> ids = patientFileDAO.findIdsByFulltext(phrase, FulltextQuery.likePrefix(q), after == null ? "" : after,
+                    pageSize + 1);
+            patientFiles = ids.isEmpty() ? new ArrayList<>() : patientFileDAO.findByIdInOrderById(ids);
+        } else {
+            patientFiles = patientFileDAO.findByIdOrFirstnameOrLastname(q, after, PageRequest.of(0, pageSize + 1));
+        }
+
+        String next = null;
+
+        if (patientFiles.size() > pageSize) {
+            patientFiles = patientFiles.subList(0, pageSize);
+            next = patientFiles.get(pageSize - 1).getId();
+        }
+
+        List<PatientFileDTO> patientFilesDTO = patientFiles.stream()
+                .map(mapperService::mapToDTO)
                 .collect(Collectors.toList());
+
+        return new PageDTO<>(patientFilesDTO, next);
     }
 
     /**
      * Service de suppression d'un dossier patient désigné par son identifiant. Les
-     * éventuelles correspondances, éléments médicaux et compte utilisateur associés
-     * au dossier sont également supprimés.
+     * éventuelles correspondances, éléments médicaux, traces de suppression et
+     * compte utilisateur associés au dossier sont également supprimés. Les
+     * suppressions en base de données sont faites par quelques requêtes
+     * ensemblistes, dans une même transaction ; la suppression du compte
+     * utilisateur est enregistrée dans la même transaction et transmise à
+     * Keycloak en arrière-plan ({@link UserSyncService}).
      *
      * @param patientFileId l'identifiant du dossier à supprimer.
      * @throws DeleteException le dossier patient n'a pas pu être supprimé.
      */
     @Override
+    @Transactional(rollbackOn = DeleteException.class)
     public void deletePatientFile(String patientFileId) throws DeleteException {
 
         correspondenceDAO.deleteAllByPatientFileId(patientFileId);
         patientFileItemDAO.deleteAllByPatientFileId(patientFileId);
+        tombstoneDAO.deleteAllByPatientFileId(patientFileId);
 
         try {
             patientFileDAO.deleteById(patientFileId);
@@ -256,10 +388,8 @@ public class PatientFileServiceImpl implements PatientFileService {
             throw new DeleteException("Le dossier patient n'a pas pu être supprimé.");
         }
 
-        try {
-            userService.deleteUser(patientFileId);
-        } catch (DeleteException e) {
-            System.out.println("Pas de compte utilisateur associé au dossier patient supprimé");
-        }
+        patientFileAccessService.evictPatientFile(patientFileId);
+
+        userSyncService.scheduleUserDeletion(patientFileId);
     }
 }
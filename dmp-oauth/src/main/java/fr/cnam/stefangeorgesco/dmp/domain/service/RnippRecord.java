@@ -1,6 +1,7 @@
 package fr.cnam.stefangeorgesco.dmp.domain.service;
 
 import java.time.LocalDate;
+import java.util.Objects;
 
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -82,4 +83,22 @@ public class RnippRecord {
 		this.dateOfBirth = dateOfBirth;
 	}
 
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		RnippRecord that = (RnippRecord) o;
+		return Objects.equals(id, that.id) && Objects.equals(firstname, that.firstname)
+				&& Objects.equals(lastname, that.lastname) && Objects.equals(dateOfBirth, that.dateOfBirth);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id, firstname, lastname, dateOfBirth);
+	}
+
 }
@@ -2,9 +2,12 @@ package fr.cnam.stefangeorgesco.dmp.domain.service;
 
 import fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileDTO;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.CheckException;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
 
 public interface RnippService {
     void checkPatientData(@Valid PatientFileDTO patientFileDTO) throws CheckException;
+
+    Mono<Void> checkPatientDataAsync(@Valid PatientFileDTO patientFileDTO);
 }
@@ -2,28 +2,142 @@ package fr.cnam.stefangeorgesco.dmp.domain.service;
 
 import fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileDTO;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.CheckException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
 import javax.validation.Valid;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
  * Classe de service d'interrogation du service REST externe RNIPP.
  * 
+ * Les verdicts du RNIPP sont conservés dans un cache borné
+ * ({@code rnipp.cache.max-size} entrées), indexé par les données vérifiées
+ * (identifiant, prénom, nom, date de naissance), avec une durée de validité
+ * propre à chaque issue : vérification positive
+ * ({@code rnipp.cache.positive-ttl}), négative
+ * ({@code rnipp.cache.negative-ttl}) ou données refusées par le RNIPP
+ * (NOT_ACCEPTABLE, {@code rnipp.cache.not-acceptable-ttl}). Les autres erreurs
+ * ne sont pas conservées. Les vérifications identiques simultanées sont
+ * regroupées en une seule requête au RNIPP, émise à la première souscription ;
+ * l'annulation d'une vérification n'interrompt pas la requête partagée, dont le
+ * verdict est conservé pour les autres vérifications.
+ * 
+ * Chaque interrogation du RNIPP dispose d'un budget de temps
+ * ({@code rnipp.call.budget}). Si une requête n'a pas reçu de réponse après le
+ * 95e centile des temps de réponse observés ({@code rnipp.call.hedge.initial-delay}
+ * tant que les mesures sont insuffisantes, au moins
+ * {@code rnipp.call.hedge.min-delay}), une requête identique est émise en
+ * parallèle et la première réponse est retenue. Les échecs transitoires (erreur
+ * de connexion, délai dépassé, erreur serveur) sont rejoués, au plus
+ * {@code rnipp.call.retry.max-retries} fois, après un délai aléatoire croissant
+ * à partir de {@code rnipp.call.retry.backoff}. Si le budget est épuisé ou si
+ * le RNIPP reste indisponible (y compris disjoncteur ouvert du client
+ * {@code rnippClient}), la vérification échoue avec une {@link CheckException}.
+ * 
+ * Chaque requête est mesurée par la mesure {@code rnipp.attempt} (type
+ * {@code primary}, {@code retry} ou {@code hedge}, issue {@code success},
+ * {@code failure} ou {@code cancelled}), chaque interrogation par la mesure
+ * {@code rnipp.call} (issue {@code success}, {@code failure} ou
+ * {@code budget-exhausted}) ; le délai d'émission de la requête parallèle est
+ * publié par la mesure {@code rnipp.hedge.delay}.
+ * 
  * @author Stéfan Georgesco
  *
  */
 @Service
 public class RnippServiceImpl implements RnippService {
 
+	private static final int HEDGE_MIN_SAMPLES = 20;
+
+	private static final double HEDGE_PERCENTILE = 0.95;
+
+	private static final String UNAVAILABLE = "Le RNIPP est momentanément indisponible, veuillez réessayer.";
+
 	private final WebClient rnippClient;
 
-	public RnippServiceImpl(WebClient rnippClient) {
+	private final MeterRegistry meterRegistry;
+
+	private final int maxSize;
+
+	private final Duration positiveTtl;
+
+	private final Duration negativeTtl;
+
+	private final Duration notAcceptableTtl;
+
+	private final Map<RnippRecord, RnippVerdict> verdicts;
+
+	private final Map<RnippRecord, CompletableFuture<RnippVerdict>> pendingChecks = new ConcurrentHashMap<>();
+
+	private final Duration budget;
+
+	private final Duration initialHedgeDelay;
+
+	private final Duration minHedgeDelay;
+
+	private final int maxRetries;
+
+	private final Duration retryBackoff;
+
+	private final Timer latencyTimer;
+
+	public RnippServiceImpl(WebClient rnippClient, MeterRegistry meterRegistry,
+			@Value("${rnipp.cache.max-size:1000}") int maxSize,
+			@Value("${rnipp.cache.positive-ttl:PT10M}") Duration positiveTtl,
+			@Value("${rnipp.cache.negative-ttl:PT2M}") Duration negativeTtl,
+			@Value("${rnipp.cache.not-acceptable-ttl:PT30S}") Duration notAcceptableTtl,
+			@Value("${rnipp.call.budget:PT3S}") Duration budget,
+			@Value("${rnipp.call.hedge.initial-delay:PT0.5S}") Duration initialHedgeDelay,
+			@Value("${rnipp.call.hedge.min-delay:PT0.05S}") Duration minHedgeDelay,
+			@Value("${rnipp.call.retry.max-retries:2}") int maxRetries,
+			@Value("${rnipp.call.retry.backoff:PT0.1S}") Duration retryBackoff) {
 		this.rnippClient = rnippClient;
+		this.meterRegistry = meterRegistry;
+		this.maxSize = maxSize;
+		this.positiveTtl = positiveTtl;
+		this.negativeTtl = negativeTtl;
+		this.notAcceptableTtl = notAcceptableTtl;
+		this.budget = budget;
+		this.initialHedgeDelay = initialHedgeDelay;
+		this.minHedgeDelay = minHedgeDelay;
+		this.maxRetries = maxRetries;
+		this.retryBackoff = retryBackoff;
+		this.latencyTimer = Timer.builder("rnipp.latency").publishPercentiles(HEDGE_PERCENTILE)
+				.description("Temps de réponse des requêtes au RNIPP abouties").register(meterRegistry);
+		TimeGauge.builder("rnipp.hedge.delay", this, TimeUnit.MILLISECONDS, service -> service.hedgeDelay().toMillis())
+				.description("Délai d'émission d'une requête parallèle au RNIPP").register(meterRegistry);
+		this.verdicts = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<RnippRecord, RnippVerdict> eldest) {
+				return size() > RnippServiceImpl.this.maxSize;
+			}
+		};
 	}
 
 	/**
@@ -38,13 +152,118 @@ public class RnippServiceImpl implements RnippService {
 	 *                        un enregistrement du RNIPP.
 	 */
 	@Override
-	@SuppressWarnings("unchecked")
 	public void checkPatientData(@Valid PatientFileDTO patientFileDTO) throws CheckException {
 
+		try {
+			checkPatientDataAsync(patientFileDTO).block();
+		} catch (RuntimeException e) {
+			if (Exceptions.unwrap(e) instanceof CheckException) {
+				throw (CheckException) Exceptions.unwrap(e);
+			}
+			throw e;
+		}
+
+	}
+
+	/**
+	 * Version non bloquante de {@link #checkPatientData(PatientFileDTO)} : la
+	 * requête au RNIPP est émise à la souscription et le {@link Mono} renvoyé se
+	 * termine sans valeur si la vérification est positive, ou en erreur avec une
+	 * {@link CheckException} sinon.
+	 * 
+	 * @param patientFileDTO l'objet
+	 *                       {@link fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileDTO}
+	 *                       représentant le dossier patient à vérifier.
+	 * @return le résultat de la vérification.
+	 */
+	@Override
+	public Mono<Void> checkPatientDataAsync(@Valid PatientFileDTO patientFileDTO) {
+
 		RnippRecord record = new RnippRecord(patientFileDTO.getId(), patientFileDTO.getFirstname(),
 				patientFileDTO.getLastname(), patientFileDTO.getDateOfBirth());
 
-		Mono<Object> responseObject = rnippClient.post().uri("/check").bodyValue(record).exchangeToMono(resp -> {
+		return Mono.defer(() -> {
+
+			RnippVerdict cachedVerdict = cachedVerdict(record);
+
+			if (cachedVerdict != null) {
+				return Mono.just(cachedVerdict);
+			}
+
+			// une vérification terminée mais pas encore retirée (les actions dépendantes
+			// d'un CompletableFuture s'exécutent dans l'ordre inverse de leur ajout) est
+			// remplacée par une nouvelle requête
+			CompletableFuture<RnippVerdict> pendingCheck = pendingChecks.compute(record,
+					(key, existing) -> existing != null && !existing.isDone() ? existing
+							: requestVerdict(key)
+									.doOnNext(requestedVerdict -> storeVerdict(key, requestedVerdict))
+									.toFuture());
+			pendingCheck.whenComplete((requestedVerdict, e) -> pendingChecks.remove(record, pendingCheck));
+
+			// copie : l'annulation d'une vérification n'annule pas la requête partagée
+			return Mono.fromFuture(pendingCheck.copy())
+					.onErrorMap(CompletionException.class, Throwable::getCause);
+		}).flatMap(result -> result.rejection == null ? Mono.empty()
+				: Mono.error(new CheckException(result.rejection)));
+	}
+
+	private Mono<RnippVerdict> requestVerdict(RnippRecord record) {
+
+		return Mono.defer(() -> {
+
+			AtomicInteger rounds = new AtomicInteger();
+			long start = System.nanoTime();
+
+			return Mono.defer(() -> hedgedAttempt(record, rounds.getAndIncrement() == 0 ? "primary" : "retry"))
+					.retryWhen(Retry.backoff(maxRetries, retryBackoff).jitter(0.5)
+							.filter(RnippServiceImpl::isTransient)
+							.onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+					.timeout(budget)
+					.map(this::toVerdict)
+					.doOnSuccess(verdict -> record("rnipp.call", start, "outcome", "success"))
+					.doOnError(e -> record("rnipp.call", start, "outcome",
+							e instanceof TimeoutException ? "budget-exhausted" : "failure"));
+		}).onErrorMap(e -> e instanceof WebClientException || e instanceof TimeoutException,
+				e -> new CheckException(UNAVAILABLE));
+	}
+
+	/**
+	 * Émet une requête au RNIPP, puis une requête identique si la première n'a pas
+	 * reçu de réponse après le délai {@link #hedgeDelay()}, et renvoie la première
+	 * réponse ; l'autre requête est abandonnée. Si la première requête échoue
+	 * avant l'émission de la seconde, celle-ci n'est pas émise.
+	 */
+	private Mono<Object> hedgedAttempt(RnippRecord record, String kind) {
+
+		AtomicBoolean hedged = new AtomicBoolean();
+
+		Mono<Object> hedge = Mono.delay(hedgeDelay()).then(Mono.defer(() -> {
+			hedged.set(true);
+			return attempt(record, "hedge");
+		}));
+
+		return Flux.merge(attempt(record, kind).materialize(), hedge.materialize())
+				.filter(signal -> !signal.isOnComplete())
+				.takeUntil(signal -> signal.isOnNext() || !hedged.get())
+				.last()
+				.<Object>dematerialize();
+	}
+
+	private Mono<Object> attempt(RnippRecord record, String kind) {
+		return Mono.defer(() -> {
+			long start = System.nanoTime();
+			return exchange(record)
+					.doOnSuccess(response -> {
+						latencyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+						record("rnipp.attempt", start, "kind", kind, "outcome", "success");
+					})
+					.doOnError(e -> record("rnipp.attempt", start, "kind", kind, "outcome", "failure"))
+					.doOnCancel(() -> record("rnipp.attempt", start, "kind", kind, "outcome", "cancelled"));
+		});
+	}
+
+	private Mono<Object> exchange(RnippRecord record) {
+		return rnippClient.post().uri("/check").bodyValue(record).exchangeToMono(resp -> {
 			if (resp.statusCode().equals(HttpStatus.OK)) {
 				return resp.bodyToMono(RnippResponse.class);
 			} else if (resp.statusCode().equals(HttpStatus.NOT_ACCEPTABLE)) {
@@ -53,20 +272,91 @@ public class RnippServiceImpl implements RnippService {
 				return resp.createException().flatMap(Mono::error);
 			}
 		});
+	}
 
-		Object response = responseObject.block();
-
+	@SuppressWarnings("unchecked")
+	private RnippVerdict toVerdict(Object response) {
+		Instant now = Instant.now();
 		if (response instanceof RnippResponse) {
-			if (!((RnippResponse) response).getResult()) {
-				throw new CheckException("Les données fournies sont incorrectes. Pas d'enregistrement RNIPP.");
+			if (((RnippResponse) response).getResult()) {
+				return new RnippVerdict(null, now.plus(positiveTtl));
+			}
+			return new RnippVerdict("Les données fournies sont incorrectes. Pas d'enregistrement RNIPP.",
+					now.plus(negativeTtl));
+		}
+		return new RnippVerdict("RNIPP - " +
+				((Map<String, String>) response).entrySet().stream()
+				.map(entry -> entry.getKey() + " : " + entry.getValue())
+				.collect(Collectors.joining(", ")), now.plus(notAcceptableTtl));
+	}
+
+	/**
+	 * Délai d'émission d'une requête parallèle : 95e centile des temps de réponse
+	 * récents, au moins {@code minHedgeDelay}, ou {@code initialHedgeDelay} tant
+	 * que les mesures sont insuffisantes.
+	 */
+	private Duration hedgeDelay() {
+
+		HistogramSnapshot snapshot = latencyTimer.takeSnapshot();
+
+		if (snapshot.count() >= HEDGE_MIN_SAMPLES) {
+			for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+				if (percentile.percentile() == HEDGE_PERCENTILE) {
+					Duration delay = Duration.ofNanos((long) percentile.value(TimeUnit.NANOSECONDS));
+					return delay.compareTo(minHedgeDelay) < 0 ? minHedgeDelay : delay;
+				}
 			}
-		} else if (response instanceof Map) {
-			throw new CheckException("RNIPP - " +
-					((Map<String, String>) response).entrySet().stream()
-					.map(entry -> entry.getKey() + " : " + entry.getValue())
-					.collect(Collectors.joining(", ")));
 		}
 
+		return initialHedgeDelay;
+	}
+
+	private static boolean isTransient(Throwable e) {
+		return e instanceof WebClientRequestException
+				|| (e instanceof WebClientResponseException
+						&& ((WebClientResponseException) e).getStatusCode().is5xxServerError());
+	}
+
+	private void record(String name, long start, String... tags) {
+		meterRegistry.timer(name, tags).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+	}
+
+	private RnippVerdict cachedVerdict(RnippRecord record) {
+
+		synchronized (verdicts) {
+			RnippVerdict verdict = verdicts.get(record);
+			if (verdict == null) {
+				return null;
+			}
+			if (Instant.now().isBefore(verdict.expiresAt)) {
+				return verdict;
+			}
+			verdicts.remove(record);
+			return null;
+		}
+	}
+
+	private void storeVerdict(RnippRecord record, RnippVerdict verdict) {
+
+		if (maxSize <= 0) {
+			return;
+		}
+
+		synchronized (verdicts) {
+			verdicts.put(record, verdict);
+		}
+	}
+
+	private static final class RnippVerdict {
+
+		private final String rejection;
+
+		private final Instant expiresAt;
+
+		private RnippVerdict(String rejection, Instant expiresAt) {
+			this.rejection = rejection;
+			this.expiresAt = expiresAt;
+		}
 	}
 
 }
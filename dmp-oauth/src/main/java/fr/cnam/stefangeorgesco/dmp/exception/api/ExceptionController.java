@@ -2,6 +2,9 @@ package fr.cnam.stefangeorgesco.dmp.exception.api;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.validation.ConstraintViolationException;
 
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -16,6 +19,7 @@ import fr.cnam.stefangeorgesco.dmp.exception.domain.DuplicateKeyException;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.FinderException;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.UpdateException;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -64,6 +68,29 @@ public class ExceptionController {
 		return errors;
 	}
 
+	/**
+	 * Gestionnaire des erreurs de validation des paramètres des méthodes des
+	 * contrôleurs (par exemple, les listes d'objets de transfert de données
+	 * transmises dans le corps des requêtes REST).
+	 * 
+	 * @param ex l'exception {@link javax.validation.ConstraintViolationException}
+	 *           levée par une ou plusieurs erreurs de validation.
+	 * @return un objet {@link java.util.Map} donnant un texte d'erreur pour chaque
+	 *         attribut n'ayant pas respecté les contraintes de validation.
+	 */
+	@ResponseStatus(HttpStatus.NOT_ACCEPTABLE)
+	@ExceptionHandler(ConstraintViolationException.class)
+	public Map<String, String> handleConstraintViolationExceptions(ConstraintViolationException ex) {
+		Map<String, String> errors = new HashMap<>();
+		ex.getConstraintViolations().forEach((violation) -> {
+			String path = violation.getPropertyPath().toString();
+			String fieldName = path.substring(path.indexOf('.') + 1).replaceAll("(DTO|\\[|])", "").replaceAll("[.]",
+					"_");
+			errors.put(fieldName, violation.getMessage());
+		});
+		return errors;
+	}
+
 	/**
 	 * Gestionnaire des exceptions applicatives.
 	 * 
@@ -88,6 +115,27 @@ public class ExceptionController {
 		return ResponseEntity.status(status).body(response);
 	}
 
+	/**
+	 * Gestionnaire des refus d'exécution des ordonnanceurs bornés (par exemple,
+	 * l'ordonnanceur de hachage BCrypt saturé) : la requête peut être renouvelée
+	 * ultérieurement.
+	 * 
+	 * @param ex l'exception
+	 *           {@link java.util.concurrent.RejectedExecutionException} levée par
+	 *           un ordonnanceur saturé.
+	 * @return une réponse {@link fr.cnam.stefangeorgesco.dmp.api.RestResponse}
+	 *         encapsulée dans un objet org.springframework.http.ResponseEntity.
+	 */
+	@ExceptionHandler(RejectedExecutionException.class)
+	public ResponseEntity<RestResponse> handleRejectedExecutionException(RejectedExecutionException ex) {
+		RestResponse response = new RestResponse();
+		response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+		response.setMessage("Le service est momentanément surchargé, veuillez réessayer.");
+
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1")
+				.body(response);
+	}
+
 	/**
 	 * Gestionnaire des autres exceptions.
 	 * 
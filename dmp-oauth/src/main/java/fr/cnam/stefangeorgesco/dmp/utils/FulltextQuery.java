@@ -0,0 +1,76 @@
+package fr.cnam.stefangeorgesco.dmp.utils;
+
+/**
+ * Construction des phrases de recherche plein texte MySQL en mode booléen
+ * ({@code MATCH ... AGAINST (... IN BOOLEAN MODE)}) sur un index FULLTEXT avec
+ * l'analyseur ngram. La sous-chaîne recherchée est placée entre guillemets : ses
+ * n-grammes doivent alors apparaître consécutivement, ce qui reproduit la
+ * sémantique d'une recherche {@code LIKE '%...%'} sans parcourir la table.
+ * 
+ * @author Stéfan Georgesco
+ *
+ */
+public class FulltextQuery {
+
+	/**
+	 * Taille des n-grammes de l'index (variable MySQL {@code ngram_token_size},
+	 * 2 par défaut). Une sous-chaîne plus courte ne peut pas être recherchée dans
+	 * l'index.
+	 */
+	public static final int NGRAM_TOKEN_SIZE = 2;
+
+	/**
+	 * Caractère d'échappement des préfixes {@code LIKE} (clause
+	 * {@code escape '!'} des requêtes).
+	 */
+	public static final char LIKE_ESCAPE = '!';
+
+	private FulltextQuery() {
+	}
+
+	/**
+	 * Construit la phrase de recherche en mode booléen correspondant à une
+	 * sous-chaîne. Les guillemets de la sous-chaîne sont remplacés par des espaces
+	 * et les espaces consécutifs sont réduits.
+	 * 
+	 * @param keyword la sous-chaîne de recherche.
+	 * @return la phrase de recherche entre guillemets, ou {@code null} si la
+	 *         sous-chaîne est trop courte pour être recherchée dans l'index.
+	 */
+	public static String phrase(String keyword) {
+
+		if (keyword == null) {
+			return null;
+		}
+
+		String cleaned = keyword.replace('"', ' ').trim().replaceAll("\\s+", " ");
+
+		if (cleaned.length() < NGRAM_TOKEN_SIZE) {
+			return null;
+		}
+
+		return '"' + cleaned + '"';
+	}
+
+	/**
+	 * Construit le préfixe d'une recherche {@code like concat(:keyword, '%')
+	 * escape '!'} : les caractères génériques {@code %} et {@code _} et le
+	 * caractère d'échappement de la sous-chaîne sont échappés.
+	 * 
+	 * @param keyword la sous-chaîne de recherche.
+	 * @return le préfixe échappé, sans les espaces de début et de fin.
+	 */
+	public static String likePrefix(String keyword) {
+
+		StringBuilder prefix = new StringBuilder();
+
+		for (char c : keyword.trim().toCharArray()) {
+			if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+				prefix.append(LIKE_ESCAPE);
+			}
+			prefix.append(c);
+		}
+
+		return prefix.toString();
+	}
+}
@@ -0,0 +1,122 @@
+package fr.cnam.stefangeorgesco.dmp.utils;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Arbre préfixe (trie) immuable sur une liste de clés triées par ordre
+ * lexicographique. Chaque nœud mémorise l'intervalle des positions des clés
+ * qui commencent par le préfixe qu'il représente : la recherche par préfixe
+ * renvoie donc un intervalle de positions, en un temps proportionnel à la
+ * longueur du préfixe.
+ * 
+ * Les fils de chaque nœud sont stockés dans des tableaux triés (recherche
+ * dichotomique), ce qui garde l'arbre compact pour des codes hiérarchiques
+ * comme ceux de la CIM-10.
+ * 
+ * @author Stéfan Georgesco
+ *
+ */
+public class PrefixTree {
+
+	private final Node root;
+
+	/**
+	 * Construit l'arbre.
+	 * 
+	 * @param sortedKeys les clés, normalisées et triées par ordre
+	 *                   lexicographique.
+	 */
+	public PrefixTree(List<String> sortedKeys) {
+		root = build(sortedKeys, 0, sortedKeys.size(), 0);
+	}
+
+	/**
+	 * Recherche les clés commençant par le préfixe fourni.
+	 * 
+	 * @param prefix le préfixe, normalisé.
+	 * @return l'intervalle {@code [début, fin[} des positions des clés trouvées
+	 *         (intervalle vide si aucune clé ne commence par le préfixe).
+	 */
+	public int[] prefixRange(String prefix) {
+
+		Node node = root;
+
+		for (int i = 0; i < prefix.length() && node != null; i++) {
+			int child = Arrays.binarySearch(node.labels, prefix.charAt(i));
+			node = child >= 0 ? node.children[child] : null;
+		}
+
+		return node == null ? new int[] { 0, 0 } : new int[] { node.start, node.end };
+	}
+
+	/**
+	 * Recherche la position de la clé égale à la chaîne fournie.
+	 * 
+	 * @param key la clé, normalisée.
+	 * @return la position de la clé, ou -1 si elle n'existe pas.
+	 */
+	public int indexOf(String key) {
+
+		Node node = root;
+
+		for (int i = 0; i < key.length() && node != null; i++) {
+			int child = Arrays.binarySearch(node.labels, key.charAt(i));
+			node = child >= 0 ? node.children[child] : null;
+		}
+
+		return node == null ? -1 : node.terminal;
+	}
+
+	private static Node build(List<String> keys, int start, int end, int depth) {
+
+		Node node = new Node(start, end);
+		int position = start;
+
+		if (position < end && keys.get(position).length() == depth) {
+			node.terminal = position;
+			while (position < end && keys.get(position).length() == depth) {
+				position++;
+			}
+		}
+
+		int childCount = 0;
+		char[] labels = new char[end - position];
+		Node[] children = new Node[end - position];
+
+		while (position < end) {
+			char label = keys.get(position).charAt(depth);
+			int childEnd = position;
+			while (childEnd < end && keys.get(childEnd).charAt(depth) == label) {
+				childEnd++;
+			}
+			labels[childCount] = label;
+			children[childCount] = build(keys, position, childEnd, depth + 1);
+			childCount++;
+			position = childEnd;
+		}
+
+		node.labels = Arrays.copyOf(labels, childCount);
+		node.children = Arrays.copyOf(children, childCount);
+
+		return node;
+	}
+
+	private static final class Node {
+
+		private final int start;
+
+		private final int end;
+
+		private int terminal = -1;
+
+		private char[] labels;
+
+		private Node[] children;
+
+		private Node(int start, int end) {
+			this.start = start;
+			this.end = end;
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package fr.cnam.stefangeorgesco.dmp.utils;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Conteneur d'un index en mémoire construit à partir de données de référence
+ * (nomenclatures). L'index est reconstruit lorsque la signature des données
+ * (par exemple nombre d'enregistrements et date de dernière modification)
+ * change. La signature est vérifiée au plus une fois par intervalle ; pendant
+ * une reconstruction, les autres appels continuent d'utiliser l'index
+ * précédent. La signature n'est enregistrée qu'après une reconstruction
+ * réussie : après un échec, la reconstruction est tentée de nouveau.
+ * 
+ * @param <T> le type de l'index.
+ * 
+ * @author Stéfan Georgesco
+ *
+ */
+public class ReloadableIndex<T> {
+
+	private final Supplier<Object> signatureSupplier;
+
+	private final Supplier<T> loader;
+
+	private final long checkIntervalNanos;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private volatile T index;
+
+	private volatile Object signature;
+
+	private volatile long nextCheck;
+
+	/**
+	 * @param signatureSupplier fournit la signature courante des données.
+	 * @param loader            construit l'index à partir des données.
+	 * @param checkInterval     l'intervalle minimum entre deux vérifications de
+	 *                          la signature.
+	 */
+	public ReloadableIndex(Supplier<Object> signatureSupplier, Supplier<T> loader, Duration checkInterval) {
+		this.signatureSupplier = signatureSupplier;
+		this.loader = loader;
+		this.checkIntervalNanos = checkInterval.toNanos();
+	}
+
+	/**
+	 * Renvoie l'index courant, après l'avoir reconstruit si l'intervalle de
+	 * vérification est écoulé et que les données ont changé.
+	 * 
+	 * @return l'index courant.
+	 */
+	public T get() {
+
+		T current = index;
+
+		if (current == null) {
+			lock.lock();
+			try {
+				if (index == null) {
+					reloadLocked();
+				}
+				return index;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		if (System.nanoTime() - nextCheck >= 0 && lock.tryLock()) {
+			try {
+				if (System.nanoTime() - nextCheck >= 0) {
+					Object currentSignature = signatureSupplier.get();
+					if (!Objects.equals(signature, currentSignature)) {
+						index = loader.get();
+						signature = currentSignature;
+					}
+					nextCheck = System.nanoTime() + checkIntervalNanos;
+				}
+			} finally {
+				lock.unlock();
+			}
+			return index;
+		}
+
+		return current;
+	}
+
+	/**
+	 * Reconstruit l'index sans condition.
+	 */
+	public void reload() {
+
+		lock.lock();
+		try {
+			reloadLocked();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void reloadLocked() {
+		Object currentSignature = signatureSupplier.get();
+		index = loader.get();
+		signature = currentSignature;
+		nextCheck = System.nanoTime() + checkIntervalNanos;
+	}
+}
@@ -0,0 +1,267 @@
+package fr.cnam.stefangeorgesco.dmp.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Filtre des requêtes d'un client WebClient vers un service externe : délai
+ * maximum par requête, cloison (nombre maximum de requêtes simultanées) et
+ * disjoncteur.
+ *
+ * Le délai et la cloison portent sur la requête entière, lecture du corps de la
+ * réponse comprise : une requête dont la réponse n'est pas entièrement reçue
+ * dans le délai imparti est abandonnée avec une
+ * {@link WebClientRequestException}, et une requête occupe une place de la
+ * cloison jusqu'à la fin de la lecture du corps. Au-delà de
+ * {@code maxConcurrentCalls} requêtes en cours, les nouvelles requêtes sont
+ * refusées immédiatement. Après
+ * {@code failureThreshold} échecs consécutifs (erreur de connexion, délai
+ * dépassé, réponse 5xx), le disjoncteur s'ouvre et les requêtes sont refusées
+ * immédiatement pendant {@code openDuration} ; une requête d'essai est alors
+ * autorisée, qui referme le disjoncteur si elle réussit et le rouvre sinon.
+ * Les requêtes refusées se terminent en erreur avec une
+ * {@link CallNotPermittedException}.
+ *
+ * Chaque requête compte au plus une fois pour le disjoncteur : en échec dès la
+ * réception d'une réponse 5xx, sinon à la fin de la lecture du corps (succès,
+ * ou échec si la lecture échoue) ; une requête annulée ou sans réponse ne
+ * compte pas. Le résultat d'une requête émise avant un changement d'état du
+ * disjoncteur est ignoré.
+ *
+ * L'état du disjoncteur (0 fermé, 1 ouvert, 2 essai) est publié par la mesure
+ * {@code http.client.circuit.state} et les refus par la mesure
+ * {@code http.client.rejected} (motif {@code bulkhead} ou
+ * {@code circuit-open}), étiquetées par le nom du client.
+ *
+ * @author Stéfan Georgesco
+ *
+ */
+public class ResilientExchangeFilter implements ExchangeFilterFunction {
+
+	private enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private final String name;
+
+	private final Duration deadline;
+
+	private final Semaphore bulkhead;
+
+	private final int failureThreshold;
+
+	private final long openDurationNanos;
+
+	private final Counter bulkheadRejections;
+
+	private final Counter circuitOpenRejections;
+
+	private State state = State.CLOSED;
+
+	private int consecutiveFailures;
+
+	private long openedAt;
+
+	private boolean trialInFlight;
+
+	private long generation;
+
+	public ResilientExchangeFilter(String name, Duration deadline, int maxConcurrentCalls, int failureThreshold,
+			Duration openDuration, MeterRegistry meterRegistry) {
+		this.name = name;
+		this.deadline = deadline;
+		this.bulkhead = new Semaphore(maxConcurrentCalls);
+		this.failureThreshold = failureThreshold;
+		this.openDurationNanos = openDuration.toNanos();
+		Gauge.builder("http.client.circuit.state", this, filter -> filter.state().ordinal()).tag("client", name)
+				.description("État du disjoncteur (0 fermé, 1 ouvert, 2 essai)").register(meterRegistry);
+		this.bulkheadRejections = Counter.builder("http.client.rejected").tag("client", name)
+				.tag("reason", "bulkhead").register(meterRegistry);
+		this.circuitOpenRejections = Counter.builder("http.client.rejected").tag("client", name)
+				.tag("reason", "circuit-open").register(meterRegistry);
+	}
+
+	@Override
+	public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+		return Mono.defer(() -> {
+			Call call = tryAcquirePermission();
+			if (call == null) {
+				circuitOpenRejections.increment();
+				return Mono.error(new CallNotPermittedException(
+						"Le service " + name + " est indisponible (disjoncteur ouvert)."));
+			}
+			if (!bulkhead.tryAcquire()) {
+				call.abandoned();
+				bulkheadRejections.increment();
+				return Mono.error(new CallNotPermittedException(
+						"Le service " + name + " est saturé (requêtes simultanées)."));
+			}
+			long deadlineAt = System.nanoTime() + deadline.toNanos();
+			return next.exchange(request)
+					.timeout(deadline)
+					.onErrorMap(TimeoutException.class, e -> requestException(e, request))
+					.doOnSuccess(response -> {
+						if (response == null) {
+							call.abandoned();
+							call.release();
+						} else if (response.statusCode().is5xxServerError()) {
+							call.failed();
+						}
+					})
+					.doOnError(e -> {
+						call.failed();
+						call.release();
+					})
+					.doOnCancel(() -> {
+						call.abandoned();
+						call.release();
+					})
+					.map(response -> response.mutate()
+							.body(body -> body
+									.takeUntilOther(Mono.delay(Duration.ofNanos(Math.max(0, deadlineAt - System.nanoTime())))
+											.then(Mono.error(() -> new TimeoutException(
+													"Corps de la réponse non reçu dans le délai imparti."))))
+									.onErrorMap(TimeoutException.class, e -> requestException(e, request))
+									.doOnComplete(call::succeeded)
+									.doOnError(e -> call.failed())
+									.doOnCancel(call::abandoned)
+									.doOnTerminate(call::release)
+									.doOnCancel(call::release))
+							.build());
+		});
+	}
+
+	private static WebClientRequestException requestException(Throwable e, ClientRequest request) {
+		return new WebClientRequestException(e, request.method(), request.url(), request.headers());
+	}
+
+	private synchronized State state() {
+		return state;
+	}
+
+	private synchronized Call tryAcquirePermission() {
+		switch (state) {
+		case OPEN:
+			if (System.nanoTime() - openedAt < openDurationNanos) {
+				return null;
+			}
+			state = State.HALF_OPEN;
+			generation++;
+			trialInFlight = true;
+			return new Call(generation, true);
+		case HALF_OPEN:
+			if (trialInFlight) {
+				return null;
+			}
+			trialInFlight = true;
+			return new Call(generation, true);
+		default:
+			return new Call(generation, false);
+		}
+	}
+
+	private synchronized void releasePermission(Call call) {
+		if (call.trial && call.generation == generation) {
+			trialInFlight = false;
+		}
+	}
+
+	private synchronized void onSuccess(Call call) {
+		if (call.generation != generation) {
+			return;
+		}
+		if (call.trial) {
+			state = State.CLOSED;
+			generation++;
+			trialInFlight = false;
+		}
+		consecutiveFailures = 0;
+	}
+
+	private synchronized void onFailure(Call call) {
+		if (call.generation != generation) {
+			return;
+		}
+		consecutiveFailures++;
+		if (call.trial || consecutiveFailures >= failureThreshold) {
+			state = State.OPEN;
+			generation++;
+			openedAt = System.nanoTime();
+			trialInFlight = false;
+			consecutiveFailures = 0;
+		}
+	}
+
+	/**
+	 * Requête autorisée : état du disjoncteur au début de la requête, résultat
+	 * compté une seule fois et place de la cloison libérée une seule fois.
+	 */
+	private final class Call {
+
+		private final long generation;
+
+		private final boolean trial;
+
+		private final AtomicBoolean settled = new AtomicBoolean();
+
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		private Call(long generation, boolean trial) {
+			this.generation = generation;
+			this.trial = trial;
+		}
+
+		private void succeeded() {
+			if (settled.compareAndSet(false, true)) {
+				onSuccess(this);
+			}
+		}
+
+		private void failed() {
+			if (settled.compareAndSet(false, true)) {
+				onFailure(this);
+			}
+		}
+
+		private void abandoned() {
+			if (settled.compareAndSet(false, true)) {
+				releasePermission(this);
+			}
+		}
+
+		private void release() {
+			if (released.compareAndSet(false, true)) {
+				bulkhead.release();
+			}
+		}
+
+	}
+
+	/**
+	 * Exception levée par une requête refusée par la cloison ou par le disjoncteur
+	 * d'un client WebClient, sans appel au service externe.
+	 */
+	public static class CallNotPermittedException extends WebClientException {
+
+		private static final long serialVersionUID = 1L;
+
+		public CallNotPermittedException(String message) {
+			super(message);
+		}
+
+	}
+
+}
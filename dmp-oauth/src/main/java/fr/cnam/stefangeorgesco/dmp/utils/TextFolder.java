@@ -0,0 +1,49 @@
+package fr.cnam.stefangeorgesco.dmp.utils;
+
+import java.text.Normalizer;
+
+/**
+ * Normalisation des chaînes de caractères pour la recherche : suppression des
+ * accents et autres signes diacritiques, passage en minuscules, décomposition
+ * des ligatures (« œ » devient « oe ») et uniformisation des apostrophes.
+ * 
+ * @author Stéfan Georgesco
+ *
+ */
+public class TextFolder {
+
+	private TextFolder() {
+	}
+
+	/**
+	 * Normalise une chaîne de caractères pour la recherche.
+	 * 
+	 * @param text la chaîne à normaliser.
+	 * @return la chaîne normalisée, ou une chaîne vide si {@code text} est
+	 *         {@code null}.
+	 */
+	public static String fold(String text) {
+
+		if (text == null) {
+			return "";
+		}
+
+		String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+		StringBuilder folded = new StringBuilder(decomposed.length());
+
+		for (int i = 0; i < decomposed.length(); i++) {
+			char c = decomposed.charAt(i);
+			if (Character.getType(c) == Character.NON_SPACING_MARK) {
+				continue;
+			}
+			switch (c) {
+			case 'œ', 'Œ' -> folded.append("oe");
+			case 'æ', 'Æ' -> folded.append("ae");
+			case '’', '‘' -> folded.append('\'');
+			default -> folded.append(Character.toLowerCase(c));
+			}
+		}
+
+		return folded.toString();
+	}
+}
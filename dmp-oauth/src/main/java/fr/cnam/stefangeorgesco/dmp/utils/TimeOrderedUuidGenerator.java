@@ -0,0 +1,68 @@
+package fr.cnam.stefangeorgesco.dmp.utils;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.io.Serializable;
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Générateur d'identifiants UUID ordonnés dans le temps (version 7) : les 48
+ * premiers bits contiennent l'horodatage en millisecondes et les 12 bits
+ * suivants un compteur, de sorte que les identifiants successifs sont
+ * croissants, y compris dans une même milliseconde. Stockés en
+ * {@code BINARY(16)}, les nouveaux identifiants sont ajoutés en fin d'index
+ * plutôt que répartis dans tout l'index.
+ * 
+ * @author Stéfan Georgesco
+ *
+ */
+public class TimeOrderedUuidGenerator implements IdentifierGenerator {
+
+	private static final SecureRandom random = new SecureRandom();
+
+	private static final int MAX_COUNTER = 0xFFF;
+
+	private static long lastTimestamp;
+
+	private static int counter;
+
+	/**
+	 * Génère un nouvel identifiant.
+	 * 
+	 * @return l'identifiant UUID de version 7.
+	 */
+	public static UUID nextUuid() {
+
+		long timestamp;
+		int sequence;
+
+		synchronized (TimeOrderedUuidGenerator.class) {
+			timestamp = Math.max(System.currentTimeMillis(), lastTimestamp);
+			if (timestamp == lastTimestamp) {
+				if (counter == MAX_COUNTER) {
+					timestamp++;
+					counter = random.nextInt(MAX_COUNTER / 2);
+				} else {
+					counter++;
+				}
+			} else {
+				counter = random.nextInt(MAX_COUNTER / 2);
+			}
+			lastTimestamp = timestamp;
+			sequence = counter;
+		}
+
+		long mostSigBits = (timestamp << 16) | 0x7000L | sequence;
+		long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+
+		return new UUID(mostSigBits, leastSigBits);
+	}
+
+	@Override
+	public Serializable generate(SharedSessionContractImplementor session, Object object) {
+		return nextUuid();
+	}
+
+}
@@ -0,0 +1,196 @@
+package fr.cnam.stefangeorgesco.dmp.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntPredicate;
+
+/**
+ * Index immuable des mots (suites de lettres et de chiffres) d'une liste de
+ * textes, permettant la recherche de sous-chaînes. Les suffixes des mots
+ * distincts sont triés : les mots contenant un fragment de la chaîne
+ * recherchée sont obtenus par recherche dichotomique, puis les textes
+ * candidats sont vérifiés. Les résultats sont renvoyés dans l'ordre de la liste
+ * fournie à la construction.
+ * 
+ * Les textes et les chaînes recherchées doivent être normalisés au préalable
+ * (voir {@link TextFolder}).
+ * 
+ * @author Stéfan Georgesco
+ *
+ */
+public class TokenIndex {
+
+	private static final int[] NO_RESULTS = new int[0];
+
+	private final String[] texts;
+
+	private final String[] tokens;
+
+	private final int[][] postings;
+
+	private final int[] suffixTokens;
+
+	private final int[] suffixOffsets;
+
+	/**
+	 * Construit l'index.
+	 * 
+	 * @param texts les textes normalisés à indexer.
+	 */
+	public TokenIndex(List<String> texts) {
+
+		this.texts = texts.toArray(new String[0]);
+
+		Map<String, List<Integer>> builder = new TreeMap<>();
+
+		for (int doc = 0; doc < this.texts.length; doc++) {
+			for (String token : tokenize(this.texts[doc])) {
+				List<Integer> docs = builder.computeIfAbsent(token, k -> new ArrayList<>());
+				if (docs.isEmpty() || docs.get(docs.size() - 1) != doc) {
+					docs.add(doc);
+				}
+			}
+		}
+
+		tokens = builder.keySet().toArray(new String[0]);
+		postings = new int[tokens.length][];
+
+		int suffixCount = 0;
+		int tokenId = 0;
+		for (List<Integer> docs : builder.values()) {
+			postings[tokenId] = docs.stream().mapToInt(Integer::intValue).toArray();
+			suffixCount += tokens[tokenId].length();
+			tokenId++;
+		}
+
+		Integer[] suffixes = new Integer[suffixCount];
+		int[] owners = new int[suffixCount];
+		int[] offsets = new int[suffixCount];
+		int s = 0;
+		for (int t = 0; t < tokens.length; t++) {
+			for (int offset = 0; offset < tokens[t].length(); offset++) {
+				suffixes[s] = s;
+				owners[s] = t;
+				offsets[s] = offset;
+				s++;
+			}
+		}
+
+		Arrays.sort(suffixes, (a, b) -> compareSuffixes(tokens[owners[a]], offsets[a], tokens[owners[b]], offsets[b]));
+
+		suffixTokens = new int[suffixCount];
+		suffixOffsets = new int[suffixCount];
+		for (int i = 0; i < suffixCount; i++) {
+			suffixTokens[i] = owners[suffixes[i]];
+			suffixOffsets[i] = offsets[suffixes[i]];
+		}
+	}
+
+	/**
+	 * Recherche les textes contenant la chaîne normalisée fournie.
+	 * 
+	 * @param query  la chaîne recherchée, normalisée.
+	 * @param limit  le nombre maximum de résultats.
+	 * @param accept filtre appliqué aux positions des textes candidats.
+	 * @return les positions des textes trouvés, dans l'ordre croissant.
+	 */
+	public int[] search(String query, int limit, IntPredicate accept) {
+
+		if (limit <= 0 || query.isEmpty()) {
+			return NO_RESULTS;
+		}
+
+		String fragment = "";
+		for (String token : tokenize(query)) {
+			if (token.length() > fragment.length()) {
+				fragment = token;
+			}
+		}
+
+		int[] results = new int[Math.min(limit, texts.length)];
+		int count = 0;
+
+		if (fragment.isEmpty()) {
+			for (int doc = 0; doc < texts.length && count < results.length; doc++) {
+				if (accept.test(doc) && texts[doc].contains(query)) {
+					results[count++] = doc;
+				}
+			}
+			return Arrays.copyOf(results, count);
+		}
+
+		BitSet candidates = new BitSet(texts.length);
+		for (int i = lowerBound(fragment); i < suffixTokens.length && startsWith(i, fragment); i++) {
+			for (int doc : postings[suffixTokens[i]]) {
+				candidates.set(doc);
+			}
+		}
+
+		for (int doc = candidates.nextSetBit(0); doc >= 0 && count < results.length; doc = candidates
+				.nextSetBit(doc + 1)) {
+			if (accept.test(doc) && texts[doc].contains(query)) {
+				results[count++] = doc;
+			}
+		}
+
+		return Arrays.copyOf(results, count);
+	}
+
+	private int lowerBound(String fragment) {
+
+		int low = 0;
+		int high = suffixTokens.length;
+
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (compareSuffixes(tokens[suffixTokens[middle]], suffixOffsets[middle], fragment, 0) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+
+		return low;
+	}
+
+	private boolean startsWith(int suffix, String fragment) {
+		return tokens[suffixTokens[suffix]].startsWith(fragment, suffixOffsets[suffix]);
+	}
+
+	private static int compareSuffixes(String a, int offsetA, String b, int offsetB) {
+
+		int lengthA = a.length() - offsetA;
+		int lengthB = b.length() - offsetB;
+
+		for (int i = 0; i < Math.min(lengthA, lengthB); i++) {
+			int diff = a.charAt(offsetA + i) - b.charAt(offsetB + i);
+			if (diff != 0) {
+				return diff;
+			}
+		}
+
+		return lengthA - lengthB;
+	}
+
+	private static List<String> tokenize(String text) {
+
+		List<String> tokens = new ArrayList<>();
+		int start = -1;
+
+		for (int i = 0; i <= text.length(); i++) {
+			boolean letterOrDigit = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+			if (letterOrDigit && start < 0) {
+				start = i;
+			} else if (!letterOrDigit && start >= 0) {
+				tokens.add(text.substring(start, i));
+				start = -1;
+			}
+		}
+
+		return tokens;
+	}
+}
@@ -0,0 +1,132 @@
+package fr.cnam.stefangeorgesco.dmp.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Index immuable de trigrammes pour la recherche de sous-chaînes dans une
+ * liste de textes. Chaque texte est désigné par sa position dans la liste
+ * fournie à la construction ; les résultats sont toujours renvoyés dans l'ordre
+ * de cette liste.
+ * 
+ * Les textes et les chaînes recherchées doivent être normalisés au préalable
+ * (voir {@link TextFolder}). Les candidats obtenus par intersection des listes
+ * de trigrammes sont vérifiés, le résultat est donc exact.
+ * 
+ * @author Stéfan Georgesco
+ *
+ */
+public class TrigramIndex {
+
+	private static final int[] NO_POSTINGS = new int[0];
+
+	private final String[] texts;
+
+	private final Map<Long, int[]> postings;
+
+	/**
+	 * Construit l'index.
+	 * 
+	 * @param texts les textes normalisés à indexer.
+	 */
+	public TrigramIndex(List<String> texts) {
+
+		this.texts = texts.toArray(new String[0]);
+
+		Map<Long, List<Integer>> builder = new HashMap<>();
+
+		for (int doc = 0; doc < this.texts.length; doc++) {
+			String text = this.texts[doc];
+			for (int i = 0; i + 3 <= text.length(); i++) {
+				List<Integer> docs = builder.computeIfAbsent(trigram(text, i), k -> new ArrayList<>());
+				if (docs.isEmpty() || docs.get(docs.size() - 1) != doc) {
+					docs.add(doc);
+				}
+			}
+		}
+
+		this.postings = new HashMap<>(builder.size() * 4 / 3 + 1);
+		builder.forEach((key, docs) -> postings.put(key, docs.stream().mapToInt(Integer::intValue).toArray()));
+	}
+
+	/**
+	 * @return le nombre de textes indexés.
+	 */
+	public int size() {
+		return texts.length;
+	}
+
+	/**
+	 * Recherche les textes contenant la chaîne normalisée fournie.
+	 * 
+	 * @param query  la chaîne recherchée, normalisée.
+	 * @param limit  le nombre maximum de résultats.
+	 * @param accept filtre appliqué aux positions des textes candidats.
+	 * @return les positions des textes trouvés, dans l'ordre croissant.
+	 */
+	public int[] search(String query, int limit, IntPredicate accept) {
+
+		if (limit <= 0 || query.isEmpty()) {
+			return NO_POSTINGS;
+		}
+
+		int[] results = new int[Math.min(limit, texts.length)];
+		int count = 0;
+
+		if (query.length() < 3) {
+			for (int doc = 0; doc < texts.length && count < results.length; doc++) {
+				if (accept.test(doc) && texts[doc].contains(query)) {
+					results[count++] = doc;
+				}
+			}
+			return Arrays.copyOf(results, count);
+		}
+
+		int[][] lists = new int[query.length() - 2][];
+
+		for (int i = 0; i < lists.length; i++) {
+			lists[i] = postings.getOrDefault(trigram(query, i), NO_POSTINGS);
+			if (lists[i].length == 0) {
+				return NO_POSTINGS;
+			}
+		}
+
+		Arrays.sort(lists, (a, b) -> Integer.compare(a.length, b.length));
+
+		int[] cursors = new int[lists.length];
+
+		candidates:
+		for (int doc : lists[0]) {
+			for (int l = 1; l < lists.length; l++) {
+				int[] list = lists[l];
+				int cursor = cursors[l];
+				while (cursor < list.length && list[cursor] < doc) {
+					cursor++;
+				}
+				cursors[l] = cursor;
+				if (cursor == list.length) {
+					break candidates;
+				}
+				if (list[cursor] != doc) {
+					continue candidates;
+				}
+			}
+			if (accept.test(doc) && texts[doc].contains(query)) {
+				results[count++] = doc;
+				if (count == results.length) {
+					break;
+				}
+			}
+		}
+
+		return Arrays.copyOf(results, count);
+	}
+
+	private static long trigram(String text, int start) {
+		return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+	}
+}
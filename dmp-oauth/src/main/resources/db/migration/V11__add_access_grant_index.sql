@@ -0,0 +1 @@
+create index idx_correspondence_access_grant on t_correspondence (patient_file_id, doctor_id, date_until);
@@ -0,0 +1 @@
+create fulltext index ftx_file_name on t_file (firstname, lastname) with parser ngram;
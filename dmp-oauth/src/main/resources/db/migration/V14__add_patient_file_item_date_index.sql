@@ -0,0 +1,3 @@
+create index idx_patient_file_item_date on t_patient_file_item (patient_file_id, date);
+alter table t_patient_file_item drop index FKmv9senx13a9vhmy2xhe7m6t1e;
+alter table t_correspondence drop index FK_patient_file_id;
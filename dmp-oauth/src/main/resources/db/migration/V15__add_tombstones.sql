@@ -0,0 +1,10 @@
+DROP TABLE IF EXISTS `t_tombstone`;
+
+CREATE TABLE `t_tombstone` (
+  `id` BINARY(16) NOT NULL,
+  `entity_type` VARCHAR(20) NOT NULL,
+  `patient_file_id` VARCHAR(255) NOT NULL,
+  `deleted_date` TIMESTAMP NOT NULL,
+  PRIMARY KEY (`id`),
+  KEY `idx_tombstone_patient_file` (`patient_file_id`, `deleted_date`)
+) ENGINE=InnoDB;
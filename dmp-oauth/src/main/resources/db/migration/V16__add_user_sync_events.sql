@@ -0,0 +1,17 @@
+DROP TABLE IF EXISTS `t_user_sync_event`;
+
+CREATE TABLE `t_user_sync_event` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT,
+  `user_id` VARCHAR(255) NOT NULL,
+  `event_type` VARCHAR(20) NOT NULL,
+  `firstname` VARCHAR(255),
+  `lastname` VARCHAR(255),
+  `email` VARCHAR(255),
+  `created_date` TIMESTAMP NOT NULL,
+  `attempts` INT NOT NULL DEFAULT 0,
+  `next_attempt_date` TIMESTAMP NOT NULL,
+  `last_error` VARCHAR(255),
+  PRIMARY KEY (`id`),
+  KEY `idx_user_sync_event_next_attempt` (`next_attempt_date`),
+  KEY `idx_user_sync_event_user` (`user_id`, `id`)
+) ENGINE=InnoDB;
@@ -0,0 +1 @@
+create index idx_correspondence_date on t_correspondence (patient_file_id, date_until);
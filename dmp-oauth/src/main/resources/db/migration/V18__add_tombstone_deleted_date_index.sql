@@ -0,0 +1 @@
+create index idx_tombstone_deleted_date on t_tombstone (deleted_date);
@@ -0,0 +1,4 @@
+alter table t_file modify column created_date timestamp(6) null, modify column last_modified_date timestamp(6) null;
+alter table t_correspondence modify column created_date timestamp(6) null, modify column last_modified_date timestamp(6) null;
+alter table t_patient_file_item modify column created_date timestamp(6) null, modify column last_modified_date timestamp(6) null;
+alter table t_tombstone modify column deleted_date timestamp(6) not null;
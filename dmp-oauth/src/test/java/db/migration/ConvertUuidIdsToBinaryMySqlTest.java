@@ -0,0 +1,157 @@
+package db.migration;
+
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Conversion des identifiants par la migration
+ * {@link V13__convert_uuid_ids_to_binary}, exécutée sur MySQL : ces tests ne
+ * s'exécutent que si la variable d'environnement {@code DMP_TEST_MYSQL_URL}
+ * désigne une base de test (voir {@code application-mysql.properties}).
+ */
+@EnabledIfEnvironmentVariable(named = "DMP_TEST_MYSQL_URL", matches = ".+")
+public class ConvertUuidIdsToBinaryMySqlTest {
+
+	private static final String TABLE = "t_v13_conversion_check";
+
+	private static final int ROWS = 2500;
+
+	private V13__convert_uuid_ids_to_binary migration;
+
+	private Connection connection;
+
+	private List<UUID> ids;
+
+	@BeforeEach
+	public void setup() throws SQLException {
+		migration = new V13__convert_uuid_ids_to_binary();
+		connection = DriverManager.getConnection(System.getenv("DMP_TEST_MYSQL_URL"),
+				env("DMP_TEST_MYSQL_ADMIN_USERNAME", "dmp-oauth-admin"), env("DMP_TEST_MYSQL_ADMIN_PASSWORD", "password"));
+
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("drop table if exists " + TABLE);
+			statement.execute("create table " + TABLE + " (id varchar(255) not null, label varchar(255), primary key (id))");
+		}
+
+		ids = new ArrayList<>();
+		try (PreparedStatement insert = connection.prepareStatement("insert into " + TABLE + " values (?, ?)")) {
+			for (int i = 0; i < ROWS; i++) {
+				UUID id = UUID.randomUUID();
+				ids.add(id);
+				insert.setString(1, id.toString());
+				insert.setString(2, "label " + i);
+				insert.addBatch();
+			}
+			insert.executeBatch();
+		}
+	}
+
+	@AfterEach
+	public void tearDown() throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("drop table if exists " + TABLE);
+		}
+		connection.close();
+	}
+
+	private static String env(String name, String defaultValue) {
+		String value = System.getenv(name);
+		return value != null ? value : defaultValue;
+	}
+
+	private Set<UUID> readIds() throws SQLException {
+		Set<UUID> readIds = new HashSet<>();
+		try (Statement statement = connection.createStatement();
+				ResultSet resultSet = statement.executeQuery("select id from " + TABLE)) {
+			while (resultSet.next()) {
+				ByteBuffer bytes = ByteBuffer.wrap(resultSet.getBytes(1));
+				readIds.add(new UUID(bytes.getLong(), bytes.getLong()));
+			}
+		}
+		return readIds;
+	}
+
+	@Test
+	public void testConvertedIdsRoundTrip() throws SQLException {
+
+		migration.convert(connection, TABLE);
+
+		assertEquals(new HashSet<>(ids), readIds());
+
+		try (PreparedStatement select = connection
+				.prepareStatement("select label from " + TABLE + " where id = unhex(replace(?, '-', ''))")) {
+			select.setString(1, ids.get(ROWS / 2).toString());
+			try (ResultSet resultSet = select.executeQuery()) {
+				assertTrue(resultSet.next());
+				assertEquals("label " + ROWS / 2, resultSet.getString(1));
+			}
+		}
+	}
+
+	@Test
+	public void testInterruptedConversionIsResumed() throws SQLException {
+
+		// état laissé par une exécution interrompue après la conversion d'une partie des lignes
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("alter table " + TABLE + " add column id_bin binary(16) null after id");
+			statement.execute("update " + TABLE + " set id_bin = unhex(replace(id, '-', '')) order by id limit 1000");
+		}
+
+		migration.convert(connection, TABLE);
+		migration.convert(connection, TABLE);
+
+		assertEquals(new HashSet<>(ids), readIds());
+	}
+
+	@Test
+	public void testMigrationIsNoOpOnMigratedSchema() throws Exception {
+
+		// schéma de la base de test déjà migré par Flyway (profil mysql)
+		try (Statement statement = connection.createStatement();
+				ResultSet resultSet = statement.executeQuery("select data_type from information_schema.columns "
+						+ "where table_schema = database() and table_name = 't_patient_file_item' and column_name = 'id'")) {
+			assumeTrue(resultSet.next() && "binary".equalsIgnoreCase(resultSet.getString(1)));
+		}
+
+		migration.migrate(new Context() {
+
+			@Override
+			public Configuration getConfiguration() {
+				return null;
+			}
+
+			@Override
+			public Connection getConnection() {
+				return connection;
+			}
+		});
+
+		try (Statement statement = connection.createStatement();
+				ResultSet resultSet = statement.executeQuery("select count(*) from information_schema.table_constraints "
+						+ "where table_schema = database() and constraint_name like 'FK_patient_file_item_%'")) {
+			assertTrue(resultSet.next());
+			assertEquals(5, resultSet.getInt(1));
+		}
+	}
+
+}
@@ -280,11 +280,11 @@ public class CorrespondenceControllerIntegrationTest {
 
 		mockMvc.perform(get("/patient-file/P006/correspondence")).andExpect(status().isOk())
 				.andExpect(content().contentType(MediaType.APPLICATION_JSON)).andExpect(jsonPath("$", hasSize(2)))
-				.andExpect(jsonPath("$[1].id", is("8ea37abc-052d-4bc3-9aa1-f9a47e366e11")))
-				.andExpect(jsonPath("$[1].doctorId", is("D001")))
-				.andExpect(jsonPath("$[1].doctorFirstname", is("John")))
-				.andExpect(jsonPath("$[1].doctorLastname", is("Smith")))
-				.andExpect(jsonPath("$[1].dateUntil", is("2027-05-07")));
+				.andExpect(jsonPath("$[0].id", is("8ea37abc-052d-4bc3-9aa1-f9a47e366e11")))
+				.andExpect(jsonPath("$[0].doctorId", is("D001")))
+				.andExpect(jsonPath("$[0].doctorFirstname", is("John")))
+				.andExpect(jsonPath("$[0].doctorLastname", is("Smith")))
+				.andExpect(jsonPath("$[0].dateUntil", is("2027-05-07")));
 	}
 
 	@Test
@@ -306,6 +306,34 @@ public class CorrespondenceControllerIntegrationTest {
 				.andExpect(jsonPath("$.message", is("L'utilisateur n'est pas le médecin référent ou correspondant.")));
 	}
 
+	@Test
+	@WithMockUser(username="D001",roles={"DOCTOR"})
+	public void testFindCorrespondancesByPatientFileIdNotModified() throws Exception {
+
+		String eTag = mockMvc.perform(get("/patient-file/P001/correspondence")).andExpect(status().isOk())
+				.andExpect(header().exists("ETag")).andReturn().getResponse().getHeader("ETag");
+
+		mockMvc.perform(get("/patient-file/P001/correspondence").header("If-None-Match", eTag))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+	}
+
+	@Test
+	@WithMockUser(username="D001",roles={"DOCTOR"})
+	public void testFindCorrespondancesByPatientFileIdModifiedAfterDelete() throws Exception {
+
+		String eTag = mockMvc.perform(get("/patient-file/P001/correspondence")).andExpect(status().isOk())
+				.andReturn().getResponse().getHeader("ETag");
+
+		mockMvc.perform(delete("/patient-file/P001/correspondence/e1eb3425-d257-4c5e-8600-b125731c458c"))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(get("/patient-file/P001/correspondence").header("If-None-Match", eTag))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", not(eTag)))
+				.andExpect(jsonPath("$", hasSize(2)));
+	}
+
 	@Test
 	@WithMockUser(username="P001",roles={"PATIENT"})
 	public void testFindCorrespondancesByPatientFileIdFailureBadRolePatient() throws Exception {
@@ -340,6 +368,17 @@ public class CorrespondenceControllerIntegrationTest {
 				.andExpect(jsonPath("$[0].dateUntil", is("2023-05-02")));
 	}
 
+	@Test
+	@WithMockUser(username="P001",roles={"PATIENT"})
+	public void testFindPatientCorrespondancesNotModified() throws Exception {
+
+		String eTag = mockMvc.perform(get("/patient-file/details/correspondence")).andExpect(status().isOk())
+				.andExpect(header().exists("ETag")).andReturn().getResponse().getHeader("ETag");
+
+		mockMvc.perform(get("/patient-file/details/correspondence").header("If-None-Match", eTag))
+				.andExpect(status().isNotModified());
+	}
+
 	@Test
 	@WithMockUser(username="D001",roles={"DOCTOR"}) // ROLE_DOCTOR
 	public void testFindPatientCorrespondancesFailureBadRoleDoctor() throws Exception {
@@ -3,7 +3,9 @@ package fr.cnam.stefangeorgesco.dmp.api;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import fr.cnam.stefangeorgesco.dmp.authentication.domain.model.User;
 import fr.cnam.stefangeorgesco.dmp.authentication.domain.service.IAMService;
+import fr.cnam.stefangeorgesco.dmp.authentication.domain.service.UserSyncService;
 import fr.cnam.stefangeorgesco.dmp.domain.dao.DoctorDAO;
+import fr.cnam.stefangeorgesco.dmp.domain.dao.UserSyncEventDAO;
 import fr.cnam.stefangeorgesco.dmp.domain.dto.AddressDTO;
 import fr.cnam.stefangeorgesco.dmp.domain.dto.DoctorDTO;
 import fr.cnam.stefangeorgesco.dmp.domain.dto.SpecialtyDTO;
@@ -25,11 +27,14 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.jdbc.SqlGroup;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
@@ -57,6 +62,12 @@ public class DoctorControllerIntegrationTest {
 	@Autowired
 	private DoctorDAO doctorDAO;
 
+	@Autowired
+	private UserSyncService userSyncService;
+
+	@Autowired
+	private UserSyncEventDAO userSyncEventDAO;
+
 	private DoctorDTO doctorDTO;
 
 	@BeforeEach
@@ -114,6 +125,49 @@ public class DoctorControllerIntegrationTest {
 		assertTrue(doctorDAO.existsById("D003"));
 	}
 
+	@Test
+	@WithMockUser(roles={"ADMIN"})
+	public void testCreateDoctorAsyncSuccess() throws Exception {
+
+		assertFalse(doctorDAO.existsById("D003"));
+
+		MvcResult mvcResult = mockMvc.perform(post("/doctor/async").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(doctorDTO))).andExpect(request().asyncStarted())
+				.andReturn();
+
+		mockMvc.perform(asyncDispatch(mvcResult)).andExpect(status().isCreated())
+				.andExpect(content().contentType(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$.firstname", is("Pierre")))
+				.andExpect(jsonPath("$.specialties[1].description", is("immunologie")))
+				.andExpect(jsonPath("$.securityCode", notNullValue()));
+
+		assertTrue(doctorDAO.existsById("D003"));
+	}
+
+	@Test
+	@WithMockUser(roles={"ADMIN"})
+	public void testCreateDoctorAsyncFailureSpecialtyDoesNotExist() throws Exception {
+
+		((List<SpecialtyDTO>) doctorDTO.getSpecialtiesDTO()).get(1).setId("S100");
+
+		MvcResult mvcResult = mockMvc.perform(post("/doctor/async").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(doctorDTO))).andExpect(request().asyncStarted())
+				.andReturn();
+
+		mockMvc.perform(asyncDispatch(mvcResult)).andExpect(status().isNotFound())
+				.andExpect(jsonPath("$.message", is("La spécialité n'existe pas.")));
+
+		assertFalse(doctorDAO.existsById("D003"));
+	}
+
+	@Test
+	@WithMockUser(roles={"DOCTOR"})
+	public void testCreateDoctorAsyncFailureBadRoleDoctor() throws Exception {
+
+		mockMvc.perform(post("/doctor/async").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(doctorDTO))).andExpect(status().isForbidden());
+	}
+
 	@Test
 	@WithMockUser(roles={"ADMIN"})
 	public void testCreateDoctorFailureDoctorAlreadyExists() throws Exception {
@@ -377,7 +431,7 @@ public class DoctorControllerIntegrationTest {
 	@Test
 	@WithMockUser(roles={"ADMIN"})
 	public void testDeleteDoctorSuccessNoUser() throws Exception {
-		when(IAMService.userExistsById("D002")).thenReturn(false);
+		when(IAMService.deleteUser("D002")).thenThrow(WebClientResponseException.create(404, "Not Found", null, null, null));
 
 		assertTrue(doctorDAO.existsById("D002"));
 
@@ -385,7 +439,10 @@ public class DoctorControllerIntegrationTest {
 				.andExpect(content().contentType(MediaType.APPLICATION_JSON)).andExpect(jsonPath("$.status", is(200)))
 				.andExpect(jsonPath("$.message", is("Le dossier de médecin a bien été supprimé.")));
 
-		verify(IAMService, times(1)).userExistsById("D002");
+		userSyncService.dispatchPendingEvents();
+
+		verify(IAMService, times(1)).deleteUser("D002");
+		assertEquals(0, userSyncEventDAO.count());
 		assertFalse(doctorDAO.existsById("D002"));
 	}
 
@@ -398,7 +455,6 @@ public class DoctorControllerIntegrationTest {
 		user.setPassword("password");
 		user.setSecurityCode("code");
 
-		when(IAMService.userExistsById("D002")).thenReturn(true);
 		when(IAMService.deleteUser(user.getId())).thenReturn(HttpStatus.NO_CONTENT);
 
 		assertTrue(doctorDAO.existsById("D002"));
@@ -407,8 +463,10 @@ public class DoctorControllerIntegrationTest {
 				.andExpect(content().contentType(MediaType.APPLICATION_JSON)).andExpect(jsonPath("$.status", is(200)))
 				.andExpect(jsonPath("$.message", is("Le dossier de médecin a bien été supprimé.")));
 
-		verify(IAMService, times(1)).userExistsById("D002");
+		userSyncService.dispatchPendingEvents();
+
 		verify(IAMService, times(1)).deleteUser(user.getId());
+		assertEquals(0, userSyncEventDAO.count());
 		assertFalse(doctorDAO.existsById("D002"));
 	}
 
@@ -2,7 +2,9 @@ package fr.cnam.stefangeorgesco.dmp.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import fr.cnam.stefangeorgesco.dmp.authentication.domain.service.IAMService;
+import fr.cnam.stefangeorgesco.dmp.authentication.domain.service.UserSyncService;
 import fr.cnam.stefangeorgesco.dmp.domain.dao.PatientFileDAO;
+import fr.cnam.stefangeorgesco.dmp.domain.dao.UserSyncEventDAO;
 import fr.cnam.stefangeorgesco.dmp.domain.dto.AddressDTO;
 import fr.cnam.stefangeorgesco.dmp.domain.dto.DoctorDTO;
 import fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileDTO;
@@ -11,6 +13,7 @@ import fr.cnam.stefangeorgesco.dmp.domain.model.Address;
 import fr.cnam.stefangeorgesco.dmp.domain.model.Doctor;
 import fr.cnam.stefangeorgesco.dmp.domain.model.PatientFile;
 import fr.cnam.stefangeorgesco.dmp.domain.service.RnippService;
+import fr.cnam.stefangeorgesco.dmp.exception.domain.CheckException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,11 +28,15 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.jdbc.SqlGroup;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
 import java.util.List;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -61,6 +68,12 @@ public class PatientFileControllerIntegrationTest {
 	@Autowired
 	private PatientFileDAO patientFileDAO;
 
+	@Autowired
+	private UserSyncService userSyncService;
+
+	@Autowired
+	private UserSyncEventDAO userSyncEventDAO;
+
 	private PatientFileDTO patientFileDTO;
 
 	private DoctorDTO doctorDTO;
@@ -107,7 +120,7 @@ public class PatientFileControllerIntegrationTest {
 	@Test
 	@WithMockUser(username="D001",roles={"DOCTOR"})
 	public void testCreatePatientFileSuccess() throws Exception {
-		doNothing().when(rnippService).checkPatientData(any(PatientFileDTO.class));
+		when(rnippService.checkPatientDataAsync(any(PatientFileDTO.class))).thenReturn(Mono.empty());
 
 		assertFalse(patientFileDAO.existsById("P002"));
 
@@ -120,7 +133,7 @@ public class PatientFileControllerIntegrationTest {
 				.andExpect(jsonPath("$.referringDoctorId", is("D001")))
 				.andExpect(jsonPath("$.dateOfBirth", is("2000-02-13")));
 
-		verify(rnippService, times(1)).checkPatientData(any(PatientFileDTO.class));
+		verify(rnippService, times(1)).checkPatientDataAsync(any(PatientFileDTO.class));
 		assertTrue(patientFileDAO.existsById("P002"));
 	}
 
@@ -149,14 +162,51 @@ public class PatientFileControllerIntegrationTest {
 
 		patientFileDAO.save(patientFile);
 
-		doNothing().when(rnippService).checkPatientData(any(PatientFileDTO.class));
+		when(rnippService.checkPatientDataAsync(any(PatientFileDTO.class))).thenReturn(Mono.empty());
 
 		mockMvc.perform(post("/patient-file").contentType(MediaType.APPLICATION_JSON)
 				.content(objectMapper.writeValueAsString(patientFileDTO))).andExpect(status().isConflict())
 				.andExpect(content().contentType(MediaType.APPLICATION_JSON))
 				.andExpect(jsonPath("$.message", is("Un dossier avec cet identifiant existe déjà.")));
 
-		verify(rnippService, times(1)).checkPatientData(any(PatientFileDTO.class));
+		verify(rnippService, times(1)).checkPatientDataAsync(any(PatientFileDTO.class));
+	}
+
+	@Test
+	@WithMockUser(username="D001",roles={"DOCTOR"})
+	public void testCreatePatientFileAsyncSuccess() throws Exception {
+		when(rnippService.checkPatientDataAsync(any(PatientFileDTO.class))).thenReturn(Mono.empty());
+
+		assertFalse(patientFileDAO.existsById("P002"));
+
+		MvcResult mvcResult = mockMvc.perform(post("/patient-file/async").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(patientFileDTO))).andExpect(request().asyncStarted())
+				.andReturn();
+
+		mockMvc.perform(asyncDispatch(mvcResult)).andExpect(status().isCreated())
+				.andExpect(content().contentType(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$.firstname", is("Patrick")))
+				.andExpect(jsonPath("$.securityCode", notNullValue()))
+				.andExpect(jsonPath("$.referringDoctorId", is("D001")));
+
+		verify(rnippService, times(1)).checkPatientDataAsync(any(PatientFileDTO.class));
+		assertTrue(patientFileDAO.existsById("P002"));
+	}
+
+	@Test
+	@WithMockUser(username="D001",roles={"DOCTOR"})
+	public void testCreatePatientFileAsyncFailureRnippCheck() throws Exception {
+		when(rnippService.checkPatientDataAsync(any(PatientFileDTO.class)))
+				.thenReturn(Mono.error(new CheckException("RNIPP - error : not found")));
+
+		MvcResult mvcResult = mockMvc.perform(post("/patient-file/async").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(patientFileDTO))).andExpect(request().asyncStarted())
+				.andReturn();
+
+		mockMvc.perform(asyncDispatch(mvcResult)).andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message", is("RNIPP - error : not found")));
+
+		assertFalse(patientFileDAO.existsById("P002"));
 	}
 
 	@Test
@@ -313,6 +363,48 @@ public class PatientFileControllerIntegrationTest {
 				.andExpect(jsonPath("$.securityCode").doesNotExist());
 	}
 
+	@Test
+	@WithMockUser(username="D001",roles={"DOCTOR"})
+	public void testGetPatientFileByIdNotModified() throws Exception {
+
+		String eTag = mockMvc.perform(get("/patient-file/P001")).andExpect(status().isOk())
+				.andExpect(header().exists("ETag")).andReturn().getResponse().getHeader("ETag");
+
+		mockMvc.perform(get("/patient-file/P001").header("If-None-Match", eTag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string("ETag", eTag))
+				.andExpect(content().string(""));
+	}
+
+	@Test
+	@WithMockUser(username="D001",roles={"DOCTOR"})
+	public void testGetPatientFileByIdModifiedAfterETag() throws Exception {
+
+		String eTag = mockMvc.perform(get("/patient-file/P001")).andExpect(status().isOk())
+				.andReturn().getResponse().getHeader("ETag");
+
+		PatientFile patientFile = patientFileDAO.findById("P001").get();
+		patientFile.setPhone("0123456789");
+		patientFileDAO.save(patientFile);
+
+		mockMvc.perform(get("/patient-file/P001").header("If-None-Match", eTag))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", not(eTag)))
+				.andExpect(header().exists("Last-Modified"))
+				.andExpect(jsonPath("$.phone", is("0123456789")));
+	}
+
+	@Test
+	@WithMockUser(username="P001",roles={"PATIENT"})
+	public void testGetPatientFileDetailsNotModified() throws Exception {
+
+		String eTag = mockMvc.perform(get("/patient-file/details")).andExpect(status().isOk())
+				.andExpect(header().exists("ETag")).andReturn().getResponse().getHeader("ETag");
+
+		mockMvc.perform(get("/patient-file/details").header("If-None-Match", eTag))
+				.andExpect(status().isNotModified());
+	}
+
 	@Test
 	@WithMockUser(username="P001",roles={"PATIENT"})
 	public void testGetPatientFileByIdFailureUserIsPatient() throws Exception {
@@ -374,6 +466,20 @@ public class PatientFileControllerIntegrationTest {
 				.andExpect(jsonPath("$[2].id", is("P011"))).andExpect(jsonPath("$[3].id", is("P013")));
 	}
 
+	@Test
+	@WithMockUser(roles={"ADMIN"})
+	public void testFindPatientFilesByIdOrFirstnameOrLastnameSuccessPaginated() throws Exception {
+		mockMvc.perform(get("/patient-file?q=ma&size=2")).andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_JSON)).andExpect(jsonPath("$", hasSize(2)))
+				.andExpect(jsonPath("$[0].id", is("P001"))).andExpect(jsonPath("$[1].id", is("P005")))
+				.andExpect(header().string("X-Next-Cursor", "P005"))
+				.andExpect(header().string("Link", containsString("after=P005")));
+
+		mockMvc.perform(get("/patient-file?q=ma&size=2&after=P013")).andExpect(status().isOk())
+				.andExpect(jsonPath("$", hasSize(1))).andExpect(header().doesNotExist("X-Next-Cursor"))
+				.andExpect(header().doesNotExist("Link"));
+	}
+
 	@Test
 	@WithMockUser(roles={"ADMIN"})
 	public void testFindPatientFilesByIdOrFirstnameOrLastnameSuccessFound0() throws Exception {
@@ -422,7 +528,7 @@ public class PatientFileControllerIntegrationTest {
 	@WithMockUser(roles={"ADMIN"})
 	public void testDeletePatientFileSuccessNoUser() throws Exception {
 		id = "P005";
-		when(IAMService.userExistsById(id)).thenReturn(false);
+		when(IAMService.deleteUser(id)).thenThrow(WebClientResponseException.create(404, "Not Found", null, null, null));
 
 		assertTrue(patientFileDAO.existsById(id));
 
@@ -430,6 +536,10 @@ public class PatientFileControllerIntegrationTest {
 				.andExpect(content().contentType(MediaType.APPLICATION_JSON)).andExpect(jsonPath("$.status", is(200)))
 				.andExpect(jsonPath("$.message", is("Le dossier patient a bien été supprimé.")));
 
+		userSyncService.dispatchPendingEvents();
+
+		verify(IAMService, times(1)).deleteUser(id);
+		assertEquals(0, userSyncEventDAO.count());
 		assertFalse(patientFileDAO.existsById(id));
 	}
 
@@ -437,7 +547,6 @@ public class PatientFileControllerIntegrationTest {
 	@WithMockUser(roles={"ADMIN"})
 	public void testDeletePatientFileSuccessUserPresent() throws Exception {
 		id = "P005";
-		when(IAMService.userExistsById(id)).thenReturn(true);
 		when(IAMService.deleteUser(id)).thenReturn(HttpStatus.NO_CONTENT);
 
 		assertTrue(patientFileDAO.existsById(id));
@@ -446,8 +555,10 @@ public class PatientFileControllerIntegrationTest {
 				.andExpect(content().contentType(MediaType.APPLICATION_JSON)).andExpect(jsonPath("$.status", is(200)))
 				.andExpect(jsonPath("$.message", is("Le dossier patient a bien été supprimé.")));
 
-		verify(IAMService, times(1)).userExistsById(id);
+		userSyncService.dispatchPendingEvents();
+
 		verify(IAMService, times(1)).deleteUser(id);
+		assertEquals(0, userSyncEventDAO.count());
 		assertFalse(patientFileDAO.existsById(id));
 	}
 
@@ -491,4 +602,40 @@ public class PatientFileControllerIntegrationTest {
 		mockMvc.perform(delete("/patient-file/" + id)).andExpect(status().isUnauthorized());
 	}
 
+	@Test
+	@WithMockUser(username="D001",roles={"DOCTOR"})
+	public void testFindPatientFileChangesSuccess() throws Exception {
+
+		mockMvc.perform(get("/patient-file/P005/changes")).andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$.watermark", notNullValue())).andExpect(jsonPath("$.items", hasSize(0)))
+				.andExpect(jsonPath("$.correspondences", hasSize(0)))
+				.andExpect(jsonPath("$.deletedItemIds", hasSize(0)))
+				.andExpect(jsonPath("$.deletedCorrespondenceIds", hasSize(0)));
+	}
+
+	@Test
+	@WithMockUser(username="D001",roles={"DOCTOR"})
+	public void testFindPatientFileChangesFailureUserIsNotReferringNorCorrespondingDoctor() throws Exception {
+
+		mockMvc.perform(get("/patient-file/P012/changes")).andExpect(status().isNotFound())
+				.andExpect(jsonPath("$.message", is("L'utilisateur n'est pas le médecin référent ou correspondant.")));
+	}
+
+	@Test
+	@WithMockUser(username="P001",roles={"PATIENT"})
+	public void testFindPatientFileChangesFailureBadRolePatient() throws Exception {
+
+		mockMvc.perform(get("/patient-file/P005/changes")).andExpect(status().isForbidden());
+	}
+
+	@Test
+	@WithMockUser(username="P001",roles={"PATIENT"})
+	public void testFindPatientPatientFileChangesSuccess() throws Exception {
+
+		mockMvc.perform(get("/patient-file/details/changes").param("since", "2024-01-01T00:00:00Z"))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.watermark", notNullValue()))
+				.andExpect(jsonPath("$.items", hasSize(0))).andExpect(jsonPath("$.deletedItemIds", hasSize(0)));
+	}
+
 }
@@ -1,5 +1,6 @@
 package fr.cnam.stefangeorgesco.dmp.api;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import fr.cnam.stefangeorgesco.dmp.domain.dao.DoctorDAO;
 import fr.cnam.stefangeorgesco.dmp.domain.dao.PatientFileItemDAO;
@@ -21,6 +22,7 @@ import org.springframework.test.context.jdbc.SqlGroup;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.*;
@@ -224,6 +226,98 @@ public class PatientFileItemControllerIntegrationTest {
 		assertEquals(count, patientFileItemDAO.count());
 	}
 
+	@Test
+	@WithMockUser(username="D001",roles={"DOCTOR"})
+	public void testCreatePatientFileItemsSuccess() throws Exception {
+
+		count = patientFileItemDAO.count();
+
+		LocalDate now = LocalDate.now();
+
+		medicalActDTO.setId("HBSD001");
+		actDTO.setDate(now);
+		actDTO.setComments("comments on this act");
+		actDTO.setMedicalActDTO(medicalActDTO);
+
+		mailDTO.setDate(now);
+		mailDTO.setText(text);
+		mailDTO.setRecipientDoctorId("D002");
+
+		authoringDoctor = doctorDAO.findById("D001").orElseThrow();
+
+		mockMvc.perform(post("/patient-file/P001/item/batch").contentType(MediaType.APPLICATION_JSON)
+				.content(writeItems(List.of(actDTO, mailDTO)))).andExpect(status().isCreated())
+				.andExpect(content().contentType(MediaType.APPLICATION_JSON)).andExpect(jsonPath("$", hasSize(2)))
+				.andExpect(jsonPath("$[0].@type", is("act"))).andExpect(jsonPath("$[0].id", hasLength(36)))
+				.andExpect(jsonPath("$[0].authoringDoctorId", is(authoringDoctor.getId())))
+				.andExpect(jsonPath("$[0].authoringDoctorLastname", is(authoringDoctor.getLastname())))
+				.andExpect(jsonPath("$[0].medicalAct.description",
+						is("Hémostase gingivoalvéolaire secondaire à une avulsion dentaire")))
+				.andExpect(jsonPath("$[0].patientFileId", is("P001"))).andExpect(jsonPath("$[1].@type", is("mail")))
+				.andExpect(jsonPath("$[1].id", hasLength(36))).andExpect(jsonPath("$[1].text", is(text)))
+				.andExpect(jsonPath("$[1].recipientDoctorId", is("D002")))
+				.andExpect(jsonPath("$[1].patientFileId", is("P001")));
+
+		assertEquals(count + 2, patientFileItemDAO.count());
+	}
+
+	@Test
+	@WithMockUser(username="D001",roles={"DOCTOR"})
+	public void testCreatePatientFileItemsFailureUserIsNotReferringNorCorrespondingDoctor() throws Exception {
+
+		count = patientFileItemDAO.count();
+
+		medicalActDTO.setId("HBSD001");
+		actDTO.setDate(LocalDate.now());
+		actDTO.setMedicalActDTO(medicalActDTO);
+
+		mockMvc.perform(post("/patient-file/P004/item/batch").contentType(MediaType.APPLICATION_JSON)
+				.content(writeItems(List.of(actDTO)))).andExpect(status().isNotFound())
+				.andExpect(content().contentType(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$.message", is("L'utilisateur n'est pas le médecin référent ou correspondant.")));
+
+		assertEquals(count, patientFileItemDAO.count());
+	}
+
+	@Test
+	@WithMockUser(username="D001",roles={"DOCTOR"})
+	public void testCreatePatientFileItemsFailureInvalidItem() throws Exception {
+
+		count = patientFileItemDAO.count();
+
+		medicalActDTO.setId("HBSD001");
+		actDTO.setDate(LocalDate.now());
+		actDTO.setMedicalActDTO(medicalActDTO);
+
+		mailDTO.setText(text);
+		mailDTO.setRecipientDoctorId("D002");
+
+		mockMvc.perform(post("/patient-file/P001/item/batch").contentType(MediaType.APPLICATION_JSON)
+				.content(writeItems(List.of(actDTO, mailDTO)))).andExpect(status().isNotAcceptable())
+				.andExpect(content().contentType(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$.patientFileItems1_date", is("La date de l'élément médical est obligatoire.")));
+
+		assertEquals(count, patientFileItemDAO.count());
+	}
+
+	@Test
+	@WithMockUser(username="D001",roles={"DOCTOR"})
+	public void testCreatePatientFileItemsFailureEmptyList() throws Exception {
+
+		mockMvc.perform(post("/patient-file/P001/item/batch").contentType(MediaType.APPLICATION_JSON)
+				.content("[]")).andExpect(status().isNotAcceptable())
+				.andExpect(content().contentType(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$.patientFileItems", is("La liste des éléments médicaux est vide.")));
+	}
+
+	@Test
+	@WithMockUser(username="P001",roles={"PATIENT"})
+	public void testCreatePatientFileItemsFailureBadRolePatient() throws Exception {
+
+		mockMvc.perform(post("/patient-file/P001/item/batch").contentType(MediaType.APPLICATION_JSON)
+				.content("[]")).andExpect(status().isForbidden());
+	}
+
 	@Test
 	@WithMockUser(username="P001",roles={"PATIENT"})
 	public void testCreatePatientFileItemFailureBadRolePatient() throws Exception {
@@ -754,7 +848,8 @@ public class PatientFileItemControllerIntegrationTest {
 
 		mockMvc.perform(get("/patient-file/P005/item")).andExpect(status().isOk())
 				.andExpect(content().contentType(MediaType.APPLICATION_JSON)).andExpect(jsonPath("$", hasSize(10)))
-				.andExpect(jsonPath("$[1].@type", is("diagnosis")));
+				.andExpect(jsonPath("$[0].@type", is("prescription"))).andExpect(jsonPath("$[0].date", is("2022-05-21")))
+				.andExpect(jsonPath("$[1].@type", is("act")));
 	}
 
 	@Test
@@ -763,7 +858,46 @@ public class PatientFileItemControllerIntegrationTest {
 
 		mockMvc.perform(get("/patient-file/P006/item")).andExpect(status().isOk())
 				.andExpect(content().contentType(MediaType.APPLICATION_JSON)).andExpect(jsonPath("$", hasSize(9)))
-				.andExpect(jsonPath("$[1].@type", is("symptom")));
+				.andExpect(jsonPath("$[1].@type", is("mail")));
+	}
+
+	@Test
+	@WithMockUser(username="D001",roles={"DOCTOR"})
+	public void testFindPatientFileItemsByPatientFileIdNotModified() throws Exception {
+
+		String eTag = mockMvc.perform(get("/patient-file/P005/item")).andExpect(status().isOk())
+				.andExpect(header().exists("ETag")).andReturn().getResponse().getHeader("ETag");
+
+		mockMvc.perform(get("/patient-file/P005/item").header("If-None-Match", eTag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string("ETag", eTag))
+				.andExpect(content().string(""));
+	}
+
+	@Test
+	@WithMockUser(username="D001",roles={"DOCTOR"})
+	public void testFindPatientFileItemsByPatientFileIdModifiedAfterDelete() throws Exception {
+
+		String eTag = mockMvc.perform(get("/patient-file/P005/item")).andExpect(status().isOk())
+				.andReturn().getResponse().getHeader("ETag");
+
+		mockMvc.perform(delete("/patient-file/P005/item/1b57e70f-8eb0-4a97-99c6-5d44f138c22c"))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(get("/patient-file/P005/item").header("If-None-Match", eTag))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", not(eTag)))
+				.andExpect(header().exists("Last-Modified"))
+				.andExpect(jsonPath("$", hasSize(9)));
+	}
+
+	@Test
+	@WithMockUser(username="D001",roles={"DOCTOR"})
+	public void testFindPatientFileItemsByPatientFileIdNotModifiedFailureUserIsNotReferringNorCorrespondingDoctor()
+			throws Exception {
+
+		mockMvc.perform(get("/patient-file/P012/item").header("If-None-Match", "\"0-0\""))
+				.andExpect(status().isNotFound());
 	}
 
 	@Test
@@ -806,13 +940,86 @@ public class PatientFileItemControllerIntegrationTest {
 		mockMvc.perform(get("/patient-file/P005/item")).andExpect(status().isUnauthorized());
 	}
 
+	@Test
+	@WithMockUser(username="D001",roles={"DOCTOR"})
+	public void testFindPatientFileItemsTimelineSuccessPages() throws Exception {
+
+		String cursor = "2021-10-11_1b57e70f-8eb0-4a97-99c6-5d44f138c22c";
+
+		mockMvc.perform(get("/patient-file/P005/item/timeline").param("size", "2")).andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_JSON)).andExpect(jsonPath("$", hasSize(2)))
+				.andExpect(jsonPath("$[0].@type", is("prescription"))).andExpect(jsonPath("$[0].date", is("2022-05-21")))
+				.andExpect(jsonPath("$[1].@type", is("act"))).andExpect(jsonPath("$[1].date", is("2021-10-11")))
+				.andExpect(header().string("X-Next-Cursor", cursor))
+				.andExpect(header().string("Link", containsString("after=" + cursor)));
+
+		mockMvc.perform(get("/patient-file/P005/item/timeline").param("size", "2").param("after", cursor))
+				.andExpect(status().isOk()).andExpect(jsonPath("$", hasSize(2)))
+				.andExpect(jsonPath("$[0].@type", is("mail"))).andExpect(jsonPath("$[0].date", is("2021-09-24")));
+	}
+
+	@Test
+	@WithMockUser(username="D001",roles={"DOCTOR"})
+	public void testFindPatientFileItemsTimelineSuccessTypesAndDates() throws Exception {
+
+		mockMvc.perform(get("/patient-file/P005/item/timeline").param("type", "act", "diagnosis")
+				.param("from", "2020-07-01").param("to", "2021-12-31")).andExpect(status().isOk())
+				.andExpect(jsonPath("$", hasSize(3))).andExpect(jsonPath("$[0].@type", is("act")))
+				.andExpect(jsonPath("$[1].@type", is("diagnosis"))).andExpect(jsonPath("$[2].date", is("2020-11-13")))
+				.andExpect(header().doesNotExist("X-Next-Cursor"));
+	}
+
+	@Test
+	@WithMockUser(username="D001",roles={"DOCTOR"})
+	public void testFindPatientFileItemsTimelineFailureBadType() throws Exception {
+
+		mockMvc.perform(get("/patient-file/P005/item/timeline").param("type", "x-ray"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message", is("Type d'élément médical inconnu : 'x-ray'.")));
+	}
+
+	@Test
+	@WithMockUser(username="D001",roles={"DOCTOR"})
+	public void testFindPatientFileItemsTimelineFailureUserIsNotReferringNorCorrespondingDoctor() throws Exception {
+
+		mockMvc.perform(get("/patient-file/P012/item/timeline")).andExpect(status().isNotFound())
+				.andExpect(jsonPath("$.message", is("L'utilisateur n'est pas le médecin référent ou correspondant.")));
+	}
+
+	@Test
+	@WithMockUser(username="P001",roles={"PATIENT"})
+	public void testFindPatientFileItemsTimelineFailureBadRolePatient() throws Exception {
+
+		mockMvc.perform(get("/patient-file/P005/item/timeline")).andExpect(status().isForbidden());
+	}
+
+	@Test
+	@WithMockUser(username="P001",roles={"PATIENT"})
+	public void testFindPatientPatientFileItemsTimelineSuccess() throws Exception {
+
+		mockMvc.perform(get("/patient-file/details/item/timeline").param("type", "symptom")).andExpect(status().isOk())
+				.andExpect(jsonPath("$", hasSize(2))).andExpect(jsonPath("$[0].date", is("2021-10-13")))
+				.andExpect(jsonPath("$[1].date", is("2020-11-22")));
+	}
+
 	@Test
 	@WithMockUser(username="P001",roles={"PATIENT"}) // P001, ROLE_DOCTOR
 	public void testFindPatientPatientFileItemsSuccess() throws Exception {
 
 		mockMvc.perform(get("/patient-file/details/item")).andExpect(status().isOk())
 				.andExpect(content().contentType(MediaType.APPLICATION_JSON)).andExpect(jsonPath("$", hasSize(9)))
-				.andExpect(jsonPath("$[1].@type", is("prescription")));
+				.andExpect(jsonPath("$[1].@type", is("diagnosis")));
+	}
+
+	@Test
+	@WithMockUser(username="P001",roles={"PATIENT"})
+	public void testFindPatientPatientFileItemsNotModified() throws Exception {
+
+		String eTag = mockMvc.perform(get("/patient-file/details/item")).andExpect(status().isOk())
+				.andExpect(header().exists("ETag")).andReturn().getResponse().getHeader("ETag");
+
+		mockMvc.perform(get("/patient-file/details/item").header("If-None-Match", eTag))
+				.andExpect(status().isNotModified());
 	}
 
 	@Test
@@ -835,4 +1042,9 @@ public class PatientFileItemControllerIntegrationTest {
 
 		mockMvc.perform(get("/patient-file/details/item")).andExpect(status().isUnauthorized());
 	}
+
+	private String writeItems(List<PatientFileItemDTO> patientFileItemsDTO) throws Exception {
+		return objectMapper.writerFor(new TypeReference<List<PatientFileItemDTO>>() {
+		}).writeValueAsString(patientFileItemsDTO);
+	}
 }
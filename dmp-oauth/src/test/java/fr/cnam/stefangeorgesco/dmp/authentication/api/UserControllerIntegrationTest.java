@@ -21,6 +21,7 @@ import org.springframework.http.MediaType;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -65,6 +66,9 @@ public class UserControllerIntegrationTest {
 
 	@BeforeEach
 	public void setup() {
+		when(IAMService.userExistsByIdAsync(any())).thenReturn(Mono.just(false));
+		when(IAMService.userExistsByUsernameAsync(any())).thenReturn(Mono.just(false));
+
 		specialty = new Specialty();
 		specialty.setId("S001");
 		specialty.setDescription("A specialty");
@@ -172,27 +176,27 @@ public class UserControllerIntegrationTest {
 	@Test
 	public void testCreateDoctorAccountFailureUserAccountAlreadyExistsById() throws Exception {
 
-		when(IAMService.userExistsById(userDTO.getId())).thenReturn(true);
+		when(IAMService.userExistsByIdAsync(userDTO.getId())).thenReturn(Mono.just(true));
 
 		mockMvc.perform(
 				post("/user").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(userDTO)))
 				.andExpect(status().isConflict()).andExpect(content().contentType(MediaType.APPLICATION_JSON))
 				.andExpect(jsonPath("$.message", is("Le compte utilisateur existe déjà.")));
 
-		verify(IAMService, times(1)).userExistsById(userDTO.getId());
+		verify(IAMService, times(1)).userExistsByIdAsync(userDTO.getId());
 	}
 
 	@Test
 	public void testCreateDoctorAccountFailureUserAccountAlreadyExistsByUsername() throws Exception {
 
-		when(IAMService.userExistsByUsername(userDTO.getUsername())).thenReturn(true);
+		when(IAMService.userExistsByUsernameAsync(userDTO.getUsername())).thenReturn(Mono.just(true));
 		
 		mockMvc.perform(
 				post("/user").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(userDTO)))
 				.andExpect(status().isConflict()).andExpect(content().contentType(MediaType.APPLICATION_JSON))
 				.andExpect(jsonPath("$.message", is("Le nom d'utilisateur existe déjà.")));
 
-		verify(IAMService, times(1)).userExistsByUsername(userDTO.getUsername());
+		verify(IAMService, times(1)).userExistsByUsernameAsync(userDTO.getUsername());
 	}
 
 	@Test
@@ -0,0 +1,155 @@
+package fr.cnam.stefangeorgesco.dmp.authentication.domain.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeycloakAdminTokenManagerTest {
+
+	private final AtomicInteger tokenRequests = new AtomicInteger();
+
+	private MutableClock clock;
+
+	private CompletableFuture<Void> gate;
+
+	private HttpStatus status;
+
+	private KeycloakAdminTokenManager tokenManager;
+
+	@BeforeEach
+	public void setup() {
+		tokenRequests.set(0);
+		clock = new MutableClock(Instant.parse("2026-10-18T10:00:00Z"));
+		gate = CompletableFuture.completedFuture(null);
+		status = HttpStatus.OK;
+
+		WebClient keyCloakClient = WebClient.builder().exchangeFunction(request -> {
+			int n = tokenRequests.incrementAndGet();
+			return Mono.fromFuture(gate).then(Mono.fromSupplier(() -> ClientResponse.create(status)
+					.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+					.body("{\"access_token\":\"token" + n + "\",\"expires_in\":60,\"token_type\":\"Bearer\"}")
+					.build()));
+		}).build();
+
+		tokenManager = new KeycloakAdminTokenManager(keyCloakClient, "admin", "admin", "password", "admin-cli",
+				Duration.ofSeconds(20), Duration.ofSeconds(5), clock);
+	}
+
+	@Test
+	public void testTokenIsCachedUntilRefreshAhead() {
+		assertEquals("token1", tokenManager.getToken());
+
+		clock.advance(Duration.ofSeconds(39));
+
+		assertEquals("token1", tokenManager.getToken());
+		assertEquals(1, tokenRequests.get());
+	}
+
+	@Test
+	public void testTokenIsRefreshedInBackgroundBeforeExpiry() {
+		assertEquals("token1", tokenManager.getToken());
+
+		clock.advance(Duration.ofSeconds(45));
+		gate = new CompletableFuture<>();
+
+		assertEquals("token1", tokenManager.getToken());
+		assertEquals("token1", tokenManager.getToken());
+		assertEquals(2, tokenRequests.get());
+
+		gate.complete(null);
+
+		assertEquals("token2", tokenManager.getToken());
+		assertEquals(2, tokenRequests.get());
+	}
+
+	@Test
+	public void testExpiredTokenIsRefreshedSynchronously() {
+		assertEquals("token1", tokenManager.getToken());
+
+		clock.advance(Duration.ofSeconds(55));
+
+		assertEquals("token2", tokenManager.getToken());
+		assertEquals(2, tokenRequests.get());
+	}
+
+	@Test
+	public void testConcurrentRefreshesAreCoalesced() throws Exception {
+		gate = new CompletableFuture<>();
+
+		CompletableFuture<String> first = CompletableFuture.supplyAsync(tokenManager::getToken);
+		CompletableFuture<String> second = CompletableFuture.supplyAsync(tokenManager::getToken);
+
+		Thread.sleep(200);
+		gate.complete(null);
+
+		assertEquals("token1", first.get());
+		assertEquals("token1", second.get());
+		assertEquals(1, tokenRequests.get());
+	}
+
+	@Test
+	public void testRejectedTokenIsRefreshedOnce() {
+		assertEquals("token1", tokenManager.getToken());
+
+		assertEquals("token2", tokenManager.refreshToken("token1"));
+		assertEquals("token2", tokenManager.refreshToken("token1"));
+		assertEquals("token2", tokenManager.getToken());
+		assertEquals(2, tokenRequests.get());
+	}
+
+	@Test
+	public void testTokenRequestFailureIsPropagated() {
+		status = HttpStatus.UNAUTHORIZED;
+
+		assertThrows(WebClientResponseException.Unauthorized.class, () -> tokenManager.getToken());
+
+		status = HttpStatus.OK;
+
+		assertEquals("token2", tokenManager.getToken());
+	}
+
+	private static class MutableClock extends Clock {
+
+		private Instant instant;
+
+		private MutableClock(Instant instant) {
+			this.instant = instant;
+		}
+
+		private void advance(Duration duration) {
+			instant = instant.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return instant;
+		}
+	}
+
+}
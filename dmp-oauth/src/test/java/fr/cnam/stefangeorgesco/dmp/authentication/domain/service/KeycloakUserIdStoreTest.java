@@ -0,0 +1,48 @@
+package fr.cnam.stefangeorgesco.dmp.authentication.domain.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeycloakUserIdStoreTest {
+
+	@Test
+	public void testPutGetEvict() {
+		KeycloakUserIdStore store = new KeycloakUserIdStore(10);
+
+		store.put("D001", "9d6c7d2e-2b0a-4c1e-8f3a-1b2c3d4e5f60");
+
+		assertEquals("9d6c7d2e-2b0a-4c1e-8f3a-1b2c3d4e5f60", store.get("D001"));
+		assertNull(store.get("P001"));
+
+		store.evict("D001");
+
+		assertNull(store.get("D001"));
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEntryIsRemoved() {
+		KeycloakUserIdStore store = new KeycloakUserIdStore(2);
+
+		store.put("D001", "uuid-1");
+		store.put("D002", "uuid-2");
+		assertFalse(store.hasCapacity());
+
+		store.get("D001");
+		store.put("P001", "uuid-3");
+
+		assertEquals("uuid-1", store.get("D001"));
+		assertNull(store.get("D002"));
+		assertEquals("uuid-3", store.get("P001"));
+	}
+
+	@Test
+	public void testCacheDisabled() {
+		KeycloakUserIdStore store = new KeycloakUserIdStore(0);
+
+		store.put("D001", "uuid-1");
+
+		assertNull(store.get("D001"));
+	}
+
+}
@@ -11,6 +11,8 @@ import fr.cnam.stefangeorgesco.dmp.exception.domain.CheckException;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.DeleteException;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.DuplicateKeyException;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.FinderException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,12 +22,14 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ActiveProfiles("test")
@@ -47,6 +51,9 @@ public class UserServiceIntegrationTest {
 	@Autowired
 	private BCryptPasswordEncoder bCryptPasswordEncoder;
 
+	@Autowired
+	private MeterRegistry meterRegistry;
+
 	private UserDTO userDTO;
 
 	private Specialty specialty;
@@ -57,6 +64,9 @@ public class UserServiceIntegrationTest {
 
 	@BeforeEach
 	public void setup() {
+		when(IAMService.userExistsByIdAsync(any())).thenReturn(Mono.just(false));
+		when(IAMService.userExistsByUsernameAsync(any())).thenReturn(Mono.just(false));
+
 		specialty =  new Specialty();
 		specialty.setId("S001");
 		specialty.setDescription("A specialty");
@@ -125,6 +135,33 @@ public class UserServiceIntegrationTest {
 		assertDoesNotThrow(() -> userService.createUser(userDTO));
 
 		verify(IAMService, times(1)).createUser(userDTO);
+		assertEquals(doctor.getSecurityCode(), fileDAO.findById("doctorId").orElseThrow().getSecurityCode());
+	}
+
+	@Test
+	public void testCreateDoctorAccountSuccessSecurityCodeUpgraded() throws InterruptedException {
+
+		when(IAMService.createUser(userDTO)).thenReturn(HttpStatus.CREATED);
+
+		doctor.setSecurityCode(new BCryptPasswordEncoder(4).encode("12345678"));
+		fileDAO.save(doctor);
+
+		Counter upgradedCounter = meterRegistry.counter("security.code.upgrades", "outcome", "upgraded");
+		double upgraded = upgradedCounter.count();
+
+		assertDoesNotThrow(() -> userService.createUser(userDTO));
+
+		verify(IAMService, times(1)).createUser(userDTO);
+
+		// le code est rehaché en arrière-plan, après la création du compte
+		for (int i = 0; i < 100 && upgradedCounter.count() == upgraded; i++) {
+			Thread.sleep(50);
+		}
+
+		assertEquals(upgraded + 1, upgradedCounter.count());
+		String securityCode = fileDAO.findById("doctorId").orElseThrow().getSecurityCode();
+		assertTrue(securityCode.startsWith("$2a$10$"));
+		assertTrue(bCryptPasswordEncoder.matches("12345678", securityCode));
 	}
 
 	@Test
@@ -143,44 +180,44 @@ public class UserServiceIntegrationTest {
 	@Test
 	public void testCreateDoctorAccountFailureUserAccountAlreadyExistsById() {
 
-		when(IAMService.userExistsById(userDTO.getId())).thenReturn(true);
+		when(IAMService.userExistsByIdAsync(userDTO.getId())).thenReturn(Mono.just(true));
 		
 		DuplicateKeyException ex = assertThrows(DuplicateKeyException.class, () -> userService.createUser(userDTO));
 
-		verify(IAMService, times(1)).userExistsById(userDTO.getId());
+		verify(IAMService, times(1)).userExistsByIdAsync(userDTO.getId());
 		assertEquals("Le compte utilisateur existe déjà.", ex.getMessage());
 	}
 
 	@Test
 	public void testCreatePatientAccountFailureUserAccountAlreadyExistsById() {
 
-		when(IAMService.userExistsById(userDTO.getId())).thenReturn(true);
+		when(IAMService.userExistsByIdAsync(userDTO.getId())).thenReturn(Mono.just(true));
 		
 		DuplicateKeyException ex = assertThrows(DuplicateKeyException.class, () -> userService.createUser(userDTO));
 
-		verify(IAMService, times(1)).userExistsById(userDTO.getId());
+		verify(IAMService, times(1)).userExistsByIdAsync(userDTO.getId());
 		assertEquals("Le compte utilisateur existe déjà.", ex.getMessage());
 	}
 
 	@Test
 	public void testCreateDoctorAccountFailureUserAccountAlreadyExistsByUsername() {
 
-		when(IAMService.userExistsByUsername(userDTO.getUsername())).thenReturn(true);
+		when(IAMService.userExistsByUsernameAsync(userDTO.getUsername())).thenReturn(Mono.just(true));
 
 		DuplicateKeyException ex = assertThrows(DuplicateKeyException.class, () -> userService.createUser(userDTO));
 
-		verify(IAMService, times(1)).userExistsByUsername(userDTO.getUsername());
+		verify(IAMService, times(1)).userExistsByUsernameAsync(userDTO.getUsername());
 		assertEquals("Le nom d'utilisateur existe déjà.", ex.getMessage());
 	}
 
 	@Test
 	public void testCreatePatientAccountFailureUserAccountAlreadyExistsByUsername() {
 
-		when(IAMService.userExistsByUsername(userDTO.getUsername())).thenReturn(true);
+		when(IAMService.userExistsByUsernameAsync(userDTO.getUsername())).thenReturn(Mono.just(true));
 
 		DuplicateKeyException ex = assertThrows(DuplicateKeyException.class, () -> userService.createUser(userDTO));
 
-		verify(IAMService, times(1)).userExistsByUsername(userDTO.getUsername());
+		verify(IAMService, times(1)).userExistsByUsernameAsync(userDTO.getUsername());
 		assertEquals("Le nom d'utilisateur existe déjà.", ex.getMessage());
 	}
 
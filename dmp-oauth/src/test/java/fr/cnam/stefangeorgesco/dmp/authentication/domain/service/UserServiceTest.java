@@ -18,6 +18,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 import java.util.Optional;
 
@@ -51,6 +52,9 @@ public class UserServiceTest {
 
 	@BeforeEach
 	public void setup() {
+		when(IAMService.userExistsByIdAsync(any())).thenReturn(Mono.just(false));
+		when(IAMService.userExistsByUsernameAsync(any())).thenReturn(Mono.just(false));
+
 		userDTO = new UserDTO();
 		userDTO.setId("1");
 		userDTO.setUsername("username");
@@ -64,16 +68,16 @@ public class UserServiceTest {
 	@Test
 	public void testCreateDoctorAccountSuccess() throws CheckException {
 		doNothing().when(doctor).checkUserData(any(User.class), any(PasswordEncoder.class));
-		when(IAMService.userExistsById(userDTO.getId())).thenReturn(false);
-		when(IAMService.userExistsByUsername(userDTO.getUsername())).thenReturn(false);
+		when(IAMService.userExistsByIdAsync(userDTO.getId())).thenReturn(Mono.just(false));
+		when(IAMService.userExistsByUsernameAsync(userDTO.getUsername())).thenReturn(Mono.just(false));
 		when(fileDAO.findById(userDTO.getId())).thenReturn(Optional.of(doctor));
 		when(IAMService.createUser(userDTO)).thenReturn(HttpStatus.CREATED);
 
 		assertDoesNotThrow(() -> userService.createUser(userDTO));
 
 		verify(doctor, times(1)).checkUserData(any(User.class), any(PasswordEncoder.class));
-		verify(IAMService, times(1)).userExistsById(userDTO.getId());
-		verify(IAMService, times(1)).userExistsByUsername(userDTO.getUsername());
+		verify(IAMService, times(1)).userExistsByIdAsync(userDTO.getId());
+		verify(IAMService, times(1)).userExistsByUsernameAsync(userDTO.getUsername());
 		verify(fileDAO, times(1)).findById(userDTO.getId());
 		verify(IAMService, times(1)).createUser(userDTO);
 	}
@@ -81,62 +85,64 @@ public class UserServiceTest {
 	@Test
 	public void testCreatePatientAccountSuccess() throws CheckException {
 		doNothing().when(patientFile).checkUserData(any(User.class), any(PasswordEncoder.class));
-		when(IAMService.userExistsById(userDTO.getId())).thenReturn(false);
-		when(IAMService.userExistsByUsername(userDTO.getUsername())).thenReturn(false);
+		when(IAMService.userExistsByIdAsync(userDTO.getId())).thenReturn(Mono.just(false));
+		when(IAMService.userExistsByUsernameAsync(userDTO.getUsername())).thenReturn(Mono.just(false));
 		when(fileDAO.findById(userDTO.getId())).thenReturn(Optional.of(patientFile));
 		when(IAMService.createUser(userDTO)).thenReturn(HttpStatus.CREATED);
 
 		assertDoesNotThrow(() -> userService.createUser(userDTO));
 
 		verify(patientFile, times(1)).checkUserData(any(User.class), any(PasswordEncoder.class));
-		verify(IAMService, times(1)).userExistsById(userDTO.getId());
-		verify(IAMService, times(1)).userExistsByUsername(userDTO.getUsername());
+		verify(IAMService, times(1)).userExistsByIdAsync(userDTO.getId());
+		verify(IAMService, times(1)).userExistsByUsernameAsync(userDTO.getUsername());
 		verify(fileDAO, times(1)).findById(userDTO.getId());
 		verify(IAMService, times(1)).createUser(userDTO);
 	}
 
 	@Test
 	public void testCreateAccountFailureUserAccountAlreadyExistsById() {
-		when(IAMService.userExistsById(userDTO.getId())).thenReturn(true);
+		when(IAMService.userExistsByIdAsync(userDTO.getId())).thenReturn(Mono.just(true));
+		when(fileDAO.findById(userDTO.getId())).thenReturn(Optional.of(doctor));
 
 		DuplicateKeyException ex = assertThrows(DuplicateKeyException.class, () -> userService.createUser(userDTO));
 
-		verify(IAMService, times(1)).userExistsById(userDTO.getId());
+		verify(IAMService, times(1)).userExistsByIdAsync(userDTO.getId());
 		verify(IAMService, times(0)).createUser(any(UserDTO.class));
 		assertEquals("Le compte utilisateur existe déjà.", ex.getMessage());
 	}
 
 	@Test
 	public void testCreateAccountFailureUserAccountAlreadyExistsByUsername() {
-		when(IAMService.userExistsById(userDTO.getId())).thenReturn(false);
-		when(IAMService.userExistsByUsername(userDTO.getUsername())).thenReturn(true);
+		when(IAMService.userExistsByIdAsync(userDTO.getId())).thenReturn(Mono.just(false));
+		when(IAMService.userExistsByUsernameAsync(userDTO.getUsername())).thenReturn(Mono.just(true));
+		when(fileDAO.findById(userDTO.getId())).thenReturn(Optional.of(doctor));
 
 		DuplicateKeyException ex = assertThrows(DuplicateKeyException.class, () -> userService.createUser(userDTO));
 
-		verify(IAMService, times(1)).userExistsById(userDTO.getId());
-		verify(IAMService, times(1)).userExistsByUsername(userDTO.getUsername());
+		verify(IAMService, times(1)).userExistsByIdAsync(userDTO.getId());
+		verify(IAMService, times(1)).userExistsByUsernameAsync(userDTO.getUsername());
 		verify(IAMService, times(0)).createUser(any(UserDTO.class));
 		assertEquals("Le nom d'utilisateur existe déjà.", ex.getMessage());
 	}
 
 	@Test
 	public void testCreateAccountFailureFileDoesNotExist() {
-		when(IAMService.userExistsById(userDTO.getId())).thenReturn(false);
-		when(IAMService.userExistsByUsername(userDTO.getUsername())).thenReturn(false);
+		when(IAMService.userExistsByIdAsync(userDTO.getId())).thenReturn(Mono.just(false));
+		when(IAMService.userExistsByUsernameAsync(userDTO.getUsername())).thenReturn(Mono.just(false));
 		when(fileDAO.findById(userDTO.getId())).thenReturn(Optional.empty());
 
 		FinderException ex = assertThrows(FinderException.class, () -> userService.createUser(userDTO));
 
-		verify(IAMService, times(1)).userExistsById(userDTO.getId());
-		verify(IAMService, times(1)).userExistsByUsername(userDTO.getUsername());
+		verify(IAMService, times(1)).userExistsByIdAsync(userDTO.getId());
+		verify(IAMService, times(1)).userExistsByUsernameAsync(userDTO.getUsername());
 		verify(IAMService, times(0)).createUser(any(UserDTO.class));
 		assertEquals("Le dossier n'existe pas.", ex.getMessage());
 	}
 
 	@Test
 	public void testCreateDoctorAccountFailureCheckUserDataError() throws CheckException {
-		when(IAMService.userExistsById(userDTO.getId())).thenReturn(false);
-		when(IAMService.userExistsByUsername(userDTO.getUsername())).thenReturn(false);
+		when(IAMService.userExistsByIdAsync(userDTO.getId())).thenReturn(Mono.just(false));
+		when(IAMService.userExistsByUsernameAsync(userDTO.getUsername())).thenReturn(Mono.just(false));
 		when(fileDAO.findById(userDTO.getId())).thenReturn(Optional.of(doctor));
 		doThrow(new CheckException("Les données ne correspondent pas.")).when(doctor)
 				.checkUserData(userCaptor.capture(), any(PasswordEncoder.class));
@@ -145,8 +151,8 @@ public class UserServiceTest {
 
 		assertEquals("Les données ne correspondent pas.", ex.getMessage());
 
-		verify(IAMService, times(1)).userExistsById(userDTO.getId());
-		verify(IAMService, times(1)).userExistsByUsername(userDTO.getUsername());
+		verify(IAMService, times(1)).userExistsByIdAsync(userDTO.getId());
+		verify(IAMService, times(1)).userExistsByUsernameAsync(userDTO.getUsername());
 		verify(fileDAO, times(1)).findById(userDTO.getId());
 		verify(doctor, times(1)).checkUserData(any(User.class), any(PasswordEncoder.class));
 		verify(IAMService, times(0)).createUser(any(UserDTO.class));
@@ -160,8 +166,8 @@ public class UserServiceTest {
 
 	@Test
 	public void testCreatePatientAccountFailureCheckUserDataError() throws CheckException {
-		when(IAMService.userExistsById(userDTO.getId())).thenReturn(false);
-		when(IAMService.userExistsByUsername(userDTO.getUsername())).thenReturn(false);
+		when(IAMService.userExistsByIdAsync(userDTO.getId())).thenReturn(Mono.just(false));
+		when(IAMService.userExistsByUsernameAsync(userDTO.getUsername())).thenReturn(Mono.just(false));
 		when(fileDAO.findById(userDTO.getId())).thenReturn(Optional.of(patientFile));
 		doThrow(new CheckException("Les données ne correspondent pas.")).when(patientFile)
 				.checkUserData(userCaptor.capture(), any(PasswordEncoder.class));
@@ -170,8 +176,8 @@ public class UserServiceTest {
 
 		assertEquals("Les données ne correspondent pas.", ex.getMessage());
 
-		verify(IAMService, times(1)).userExistsById(userDTO.getId());
-		verify(IAMService, times(1)).userExistsByUsername(userDTO.getUsername());
+		verify(IAMService, times(1)).userExistsByIdAsync(userDTO.getId());
+		verify(IAMService, times(1)).userExistsByUsernameAsync(userDTO.getUsername());
 		verify(fileDAO, times(1)).findById(userDTO.getId());
 		verify(patientFile, times(1)).checkUserData(any(User.class), any(PasswordEncoder.class));
 		verify(IAMService, times(0)).createUser(any(UserDTO.class));
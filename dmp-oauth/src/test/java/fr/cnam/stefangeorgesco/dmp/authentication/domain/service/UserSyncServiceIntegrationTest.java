@@ -0,0 +1,231 @@
+package fr.cnam.stefangeorgesco.dmp.authentication.domain.service;
+
+import fr.cnam.stefangeorgesco.dmp.authentication.domain.dto.UserDTO;
+import fr.cnam.stefangeorgesco.dmp.domain.dao.UserSyncEventDAO;
+import fr.cnam.stefangeorgesco.dmp.domain.model.UserSyncEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.net.URI;
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class UserSyncServiceIntegrationTest {
+
+	@MockBean
+	private IAMService IAMService;
+
+	@Autowired
+	private UserSyncService userSyncService;
+
+	@Autowired
+	private UserSyncEventDAO userSyncEventDAO;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private UserDTO userDTO;
+
+	@BeforeEach
+	public void setup() {
+		// événements laissés par d'autres classes de test dans le même contexte
+		userSyncEventDAO.deleteAll();
+
+		userDTO = new UserDTO();
+		userDTO.setId("P001");
+		userDTO.setFirstname("firstname");
+		userDTO.setLastname("lastname");
+		userDTO.setEmail("mail@mail.com");
+	}
+
+	@AfterEach
+	public void tearDown() {
+		userSyncEventDAO.deleteAll();
+	}
+
+	@Test
+	public void testScheduleUserUpdateFailureNoTransaction() {
+
+		assertThrows(IllegalTransactionStateException.class, () -> userSyncService.scheduleUserUpdate(userDTO));
+		assertThrows(IllegalTransactionStateException.class, () -> userSyncService.scheduleUserDeletion("P001"));
+
+		assertEquals(0, userSyncEventDAO.count());
+	}
+
+	@Test
+	public void testScheduleUserUpdateRolledBackWithTransaction() {
+
+		transactionTemplate.executeWithoutResult(status -> {
+			userSyncService.scheduleUserUpdate(userDTO);
+			status.setRollbackOnly();
+		});
+
+		assertEquals(0, userSyncEventDAO.count());
+	}
+
+	@Test
+	public void testDispatchPendingEventsUpdateSuccess() {
+		when(IAMService.updateUser(any(UserDTO.class))).thenReturn(HttpStatus.NO_CONTENT);
+		double dispatched = count("dispatched");
+
+		transactionTemplate.executeWithoutResult(status -> userSyncService.scheduleUserUpdate(userDTO));
+
+		assertEquals(1, userSyncEventDAO.count());
+		verify(IAMService, times(0)).updateUser(any(UserDTO.class));
+
+		userSyncService.dispatchPendingEvents();
+
+		ArgumentCaptor<UserDTO> captor = ArgumentCaptor.forClass(UserDTO.class);
+		verify(IAMService, times(1)).updateUser(captor.capture());
+		assertEquals("P001", captor.getValue().getId());
+		assertEquals("firstname", captor.getValue().getFirstname());
+		assertEquals("lastname", captor.getValue().getLastname());
+		assertEquals("mail@mail.com", captor.getValue().getEmail());
+		assertEquals(0, userSyncEventDAO.count());
+		assertEquals(dispatched + 1, count("dispatched"));
+		assertEquals(0, meterRegistry.get("user.sync.backlog").gauge().value());
+	}
+
+	@Test
+	public void testDispatchPendingEventsSupersededUpdates() {
+		when(IAMService.updateUser(any(UserDTO.class))).thenReturn(HttpStatus.NO_CONTENT);
+		double superseded = count("superseded");
+
+		transactionTemplate.executeWithoutResult(status -> {
+			userSyncService.scheduleUserUpdate(userDTO);
+			userDTO.setLastname("new lastname");
+			userSyncService.scheduleUserUpdate(userDTO);
+		});
+
+		userSyncService.dispatchPendingEvents();
+
+		ArgumentCaptor<UserDTO> captor = ArgumentCaptor.forClass(UserDTO.class);
+		verify(IAMService, times(1)).updateUser(captor.capture());
+		assertEquals("new lastname", captor.getValue().getLastname());
+		assertEquals(0, userSyncEventDAO.count());
+		assertEquals(superseded + 1, count("superseded"));
+	}
+
+	@Test
+	public void testDispatchPendingEventsOrderedPerUser() {
+		when(IAMService.deleteUser("P001")).thenReturn(HttpStatus.NO_CONTENT);
+		when(IAMService.updateUser(any(UserDTO.class))).thenReturn(HttpStatus.NO_CONTENT);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			userSyncService.scheduleUserDeletion("P001");
+			userSyncService.scheduleUserUpdate(userDTO);
+		});
+
+		userSyncService.dispatchPendingEvents();
+
+		InOrder inOrder = inOrder(IAMService);
+		inOrder.verify(IAMService).deleteUser("P001");
+		inOrder.verify(IAMService).updateUser(any(UserDTO.class));
+		assertEquals(0, userSyncEventDAO.count());
+	}
+
+	@Test
+	public void testDispatchPendingEventsNoUser() {
+		when(IAMService.deleteUser("P001"))
+				.thenThrow(WebClientResponseException.create(404, "Not Found", null, null, null));
+
+		transactionTemplate.executeWithoutResult(status -> userSyncService.scheduleUserDeletion("P001"));
+
+		userSyncService.dispatchPendingEvents();
+
+		verify(IAMService, times(1)).deleteUser("P001");
+		assertEquals(0, userSyncEventDAO.count());
+	}
+
+	@Test
+	public void testDispatchPendingEventsFailureRetriedLater() {
+		when(IAMService.deleteUser("P001")).thenReturn(HttpStatus.INTERNAL_SERVER_ERROR);
+		when(IAMService.deleteUser("P002")).thenThrow(
+				new WebClientRequestException(new RuntimeException("Connection refused"), HttpMethod.DELETE,
+						URI.create("http://localhost"), new HttpHeaders()));
+		when(IAMService.updateUser(any(UserDTO.class))).thenReturn(HttpStatus.NO_CONTENT);
+		double failed = count("failed");
+
+		transactionTemplate.executeWithoutResult(status -> {
+			userSyncService.scheduleUserDeletion("P001");
+			userSyncService.scheduleUserUpdate(userDTO);
+			userSyncService.scheduleUserDeletion("P002");
+		});
+
+		long before = System.currentTimeMillis();
+		userSyncService.dispatchPendingEvents();
+
+		// l'événement suivant du même utilisateur attend la transmission du premier
+		verify(IAMService, times(1)).deleteUser("P001");
+		verify(IAMService, times(1)).deleteUser("P002");
+		verify(IAMService, times(0)).updateUser(any(UserDTO.class));
+		assertEquals(3, userSyncEventDAO.count());
+		assertEquals(failed + 2, count("failed"));
+		assertEquals(3, meterRegistry.get("user.sync.backlog").gauge().value());
+
+		List<UserSyncEvent> events = userSyncEventDAO.findAll();
+		UserSyncEvent failedEvent = events.stream()
+				.filter(event -> "P001".equals(event.getUserId()) && UserSyncEvent.DELETE.equals(event.getEventType()))
+				.findFirst().orElseThrow();
+		assertEquals(1, failedEvent.getAttempts());
+		assertEquals("HTTPStatus : 500 INTERNAL_SERVER_ERROR", failedEvent.getLastError());
+		assertTrue(failedEvent.getNextAttemptDate().getTime() >= before + 1000);
+
+		// nouvelle transmission immédiate : le délai n'est pas écoulé
+		userSyncService.dispatchPendingEvents();
+
+		verify(IAMService, times(1)).deleteUser("P001");
+
+		// délai écoulé : la seconde tentative double le délai
+		failedEvent.setNextAttemptDate(new Timestamp(System.currentTimeMillis()));
+		userSyncEventDAO.save(failedEvent);
+		before = System.currentTimeMillis();
+
+		userSyncService.dispatchPendingEvents();
+
+		verify(IAMService, times(2)).deleteUser("P001");
+		failedEvent = userSyncEventDAO.findById(failedEvent.getId()).orElseThrow();
+		assertEquals(2, failedEvent.getAttempts());
+		assertTrue(failedEvent.getNextAttemptDate().getTime() >= before + 2000);
+
+		// Keycloak à nouveau disponible
+		when(IAMService.deleteUser("P001")).thenReturn(HttpStatus.NO_CONTENT);
+		failedEvent.setNextAttemptDate(new Timestamp(System.currentTimeMillis()));
+		userSyncEventDAO.save(failedEvent);
+
+		userSyncService.dispatchPendingEvents();
+
+		verify(IAMService, times(3)).deleteUser("P001");
+		verify(IAMService, times(1)).updateUser(any(UserDTO.class));
+		assertEquals(1, userSyncEventDAO.count());
+	}
+
+	private double count(String outcome) {
+		return meterRegistry.get("user.sync.events").tag("outcome", outcome).counter().count();
+	}
+
+}
@@ -0,0 +1,161 @@
+package fr.cnam.stefangeorgesco.dmp.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingJwtDecoderTest {
+
+	private final AtomicInteger decodings = new AtomicInteger();
+
+	private final AtomicInteger conversions = new AtomicInteger();
+
+	private MutableClock clock;
+
+	private MeterRegistry meterRegistry;
+
+	private CachingJwtDecoder jwtDecoder;
+
+	@BeforeEach
+	public void setup() {
+		decodings.set(0);
+		conversions.set(0);
+		clock = new MutableClock(Instant.parse("2026-10-18T10:00:00Z"));
+		meterRegistry = new SimpleMeterRegistry();
+		jwtDecoder = jwtDecoder(2);
+	}
+
+	private CachingJwtDecoder jwtDecoder(int maxSize) {
+		KeycloakRoleConverter keycloakRoleConverter = new KeycloakRoleConverter();
+		return new CachingJwtDecoder(token -> {
+			decodings.incrementAndGet();
+			if (token.startsWith("invalid")) {
+				throw new BadJwtException("invalid token");
+			}
+			return Jwt.withTokenValue(token).header("alg", "RS256")
+					.claim("realm_access", Map.of("roles", List.of("DOCTOR")))
+					.issuedAt(clock.instant()).expiresAt(clock.instant().plus(Duration.ofMinutes(5))).build();
+		}, jwt -> {
+			conversions.incrementAndGet();
+			return keycloakRoleConverter.convert(jwt);
+		}, maxSize, meterRegistry, clock);
+	}
+
+	private double gets(String cache, String result) {
+		return meterRegistry.get("cache.gets").tag("cache", cache).tag("result", result).counter().count();
+	}
+
+	@Test
+	public void testVerifiedTokenIsCached() {
+		Jwt first = jwtDecoder.decode("token1");
+		Jwt second = jwtDecoder.decode("token1");
+
+		assertSame(first, second);
+		assertEquals(1, decodings.get());
+		assertEquals(1, gets("jwt", "hit"));
+		assertEquals(1, gets("jwt", "miss"));
+		assertEquals(1, meterRegistry.get("cache.size").tag("cache", "jwt").gauge().value());
+	}
+
+	@Test
+	public void testAuthoritiesAreConvertedOnce() {
+		Collection<GrantedAuthority> first = jwtDecoder.authoritiesConverter().convert(jwtDecoder.decode("token1"));
+		Collection<GrantedAuthority> second = jwtDecoder.authoritiesConverter().convert(jwtDecoder.decode("token1"));
+
+		assertEquals(List.of(new SimpleGrantedAuthority("ROLE_DOCTOR")), List.copyOf(first));
+		assertSame(first, second);
+		assertEquals(1, conversions.get());
+		assertEquals(1, gets("jwt-authorities", "hit"));
+		assertEquals(1, gets("jwt-authorities", "miss"));
+	}
+
+	@Test
+	public void testTokenIsVerifiedAgainAfterExpiry() {
+		jwtDecoder.decode("token1");
+
+		clock.advance(Duration.ofMinutes(5));
+
+		jwtDecoder.decode("token1");
+		assertEquals(2, decodings.get());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedTokenIsEvicted() {
+		jwtDecoder.decode("token1");
+		jwtDecoder.decode("token2");
+		jwtDecoder.decode("token1");
+		jwtDecoder.decode("token3");
+
+		jwtDecoder.decode("token1");
+		assertEquals(3, decodings.get());
+
+		jwtDecoder.decode("token2");
+		assertEquals(4, decodings.get());
+	}
+
+	@Test
+	public void testInvalidTokenIsNotCached() {
+		assertThrows(BadJwtException.class, () -> jwtDecoder.decode("invalid"));
+		assertThrows(BadJwtException.class, () -> jwtDecoder.decode("invalid"));
+
+		assertEquals(2, decodings.get());
+	}
+
+	@Test
+	public void testCacheDisabled() {
+		jwtDecoder = jwtDecoder(0);
+
+		jwtDecoder.authoritiesConverter().convert(jwtDecoder.decode("token1"));
+		jwtDecoder.authoritiesConverter().convert(jwtDecoder.decode("token1"));
+
+		assertEquals(2, decodings.get());
+		assertEquals(2, conversions.get());
+	}
+
+	private static class MutableClock extends Clock {
+
+		private Instant instant;
+
+		private MutableClock(Instant instant) {
+			this.instant = instant;
+		}
+
+		private void advance(Duration duration) {
+			instant = instant.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return instant;
+		}
+
+	}
+
+}
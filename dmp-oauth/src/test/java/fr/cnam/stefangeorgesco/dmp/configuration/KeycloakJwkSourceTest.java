@@ -0,0 +1,158 @@
+package fr.cnam.stefangeorgesco.dmp.configuration;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeycloakJwkSourceTest {
+
+	private static final String JWK_SET_URI = "http://localhost:8180/realms/dmp-dev/protocol/openid-connect/certs";
+
+	private final AtomicInteger requests = new AtomicInteger();
+
+	private HttpStatus status;
+
+	private String jwkSet;
+
+	private RSAKey key1;
+
+	private RSAKey key2;
+
+	private WebClient keyCloakClient;
+
+	@BeforeEach
+	public void setup() throws JOSEException {
+		requests.set(0);
+		status = HttpStatus.OK;
+		key1 = new RSAKeyGenerator(2048).keyID("k1").generate();
+		key2 = new RSAKeyGenerator(2048).keyID("k2").generate();
+		jwkSet = new JWKSet(key1.toPublicJWK()).toString();
+
+		keyCloakClient = WebClient.builder().exchangeFunction(request -> {
+			requests.incrementAndGet();
+			assertEquals(JWK_SET_URI, request.url().toString());
+			return Mono.just(ClientResponse.create(status)
+					.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE).body(jwkSet).build());
+		}).build();
+	}
+
+	private KeycloakJwkSource jwkSource(Duration minRefreshInterval) {
+		return new KeycloakJwkSource(keyCloakClient, JWK_SET_URI, true, minRefreshInterval);
+	}
+
+	private static JWKSelector selector(String keyId) {
+		return new JWKSelector(new JWKMatcher.Builder().keyID(keyId).build());
+	}
+
+	@Test
+	public void testJwkSetIsPrefetched() throws KeySourceException {
+		KeycloakJwkSource jwkSource = jwkSource(Duration.ofSeconds(30));
+
+		jwkSource.prefetch();
+		assertEquals(1, requests.get());
+
+		List<JWK> keys = jwkSource.get(selector("k1"), null);
+		jwkSource.get(selector("k1"), null);
+
+		assertEquals(1, keys.size());
+		assertEquals("k1", keys.get(0).getKeyID());
+		assertEquals(1, requests.get());
+	}
+
+	@Test
+	public void testJwkSetIsLoadedOnFirstUseWithoutPrefetch() throws KeySourceException {
+		KeycloakJwkSource jwkSource = new KeycloakJwkSource(keyCloakClient, JWK_SET_URI, false,
+				Duration.ofSeconds(30));
+
+		jwkSource.prefetch();
+		assertEquals(0, requests.get());
+
+		assertEquals(1, jwkSource.get(selector("k1"), null).size());
+		assertEquals(1, requests.get());
+	}
+
+	@Test
+	public void testUnknownKeyTriggersRefresh() throws KeySourceException {
+		KeycloakJwkSource jwkSource = jwkSource(Duration.ZERO);
+		jwkSource.prefetch();
+
+		jwkSet = new JWKSet(List.of(key1.toPublicJWK(), key2.toPublicJWK())).toString();
+
+		List<JWK> keys = jwkSource.get(selector("k2"), null);
+
+		assertEquals(1, keys.size());
+		assertEquals("k2", keys.get(0).getKeyID());
+		assertEquals(2, requests.get());
+	}
+
+	@Test
+	public void testUnknownKeyRefreshIsRateLimited() throws KeySourceException {
+		KeycloakJwkSource jwkSource = jwkSource(Duration.ofHours(1));
+		jwkSource.prefetch();
+
+		assertTrue(jwkSource.get(selector("k2"), null).isEmpty());
+		assertTrue(jwkSource.get(selector("k2"), null).isEmpty());
+		assertEquals(1, requests.get());
+	}
+
+	@Test
+	public void testFailedRefreshKeepsPreviousJwkSet() throws KeySourceException {
+		KeycloakJwkSource jwkSource = jwkSource(Duration.ofSeconds(30));
+		jwkSource.prefetch();
+
+		status = HttpStatus.SERVICE_UNAVAILABLE;
+		jwkSource.refreshQuietly();
+
+		assertEquals(2, requests.get());
+		assertEquals(1, jwkSource.get(selector("k1"), null).size());
+	}
+
+	@Test
+	public void testUnavailableKeycloakWithoutJwkSet() {
+		status = HttpStatus.SERVICE_UNAVAILABLE;
+		KeycloakJwkSource jwkSource = jwkSource(Duration.ofSeconds(30));
+
+		jwkSource.prefetch();
+
+		// échec récent : refus immédiat sans appel à Keycloak
+		assertThrows(KeySourceException.class, () -> jwkSource.get(selector("k1"), null));
+		assertThrows(KeySourceException.class, () -> jwkSource.get(selector("k1"), null));
+		assertEquals(1, requests.get());
+	}
+
+	@Test
+	public void testJwkSetIsLoadedAfterFailedLoadOnceIntervalHasPassed() throws Exception {
+		status = HttpStatus.SERVICE_UNAVAILABLE;
+		KeycloakJwkSource jwkSource = jwkSource(Duration.ofMillis(200));
+
+		assertThrows(KeySourceException.class, () -> jwkSource.get(selector("k1"), null));
+		assertThrows(KeySourceException.class, () -> jwkSource.get(selector("k1"), null));
+		assertEquals(1, requests.get());
+
+		status = HttpStatus.OK;
+		Thread.sleep(300);
+
+		assertEquals(1, jwkSource.get(selector("k1"), null).size());
+		assertEquals(2, requests.get());
+	}
+
+}
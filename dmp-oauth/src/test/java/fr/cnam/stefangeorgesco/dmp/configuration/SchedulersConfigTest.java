@@ -0,0 +1,72 @@
+package fr.cnam.stefangeorgesco.dmp.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchedulersConfigTest {
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private Scheduler hashingScheduler;
+
+	@BeforeEach
+	public void setup() {
+		hashingScheduler = new SchedulersConfig().hashingScheduler(1, 1, meterRegistry);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		hashingScheduler.dispose();
+	}
+
+	@Test
+	public void testHashingSchedulerRunsTasksOnHashingThreads() {
+
+		String threadName = Mono.fromCallable(() -> Thread.currentThread().getName()).subscribeOn(hashingScheduler)
+				.block();
+
+		assertNotNull(threadName);
+		assertTrue(threadName.startsWith("hashing-"));
+	}
+
+	@Test
+	public void testHashingSchedulerRejectsTasksBeyondQueueCap() throws InterruptedException {
+
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		// un thread occupé, une tâche en attente
+		hashingScheduler.schedule(() -> {
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		assertTrue(started.await(1, TimeUnit.SECONDS));
+		Mono<String> queued = Mono.fromCallable(() -> "queued").subscribeOn(hashingScheduler).cache();
+		queued.subscribe();
+
+		assertThrows(RejectedExecutionException.class,
+				() -> Mono.fromCallable(() -> "rejected").subscribeOn(hashingScheduler).block());
+		assertEquals(1, meterRegistry.get("executor.rejected").tag("name", "hashing").counter().count());
+		assertEquals(1, meterRegistry.get("executor.queued").tag("name", "hashing").gauge().value());
+
+		release.countDown();
+
+		assertEquals("queued", queued.block());
+	}
+
+}
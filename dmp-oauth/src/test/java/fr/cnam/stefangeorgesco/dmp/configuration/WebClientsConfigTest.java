@@ -0,0 +1,269 @@
+package fr.cnam.stefangeorgesco.dmp.configuration;
+
+import com.sun.net.httpserver.HttpServer;
+import fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileDTO;
+import fr.cnam.stefangeorgesco.dmp.domain.service.RnippService;
+import fr.cnam.stefangeorgesco.dmp.domain.service.RnippServiceImpl;
+import fr.cnam.stefangeorgesco.dmp.exception.domain.CheckException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WebClientsConfigTest {
+
+	private static final String UNAVAILABLE = "Le RNIPP est momentanément indisponible, veuillez réessayer.";
+
+	private final AtomicInteger requests = new AtomicInteger();
+
+	private volatile long latencyMillis;
+
+	private volatile long bodyLatencyMillis;
+
+	private volatile int status;
+
+	private HttpServer rnippStub;
+
+	private ExecutorService rnippStubExecutor;
+
+	private MockEnvironment environment;
+
+	private MeterRegistry meterRegistry;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		requests.set(0);
+		latencyMillis = 0;
+		bodyLatencyMillis = 0;
+		status = 200;
+
+		rnippStubExecutor = Executors.newCachedThreadPool();
+		rnippStub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		rnippStub.setExecutor(rnippStubExecutor);
+		rnippStub.createContext("/rnipp/check", exchange -> {
+			requests.incrementAndGet();
+			try {
+				Thread.sleep(latencyMillis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			byte[] body = "{\"result\":true,\"message\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			try (OutputStream responseBody = exchange.getResponseBody()) {
+				exchange.sendResponseHeaders(status, body.length);
+				// en-têtes et début du corps tout de suite, fin du corps après bodyLatencyMillis
+				responseBody.write(body, 0, body.length / 2);
+				responseBody.flush();
+				Thread.sleep(bodyLatencyMillis);
+				responseBody.write(body, body.length / 2, body.length - body.length / 2);
+			} catch (IOException e) {
+				// client parti (délai dépassé)
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		rnippStub.start();
+
+		environment = new MockEnvironment()
+				.withProperty("rnipp.client.deadline", "PT1S")
+				.withProperty("rnipp.client.bulkhead.max-concurrent-calls", "10")
+				.withProperty("rnipp.client.circuit-breaker.failure-threshold", "2")
+				.withProperty("rnipp.client.circuit-breaker.open-duration", "PT0.5S");
+		meterRegistry = new SimpleMeterRegistry();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		rnippStub.stop(0);
+		rnippStubExecutor.shutdownNow();
+	}
+
+	private RnippService rnippService() {
+		String url = "http://localhost:" + rnippStub.getAddress().getPort() + "/rnipp";
+		return new RnippServiceImpl(WebClientsConfig.webClient("rnipp", url, environment, "rnipp.client", meterRegistry),
+				meterRegistry, 0, Duration.ZERO, Duration.ZERO, Duration.ZERO, Duration.ofSeconds(10),
+				Duration.ofSeconds(10), Duration.ofSeconds(10), 0, Duration.ZERO);
+	}
+
+	private static PatientFileDTO patientFileDTO(String id) {
+		PatientFileDTO patientFileDTO = new PatientFileDTO();
+		patientFileDTO.setId(id);
+		patientFileDTO.setFirstname("Patrick");
+		patientFileDTO.setLastname("Dubois");
+		patientFileDTO.setDateOfBirth(LocalDate.of(2000, 2, 13));
+		return patientFileDTO;
+	}
+
+	private double circuitState() {
+		return meterRegistry.get("http.client.circuit.state").tag("client", "rnipp").gauge().value();
+	}
+
+	private double rejected(String reason) {
+		return meterRegistry.get("http.client.rejected").tag("client", "rnipp").tag("reason", reason).counter()
+				.count();
+	}
+
+	@Test
+	public void testCheckSucceedsWithinDeadline() {
+		RnippService rnippService = rnippService();
+
+		assertDoesNotThrow(() -> rnippService.checkPatientData(patientFileDTO("P002")));
+
+		assertEquals(1, requests.get());
+		assertEquals(0, circuitState());
+	}
+
+	@Test
+	public void testSlowRnippFailsFastWithCheckException() {
+		latencyMillis = 5000;
+		RnippService rnippService = rnippService();
+
+		long start = System.nanoTime();
+		CheckException ex = assertThrows(CheckException.class,
+				() -> rnippService.checkPatientData(patientFileDTO("P002")));
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertEquals(UNAVAILABLE, ex.getMessage());
+		assertTrue(elapsedMillis < 3000, "durée : " + elapsedMillis + " ms");
+	}
+
+	@Test
+	public void testSlowResponseBodyFailsFastWithCheckException() {
+		bodyLatencyMillis = 5000;
+		RnippService rnippService = rnippService();
+
+		long start = System.nanoTime();
+		CheckException ex = assertThrows(CheckException.class,
+				() -> rnippService.checkPatientData(patientFileDTO("P002")));
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertEquals(UNAVAILABLE, ex.getMessage());
+		assertTrue(elapsedMillis < 3000, "durée : " + elapsedMillis + " ms");
+	}
+
+	@Test
+	public void testCircuitOpensAfterConsecutiveFailures() {
+		status = 500;
+		RnippService rnippService = rnippService();
+
+		assertThrows(CheckException.class, () -> rnippService.checkPatientData(patientFileDTO("P002")));
+		assertThrows(CheckException.class, () -> rnippService.checkPatientData(patientFileDTO("P002")));
+		assertEquals(2, requests.get());
+		assertEquals(1, circuitState());
+
+		// disjoncteur ouvert : refus sans appel au RNIPP
+		CheckException ex = assertThrows(CheckException.class,
+				() -> rnippService.checkPatientData(patientFileDTO("P002")));
+
+		assertEquals(UNAVAILABLE, ex.getMessage());
+		assertEquals(2, requests.get());
+		assertEquals(1, rejected("circuit-open"));
+	}
+
+	@Test
+	public void testCircuitClosesAfterSuccessfulTrial() throws InterruptedException {
+		status = 500;
+		RnippService rnippService = rnippService();
+
+		assertThrows(CheckException.class, () -> rnippService.checkPatientData(patientFileDTO("P002")));
+		assertThrows(CheckException.class, () -> rnippService.checkPatientData(patientFileDTO("P002")));
+		assertEquals(1, circuitState());
+
+		status = 200;
+		Thread.sleep(600);
+
+		assertDoesNotThrow(() -> rnippService.checkPatientData(patientFileDTO("P002")));
+		assertEquals(0, circuitState());
+		assertDoesNotThrow(() -> rnippService.checkPatientData(patientFileDTO("P002")));
+		assertEquals(4, requests.get());
+	}
+
+	@Test
+	public void testCircuitReopensAfterFailedTrial() throws InterruptedException {
+		status = 500;
+		RnippService rnippService = rnippService();
+
+		assertThrows(CheckException.class, () -> rnippService.checkPatientData(patientFileDTO("P002")));
+		assertThrows(CheckException.class, () -> rnippService.checkPatientData(patientFileDTO("P002")));
+
+		Thread.sleep(600);
+
+		assertThrows(CheckException.class, () -> rnippService.checkPatientData(patientFileDTO("P002")));
+		assertEquals(3, requests.get());
+		assertEquals(1, circuitState());
+
+		assertThrows(CheckException.class, () -> rnippService.checkPatientData(patientFileDTO("P002")));
+		assertEquals(3, requests.get());
+	}
+
+	@Test
+	public void testBulkheadRejectsCallsBeyondLimit() throws Exception {
+		environment.setProperty("rnipp.client.bulkhead.max-concurrent-calls", "1");
+		environment.setProperty("rnipp.client.deadline", "PT5S");
+		latencyMillis = 500;
+		RnippService rnippService = rnippService();
+
+		CompletableFuture<Void> first = rnippService.checkPatientDataAsync(patientFileDTO("P002")).toFuture();
+		while (requests.get() == 0) {
+			Thread.sleep(10);
+		}
+
+		long start = System.nanoTime();
+		CheckException ex = assertThrows(CheckException.class,
+				() -> rnippService.checkPatientData(patientFileDTO("P003")));
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertEquals(UNAVAILABLE, ex.getMessage());
+		assertTrue(elapsedMillis < 250, "durée : " + elapsedMillis + " ms");
+		assertEquals(1, rejected("bulkhead"));
+
+		first.get(5, TimeUnit.SECONDS);
+		assertEquals(1, requests.get());
+		assertEquals(0, circuitState());
+	}
+
+	@Test
+	public void testBulkheadCountsResponseBodyReading() throws Exception {
+		environment.setProperty("rnipp.client.bulkhead.max-concurrent-calls", "1");
+		environment.setProperty("rnipp.client.deadline", "PT5S");
+		bodyLatencyMillis = 500;
+		RnippService rnippService = rnippService();
+
+		CompletableFuture<Void> first = rnippService.checkPatientDataAsync(patientFileDTO("P002")).toFuture();
+		while (requests.get() == 0) {
+			Thread.sleep(10);
+		}
+		// en-têtes reçus, corps en cours de lecture
+		Thread.sleep(100);
+
+		CheckException ex = assertThrows(CheckException.class,
+				() -> rnippService.checkPatientData(patientFileDTO("P003")));
+
+		assertEquals(UNAVAILABLE, ex.getMessage());
+		assertEquals(1, rejected("bulkhead"));
+
+		first.get(5, TimeUnit.SECONDS);
+		assertEquals(1, requests.get());
+
+		// place libérée à la fin de la lecture du corps
+		assertDoesNotThrow(() -> rnippService.checkPatientData(patientFileDTO("P003")));
+		assertEquals(2, requests.get());
+	}
+
+}
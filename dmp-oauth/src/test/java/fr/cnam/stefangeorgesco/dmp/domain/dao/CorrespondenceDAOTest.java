@@ -62,6 +62,24 @@ public class CorrespondenceDAOTest {
 		assertEquals(count + 1, correspondenceDAO.count());
 	}
 
+	@Test
+	public void testCorrespondenceDAOSaveCreateTimeOrderedIds() {
+
+		Correspondence secondCorrespondence = new Correspondence();
+		secondCorrespondence.setDateUntil(correspondence.getDateUntil());
+		secondCorrespondence.setDoctor(correspondence.getDoctor());
+		secondCorrespondence.setPatientFile(correspondence.getPatientFile());
+
+		UUID firstId = correspondenceDAO.save(correspondence).getId();
+		UUID secondId = correspondenceDAO.save(secondCorrespondence).getId();
+
+		assertEquals(7, firstId.version());
+		assertEquals(7, secondId.version());
+		assertTrue(Long.compareUnsigned(firstId.getMostSignificantBits(), secondId.getMostSignificantBits()) < 0);
+		assertTrue(correspondenceDAO.existsById(firstId));
+		assertTrue(correspondenceDAO.existsById(secondId));
+	}
+
 	@Test
 	public void testCorrespondenceDAODeleteByIdSuccess() {
 
@@ -89,8 +107,8 @@ public class CorrespondenceDAOTest {
 
 		assertEquals(3, correspondenceList.size());
 		assertEquals("2023-05-02", correspondenceList.get(0).getDateUntil().toString());
-		assertEquals("e1eb3425-d257-4c5e-8600-b125731c458c", correspondenceList.get(1).getId().toString());
-		assertEquals("D011", correspondenceList.get(2).getDoctor().getId());
+		assertEquals("ef11c7e1-1694-474e-8d34-eb0a1677b140", correspondenceList.get(1).getId().toString());
+		assertEquals("D007", correspondenceList.get(2).getDoctor().getId());
 	}
 
 	@Test
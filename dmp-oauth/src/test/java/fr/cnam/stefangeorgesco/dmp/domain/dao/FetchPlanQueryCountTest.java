@@ -0,0 +1,161 @@
+package fr.cnam.stefangeorgesco.dmp.domain.dao;
+
+import fr.cnam.stefangeorgesco.dmp.domain.dto.CorrespondenceDTO;
+import fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileItemDTO;
+import fr.cnam.stefangeorgesco.dmp.domain.model.*;
+import fr.cnam.stefangeorgesco.dmp.domain.service.CorrespondenceService;
+import fr.cnam.stefangeorgesco.dmp.domain.service.PatientFileItemService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlGroup;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@SqlGroup({ @Sql(scripts = "/sql/create-specialties.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD),
+		@Sql(scripts = "/sql/create-files.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD),
+		@Sql(scripts = "/sql/create-correspondences.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD),
+		@Sql(scripts = "/sql/create-diseases.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD),
+		@Sql(scripts = "/sql/create-medical-acts.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD),
+		@Sql(scripts = "/sql/create-patient-file-items.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD),
+		@Sql(scripts = "/sql/delete-patient-file-items.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD),
+		@Sql(scripts = "/sql/delete-diseases.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD),
+		@Sql(scripts = "/sql/delete-medical-acts.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD),
+		@Sql(scripts = "/sql/delete-correspondences.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD),
+		@Sql(scripts = "/sql/delete-files.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD),
+		@Sql(scripts = "/sql/delete-specialties.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD) })
+public class FetchPlanQueryCountTest {
+
+	private static final int ADDED = 20;
+
+	@Autowired
+	private PatientFileItemService patientFileItemService;
+
+	@Autowired
+	private CorrespondenceService correspondenceService;
+
+	@Autowired
+	private PatientFileItemDAO patientFileItemDAO;
+
+	@Autowired
+	private CorrespondenceDAO correspondenceDAO;
+
+	@Autowired
+	private PatientFileDAO patientFileDAO;
+
+	@Autowired
+	private DoctorDAO doctorDAO;
+
+	@Autowired
+	private DiseaseDAO diseaseDAO;
+
+	@Autowired
+	private MedicalActDAO medicalActDAO;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	private PatientFile patientFile;
+
+	private List<Doctor> doctors;
+
+	@BeforeEach
+	public void setup() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		patientFile = patientFileDAO.findById("P005").get();
+		doctors = doctorDAO.findAll();
+	}
+
+	@Test
+	public void testPatientFileItemsStatementCountDoesNotDependOnItemCount() {
+
+		long statementsBefore = countItemStatements();
+
+		List<Disease> diseases = diseaseDAO.findAll(PageRequest.of(0, ADDED)).getContent();
+		List<MedicalAct> medicalActs = medicalActDAO.findAll(PageRequest.of(0, ADDED)).getContent();
+
+		for (int i = 0; i < ADDED; i++) {
+			Mail mail = new Mail();
+			mail.setText("Mail " + i);
+			mail.setRecipientDoctor(doctors.get(i % doctors.size()));
+			save(mail, i);
+
+			Diagnosis diagnosis = new Diagnosis();
+			diagnosis.setDisease(diseases.get(i % diseases.size()));
+			save(diagnosis, i);
+
+			Act act = new Act();
+			act.setMedicalAct(medicalActs.get(i % medicalActs.size()));
+			save(act, i);
+		}
+
+		long statementsAfter = countItemStatements();
+
+		// lignes des éléments, puis spécialités des médecins
+		assertEquals(2, statementsBefore);
+		assertEquals(statementsBefore, statementsAfter);
+	}
+
+	@Test
+	public void testCorrespondencesStatementCountDoesNotDependOnCorrespondenceCount() {
+
+		long statementsBefore = countCorrespondenceStatements();
+
+		for (int i = 0; i < ADDED; i++) {
+			Correspondence correspondence = new Correspondence();
+			correspondence.setDateUntil(LocalDate.now().plusDays(1 + i));
+			correspondence.setDoctor(doctors.get(i % doctors.size()));
+			correspondence.setPatientFile(patientFileDAO.findById("P001").get());
+			correspondenceDAO.save(correspondence);
+		}
+
+		long statementsAfter = countCorrespondenceStatements();
+
+		assertTrue(statementsBefore > 0);
+		assertEquals(statementsBefore, statementsAfter);
+	}
+
+	private void save(PatientFileItem item, int i) {
+		item.setDate(LocalDate.now().minusDays(i));
+		item.setComments("Comments " + i);
+		item.setAuthoringDoctor(doctors.get((i + 1) % doctors.size()));
+		item.setPatientFile(patientFile);
+		patientFileItemDAO.save(item);
+	}
+
+	private long countItemStatements() {
+		statistics.clear();
+
+		List<PatientFileItemDTO> patientFileItemsDTO = patientFileItemService.findPatientFileItemsByPatientFileId("P005");
+
+		assertTrue(patientFileItemsDTO.size() > 0);
+
+		return statistics.getPrepareStatementCount();
+	}
+
+	private long countCorrespondenceStatements() {
+		statistics.clear();
+
+		List<CorrespondenceDTO> correspondencesDTO = correspondenceService.findCorrespondencesByPatientFileId("P001");
+
+		assertTrue(correspondencesDTO.size() > 0);
+
+		return statistics.getPrepareStatementCount();
+	}
+
+}
@@ -0,0 +1,82 @@
+package fr.cnam.stefangeorgesco.dmp.domain.dao;
+
+import fr.cnam.stefangeorgesco.dmp.authentication.domain.service.IAMService;
+import fr.cnam.stefangeorgesco.dmp.utils.FulltextQuery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlGroup;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Requêtes plein texte ({@code MATCH ... AGAINST}) exécutées sur MySQL : ces
+ * tests ne s'exécutent que si la variable d'environnement
+ * {@code DMP_TEST_MYSQL_URL} désigne une base de test (profil {@code mysql}).
+ */
+@ActiveProfiles("mysql")
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "DMP_TEST_MYSQL_URL", matches = ".+")
+@SqlGroup({ @Sql(scripts = "/sql/create-specialties.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD),
+		@Sql(scripts = "/sql/create-files.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD),
+		@Sql(scripts = "/sql/delete-files.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD),
+		@Sql(scripts = "/sql/delete-specialties.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD) })
+public class FulltextSearchMySqlTest {
+
+	@MockBean
+	private IAMService IAMService;
+
+	@Autowired
+	private PatientFileDAO patientFileDAO;
+
+	@Autowired
+	private DoctorDAO doctorDAO;
+
+	private List<String> findPatientFileIds(String q) {
+		return patientFileDAO.findIdsByFulltext(FulltextQuery.phrase(q), FulltextQuery.likePrefix(q), "", 100);
+	}
+
+	private List<String> findDoctorIds(String q) {
+		return doctorDAO.findIdsByFulltext(FulltextQuery.phrase(q), FulltextQuery.likePrefix(q));
+	}
+
+	@Test
+	public void testPatientFileSubstringSearch() {
+		assertTrue(findPatientFileIds("artin").contains("P001"));
+		assertTrue(findPatientFileIds("ARTI").contains("P001"));
+		assertFalse(findPatientFileIds("artin").contains("D001"));
+	}
+
+	@Test
+	public void testPatientFileIdPrefixSearch() {
+		assertEquals(List.of("P010", "P011", "P012", "P013", "P014"), findPatientFileIds("P01"));
+	}
+
+	@Test
+	public void testOperatorCharactersAreNotInterpreted() {
+		assertDoesNotThrow(() -> findPatientFileIds("+ma -rtin* (\"x\") ~@2 <>"));
+		assertDoesNotThrow(() -> findDoctorIds("\"smi\"th\""));
+		assertTrue(findPatientFileIds("-artin").contains("P001"));
+	}
+
+	@Test
+	public void testLikeWildcardsAreEscaped() {
+		assertTrue(findPatientFileIds("%%").isEmpty());
+		assertTrue(findPatientFileIds("P0_1").isEmpty());
+		assertTrue(findDoctorIds("D0_1").isEmpty());
+		assertEquals(List.of("D001"), findDoctorIds("D001"));
+	}
+
+	@Test
+	public void testDoctorSubstringSearch() {
+		assertTrue(findDoctorIds("mith").contains("D001"));
+		assertFalse(findDoctorIds("mith").contains("P001"));
+	}
+
+}
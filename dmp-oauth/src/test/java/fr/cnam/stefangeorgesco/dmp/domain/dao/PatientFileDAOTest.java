@@ -7,12 +7,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.jdbc.SqlGroup;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -138,7 +140,8 @@ public class PatientFileDAOTest {
 
 		List<PatientFile> patientFilesList = new ArrayList<>();
 
-		Iterable<PatientFile> patientFiles = patientFileDAO.findByIdOrFirstnameOrLastname("ma");
+		Iterable<PatientFile> patientFiles = patientFileDAO.findByIdOrFirstnameOrLastname("ma", null,
+				PageRequest.of(0, 100));
 
 		patientFiles.forEach(patientFilesList::add);
 
@@ -154,19 +157,32 @@ public class PatientFileDAOTest {
 
 		List<PatientFile> patientFilesList = new ArrayList<>();
 
-		Iterable<PatientFile> patientFiles = patientFileDAO.findByIdOrFirstnameOrLastname("P0");
+		Iterable<PatientFile> patientFiles = patientFileDAO.findByIdOrFirstnameOrLastname("P0", null,
+				PageRequest.of(0, 100));
 
 		patientFiles.forEach(patientFilesList::add);
 
 		assertEquals(12, patientFilesList.size());
 	}
 
+	@Test
+	public void testPatientFileDAOFindByIdOrFirstnameOrLastnameAfterCursor() {
+
+		List<PatientFile> patientFiles = patientFileDAO.findByIdOrFirstnameOrLastname("ma", "P005",
+				PageRequest.of(0, 2));
+
+		assertEquals(2, patientFiles.size());
+		assertEquals("P011", patientFiles.get(0).getId());
+		assertEquals("P013", patientFiles.get(1).getId());
+	}
+
 	@Test
 	public void testPatientFileDAOFindByIdOrFirstnameOrLastnameFound0() {
 
 		List<PatientFile> patientFilesList = new ArrayList<>();
 
-		Iterable<PatientFile> patientFiles = patientFileDAO.findByIdOrFirstnameOrLastname("za");
+		Iterable<PatientFile> patientFiles = patientFileDAO.findByIdOrFirstnameOrLastname("za", null,
+				PageRequest.of(0, 100));
 
 		patientFiles.forEach(patientFilesList::add);
 
@@ -199,4 +215,35 @@ public class PatientFileDAOTest {
 		assertThrows(RuntimeException.class, () -> patientFileDAO.deleteById("P002"));
 	}
 
+	@Test
+	public void testPatientFileDAOFindAccessGrantDateUntilReferringDoctor() {
+		Date dateUntil = patientFileDAO.findAccessGrantDateUntil("D001", "P001", LocalDate.of(2022, 1, 1));
+
+		assertNotNull(dateUntil);
+		assertEquals(LocalDate.of(9999, 12, 31), new java.sql.Date(dateUntil.getTime()).toLocalDate());
+	}
+
+	@Test
+	public void testPatientFileDAOFindAccessGrantDateUntilCorrespondingDoctor() {
+		Date dateUntil = patientFileDAO.findAccessGrantDateUntil("D001", "P006", LocalDate.of(2027, 5, 7));
+
+		assertNotNull(dateUntil);
+		assertEquals(LocalDate.of(2027, 5, 7), new java.sql.Date(dateUntil.getTime()).toLocalDate());
+
+		assertNull(patientFileDAO.findAccessGrantDateUntil("D001", "P006", LocalDate.of(2027, 5, 8)));
+	}
+
+	@Test
+	public void testPatientFileDAOFindAccessGrantDateUntilNoAccess() {
+		assertNull(patientFileDAO.findAccessGrantDateUntil("D002", "P005", LocalDate.of(2022, 1, 1)));
+		assertNull(patientFileDAO.findAccessGrantDateUntil("D001", "P002", LocalDate.of(2022, 1, 1)));
+	}
+
+	@Test
+	public void testPatientFileDAOExistsByIdAndReferringDoctorId() {
+		assertTrue(patientFileDAO.existsByIdAndReferringDoctorId("P001", "D001"));
+		assertFalse(patientFileDAO.existsByIdAndReferringDoctorId("P001", "D002"));
+		assertFalse(patientFileDAO.existsByIdAndReferringDoctorId("P002", "D001"));
+	}
+
 }
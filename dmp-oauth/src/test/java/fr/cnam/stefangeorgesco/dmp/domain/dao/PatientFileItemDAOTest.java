@@ -5,6 +5,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.jdbc.SqlGroup;
@@ -46,6 +47,9 @@ public class PatientFileItemDAOTest {
 	@Autowired
 	private DiseaseDAO diseaseDAO;
 
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
 	private Act act;
 
 	private PatientFileItem savedPatientFileItem;
@@ -344,9 +348,12 @@ public class PatientFileItemDAOTest {
 
 		assertEquals(9, patientFileItemsList.size());
 
+		long typeRows = countTypeRows();
+
 		int number = patientFileItemDAO.deleteAllByPatientFileId("P001");
 
 		assertEquals(9, number);
+		assertEquals(typeRows - 9, countTypeRows());
 
 		patientFileItemsList = new ArrayList<>();
 
@@ -372,4 +379,13 @@ public class PatientFileItemDAOTest {
 
 		assertEquals(0, number);
 	}
+
+	private long countTypeRows() {
+		long rows = 0;
+		for (String table : List.of("t_act", "t_diagnosis", "t_mail", "t_prescription", "t_symptom")) {
+			Long count = jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+			rows += count == null ? 0 : count;
+		}
+		return rows;
+	}
 }
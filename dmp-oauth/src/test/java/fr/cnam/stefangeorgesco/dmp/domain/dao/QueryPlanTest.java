@@ -0,0 +1,95 @@
+package fr.cnam.stefangeorgesco.dmp.domain.dao;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlGroup;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@DataJpaTest
+@SqlGroup({ @Sql(scripts = "/sql/create-specialties.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD),
+		@Sql(scripts = "/sql/create-files.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD),
+		@Sql(scripts = "/sql/create-correspondences.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD),
+		@Sql(scripts = "/sql/create-diseases.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD),
+		@Sql(scripts = "/sql/create-medical-acts.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD),
+		@Sql(scripts = "/sql/create-patient-file-items.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD),
+		@Sql(scripts = "/sql/delete-patient-file-items.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD),
+		@Sql(scripts = "/sql/delete-diseases.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD),
+		@Sql(scripts = "/sql/delete-medical-acts.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD),
+		@Sql(scripts = "/sql/delete-correspondences.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD),
+		@Sql(scripts = "/sql/delete-files.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD),
+		@Sql(scripts = "/sql/delete-specialties.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD) })
+public class QueryPlanTest {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	public void testFindRowsByPatientFileIdUsesPatientFileIndex() throws Exception {
+
+		String sql = queryOf(PatientFileItemDAO.class.getMethod("findRowsByPatientFileId", String.class))
+				.replace(":patientFileId", "'P005'");
+
+		String plan = explain(sql);
+
+		assertFalse(plan.contains("T_PATIENT_FILE_ITEM.tableScan"), plan);
+		assertTrue(Pattern.compile("/\\* PUBLIC\\.\\w+: PATIENT_FILE_ID = 'P005'").matcher(plan).find(), plan);
+	}
+
+	@Test
+	public void testFindVersionRowsByPatientFileIdUsesPatientFileIndex() throws Exception {
+
+		String sql = queryOf(PatientFileItemDAO.class.getMethod("findVersionRowsByPatientFileId", String.class))
+				.replace(":patientFileId", "'P005'");
+
+		String plan = explain(sql);
+
+		assertFalse(plan.contains("T_PATIENT_FILE_ITEM.tableScan"), plan);
+		assertFalse(plan.contains("T_TOMBSTONE.tableScan"), plan);
+	}
+
+	@Test
+	public void testFindAccessGrantDateUntilUsesAccessGrantIndex() throws Exception {
+
+		String sql = queryOf(
+				PatientFileDAO.class.getMethod("findAccessGrantDateUntil", String.class, String.class, LocalDate.class))
+				.replace(":patientFileId", "'P001'").replace(":doctorId", "'D002'")
+				.replace(":today", "date '" + LocalDate.now() + "'");
+
+		String plan = explain(sql);
+
+		assertFalse(plan.contains("T_CORRESPONDENCE.tableScan"), plan);
+		assertFalse(plan.contains("T_PATIENT_FILE.tableScan"), plan);
+		assertTrue(Pattern.compile("/\\* PUBLIC\\.\\w+: PATIENT_FILE_ID = 'P001'\\s+AND DOCTOR_ID = 'D002'")
+				.matcher(plan).find(), plan);
+	}
+
+	@Test
+	public void testFindCorrespondencesByPatientFileIdUsesPatientFileIndex() {
+
+		String plan = explain("select * from t_correspondence c where c.patient_file_id = 'P001' "
+				+ "order by c.date_until desc, c.id");
+
+		assertFalse(plan.contains("T_CORRESPONDENCE.tableScan"), plan);
+		assertTrue(Pattern.compile("/\\* PUBLIC\\.\\w+: PATIENT_FILE_ID = 'P001'").matcher(plan).find(), plan);
+	}
+
+	private String queryOf(Method method) {
+		return method.getAnnotation(Query.class).value();
+	}
+
+	private String explain(String sql) {
+		return String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class));
+	}
+
+}
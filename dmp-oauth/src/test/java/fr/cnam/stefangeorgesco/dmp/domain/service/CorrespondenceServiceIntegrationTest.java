@@ -2,9 +2,11 @@ package fr.cnam.stefangeorgesco.dmp.domain.service;
 
 import fr.cnam.stefangeorgesco.dmp.domain.dao.CorrespondenceDAO;
 import fr.cnam.stefangeorgesco.dmp.domain.dao.DoctorDAO;
+import fr.cnam.stefangeorgesco.dmp.domain.dao.TombstoneDAO;
 import fr.cnam.stefangeorgesco.dmp.domain.dto.CorrespondenceDTO;
 import fr.cnam.stefangeorgesco.dmp.domain.model.Doctor;
 import fr.cnam.stefangeorgesco.dmp.domain.model.Specialty;
+import fr.cnam.stefangeorgesco.dmp.domain.model.Tombstone;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.CreateException;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.FinderException;
 import org.junit.jupiter.api.Test;
@@ -37,6 +39,9 @@ public class CorrespondenceServiceIntegrationTest {
 	@Autowired
 	private CorrespondenceDAO correspondenceDAO;
 
+	@Autowired
+	private TombstoneDAO tombstoneDAO;
+
 	@Autowired
 	private CorrespondenceService correspondenceService;
 
@@ -126,6 +131,12 @@ public class CorrespondenceServiceIntegrationTest {
 		assertFalse(correspondenceDAO.existsById(uuid));
 
 		assertEquals(count - 1, correspondenceDAO.count());
+
+		Tombstone tombstone = tombstoneDAO.findById(uuid).orElseThrow();
+
+		assertEquals(Tombstone.CORRESPONDENCE, tombstone.getEntityType());
+		assertEquals("P004", tombstone.getPatientFileId());
+		assertNotNull(tombstone.getDeletedDate());
 	}
 
 	@Test
@@ -166,8 +177,8 @@ public class CorrespondenceServiceIntegrationTest {
 
 		assertEquals(3, correspondencesDTO.size());
 		assertEquals("2023-05-02", correspondencesDTO.get(0).getDateUntil().toString());
-		assertEquals("e1eb3425-d257-4c5e-8600-b125731c458c", correspondencesDTO.get(1).getId().toString());
-		assertEquals("D011", correspondencesDTO.get(2).getDoctorId());
+		assertEquals("ef11c7e1-1694-474e-8d34-eb0a1677b140", correspondencesDTO.get(1).getId().toString());
+		assertEquals("D007", correspondencesDTO.get(2).getDoctorId());
 	}
 
 	@Test
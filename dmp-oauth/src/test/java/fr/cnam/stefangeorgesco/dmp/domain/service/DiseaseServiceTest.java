@@ -14,9 +14,11 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "disease.index.refresh-interval=0")
 public class DiseaseServiceTest {
 
 	@MockBean
@@ -57,15 +59,78 @@ public class DiseaseServiceTest {
 		disease2.setId("DIS002");
 		disease2.setDescription("Disease 2");
 
-		when(diseaseDAO.findByIdOrDescription("sinusite", 10)).thenReturn(List.of(disease, disease2));
+		when(diseaseDAO.count()).thenReturn(2L);
+		when(diseaseDAO.findAll()).thenReturn(List.of(disease2, disease));
 
-		List<DiseaseDTO> diseasesDTO = diseaseService.findDiseasesByIdOrDescription("sinusite", 10);
+		List<DiseaseDTO> diseasesDTO = diseaseService.findDiseasesByIdOrDescription("disease", 10);
 
-		verify(diseaseDAO, times(1)).findByIdOrDescription("sinusite", 10);
+		verify(diseaseDAO, times(1)).findAll();
+		verify(diseaseDAO, never()).findByIdOrDescription(anyString(), anyInt());
 
 		assertEquals(2, diseasesDTO.size());
 		assertEquals("DIS001", diseasesDTO.get(0).getId());
 		assertEquals("Disease 1", diseasesDTO.get(0).getDescription());
+		assertEquals("DIS002", diseasesDTO.get(1).getId());
+	}
+
+	@Test
+	public void testFindDiseasesByIdOrDescriptionRanking() {
+
+		Disease disease2 = new Disease();
+		disease2.setId("A01");
+		disease2.setDescription("Sinusite aiguë");
+		Disease disease3 = new Disease();
+		disease3.setId("A010");
+		disease3.setDescription("Pansinusite aiguë");
+		Disease disease4 = new Disease();
+		disease4.setId("B01");
+		disease4.setDescription("Complication de A01");
+
+		when(diseaseDAO.count()).thenReturn(4L);
+		when(diseaseDAO.findAll()).thenReturn(List.of(disease4, disease3, disease2, disease));
+
+		List<DiseaseDTO> diseasesDTO = diseaseService.findDiseasesByIdOrDescription("a01", 10);
+
+		assertEquals(3, diseasesDTO.size());
+		assertEquals("A01", diseasesDTO.get(0).getId());
+		assertEquals("A010", diseasesDTO.get(1).getId());
+		assertEquals("B01", diseasesDTO.get(2).getId());
+
+		diseasesDTO = diseaseService.findDiseasesByIdOrDescription("SINUSITE AIGUE", 10);
+
+		assertEquals(2, diseasesDTO.size());
+		assertEquals("A01", diseasesDTO.get(0).getId());
+		assertEquals("A010", diseasesDTO.get(1).getId());
+
+		diseasesDTO = diseaseService.findDiseasesByIdOrDescription("a0", 1);
+
+		assertEquals(1, diseasesDTO.size());
+		assertEquals("A01", diseasesDTO.get(0).getId());
+	}
+
+	@Test
+	public void testFindDiseasesByIdOrDescriptionIndexRebuiltWhenDataChanges() {
+
+		when(diseaseDAO.count()).thenReturn(11L);
+		when(diseaseDAO.findAll()).thenReturn(List.of(disease));
+		// construction de l'index au démarrage
+		clearInvocations(diseaseDAO);
+
+		assertEquals(1, diseaseService.findDiseasesByIdOrDescription("disease", 10).size());
+		assertEquals(1, diseaseService.findDiseasesByIdOrDescription("disease", 10).size());
+
+		verify(diseaseDAO, times(1)).findAll();
+
+		Disease disease2 = new Disease();
+		disease2.setId("DIS002");
+		disease2.setDescription("Disease 2");
+
+		when(diseaseDAO.count()).thenReturn(12L);
+		when(diseaseDAO.findAll()).thenReturn(List.of(disease, disease2));
+
+		assertEquals(2, diseaseService.findDiseasesByIdOrDescription("disease", 10).size());
+
+		verify(diseaseDAO, times(2)).findAll();
 	}
 
 }
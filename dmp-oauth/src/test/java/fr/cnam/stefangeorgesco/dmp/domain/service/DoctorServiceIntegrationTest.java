@@ -2,7 +2,9 @@ package fr.cnam.stefangeorgesco.dmp.domain.service;
 
 import fr.cnam.stefangeorgesco.dmp.authentication.domain.dto.UserDTO;
 import fr.cnam.stefangeorgesco.dmp.authentication.domain.service.IAMService;
+import fr.cnam.stefangeorgesco.dmp.authentication.domain.service.UserSyncService;
 import fr.cnam.stefangeorgesco.dmp.domain.dao.DoctorDAO;
+import fr.cnam.stefangeorgesco.dmp.domain.dao.UserSyncEventDAO;
 import fr.cnam.stefangeorgesco.dmp.domain.dto.AddressDTO;
 import fr.cnam.stefangeorgesco.dmp.domain.dto.DoctorDTO;
 import fr.cnam.stefangeorgesco.dmp.domain.dto.SpecialtyDTO;
@@ -22,6 +24,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.jdbc.SqlGroup;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -48,6 +51,12 @@ public class DoctorServiceIntegrationTest {
 	@Autowired
 	private DoctorService doctorService;
 
+	@Autowired
+	private UserSyncService userSyncService;
+
+	@Autowired
+	private UserSyncEventDAO userSyncEventDAO;
+
 	private DoctorDTO doctorDTO;
 
 	@BeforeEach
@@ -133,7 +142,13 @@ public class DoctorServiceIntegrationTest {
 
 		DoctorDTO response = assertDoesNotThrow(() -> doctorService.updateDoctor(doctorDTO));
 
+		verify(IAMService, times(0)).updateUser(any(UserDTO.class));
+		assertEquals(1, userSyncEventDAO.count());
+
+		userSyncService.dispatchPendingEvents();
+
 		verify(IAMService, times(1)).updateUser(any(UserDTO.class));
+		assertEquals(0, userSyncEventDAO.count());
 		Doctor savedDoctor = doctorDAO.findById("D001").orElseThrow();
 
 		// no change in saved object
@@ -209,26 +224,34 @@ public class DoctorServiceIntegrationTest {
 	@Test
 	public void testDeleteDoctorSuccessNoUser() {
 
-		when(IAMService.userExistsById("D002")).thenReturn(false);
+		when(IAMService.deleteUser("D002")).thenThrow(WebClientResponseException.create(404, "Not Found", null, null, null));
 		assertTrue(doctorDAO.existsById("D002"));
 
 		assertDoesNotThrow(() -> doctorService.deleteDoctor("D002"));
 
-		verify(IAMService, times(1)).userExistsById("D002");
+		assertEquals(1, userSyncEventDAO.count());
+
+		userSyncService.dispatchPendingEvents();
+
+		verify(IAMService, times(1)).deleteUser("D002");
+		assertEquals(0, userSyncEventDAO.count());
 		assertFalse(doctorDAO.existsById("D002"));
 	}
 
 	@Test
 	public void testDeleteDoctorSuccessUserPresent() {
 		
-		when(IAMService.userExistsById("D002")).thenReturn(true);
 		when(IAMService.deleteUser("D002")).thenReturn(HttpStatus.NO_CONTENT);
 		assertTrue(doctorDAO.existsById("D002"));
 
 		assertDoesNotThrow(() -> doctorService.deleteDoctor("D002"));
 
-		verify(IAMService, times(1)).userExistsById("D002");
+		verify(IAMService, times(0)).deleteUser("D002");
+
+		userSyncService.dispatchPendingEvents();
+
 		verify(IAMService, times(1)).deleteUser("D002");
+		assertEquals(0, userSyncEventDAO.count());
 		assertFalse(doctorDAO.existsById("D002"));
 	}
 
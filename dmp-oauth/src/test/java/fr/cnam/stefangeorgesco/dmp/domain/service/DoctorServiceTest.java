@@ -1,6 +1,7 @@
 package fr.cnam.stefangeorgesco.dmp.domain.service;
 
-import fr.cnam.stefangeorgesco.dmp.authentication.domain.service.UserService;
+import fr.cnam.stefangeorgesco.dmp.authentication.domain.dto.UserDTO;
+import fr.cnam.stefangeorgesco.dmp.authentication.domain.service.UserSyncService;
 import fr.cnam.stefangeorgesco.dmp.domain.dao.DoctorDAO;
 import fr.cnam.stefangeorgesco.dmp.domain.dao.FileDAO;
 import fr.cnam.stefangeorgesco.dmp.domain.dao.SpecialtyDAO;
@@ -40,7 +41,7 @@ public class DoctorServiceTest {
 	private SpecialtyDAO specialtyDAO;
 
 	@MockBean
-	private UserService userService;
+	private UserSyncService userSyncService;
 
 	@Autowired
 	private DoctorService doctorService;
@@ -192,12 +193,13 @@ public class DoctorServiceTest {
 	@Test
 	public void testUpdateDoctorSuccess() {
 		when(doctorDAO.findById(doctorDTO.getId())).thenReturn(Optional.of(persistentDoctor));
-		when(doctorDAO.save(doctorCaptor.capture())).thenAnswer(invocation -> invocation.getArguments()[0]);
+		when(doctorDAO.saveAndFlush(doctorCaptor.capture())).thenAnswer(invocation -> invocation.getArguments()[0]);
 
 		response = assertDoesNotThrow(() -> doctorService.updateDoctor(doctorDTO));
 
 		verify(doctorDAO, times(1)).findById(doctorDTO.getId());
-		verify(doctorDAO, times(1)).save(any(Doctor.class));
+		verify(doctorDAO, times(1)).saveAndFlush(any(Doctor.class));
+		verify(userSyncService, times(1)).scheduleUserUpdate(any(UserDTO.class));
 
 		savedDoctor = doctorCaptor.getValue();
 
@@ -288,36 +290,23 @@ public class DoctorServiceTest {
 	}
 
 	@Test
-	public void testDeleteDoctorSuccessNoUser() throws DeleteException {
-		doNothing().when(doctorDAO).deleteById("D002");
-		doThrow(new DeleteException("")).when(userService).deleteUser("D002");
-
-		assertDoesNotThrow(() -> doctorService.deleteDoctor("D002"));
-
-		verify(doctorDAO, times(1)).deleteById("D002");
-		verify(userService, times(1)).deleteUser("D002");
-	}
-
-	@Test
-	public void testDeleteDoctorSuccessUserPresent() throws DeleteException {
+	public void testDeleteDoctorSuccess() {
 		doNothing().when(doctorDAO).deleteById("D001");
-		doNothing().when(userService).deleteUser("D001");
 
 		assertDoesNotThrow(() -> doctorService.deleteDoctor("D001"));
 
 		verify(doctorDAO, times(1)).deleteById("D001");
-		verify(userService, times(1)).deleteUser("D001");
+		verify(userSyncService, times(1)).scheduleUserDeletion("D001");
 	}
 
 	@Test
 	public void testDeleteDoctorFailureDoctorDoesNotExist() throws DeleteException {
 		doThrow(new RuntimeException("")).when(doctorDAO).deleteById("D003");
-		doThrow(new DeleteException("")).when(userService).deleteUser("D003");
 
 		DeleteException ex = assertThrows(DeleteException.class, () -> doctorService.deleteDoctor("D003"));
 
 		verify(doctorDAO, times(1)).deleteById("D003");
-		verify(userService, times(0)).deleteUser("D003");
+		verify(userSyncService, times(0)).scheduleUserDeletion("D003");
 		assertEquals("Le dossier de médecin n'a pas pu être supprimé.", ex.getMessage());
 	}
 
@@ -0,0 +1,167 @@
+package fr.cnam.stefangeorgesco.dmp.domain.service;
+
+import fr.cnam.stefangeorgesco.dmp.domain.dao.DoctorDAO;
+import fr.cnam.stefangeorgesco.dmp.domain.dao.PatientFileDAO;
+import fr.cnam.stefangeorgesco.dmp.domain.dto.DoctorDTO;
+import fr.cnam.stefangeorgesco.dmp.domain.dto.PageDTO;
+import fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileDTO;
+import fr.cnam.stefangeorgesco.dmp.domain.model.Address;
+import fr.cnam.stefangeorgesco.dmp.domain.model.Doctor;
+import fr.cnam.stefangeorgesco.dmp.domain.model.PatientFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = "file.search.mode=fulltext")
+public class FileFulltextSearchTest {
+
+	@MockBean
+	private PatientFileDAO patientFileDAO;
+
+	@MockBean
+	private DoctorDAO doctorDAO;
+
+	@Autowired
+	private PatientFileService patientFileService;
+
+	@Autowired
+	private DoctorService doctorService;
+
+	private PatientFile patientFile1;
+
+	private PatientFile patientFile2;
+
+	private Doctor doctor;
+
+	@BeforeEach
+	public void setup() {
+		Address address = new Address();
+		address.setStreet1("street 1");
+		address.setZipcode("zipcode");
+		address.setCity("City");
+		address.setCountry("Country");
+
+		doctor = new Doctor();
+		doctor.setId("D001");
+		doctor.setFirstname("Marc");
+		doctor.setLastname("Dupont");
+		doctor.setAddress(address);
+		doctor.setSpecialties(List.of());
+
+		patientFile1 = new PatientFile();
+		patientFile1.setId("P001");
+		patientFile1.setFirstname("Jean");
+		patientFile1.setLastname("Martin");
+		patientFile1.setDateOfBirth(LocalDate.of(2000, 2, 13));
+		patientFile1.setAddress(address);
+		patientFile1.setReferringDoctor(doctor);
+
+		patientFile2 = new PatientFile();
+		patientFile2.setId("P002");
+		patientFile2.setFirstname("Marie");
+		patientFile2.setLastname("Durand");
+		patientFile2.setDateOfBirth(LocalDate.of(1990, 5, 1));
+		patientFile2.setAddress(address);
+		patientFile2.setReferringDoctor(doctor);
+	}
+
+	@Test
+	public void testFindPatientFilesUsesFulltextIndex() {
+		when(patientFileDAO.findIdsByFulltext("\"ma\"", "ma", "", 3)).thenReturn(List.of("P001", "P002"));
+		when(patientFileDAO.findByIdInOrderById(List.of("P001", "P002"))).thenReturn(List.of(patientFile1, patientFile2));
+
+		PageDTO<PatientFileDTO> page = patientFileService.findPatientFilesByIdOrFirstnameOrLastname(" ma ", null, 2);
+
+		verify(patientFileDAO, never()).findByIdOrFirstnameOrLastname(anyString(), any(), any());
+		assertEquals(2, page.getContent().size());
+		assertEquals("P001", page.getContent().get(0).getId());
+		assertEquals("P002", page.getContent().get(1).getId());
+		assertNull(page.getNext());
+	}
+
+	@Test
+	public void testFindPatientFilesUsesFulltextIndexWithCursor() {
+		when(patientFileDAO.findIdsByFulltext("\"ma\"", "ma", "P000", 2)).thenReturn(List.of("P001", "P002"));
+		when(patientFileDAO.findByIdInOrderById(List.of("P001", "P002"))).thenReturn(List.of(patientFile1, patientFile2));
+
+		PageDTO<PatientFileDTO> page = patientFileService.findPatientFilesByIdOrFirstnameOrLastname("ma", "P000", 1);
+
+		assertEquals(1, page.getContent().size());
+		assertEquals("P001", page.getNext());
+	}
+
+	@Test
+	public void testFindPatientFilesFulltextNoMatchDoesNotLoadFiles() {
+		when(patientFileDAO.findIdsByFulltext("\"zz\"", "zz", "", 21)).thenReturn(List.of());
+
+		PageDTO<PatientFileDTO> page = patientFileService.findPatientFilesByIdOrFirstnameOrLastname("zz", null, 20);
+
+		verify(patientFileDAO, never()).findByIdInOrderById(anyCollection());
+		assertEquals(0, page.getContent().size());
+		assertNull(page.getNext());
+	}
+
+	@Test
+	public void testFindPatientFilesFulltextOperatorCharacters() {
+		when(patientFileDAO.findIdsByFulltext(anyString(), anyString(), anyString(), anyInt())).thenReturn(List.of());
+
+		patientFileService.findPatientFilesByIdOrFirstnameOrLastname(" +ma\"r_t% -in* ", null, 20);
+
+		// opérateurs du mode booléen neutralisés dans la phrase, caractères
+		// génériques échappés dans le préfixe
+		verify(patientFileDAO).findIdsByFulltext("\"+ma r_t% -in*\"", "+ma\"r!_t!% -in*", "", 21);
+	}
+
+	@Test
+	public void testFindPatientFilesShortKeywordFallsBackToLike() {
+		when(patientFileDAO.findByIdOrFirstnameOrLastname("m", null, PageRequest.of(0, 21)))
+				.thenReturn(List.of(patientFile1));
+
+		PageDTO<PatientFileDTO> page = patientFileService.findPatientFilesByIdOrFirstnameOrLastname("m", null, 20);
+
+		verify(patientFileDAO, never()).findIdsByFulltext(anyString(), anyString(), anyString(), anyInt());
+		assertEquals(1, page.getContent().size());
+	}
+
+	@Test
+	public void testFindDoctorsUsesFulltextIndex() {
+		when(doctorDAO.findIdsByFulltext("\"dup\"", "dup")).thenReturn(List.of("D001"));
+		when(doctorDAO.findByIdInOrderById(List.of("D001"))).thenReturn(List.of(doctor));
+
+		List<DoctorDTO> doctorsDTO = doctorService.findDoctorsByIdOrFirstnameOrLastname("dup");
+
+		verify(doctorDAO, never()).findByIdOrFirstnameOrLastname(anyString());
+		assertEquals(1, doctorsDTO.size());
+		assertEquals("D001", doctorsDTO.get(0).getId());
+	}
+
+	@Test
+	public void testFindDoctorsFulltextOperatorCharacters() {
+		when(doctorDAO.findIdsByFulltext(anyString(), anyString())).thenReturn(List.of());
+
+		doctorService.findDoctorsByIdOrFirstnameOrLastname("D00_\"\"");
+
+		verify(doctorDAO).findIdsByFulltext("\"D00_\"", "D00!_\"\"");
+	}
+
+	@Test
+	public void testFindDoctorsShortKeywordFallsBackToLike() {
+		when(doctorDAO.findByIdOrFirstnameOrLastname("d")).thenReturn(List.of(doctor));
+
+		List<DoctorDTO> doctorsDTO = doctorService.findDoctorsByIdOrFirstnameOrLastname("d");
+
+		verify(doctorDAO, never()).findIdsByFulltext(anyString(), anyString());
+		assertEquals(1, doctorsDTO.size());
+	}
+
+}
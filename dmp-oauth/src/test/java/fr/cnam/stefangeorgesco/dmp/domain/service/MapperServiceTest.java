@@ -1,5 +1,7 @@
 package fr.cnam.stefangeorgesco.dmp.domain.service;
 
+import fr.cnam.stefangeorgesco.dmp.authentication.domain.dto.UserDTO;
+import fr.cnam.stefangeorgesco.dmp.authentication.domain.model.User;
 import fr.cnam.stefangeorgesco.dmp.domain.dto.*;
 import fr.cnam.stefangeorgesco.dmp.domain.model.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +15,7 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 @SpringBootTest
 public class MapperServiceTest {
@@ -70,6 +73,12 @@ public class MapperServiceTest {
 
 		patientFile = new PatientFile();
 		patientFile.setId("P001");
+		patientFile.setFirstname("Eric");
+		patientFile.setLastname("Martin");
+		patientFile.setDateOfBirth(LocalDate.of(2000, 2, 13));
+		patientFile.setAddress(address);
+		patientFile.setSecurityCode("code");
+		patientFile.setReferringDoctor(doctor);
 
 		act = new Act();
 		diagnosis = new Diagnosis();
@@ -279,4 +288,137 @@ public class MapperServiceTest {
 		assertEquals(symptom.getDescription(), symptomDTO.getDescription());
 	}
 
+	@Test
+	public void testMapDoctor2DoctorDTO() {
+		doctor.setSecurityCode("code");
+
+		DoctorDTO doctorDTO = mapperService.mapToDTO(doctor);
+
+		assertEquals(doctor.getId(), doctorDTO.getId());
+		assertEquals(doctor.getFirstname(), doctorDTO.getFirstname());
+		assertEquals(doctor.getLastname(), doctorDTO.getLastname());
+		assertEquals(doctor.getPhone(), doctorDTO.getPhone());
+		assertEquals(doctor.getEmail(), doctorDTO.getEmail());
+		assertEquals(doctor.getAddress().getStreet1(), doctorDTO.getAddressDTO().getStreet1());
+		assertEquals("", doctorDTO.getAddressDTO().getStreet2());
+		assertEquals(doctor.getAddress().getCity(), doctorDTO.getAddressDTO().getCity());
+		assertEquals(List.of("S001", "S002"), doctorDTO.getSpecialtiesDTO().stream().map(SpecialtyDTO::getId)
+				.collect(Collectors.toList()));
+		assertEquals(List.of("First specialty", "Second specialty"), doctorDTO.getSpecialtiesDTO().stream()
+				.map(SpecialtyDTO::getDescription).collect(Collectors.toList()));
+		assertNull(doctorDTO.getSecurityCode());
+	}
+
+	@Test
+	public void testMapDoctorDTO2Doctor() {
+		DoctorDTO doctorDTO = mapperService.mapToDTO(doctor);
+		doctorDTO.setSecurityCode("code");
+
+		Doctor mappedDoctor = mapperService.mapToEntity(doctorDTO);
+
+		assertEquals(doctorDTO.getId(), mappedDoctor.getId());
+		assertEquals(doctorDTO.getFirstname(), mappedDoctor.getFirstname());
+		assertEquals(doctorDTO.getAddressDTO().getZipcode(), mappedDoctor.getAddress().getZipcode());
+		assertEquals(doctor.getSpecialties(), mappedDoctor.getSpecialties());
+		assertEquals(doctorDTO.getSecurityCode(), mappedDoctor.getSecurityCode());
+	}
+
+	@Test
+	public void testMapPatientFile2PatientFileDTO() {
+
+		PatientFileDTO patientFileDTO = mapperService.mapToDTO(patientFile);
+
+		assertEquals(patientFile.getId(), patientFileDTO.getId());
+		assertEquals(patientFile.getFirstname(), patientFileDTO.getFirstname());
+		assertEquals(patientFile.getLastname(), patientFileDTO.getLastname());
+		assertEquals(patientFile.getDateOfBirth(), patientFileDTO.getDateOfBirth());
+		assertEquals(patientFile.getAddress().getCountry(), patientFileDTO.getAddressDTO().getCountry());
+		assertEquals(doctor.getId(), patientFileDTO.getReferringDoctorId());
+		assertEquals(doctor.getFirstname(), patientFileDTO.getReferringDoctorFirstname());
+		assertEquals(doctor.getLastname(), patientFileDTO.getReferringDoctorLastname());
+		assertEquals(List.of("First specialty", "Second specialty"), patientFileDTO.getReferringDoctorSpecialties());
+		assertNull(patientFileDTO.getSecurityCode());
+	}
+
+	@Test
+	public void testMapPatientFileDTO2PatientFile() {
+		PatientFileDTO patientFileDTO = mapperService.mapToDTO(patientFile);
+		patientFileDTO.setSecurityCode("code");
+
+		PatientFile mappedPatientFile = mapperService.mapToEntity(patientFileDTO);
+
+		assertEquals(patientFileDTO.getId(), mappedPatientFile.getId());
+		assertEquals(patientFileDTO.getDateOfBirth(), mappedPatientFile.getDateOfBirth());
+		assertEquals(patientFileDTO.getAddressDTO().getStreet1(), mappedPatientFile.getAddress().getStreet1());
+		assertEquals(patientFileDTO.getReferringDoctorId(), mappedPatientFile.getReferringDoctor().getId());
+		assertEquals(patientFileDTO.getSecurityCode(), mappedPatientFile.getSecurityCode());
+	}
+
+	@Test
+	public void testMapCorrespondence2CorrespondenceDTO() {
+		Correspondence correspondence = new Correspondence();
+		correspondence.setId(UUID.randomUUID());
+		correspondence.setDateUntil(LocalDate.of(2022, 7, 21));
+		correspondence.setDoctor(doctor);
+		correspondence.setPatientFile(patientFile);
+
+		CorrespondenceDTO correspondenceDTO = mapperService.mapToDTO(correspondence);
+
+		assertEquals(correspondence.getId(), correspondenceDTO.getId());
+		assertEquals(correspondence.getDateUntil(), correspondenceDTO.getDateUntil());
+		assertEquals(doctor.getId(), correspondenceDTO.getDoctorId());
+		assertEquals(doctor.getFirstname(), correspondenceDTO.getDoctorFirstname());
+		assertEquals(doctor.getLastname(), correspondenceDTO.getDoctorLastname());
+		assertEquals(List.of("First specialty", "Second specialty"), correspondenceDTO.getDoctorSpecialties());
+		assertEquals(patientFile.getId(), correspondenceDTO.getPatientFileId());
+	}
+
+	@Test
+	public void testMapCorrespondenceDTO2Correspondence() {
+		CorrespondenceDTO correspondenceDTO = new CorrespondenceDTO();
+		correspondenceDTO.setId(UUID.randomUUID());
+		correspondenceDTO.setDateUntil(LocalDate.of(2022, 7, 21));
+		correspondenceDTO.setDoctorId("D001");
+		correspondenceDTO.setPatientFileId("P001");
+
+		Correspondence correspondence = mapperService.mapToEntity(correspondenceDTO);
+
+		assertEquals(correspondenceDTO.getId(), correspondence.getId());
+		assertEquals(correspondenceDTO.getDateUntil(), correspondence.getDateUntil());
+		assertEquals(correspondenceDTO.getDoctorId(), correspondence.getDoctor().getId());
+		assertEquals(correspondenceDTO.getPatientFileId(), correspondence.getPatientFile().getId());
+	}
+
+	@Test
+	public void testMapUser2UserDTO() {
+		User user = new User();
+		user.setId("P001");
+		user.setUsername("username");
+		user.setPassword("password");
+		user.setSecurityCode("code");
+
+		UserDTO userDTO = mapperService.mapToDTO(user);
+
+		assertEquals(user.getId(), userDTO.getId());
+		assertEquals(user.getUsername(), userDTO.getUsername());
+		assertNull(userDTO.getPassword());
+		assertNull(userDTO.getSecurityCode());
+	}
+
+	@Test
+	public void testMapUserDTO2User() {
+		UserDTO userDTO = new UserDTO();
+		userDTO.setId("P001");
+		userDTO.setUsername("username");
+		userDTO.setPassword("password");
+		userDTO.setSecurityCode("code");
+
+		User user = mapperService.mapToEntity(userDTO);
+
+		assertEquals(userDTO.getId(), user.getId());
+		assertEquals(userDTO.getUsername(), user.getUsername());
+		assertEquals(userDTO.getPassword(), user.getPassword());
+		assertEquals(userDTO.getSecurityCode(), user.getSecurityCode());
+	}
+
 }
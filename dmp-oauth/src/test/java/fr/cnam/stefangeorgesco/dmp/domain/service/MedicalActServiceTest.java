@@ -14,9 +14,12 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "medical-act.index.refresh-interval=0")
 public class MedicalActServiceTest {
 
 	@MockBean
@@ -55,14 +58,85 @@ public class MedicalActServiceTest {
 		medicalAct2.setId("MA002");
 		medicalAct2.setDescription("Medical act 2");
 
-		when(medicalActDAO.findByIdOrDescription("radio", 10)).thenReturn(List.of(medicalAct, medicalAct2));
+		when(medicalActDAO.count()).thenReturn(2L);
+		when(medicalActDAO.findAll()).thenReturn(List.of(medicalAct2, medicalAct));
 
-		List<MedicalActDTO> medicalActsDTO = medicalActService.findMedicalActsByIdOrDescription("radio", 10);
+		List<MedicalActDTO> medicalActsDTO = medicalActService.findMedicalActsByIdOrDescription("médical", 10);
 
-		verify(medicalActDAO, times(1)).findByIdOrDescription("radio", 10);
+		verify(medicalActDAO, times(1)).findAll();
+		verify(medicalActDAO, never()).findByIdOrDescription(anyString(), anyInt());
 
 		assertEquals(2, medicalActsDTO.size());
 		assertEquals("MA001", medicalActsDTO.get(0).getId());
 		assertEquals("Medical act 1", medicalActsDTO.get(0).getDescription());
+		assertEquals("MA002", medicalActsDTO.get(1).getId());
+	}
+
+	@Test
+	public void testFindMedicalActsByIdOrDescriptionRanking() {
+		MedicalAct medicalAct2 = new MedicalAct();
+		medicalAct2.setId("AB001");
+		medicalAct2.setDescription("Exérèse du ma001");
+		MedicalAct medicalAct3 = new MedicalAct();
+		medicalAct3.setId("MA0012");
+		medicalAct3.setDescription("Medical act 3");
+
+		when(medicalActDAO.count()).thenReturn(3L);
+		when(medicalActDAO.findAll()).thenReturn(List.of(medicalAct2, medicalAct3, medicalAct));
+
+		List<MedicalActDTO> medicalActsDTO = medicalActService.findMedicalActsByIdOrDescription("ma001", 10);
+
+		assertEquals(3, medicalActsDTO.size());
+		assertEquals("MA001", medicalActsDTO.get(0).getId());
+		assertEquals("MA0012", medicalActsDTO.get(1).getId());
+		assertEquals("AB001", medicalActsDTO.get(2).getId());
+
+		medicalActsDTO = medicalActService.findMedicalActsByIdOrDescription("EXERESE", 10);
+
+		assertEquals(1, medicalActsDTO.size());
+		assertEquals("AB001", medicalActsDTO.get(0).getId());
+
+		medicalActsDTO = medicalActService.findMedicalActsByIdOrDescription("ma001", 2);
+
+		assertEquals(2, medicalActsDTO.size());
+	}
+
+	@Test
+	public void testFindMedicalActsByIdOrDescriptionIndexRebuiltWhenDataChanges() {
+		when(medicalActDAO.count()).thenReturn(11L);
+		when(medicalActDAO.findAll()).thenReturn(List.of(medicalAct));
+		// construction de l'index au démarrage
+		clearInvocations(medicalActDAO);
+
+		assertEquals(1, medicalActService.findMedicalActsByIdOrDescription("act", 10).size());
+		assertEquals(1, medicalActService.findMedicalActsByIdOrDescription("act", 10).size());
+
+		verify(medicalActDAO, times(1)).findAll();
+
+		MedicalAct medicalAct2 = new MedicalAct();
+		medicalAct2.setId("MA002");
+		medicalAct2.setDescription("Medical act 2");
+
+		when(medicalActDAO.count()).thenReturn(12L);
+		when(medicalActDAO.findAll()).thenReturn(List.of(medicalAct, medicalAct2));
+
+		assertEquals(2, medicalActService.findMedicalActsByIdOrDescription("act", 10).size());
+
+		verify(medicalActDAO, times(2)).findAll();
+	}
+
+	@Test
+	public void testFindMedicalActsByIdOrDescriptionIndexRebuiltAfterFailedLoad() {
+		when(medicalActDAO.count()).thenReturn(13L);
+		when(medicalActDAO.findAll()).thenThrow(new RuntimeException("Base de données indisponible."))
+				.thenReturn(List.of(medicalAct));
+		clearInvocations(medicalActDAO);
+
+		assertThrows(RuntimeException.class, () -> medicalActService.findMedicalActsByIdOrDescription("act", 10));
+
+		// signature inchangée, mais la reconstruction précédente a échoué
+		assertEquals(1, medicalActService.findMedicalActsByIdOrDescription("act", 10).size());
+
+		verify(medicalActDAO, times(2)).findAll();
 	}
 }
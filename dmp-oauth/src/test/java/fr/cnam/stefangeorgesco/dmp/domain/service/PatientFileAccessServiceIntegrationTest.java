@@ -0,0 +1,113 @@
+package fr.cnam.stefangeorgesco.dmp.domain.service;
+
+import fr.cnam.stefangeorgesco.dmp.domain.dto.CorrespondenceDTO;
+import fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileDTO;
+import fr.cnam.stefangeorgesco.dmp.exception.domain.FinderException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlGroup;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@SqlGroup({ @Sql(scripts = "/sql/create-specialties.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD),
+		@Sql(scripts = "/sql/create-files.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD),
+		@Sql(scripts = "/sql/create-correspondences.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD),
+		@Sql(scripts = "/sql/delete-correspondences.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD),
+		@Sql(scripts = "/sql/delete-files.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD),
+		@Sql(scripts = "/sql/delete-specialties.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD) })
+public class PatientFileAccessServiceIntegrationTest {
+
+	@Autowired
+	private PatientFileAccessService patientFileAccessService;
+
+	@Autowired
+	private CorrespondenceService correspondenceService;
+
+	@Autowired
+	private PatientFileService patientFileService;
+
+	@Test
+	public void testIsReferringDoctor() {
+
+		assertTrue(assertDoesNotThrow(() -> patientFileAccessService.isReferringDoctor("D001", "P001")));
+		assertFalse(assertDoesNotThrow(() -> patientFileAccessService.isReferringDoctor("D002", "P001")));
+	}
+
+	@Test
+	public void testIsReferringDoctorFailurePatientFileDoesNotExist() {
+
+		FinderException ex = assertThrows(FinderException.class,
+				() -> patientFileAccessService.isReferringDoctor("D001", "P002"));
+
+		assertEquals("Dossier patient non trouvé.", ex.getMessage());
+	}
+
+	@Test
+	public void testIsReferringOrCorrespondingDoctorReferringDoctor() {
+
+		assertTrue(assertDoesNotThrow(() -> patientFileAccessService.isReferringOrCorrespondingDoctor("D001", "P001")));
+	}
+
+	@Test
+	public void testIsReferringOrCorrespondingDoctorExpiredCorrespondence() {
+
+		assertFalse(
+				assertDoesNotThrow(() -> patientFileAccessService.isReferringOrCorrespondingDoctor("D002", "P001")));
+	}
+
+	@Test
+	public void testIsReferringOrCorrespondingDoctorFailurePatientFileDoesNotExist() {
+
+		FinderException ex = assertThrows(FinderException.class,
+				() -> patientFileAccessService.isReferringOrCorrespondingDoctor("D001", "P002"));
+
+		assertEquals("Dossier patient non trouvé.", ex.getMessage());
+	}
+
+	@Test
+	public void testCorrespondenceCreationAndDeletionEvictCache() {
+
+		assertFalse(
+				assertDoesNotThrow(() -> patientFileAccessService.isReferringOrCorrespondingDoctor("D004", "P001")));
+
+		CorrespondenceDTO correspondenceDTO = new CorrespondenceDTO();
+		correspondenceDTO.setDateUntil(LocalDate.now().plusDays(1));
+		correspondenceDTO.setDoctorId("D004");
+		correspondenceDTO.setPatientFileId("P001");
+
+		CorrespondenceDTO createdCorrespondenceDTO = assertDoesNotThrow(
+				() -> correspondenceService.createCorrespondence(correspondenceDTO));
+
+		assertTrue(assertDoesNotThrow(() -> patientFileAccessService.isReferringOrCorrespondingDoctor("D004", "P001")));
+		assertTrue(assertDoesNotThrow(() -> patientFileAccessService.isReferringOrCorrespondingDoctor("D004", "P001")));
+
+		correspondenceService.deleteCorrespondence(createdCorrespondenceDTO.getId());
+
+		assertFalse(
+				assertDoesNotThrow(() -> patientFileAccessService.isReferringOrCorrespondingDoctor("D004", "P001")));
+	}
+
+	@Test
+	public void testUpdateReferringDoctorEvictsCache() {
+
+		assertTrue(assertDoesNotThrow(() -> patientFileAccessService.isReferringOrCorrespondingDoctor("D001", "P001")));
+
+		PatientFileDTO patientFileDTO = new PatientFileDTO();
+		patientFileDTO.setId("P001");
+		patientFileDTO.setReferringDoctorId("D006");
+
+		assertDoesNotThrow(() -> patientFileService.updateReferringDoctor(patientFileDTO));
+
+		assertFalse(
+				assertDoesNotThrow(() -> patientFileAccessService.isReferringOrCorrespondingDoctor("D001", "P001")));
+		assertTrue(assertDoesNotThrow(() -> patientFileAccessService.isReferringOrCorrespondingDoctor("D006", "P001")));
+	}
+
+}
@@ -0,0 +1,103 @@
+package fr.cnam.stefangeorgesco.dmp.domain.service;
+
+import fr.cnam.stefangeorgesco.dmp.domain.dao.PatientFileDAO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class PatientFileAccessServiceTest {
+
+	private PatientFileDAO patientFileDAO;
+
+	private PatientFileAccessService patientFileAccessService;
+
+	private Date dateUntil;
+
+	@BeforeEach
+	public void setup() {
+		patientFileDAO = mock(PatientFileDAO.class);
+		patientFileAccessService = new PatientFileAccessServiceImpl(patientFileDAO, 100, Duration.ofMinutes(10));
+		dateUntil = Date.valueOf(LocalDate.now().plusDays(10));
+	}
+
+	@AfterEach
+	public void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	public void testGrantIsCached() {
+		when(patientFileDAO.findAccessGrantDateUntil(eq("D004"), eq("P001"), any(LocalDate.class)))
+				.thenReturn(dateUntil);
+
+		assertTrue(assertDoesNotThrow(() -> patientFileAccessService.isReferringOrCorrespondingDoctor("D004", "P001")));
+		assertTrue(assertDoesNotThrow(() -> patientFileAccessService.isReferringOrCorrespondingDoctor("D004", "P001")));
+
+		verify(patientFileDAO, times(1)).findAccessGrantDateUntil(eq("D004"), eq("P001"), any(LocalDate.class));
+	}
+
+	@Test
+	public void testEvictionDuringReadIsNotUndone() {
+		when(patientFileDAO.findAccessGrantDateUntil(eq("D004"), eq("P001"), any(LocalDate.class)))
+				.thenAnswer(invocation -> {
+					// suppression concurrente de l'accès après la lecture en base
+					patientFileAccessService.evict("D004", "P001");
+					return dateUntil;
+				}).thenReturn(null);
+		when(patientFileDAO.existsById("P001")).thenReturn(true);
+
+		assertTrue(assertDoesNotThrow(() -> patientFileAccessService.isReferringOrCorrespondingDoctor("D004", "P001")));
+		assertFalse(
+				assertDoesNotThrow(() -> patientFileAccessService.isReferringOrCorrespondingDoctor("D004", "P001")));
+
+		verify(patientFileDAO, times(2)).findAccessGrantDateUntil(eq("D004"), eq("P001"), any(LocalDate.class));
+	}
+
+	@Test
+	public void testPatientFileEvictionDuringReadIsNotUndone() {
+		when(patientFileDAO.findAccessGrantDateUntil(eq("D004"), eq("P001"), any(LocalDate.class)))
+				.thenAnswer(invocation -> {
+					patientFileAccessService.evictPatientFile("P001");
+					return dateUntil;
+				}).thenReturn(dateUntil);
+
+		assertTrue(assertDoesNotThrow(() -> patientFileAccessService.isReferringOrCorrespondingDoctor("D004", "P001")));
+		assertTrue(assertDoesNotThrow(() -> patientFileAccessService.isReferringOrCorrespondingDoctor("D004", "P001")));
+
+		verify(patientFileDAO, times(2)).findAccessGrantDateUntil(eq("D004"), eq("P001"), any(LocalDate.class));
+	}
+
+	@Test
+	public void testEvictionIsRepeatedAfterCommit() {
+		when(patientFileDAO.findAccessGrantDateUntil(eq("D004"), eq("P001"), any(LocalDate.class)))
+				.thenReturn(dateUntil);
+
+		TransactionSynchronizationManager.initSynchronization();
+		patientFileAccessService.evict("D004", "P001");
+
+		// lecture concurrente avant la validation : l'accès est encore en base
+		assertTrue(assertDoesNotThrow(() -> patientFileAccessService.isReferringOrCorrespondingDoctor("D004", "P001")));
+		assertTrue(assertDoesNotThrow(() -> patientFileAccessService.isReferringOrCorrespondingDoctor("D004", "P001")));
+		verify(patientFileDAO, times(1)).findAccessGrantDateUntil(eq("D004"), eq("P001"), any(LocalDate.class));
+
+		TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+		TransactionSynchronizationManager.clearSynchronization();
+
+		assertTrue(assertDoesNotThrow(() -> patientFileAccessService.isReferringOrCorrespondingDoctor("D004", "P001")));
+		verify(patientFileDAO, times(2)).findAccessGrantDateUntil(eq("D004"), eq("P001"), any(LocalDate.class));
+	}
+
+}
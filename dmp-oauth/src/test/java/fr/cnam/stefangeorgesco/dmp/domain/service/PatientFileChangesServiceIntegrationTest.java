@@ -0,0 +1,134 @@
+package fr.cnam.stefangeorgesco.dmp.domain.service;
+
+import fr.cnam.stefangeorgesco.dmp.domain.dao.TombstoneDAO;
+import fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileChangesDTO;
+import fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileItemDTO;
+import fr.cnam.stefangeorgesco.dmp.domain.dto.SymptomDTO;
+import fr.cnam.stefangeorgesco.dmp.domain.model.Tombstone;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlGroup;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@SqlGroup({ @Sql(scripts = "/sql/create-specialties.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD),
+		@Sql(scripts = "/sql/create-files.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD),
+		@Sql(scripts = "/sql/create-correspondences.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD),
+		@Sql(scripts = "/sql/create-diseases.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD),
+		@Sql(scripts = "/sql/create-medical-acts.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD),
+		@Sql(scripts = "/sql/create-patient-file-items.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD),
+		@Sql(scripts = "/sql/delete-patient-file-items.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD),
+		@Sql(scripts = "/sql/delete-diseases.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD),
+		@Sql(scripts = "/sql/delete-medical-acts.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD),
+		@Sql(scripts = "/sql/delete-correspondences.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD),
+		@Sql(scripts = "/sql/delete-files.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD),
+		@Sql(scripts = "/sql/delete-specialties.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD) })
+public class PatientFileChangesServiceIntegrationTest {
+
+	@Autowired
+	private PatientFileChangesService patientFileChangesService;
+
+	@Autowired
+	private PatientFileItemService patientFileItemService;
+
+	@Autowired
+	private CorrespondenceService correspondenceService;
+
+	@Autowired
+	private TombstoneDAO tombstoneDAO;
+
+	@Test
+	public void testFindPatientFileChangesFullSynchronization() {
+
+		PatientFileChangesDTO changesDTO = patientFileChangesService.findPatientFileChanges("P005", null);
+
+		assertNotNull(changesDTO.getWatermark());
+		assertEquals(10, changesDTO.getItems().size());
+		assertEquals(1, changesDTO.getCorrespondences().size());
+		assertTrue(changesDTO.getDeletedItemIds().isEmpty());
+		assertTrue(changesDTO.getDeletedCorrespondenceIds().isEmpty());
+		assertFalse(changesDTO.isResyncRequired());
+	}
+
+	@Test
+	public void testFindPatientFileChangesSinceExpiredWatermarkRequiresResync() {
+
+		patientFileItemService.deletePatientFileItem(UUID.fromString("1b57e70f-8eb0-4a97-99c6-5d44f138c22c"));
+
+		Timestamp expiredWatermark = new Timestamp(System.currentTimeMillis() - Duration.ofDays(31).toMillis());
+
+		PatientFileChangesDTO changesDTO = patientFileChangesService.findPatientFileChanges("P005", expiredWatermark);
+
+		assertTrue(changesDTO.isResyncRequired());
+		assertEquals(9, changesDTO.getItems().size());
+		assertEquals(1, changesDTO.getCorrespondences().size());
+		assertTrue(changesDTO.getDeletedItemIds().isEmpty());
+		assertTrue(changesDTO.getDeletedCorrespondenceIds().isEmpty());
+	}
+
+	@Test
+	public void testPurgeExpiredTombstones() {
+
+		Tombstone expired = tombstoneDAO.saveTombstone(UUID.randomUUID(), Tombstone.ITEM, "P005");
+		expired.setDeletedDate(new Timestamp(System.currentTimeMillis() - Duration.ofDays(31).toMillis()));
+		tombstoneDAO.save(expired);
+		Tombstone recent = tombstoneDAO.saveTombstone(UUID.randomUUID(), Tombstone.CORRESPONDENCE, "P005");
+
+		patientFileChangesService.purgeExpiredTombstones();
+
+		assertFalse(tombstoneDAO.existsById(expired.getId()));
+		assertTrue(tombstoneDAO.existsById(recent.getId()));
+	}
+
+	@Test
+	public void testFindPatientFileChangesSinceWatermark() {
+
+		Timestamp watermark = patientFileChangesService.findPatientFileChanges("P005", null).getWatermark();
+
+		PatientFileChangesDTO changesDTO = patientFileChangesService.findPatientFileChanges("P005", watermark);
+
+		assertTrue(changesDTO.getItems().isEmpty());
+		assertTrue(changesDTO.getCorrespondences().isEmpty());
+		assertTrue(changesDTO.getDeletedItemIds().isEmpty());
+		assertTrue(changesDTO.getDeletedCorrespondenceIds().isEmpty());
+
+		SymptomDTO symptomDTO = new SymptomDTO();
+		symptomDTO.setDate(LocalDate.now());
+		symptomDTO.setAuthoringDoctorId("D001");
+		symptomDTO.setPatientFileId("P005");
+		symptomDTO.setDescription("Toux sèche");
+		PatientFileItemDTO createdDTO = assertDoesNotThrow(
+				() -> patientFileItemService.createPatientFileItem(symptomDTO));
+
+		UUID deletedItemId = UUID.fromString("1b57e70f-8eb0-4a97-99c6-5d44f138c22c");
+		patientFileItemService.deletePatientFileItem(deletedItemId);
+
+		UUID deletedCorrespondenceId = UUID.fromString("531c2161-5507-485f-8a23-de65416b4644");
+		correspondenceService.deleteCorrespondence(deletedCorrespondenceId);
+
+		patientFileItemService.deletePatientFileItem(UUID.fromString("707b71f1-0bbd-46ec-b79c-c9717bd6b2cd"));
+
+		changesDTO = patientFileChangesService.findPatientFileChanges("P005", watermark);
+
+		assertEquals(1, changesDTO.getItems().size());
+		assertEquals(createdDTO.getId(), changesDTO.getItems().get(0).getId());
+		assertEquals("Toux sèche", ((SymptomDTO) changesDTO.getItems().get(0)).getDescription());
+		assertTrue(changesDTO.getCorrespondences().isEmpty());
+		assertEquals(List.of(deletedItemId), changesDTO.getDeletedItemIds());
+		assertEquals(List.of(deletedCorrespondenceId), changesDTO.getDeletedCorrespondenceIds());
+		assertFalse(changesDTO.getWatermark().before(watermark));
+		assertFalse(changesDTO.isResyncRequired());
+	}
+
+}
@@ -5,6 +5,7 @@ import fr.cnam.stefangeorgesco.dmp.domain.dao.MedicalActDAO;
 import fr.cnam.stefangeorgesco.dmp.domain.dao.PatientFileItemDAO;
 import fr.cnam.stefangeorgesco.dmp.domain.dto.*;
 import fr.cnam.stefangeorgesco.dmp.domain.model.*;
+import fr.cnam.stefangeorgesco.dmp.exception.domain.CheckException;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.CreateException;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.FinderException;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.UpdateException;
@@ -16,9 +17,16 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.jdbc.SqlGroup;
 
+import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -50,6 +58,9 @@ public class PatientFileItemServiceIntegrationTest {
 	@Autowired
 	private PatientFileItemService patientFileItemService;
 
+	@Autowired
+	private MapperService mapperService;
+
 	private DiseaseDTO diseaseDTO;
 
 	private MedicalActDTO medicalActDTO;
@@ -145,6 +156,118 @@ public class PatientFileItemServiceIntegrationTest {
 		assertEquals(count, patientFileItemDAO.count());
 	}
 
+	@Test
+	public void testCreatePatientFileItemsSuccess() {
+
+		count = patientFileItemDAO.count();
+
+		LocalDate now = LocalDate.now();
+
+		symptomDTO.setDate(now);
+		symptomDTO.setAuthoringDoctorId("D001");
+		symptomDTO.setPatientFileId("P001");
+		symptomDTO.setDescription(description);
+
+		diseaseDTO = new DiseaseDTO();
+		diseaseDTO.setId("J01");
+		diagnosisDTO.setDate(now);
+		diagnosisDTO.setAuthoringDoctorId("D001");
+		diagnosisDTO.setPatientFileId("P001");
+		diagnosisDTO.setDiseaseDTO(diseaseDTO);
+
+		medicalActDTO.setId("HBSD001");
+		actDTO.setDate(now);
+		actDTO.setAuthoringDoctorId("D001");
+		actDTO.setPatientFileId("P001");
+		actDTO.setMedicalActDTO(medicalActDTO);
+
+		mailDTO.setDate(now);
+		mailDTO.setAuthoringDoctorId("D001");
+		mailDTO.setPatientFileId("P001");
+		mailDTO.setText("text of this mail");
+		mailDTO.setRecipientDoctorId("D002");
+
+		Doctor authoringDoctor = doctorDAO.findById("D001").orElseThrow();
+		Doctor recipientDoctor = doctorDAO.findById("D002").orElseThrow();
+
+		List<PatientFileItemDTO> patientFileItemsDTO = assertDoesNotThrow(() -> patientFileItemService
+				.createPatientFileItems(List.of(symptomDTO, diagnosisDTO, actDTO, mailDTO)));
+
+		assertEquals(count + 4, patientFileItemDAO.count());
+		assertEquals(4, patientFileItemsDTO.size());
+
+		for (PatientFileItemDTO patientFileItemDTO : patientFileItemsDTO) {
+			assertNotNull(patientFileItemDTO.getId());
+			assertNotNull(patientFileItemDTO.getCreatedDate());
+			assertEquals(now, patientFileItemDTO.getDate());
+			assertEquals(authoringDoctor.getFirstname(), patientFileItemDTO.getAuthoringDoctorFirstname());
+			assertEquals(authoringDoctor.getLastname(), patientFileItemDTO.getAuthoringDoctorLastname());
+			assertEquals("P001", patientFileItemDTO.getPatientFileId());
+		}
+
+		assertEquals(description, ((SymptomDTO) patientFileItemsDTO.get(0)).getDescription());
+		assertEquals("Sinusite aiguë", ((DiagnosisDTO) patientFileItemsDTO.get(1)).getDiseaseDTO().getDescription());
+		assertEquals("Hémostase gingivoalvéolaire secondaire à une avulsion dentaire",
+				((ActDTO) patientFileItemsDTO.get(2)).getMedicalActDTO().getDescription());
+		assertEquals(recipientDoctor.getLastname(),
+				((MailDTO) patientFileItemsDTO.get(3)).getRecipientDoctorLastname());
+
+		PatientFileItemDTO savedDiagnosisDTO = assertDoesNotThrow(
+				() -> patientFileItemService.findPatientFileItem(patientFileItemsDTO.get(1).getId()));
+
+		assertEquals("J01", ((DiagnosisDTO) savedDiagnosisDTO).getDiseaseDTO().getId());
+	}
+
+	@Test
+	public void testCreatePatientFileItemsFailureDiseaseDoesNotExist() {
+
+		count = patientFileItemDAO.count();
+
+		LocalDate now = LocalDate.now();
+
+		symptomDTO.setDate(now);
+		symptomDTO.setAuthoringDoctorId("D001");
+		symptomDTO.setPatientFileId("P001");
+		symptomDTO.setDescription(description);
+
+		diseaseDTO = new DiseaseDTO();
+		diseaseDTO.setId("XXX");
+		diagnosisDTO.setDate(now);
+		diagnosisDTO.setAuthoringDoctorId("D001");
+		diagnosisDTO.setPatientFileId("P001");
+		diagnosisDTO.setDiseaseDTO(diseaseDTO);
+
+		CreateException ex = assertThrows(CreateException.class,
+				() -> patientFileItemService.createPatientFileItems(List.of(symptomDTO, diagnosisDTO)));
+
+		assertEquals("Les éléments médicaux n'ont pas pu être créés.", ex.getMessage());
+
+		assertEquals(count, patientFileItemDAO.count());
+	}
+
+	@Test
+	public void testCreatePatientFileItemsFailurePatientFileDoesNotExist() {
+
+		count = patientFileItemDAO.count();
+
+		symptomDTO.setDate(LocalDate.now());
+		symptomDTO.setAuthoringDoctorId("D001");
+		symptomDTO.setPatientFileId("P999");
+		symptomDTO.setDescription(description);
+
+		prescriptionDTO.setDate(LocalDate.now());
+		prescriptionDTO.setAuthoringDoctorId("D001");
+		prescriptionDTO.setPatientFileId("P999");
+		prescriptionDTO.setDescription(description);
+
+		CreateException ex = assertThrows(CreateException.class,
+				() -> patientFileItemService.createPatientFileItems(List.of(symptomDTO, prescriptionDTO)));
+
+		assertEquals("Les éléments médicaux n'ont pas pu être créés.", ex.getMessage());
+
+		assertEquals(count, patientFileItemDAO.count());
+	}
+
 	@Test
 	public void testUpdateActSuccess() {
 
@@ -184,6 +307,45 @@ public class PatientFileItemServiceIntegrationTest {
 				((ActDTO) patientFileItemDTOResponse).getMedicalActDTO().getDescription());
 	}
 
+	@Test
+	public void testFindPatientFileItemsVersionChangesOnTwoUpdatesWithinSameSecond() {
+
+		uuid = UUID.fromString("1b57e70f-8eb0-4a97-99c6-5d44f138c22c");
+		String patientFileId = patientFileItemDAO.findPatientFileIdById(uuid).orElseThrow();
+
+		medicalActDTO.setId("HBQK389");
+
+		actDTO.setId(uuid);
+		actDTO.setDate(LocalDate.now());
+		actDTO.setAuthoringDoctorId("D001");
+		actDTO.setPatientFileId(patientFileId);
+		actDTO.setMedicalActDTO(medicalActDTO);
+
+		String eTag = patientFileItemService.findPatientFileItemsVersion(patientFileId).getETag();
+		Timestamp lastModified = null;
+		Timestamp previousLastModified;
+		String previousETag;
+		int update = 0;
+
+		// deux modifications successives, relancées si elles tombent dans deux secondes différentes
+		do {
+			previousLastModified = lastModified;
+			previousETag = eTag;
+
+			actDTO.setComments("comments on this act, update " + update++);
+			assertDoesNotThrow(() -> patientFileItemService.updatePatientFileItem(actDTO));
+
+			lastModified = patientFileItemDAO.findById(uuid).orElseThrow().getLastModifiedDate();
+			eTag = patientFileItemService.findPatientFileItemsVersion(patientFileId).getETag();
+
+			assertNotEquals(previousETag, eTag);
+		} while (update < 5 && (previousLastModified == null
+				|| previousLastModified.getTime() / 1000 != lastModified.getTime() / 1000));
+
+		assertEquals(previousLastModified.getTime() / 1000, lastModified.getTime() / 1000);
+		assertNotEquals(previousLastModified, lastModified);
+	}
+
 	@Test
 	public void testUpdateActFailureMedicalActDoesNotExist() {
 
@@ -514,7 +676,115 @@ public class PatientFileItemServiceIntegrationTest {
 		List<PatientFileItemDTO> patientFileItemsDTO = patientFileItemService.findPatientFileItemsByPatientFileId("P005");
 
 		assertEquals(10, patientFileItemsDTO.size());
-		assertTrue(patientFileItemsDTO.get(1) instanceof DiagnosisDTO);
+		assertTrue(patientFileItemsDTO.get(1) instanceof ActDTO);
+		for (int i = 1; i < patientFileItemsDTO.size(); i++) {
+			assertFalse(patientFileItemsDTO.get(i).getDate().isAfter(patientFileItemsDTO.get(i - 1).getDate()));
+		}
+	}
+
+	@Test
+	public void testFindPatientFileItemsTimelinePages() {
+
+		List<PatientFileItemDTO> patientFileItemsDTO = new ArrayList<>();
+		List<Integer> pageSizes = new ArrayList<>();
+		String after = null;
+
+		do {
+			String cursor = after;
+			PageDTO<PatientFileItemDTO> page = assertDoesNotThrow(
+					() -> patientFileItemService.findPatientFileItemsTimeline("P005", null, null, null, cursor, 4));
+			patientFileItemsDTO.addAll(page.getContent());
+			pageSizes.add(page.getContent().size());
+			after = page.getNext();
+		} while (after != null);
+
+		assertEquals(List.of(4, 4, 2), pageSizes);
+		assertEquals(10, patientFileItemsDTO.stream().map(PatientFileItemDTO::getId).distinct().count());
+		assertEquals(LocalDate.of(2022, 5, 21), patientFileItemsDTO.get(0).getDate());
+		assertTrue(patientFileItemsDTO.get(1) instanceof ActDTO);
+		assertEquals(LocalDate.of(2019, 1, 2), patientFileItemsDTO.get(9).getDate());
+		for (int i = 1; i < patientFileItemsDTO.size(); i++) {
+			assertFalse(patientFileItemsDTO.get(i).getDate().isAfter(patientFileItemsDTO.get(i - 1).getDate()));
+		}
+	}
+
+	@Test
+	public void testFindPatientFileItemsTimelineTypesAndDates() {
+
+		PageDTO<PatientFileItemDTO> page = assertDoesNotThrow(() -> patientFileItemService.findPatientFileItemsTimeline(
+				"P005", List.of("act", "diagnosis"), LocalDate.of(2020, 7, 1), LocalDate.of(2021, 12, 31), null, 20));
+
+		assertNull(page.getNext());
+		assertEquals(3, page.getContent().size());
+		assertTrue(page.getContent().get(0) instanceof ActDTO);
+		assertEquals(LocalDate.of(2021, 10, 11), page.getContent().get(0).getDate());
+		assertTrue(page.getContent().get(1) instanceof DiagnosisDTO);
+		assertEquals(LocalDate.of(2021, 7, 7), page.getContent().get(1).getDate());
+		assertTrue(page.getContent().get(2) instanceof ActDTO);
+		assertEquals(LocalDate.of(2020, 11, 13), page.getContent().get(2).getDate());
+	}
+
+	@Test
+	public void testFindPatientFileItemsTimelineFailureBadParameters() {
+
+		CheckException ex = assertThrows(CheckException.class, () -> patientFileItemService
+				.findPatientFileItemsTimeline("P005", List.of("act", "x-ray"), null, null, null, 20));
+
+		assertEquals("Type d'élément médical inconnu : 'x-ray'.", ex.getMessage());
+
+		ex = assertThrows(CheckException.class,
+				() -> patientFileItemService.findPatientFileItemsTimeline("P005", null, null, null, "2021-10-11", 20));
+
+		assertEquals("Le curseur de pagination est invalide.", ex.getMessage());
+	}
+
+	@Test
+	public void testFindPatientFileItemsByPatientFileIdMatchesEntityMapping() {
+
+		List<PatientFileItemDTO> patientFileItemsDTO = patientFileItemService.findPatientFileItemsByPatientFileId("P005");
+
+		Map<UUID, PatientFileItemDTO> expected = StreamSupport
+				.stream(patientFileItemDAO.findByPatientFileId("P005").spliterator(), false)
+				.map(mapperService::mapToDTO).collect(Collectors.toMap(PatientFileItemDTO::getId, Function.identity()));
+
+		assertEquals(expected.size(), patientFileItemsDTO.size());
+
+		for (PatientFileItemDTO itemDTO : patientFileItemsDTO) {
+			PatientFileItemDTO expectedDTO = expected.get(itemDTO.getId());
+			assertNotNull(expectedDTO);
+			assertEquals(expectedDTO.getClass(), itemDTO.getClass());
+			assertEquals(expectedDTO.getDate(), itemDTO.getDate());
+			assertEquals(expectedDTO.getComments(), itemDTO.getComments());
+			assertEquals(expectedDTO.getPatientFileId(), itemDTO.getPatientFileId());
+			assertEquals(expectedDTO.getAuthoringDoctorId(), itemDTO.getAuthoringDoctorId());
+			assertEquals(expectedDTO.getAuthoringDoctorFirstname(), itemDTO.getAuthoringDoctorFirstname());
+			assertEquals(expectedDTO.getAuthoringDoctorLastname(), itemDTO.getAuthoringDoctorLastname());
+			assertEquals(Set.copyOf(expectedDTO.getAuthoringDoctorSpecialties()),
+					Set.copyOf(itemDTO.getAuthoringDoctorSpecialties()));
+			if (itemDTO instanceof ActDTO) {
+				assertEquals(((ActDTO) expectedDTO).getMedicalActDTO().getId(),
+						((ActDTO) itemDTO).getMedicalActDTO().getId());
+				assertEquals(((ActDTO) expectedDTO).getMedicalActDTO().getDescription(),
+						((ActDTO) itemDTO).getMedicalActDTO().getDescription());
+			} else if (itemDTO instanceof DiagnosisDTO) {
+				assertEquals(((DiagnosisDTO) expectedDTO).getDiseaseDTO().getId(),
+						((DiagnosisDTO) itemDTO).getDiseaseDTO().getId());
+				assertEquals(((DiagnosisDTO) expectedDTO).getDiseaseDTO().getDescription(),
+						((DiagnosisDTO) itemDTO).getDiseaseDTO().getDescription());
+			} else if (itemDTO instanceof MailDTO) {
+				assertEquals(((MailDTO) expectedDTO).getText(), ((MailDTO) itemDTO).getText());
+				assertEquals(((MailDTO) expectedDTO).getRecipientDoctorId(), ((MailDTO) itemDTO).getRecipientDoctorId());
+				assertEquals(((MailDTO) expectedDTO).getRecipientDoctorLastname(),
+						((MailDTO) itemDTO).getRecipientDoctorLastname());
+				assertEquals(Set.copyOf(((MailDTO) expectedDTO).getRecipientDoctorSpecialties()),
+						Set.copyOf(((MailDTO) itemDTO).getRecipientDoctorSpecialties()));
+			} else if (itemDTO instanceof PrescriptionDTO) {
+				assertEquals(((PrescriptionDTO) expectedDTO).getDescription(),
+						((PrescriptionDTO) itemDTO).getDescription());
+			} else {
+				assertEquals(((SymptomDTO) expectedDTO).getDescription(), ((SymptomDTO) itemDTO).getDescription());
+			}
+		}
 	}
 
 	@Test
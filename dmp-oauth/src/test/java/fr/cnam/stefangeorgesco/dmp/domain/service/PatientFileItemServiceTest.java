@@ -1,8 +1,12 @@
 package fr.cnam.stefangeorgesco.dmp.domain.service;
 
+import fr.cnam.stefangeorgesco.dmp.domain.dao.DiseaseDAO;
+import fr.cnam.stefangeorgesco.dmp.domain.dao.DoctorDAO;
+import fr.cnam.stefangeorgesco.dmp.domain.dao.MedicalActDAO;
 import fr.cnam.stefangeorgesco.dmp.domain.dao.PatientFileItemDAO;
 import fr.cnam.stefangeorgesco.dmp.domain.dto.*;
 import fr.cnam.stefangeorgesco.dmp.domain.model.*;
+import fr.cnam.stefangeorgesco.dmp.exception.domain.CreateException;
 import fr.cnam.stefangeorgesco.dmp.exception.domain.FinderException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +18,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,6 +31,15 @@ public class PatientFileItemServiceTest {
 	@MockBean
 	private PatientFileItemDAO patientFileItemDAO;
 
+	@MockBean
+	private DoctorDAO doctorDAO;
+
+	@MockBean
+	private DiseaseDAO diseaseDAO;
+
+	@MockBean
+	private MedicalActDAO medicalActDAO;
+
 	@Autowired
 	private PatientFileItemService patientFileItemService;
 
@@ -217,6 +231,64 @@ public class PatientFileItemServiceTest {
 		assertEquals("Elément médical non trouvé.", ex.getMessage());
 	}
 
+	@Test
+	public void testCreatePatientFileItemsSuccess() {
+
+		actDTO.getMedicalActDTO().setId("MA002");
+
+		MailDTO mailDTO = new MailDTO();
+		mailDTO.setDate(date);
+		mailDTO.setComments("mail comment");
+		mailDTO.setAuthoringDoctorId("D001");
+		mailDTO.setPatientFileId("P001");
+		mailDTO.setText("A text");
+		mailDTO.setRecipientDoctorId("D002");
+
+		when(doctorDAO.findAllById(any())).thenReturn(List.of(doctor1, doctor2));
+		when(medicalActDAO.findAllById(any())).thenReturn(List.of(medicalAct2));
+
+		List<PatientFileItemDTO> patientFileItemsDTO = assertDoesNotThrow(
+				() -> patientFileItemService.createPatientFileItems(List.of(actDTO, mailDTO)));
+
+		verify(patientFileItemDAO, times(1)).saveAll(any());
+		verify(patientFileItemDAO, times(0)).save(any());
+		verify(patientFileItemDAO, times(0)).findById(any());
+		verify(doctorDAO, times(1)).findAllById(Set.of("D001", "D002"));
+		verify(medicalActDAO, times(1)).findAllById(Set.of("MA002"));
+
+		assertEquals(2, patientFileItemsDTO.size());
+		assertTrue(patientFileItemsDTO.get(0) instanceof ActDTO);
+		assertEquals(medicalAct2.getDescription(),
+				((ActDTO) patientFileItemsDTO.get(0)).getMedicalActDTO().getDescription());
+		assertEquals("P001", patientFileItemsDTO.get(0).getPatientFileId());
+		assertTrue(patientFileItemsDTO.get(1) instanceof MailDTO);
+		MailDTO mailDTOResponse = (MailDTO) patientFileItemsDTO.get(1);
+		assertEquals("A text", mailDTOResponse.getText());
+		assertEquals(doctor2.getFirstname(), mailDTOResponse.getRecipientDoctorFirstname());
+		assertEquals(doctor2.getLastname(), mailDTOResponse.getRecipientDoctorLastname());
+		assertEquals(List.of("Specialty 1", "Specialty 2"), mailDTOResponse.getRecipientDoctorSpecialties());
+	}
+
+	@Test
+	public void testCreatePatientFileItemsFailureDoctorDoesNotExist() {
+
+		MailDTO mailDTO = new MailDTO();
+		mailDTO.setDate(date);
+		mailDTO.setAuthoringDoctorId("D001");
+		mailDTO.setPatientFileId("P001");
+		mailDTO.setText("A text");
+		mailDTO.setRecipientDoctorId("D003");
+
+		when(doctorDAO.findAllById(any())).thenReturn(List.of(doctor1));
+
+		CreateException ex = assertThrows(CreateException.class,
+				() -> patientFileItemService.createPatientFileItems(List.of(mailDTO)));
+
+		verify(patientFileItemDAO, times(0)).saveAll(any());
+
+		assertEquals("Les éléments médicaux n'ont pas pu être créés.", ex.getMessage());
+	}
+
 	@Test
 	public void testCreateActSuccess() {
 
@@ -527,12 +599,23 @@ public class PatientFileItemServiceTest {
 	@Test
 	public void testFindPatientFileItemsByPatientFileIdFound5() {
 
-		when(patientFileItemDAO.findByPatientFileId("P001"))
-				.thenReturn(List.of(act, diagnosis, mail, prescription, symptom));
+		UUID mailId = UUID.randomUUID();
+
+		when(patientFileItemDAO.findRowsByPatientFileId("P001")).thenReturn(List.of(
+				row(UUID.randomUUID(), "act", "MA001", "Medical act 1", null, null, null, null, null, null, null),
+				row(UUID.randomUUID(), "diagnosis", null, null, "DIS001", "Disease 1", null, null, null, null, null),
+				row(mailId, "mail", null, null, null, null, "Mail text", "D002", "Firstname 2", "Lastname 2", null),
+				row(UUID.randomUUID(), "prescription", null, null, null, null, null, null, null, null, "Prescription"),
+				row(UUID.randomUUID(), "symptom", null, null, null, null, null, null, null, null, "Symptom")));
+		when(doctorDAO.findSpecialtyDescriptionsByIdIn(any())).thenReturn(List.of(
+				new Object[] { "D001", "Specialty 1" }, new Object[] { "D001", "Specialty 2" },
+				new Object[] { "D002", "Specialty 2" }));
 
 		List<PatientFileItemDTO> patientFileItemsDTO = patientFileItemService.findPatientFileItemsByPatientFileId("P001");
 
-		verify(patientFileItemDAO, times(1)).findByPatientFileId("P001");
+		verify(patientFileItemDAO, times(1)).findRowsByPatientFileId("P001");
+		verify(patientFileItemDAO, never()).findByPatientFileId(any());
+		verify(doctorDAO, times(1)).findSpecialtyDescriptionsByIdIn(Set.of("D001", "D002"));
 
 		assertEquals(5, patientFileItemsDTO.size());
 		assertTrue(patientFileItemsDTO.get(0) instanceof ActDTO);
@@ -540,17 +623,46 @@ public class PatientFileItemServiceTest {
 		assertTrue(patientFileItemsDTO.get(2) instanceof MailDTO);
 		assertTrue(patientFileItemsDTO.get(3) instanceof PrescriptionDTO);
 		assertTrue(patientFileItemsDTO.get(4) instanceof SymptomDTO);
+		assertEquals("MA001", ((ActDTO) patientFileItemsDTO.get(0)).getMedicalActDTO().getId());
+		assertEquals("Medical act 1", ((ActDTO) patientFileItemsDTO.get(0)).getMedicalActDTO().getDescription());
+		assertEquals("DIS001", ((DiagnosisDTO) patientFileItemsDTO.get(1)).getDiseaseDTO().getId());
+		assertEquals("Disease 1", ((DiagnosisDTO) patientFileItemsDTO.get(1)).getDiseaseDTO().getDescription());
+		MailDTO mailDTO = (MailDTO) patientFileItemsDTO.get(2);
+		assertEquals(mailId, mailDTO.getId());
+		assertEquals(date, mailDTO.getDate());
+		assertEquals("Comments", mailDTO.getComments());
+		assertEquals("P001", mailDTO.getPatientFileId());
+		assertEquals("D001", mailDTO.getAuthoringDoctorId());
+		assertEquals("Firstname 1", mailDTO.getAuthoringDoctorFirstname());
+		assertEquals("Lastname 1", mailDTO.getAuthoringDoctorLastname());
+		assertEquals(List.of("Specialty 1", "Specialty 2"), mailDTO.getAuthoringDoctorSpecialties());
+		assertEquals("Mail text", mailDTO.getText());
+		assertEquals("D002", mailDTO.getRecipientDoctorId());
+		assertEquals("Firstname 2", mailDTO.getRecipientDoctorFirstname());
+		assertEquals("Lastname 2", mailDTO.getRecipientDoctorLastname());
+		assertEquals(List.of("Specialty 2"), mailDTO.getRecipientDoctorSpecialties());
+		assertEquals("Prescription", ((PrescriptionDTO) patientFileItemsDTO.get(3)).getDescription());
+		assertEquals("Symptom", ((SymptomDTO) patientFileItemsDTO.get(4)).getDescription());
 	}
 
 	@Test
 	public void testFindPatientFileItemsByPatientFileIdFound0() {
 
-		when(patientFileItemDAO.findByPatientFileId("P027")).thenReturn(List.of());
+		when(patientFileItemDAO.findRowsByPatientFileId("P027")).thenReturn(List.of());
 
 		List<PatientFileItemDTO> patientFileItemsDTO = patientFileItemService.findPatientFileItemsByPatientFileId("P027");
 
-		verify(patientFileItemDAO, times(1)).findByPatientFileId("P027");
+		verify(patientFileItemDAO, times(1)).findRowsByPatientFileId("P027");
+		verify(doctorDAO, never()).findSpecialtyDescriptionsByIdIn(any());
 
 		assertEquals(0, patientFileItemsDTO.size());
 	}
+
+	private Object[] row(UUID id, String type, String medicalActId, String medicalActDescription, String diseaseId,
+			String diseaseDescription, String text, String recipientDoctorId, String recipientDoctorFirstname,
+			String recipientDoctorLastname, String description) {
+		return new Object[] { id.toString(), null, null, java.sql.Date.valueOf(date), "Comments", "P001", "D001",
+				"Firstname 1", "Lastname 1", type, medicalActId, medicalActDescription, diseaseId, diseaseDescription,
+				text, recipientDoctorId, recipientDoctorFirstname, recipientDoctorLastname, description };
+	}
 }
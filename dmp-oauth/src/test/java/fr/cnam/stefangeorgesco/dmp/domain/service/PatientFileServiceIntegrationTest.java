@@ -2,9 +2,12 @@ package fr.cnam.stefangeorgesco.dmp.domain.service;
 
 import fr.cnam.stefangeorgesco.dmp.authentication.domain.dto.UserDTO;
 import fr.cnam.stefangeorgesco.dmp.authentication.domain.service.IAMService;
+import fr.cnam.stefangeorgesco.dmp.authentication.domain.service.UserSyncService;
 import fr.cnam.stefangeorgesco.dmp.domain.dao.PatientFileDAO;
+import fr.cnam.stefangeorgesco.dmp.domain.dao.UserSyncEventDAO;
 import fr.cnam.stefangeorgesco.dmp.domain.dto.AddressDTO;
 import fr.cnam.stefangeorgesco.dmp.domain.dto.CorrespondenceDTO;
+import fr.cnam.stefangeorgesco.dmp.domain.dto.PageDTO;
 import fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileDTO;
 import fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileItemDTO;
 import fr.cnam.stefangeorgesco.dmp.domain.model.Address;
@@ -23,6 +26,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.jdbc.SqlGroup;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -65,6 +70,12 @@ public class PatientFileServiceIntegrationTest {
 	@Autowired
 	private PatientFileItemService patientFileItemService;
 
+	@Autowired
+	private UserSyncService userSyncService;
+
+	@Autowired
+	private UserSyncEventDAO userSyncEventDAO;
+
 	private PatientFileDTO patientFileDTO;
 
 	private PatientFileDTO patientFileDTOResponse;
@@ -94,7 +105,7 @@ public class PatientFileServiceIntegrationTest {
 
 	@Test
 	public void testCreatePatientFileSuccess() throws CheckException {
-		doNothing().when(rnippService).checkPatientData(patientFileDTO);
+		when(rnippService.checkPatientDataAsync(patientFileDTO)).thenReturn(Mono.empty());
 
 		assertFalse(patientFileDAO.existsById("P002"));
 
@@ -127,7 +138,7 @@ public class PatientFileServiceIntegrationTest {
 
 		patientFileDAO.save(patientFile);
 
-		doNothing().when(rnippService).checkPatientData(patientFileDTO);
+		when(rnippService.checkPatientDataAsync(patientFileDTO)).thenReturn(Mono.empty());
 
 		DuplicateKeyException ex = assertThrows(DuplicateKeyException.class,
 				() -> patientFileService.createPatientFile(patientFileDTO));
@@ -144,7 +155,13 @@ public class PatientFileServiceIntegrationTest {
 
 		patientFileDTOResponse = assertDoesNotThrow(() -> patientFileService.updatePatientFile(patientFileDTO));
 
+		verify(IAMService, times(0)).updateUser(any(UserDTO.class));
+		assertEquals(1, userSyncEventDAO.count());
+
+		userSyncService.dispatchPendingEvents();
+
 		verify(IAMService, times(1)).updateUser(any(UserDTO.class));
+		assertEquals(0, userSyncEventDAO.count());
 		savedPatientFile = patientFileDAO.findById("P001").orElseThrow();
 
 		// no change in saved object
@@ -243,7 +260,8 @@ public class PatientFileServiceIntegrationTest {
 	@Test
 	public void testFindPatientFilesByIdOrFirstnameOrLastnameFound4() {
 
-		List<PatientFileDTO> patientFiles = patientFileService.findPatientFilesByIdOrFirstnameOrLastname("ma");
+		List<PatientFileDTO> patientFiles = patientFileService.findPatientFilesByIdOrFirstnameOrLastname("ma", null, 20)
+				.getContent();
 
 		assertEquals(5, patientFiles.size());
 		assertEquals("P001", patientFiles.get(0).getId());
@@ -255,15 +273,40 @@ public class PatientFileServiceIntegrationTest {
 	@Test
 	public void testFindPatientFilesByIdOrFirstnameOrLastnameFound11() {
 
-		List<PatientFileDTO> patientFiles = patientFileService.findPatientFilesByIdOrFirstnameOrLastname("P0");
+		List<PatientFileDTO> patientFiles = patientFileService.findPatientFilesByIdOrFirstnameOrLastname("P0", null, 20)
+				.getContent();
 
 		assertEquals(12, patientFiles.size());
 	}
 
+	@Test
+	public void testFindPatientFilesByIdOrFirstnameOrLastnameKeysetPagination() {
+
+		PageDTO<PatientFileDTO> page = patientFileService.findPatientFilesByIdOrFirstnameOrLastname("ma", null, 2);
+
+		assertEquals(2, page.getContent().size());
+		assertEquals("P001", page.getContent().get(0).getId());
+		assertEquals("P005", page.getContent().get(1).getId());
+		assertEquals("P005", page.getNext());
+
+		page = patientFileService.findPatientFilesByIdOrFirstnameOrLastname("ma", page.getNext(), 2);
+
+		assertEquals(2, page.getContent().size());
+		assertEquals("P011", page.getContent().get(0).getId());
+		assertEquals("P013", page.getContent().get(1).getId());
+		assertEquals("P013", page.getNext());
+
+		page = patientFileService.findPatientFilesByIdOrFirstnameOrLastname("ma", page.getNext(), 2);
+
+		assertEquals(1, page.getContent().size());
+		assertNull(page.getNext());
+	}
+
 	@Test
 	public void testFindPatientFilesByIdOrFirstnameOrLastnameFound0() {
 
-		List<PatientFileDTO> patientFiles = patientFileService.findPatientFilesByIdOrFirstnameOrLastname("za");
+		List<PatientFileDTO> patientFiles = patientFileService.findPatientFilesByIdOrFirstnameOrLastname("za", null, 20)
+				.getContent();
 
 		assertEquals(0, patientFiles.size());
 	}
@@ -271,7 +314,8 @@ public class PatientFileServiceIntegrationTest {
 	@Test
 	public void testFindPatientFilesByIdOrFirstnameOrLastnameFound0SearchStringIsBlank() {
 
-		List<PatientFileDTO> patientFiles = patientFileService.findPatientFilesByIdOrFirstnameOrLastname("");
+		List<PatientFileDTO> patientFiles = patientFileService.findPatientFilesByIdOrFirstnameOrLastname("", null, 20)
+				.getContent();
 
 		assertEquals(0, patientFiles.size());
 	}
@@ -281,7 +325,7 @@ public class PatientFileServiceIntegrationTest {
 
 		id = "P005";
 
-		when(IAMService.userExistsById(id)).thenReturn(false);
+		when(IAMService.deleteUser(id)).thenThrow(WebClientResponseException.create(404, "Not Found", null, null, null));
 
 		assertTrue(patientFileDAO.existsById(id));
 
@@ -293,7 +337,12 @@ public class PatientFileServiceIntegrationTest {
 
 		assertDoesNotThrow(() -> patientFileService.deletePatientFile(id));
 
-		verify(IAMService, times(1)).userExistsById(id);
+		assertEquals(1, userSyncEventDAO.count());
+
+		userSyncService.dispatchPendingEvents();
+
+		verify(IAMService, times(1)).deleteUser(id);
+		assertEquals(0, userSyncEventDAO.count());
 		assertFalse(patientFileDAO.existsById(id));
 
 		correspondenceDTOs = correspondenceService.findCorrespondencesByPatientFileId(id);
@@ -308,10 +357,8 @@ public class PatientFileServiceIntegrationTest {
 
 		id = "P005";
 
-		when(IAMService.userExistsById(id)).thenReturn(true);
 		when(IAMService.deleteUser(id)).thenReturn(HttpStatus.NO_CONTENT);
 
-
 		assertTrue(patientFileDAO.existsById(id));
 
 		List<CorrespondenceDTO> correspondenceDTOs = correspondenceService.findCorrespondencesByPatientFileId(id);
@@ -322,8 +369,12 @@ public class PatientFileServiceIntegrationTest {
 
 		assertDoesNotThrow(() -> patientFileService.deletePatientFile(id));
 
-		verify(IAMService, times(1)).userExistsById(id);
+		verify(IAMService, times(0)).deleteUser(id);
+
+		userSyncService.dispatchPendingEvents();
+
 		verify(IAMService, times(1)).deleteUser(id);
+		assertEquals(0, userSyncEventDAO.count());
 		assertFalse(patientFileDAO.existsById(id));
 
 		correspondenceDTOs = correspondenceService.findCorrespondencesByPatientFileId(id);
@@ -1,8 +1,10 @@
 package fr.cnam.stefangeorgesco.dmp.domain.service;
 
-import fr.cnam.stefangeorgesco.dmp.authentication.domain.service.UserService;
+import fr.cnam.stefangeorgesco.dmp.authentication.domain.dto.UserDTO;
+import fr.cnam.stefangeorgesco.dmp.authentication.domain.service.UserSyncService;
 import fr.cnam.stefangeorgesco.dmp.domain.dao.*;
 import fr.cnam.stefangeorgesco.dmp.domain.dto.AddressDTO;
+import fr.cnam.stefangeorgesco.dmp.domain.dto.PageDTO;
 import fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileDTO;
 import fr.cnam.stefangeorgesco.dmp.domain.model.Address;
 import fr.cnam.stefangeorgesco.dmp.domain.model.Doctor;
@@ -17,7 +19,9 @@ import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -34,7 +38,7 @@ public class PatientFileServiceTest {
 	private RnippService rnippService;
 
 	@MockBean
-	private UserService userService;
+	private UserSyncService userSyncService;
 
 	@MockBean
 	private PatientFileDAO patientFileDAO;
@@ -110,13 +114,13 @@ public class PatientFileServiceTest {
 
 	@Test
 	public void testCreatePatientFileSuccess() throws CheckException {
-		doNothing().when(rnippService).checkPatientData(patientFileDTO);
+		when(rnippService.checkPatientDataAsync(patientFileDTO)).thenReturn(Mono.empty());
 		when(fileDAO.existsById(patientFileDTO.getId())).thenReturn(false);
 		when(patientFileDAO.save(patientFileCaptor.capture())).thenAnswer(invocation -> invocation.getArguments()[0]);
 
 		patientFileDTOResponse = assertDoesNotThrow(() -> patientFileService.createPatientFile(patientFileDTO));
 
-		verify(rnippService, times(1)).checkPatientData(patientFileDTO);
+		verify(rnippService, times(1)).checkPatientDataAsync(patientFileDTO);
 		verify(fileDAO, times(1)).existsById(patientFileDTO.getId());
 		verify(patientFileDAO, times(1)).save(any(PatientFile.class));
 
@@ -139,7 +143,8 @@ public class PatientFileServiceTest {
 
 	@Test
 	public void testCreatePatientFileFailureRnippServiceThrowsException() throws CheckException {
-		doThrow(new CheckException("patient data did not match")).when(rnippService).checkPatientData(patientFileDTO);
+		when(rnippService.checkPatientDataAsync(patientFileDTO))
+				.thenReturn(Mono.error(new CheckException("patient data did not match")));
 
 		CheckException ex = assertThrows(CheckException.class,
 				() -> patientFileService.createPatientFile(patientFileDTO));
@@ -149,13 +154,13 @@ public class PatientFileServiceTest {
 
 	@Test
 	public void testCreatePatientFileFailurePatientFileAlreadyExist() throws CheckException {
-		doNothing().when(rnippService).checkPatientData(patientFileDTO);
+		when(rnippService.checkPatientDataAsync(patientFileDTO)).thenReturn(Mono.empty());
 		when(fileDAO.existsById(patientFileDTO.getId())).thenReturn(true);
 
 		DuplicateKeyException ex = assertThrows(DuplicateKeyException.class,
 				() -> patientFileService.createPatientFile(patientFileDTO));
 
-		verify(rnippService, times(1)).checkPatientData(patientFileDTO);
+		verify(rnippService, times(1)).checkPatientDataAsync(patientFileDTO);
 		verify(fileDAO, times(1)).existsById(patientFileDTO.getId());
 		verify(patientFileDAO, times(0)).save(any(PatientFile.class));
 
@@ -165,12 +170,14 @@ public class PatientFileServiceTest {
 	@Test
 	public void testUpdatePatientFileSuccess() {
 		when(patientFileDAO.findById(patientFileDTO.getId())).thenReturn(Optional.of(persistentPatientFile));
-		when(patientFileDAO.save(patientFileCaptor.capture())).thenAnswer(invocation -> invocation.getArguments()[0]);
+		when(patientFileDAO.saveAndFlush(patientFileCaptor.capture()))
+				.thenAnswer(invocation -> invocation.getArguments()[0]);
 
 		patientFileDTOResponse = assertDoesNotThrow(() -> patientFileService.updatePatientFile(patientFileDTO));
 
 		verify(patientFileDAO, times(1)).findById(patientFileDTO.getId());
-		verify(patientFileDAO, times(1)).save(any(PatientFile.class));
+		verify(patientFileDAO, times(1)).saveAndFlush(any(PatientFile.class));
+		verify(userSyncService, times(1)).scheduleUserUpdate(any(UserDTO.class));
 
 		savedPatientFile = patientFileCaptor.getValue();
 
@@ -345,13 +352,17 @@ public class PatientFileServiceTest {
 		patientFile2.setSecurityCode("securityCode_2");
 		patientFile2.setReferringDoctor(doctor);
 
-		when(patientFileDAO.findByIdOrFirstnameOrLastname("la")).thenReturn(List.of(patientFile1, patientFile2));
+		when(patientFileDAO.findByIdOrFirstnameOrLastname("la", null, PageRequest.of(0, 21)))
+				.thenReturn(List.of(patientFile1, patientFile2));
+
+		PageDTO<PatientFileDTO> page = patientFileService.findPatientFilesByIdOrFirstnameOrLastname("la", null, 20);
 
-		List<PatientFileDTO> patientFilesDTO = patientFileService.findPatientFilesByIdOrFirstnameOrLastname("la");
+		verify(patientFileDAO, times(1)).findByIdOrFirstnameOrLastname("la", null, PageRequest.of(0, 21));
 
-		verify(patientFileDAO, times(1)).findByIdOrFirstnameOrLastname("la");
+		List<PatientFileDTO> patientFilesDTO = page.getContent();
 
 		assertEquals(2, patientFilesDTO.size());
+		assertNull(page.getNext());
 
 		PatientFileDTO patientFileDTO1 = patientFilesDTO.get(0);
 		PatientFileDTO patientFileDTO2 = patientFilesDTO.get(1);
@@ -368,54 +379,59 @@ public class PatientFileServiceTest {
 
 	@Test
 	public void testFindPatientFileByIdOrFirstnameOrLastnameFound0() {
-		when(patientFileDAO.findByIdOrFirstnameOrLastname("za")).thenReturn(List.of());
+		when(patientFileDAO.findByIdOrFirstnameOrLastname("za", null, PageRequest.of(0, 21))).thenReturn(List.of());
 
-		List<PatientFileDTO> patientFilesDTO = patientFileService.findPatientFilesByIdOrFirstnameOrLastname("za");
+		PageDTO<PatientFileDTO> page = patientFileService.findPatientFilesByIdOrFirstnameOrLastname("za", null, 20);
 
-		verify(patientFileDAO, times(1)).findByIdOrFirstnameOrLastname("za");
+		verify(patientFileDAO, times(1)).findByIdOrFirstnameOrLastname("za", null, PageRequest.of(0, 21));
 
-		assertEquals(0, patientFilesDTO.size());
+		assertEquals(0, page.getContent().size());
+		assertNull(page.getNext());
 	}
 
 	@Test
 	public void testFindPatientFileByIdOrFirstnameOrLastnameFound0SearchStringIsBlank() {
-		when(patientFileDAO.findByIdOrFirstnameOrLastname("")).thenReturn(List.of());
+		PageDTO<PatientFileDTO> page = patientFileService.findPatientFilesByIdOrFirstnameOrLastname("", null, 20);
 
-		List<PatientFileDTO> patientFilesDTO = patientFileService.findPatientFilesByIdOrFirstnameOrLastname("");
+		verify(patientFileDAO, times(0)).findByIdOrFirstnameOrLastname(any(), any(), any());
 
-		verify(patientFileDAO, times(0)).findByIdOrFirstnameOrLastname("");
-
-		assertEquals(0, patientFilesDTO.size());
+		assertEquals(0, page.getContent().size());
 	}
 
 	@Test
-	public void testDeletePatientFileSuccessNoUser() throws DeleteException {
-		when(correspondenceDAO.deleteAllByPatientFileId("P001")).thenReturn(3);
-		when(patientFileItemDAO.deleteAllByPatientFileId("P001")).thenReturn(9);
-		doNothing().when(patientFileDAO).deleteById("P001");
-		doThrow(new DeleteException("")).when(userService).deleteUser("P001");
+	public void testFindPatientFileByIdOrFirstnameOrLastnameNextCursorAndPageSizeCap() {
+		PatientFile patientFile1 = new PatientFile();
+		patientFile1.setId("ID_1");
+		PatientFile patientFile2 = new PatientFile();
+		patientFile2.setId("ID_2");
 
-		assertDoesNotThrow(() -> patientFileService.deletePatientFile("P001"));
+		when(patientFileDAO.findByIdOrFirstnameOrLastname("la", "ID_0", PageRequest.of(0, 2)))
+				.thenReturn(List.of(patientFile1, patientFile2));
 
-		verify(correspondenceDAO, times(1)).deleteAllByPatientFileId("P001");
-		verify(patientFileItemDAO, times(1)).deleteAllByPatientFileId("P001");
-		verify(patientFileDAO, times(1)).deleteById("P001");
-		verify(userService, times(1)).deleteUser("P001");
+		PageDTO<PatientFileDTO> page = patientFileService.findPatientFilesByIdOrFirstnameOrLastname("la", "ID_0", 1);
+
+		assertEquals(1, page.getContent().size());
+		assertEquals("ID_1", page.getContent().get(0).getId());
+		assertEquals("ID_1", page.getNext());
+
+		patientFileService.findPatientFilesByIdOrFirstnameOrLastname("la", null, 1000);
+
+		verify(patientFileDAO, times(1)).findByIdOrFirstnameOrLastname("la", null,
+				PageRequest.of(0, PageDTO.MAX_SIZE + 1));
 	}
 
 	@Test
-	public void testDeletePatientFileSuccessUserPresent() throws DeleteException {
+	public void testDeletePatientFileSuccess() {
 		when(correspondenceDAO.deleteAllByPatientFileId("P001")).thenReturn(3);
 		when(patientFileItemDAO.deleteAllByPatientFileId("P001")).thenReturn(9);
 		doNothing().when(patientFileDAO).deleteById("P001");
-		doNothing().when(userService).deleteUser("P001");
 
 		assertDoesNotThrow(() -> patientFileService.deletePatientFile("P001"));
 
 		verify(correspondenceDAO, times(1)).deleteAllByPatientFileId("P001");
 		verify(patientFileItemDAO, times(1)).deleteAllByPatientFileId("P001");
 		verify(patientFileDAO, times(1)).deleteById("P001");
-		verify(userService, times(1)).deleteUser("P001");
+		verify(userSyncService, times(1)).scheduleUserDeletion("P001");
 	}
 
 	@Test
@@ -423,14 +439,13 @@ public class PatientFileServiceTest {
 		when(correspondenceDAO.deleteAllByPatientFileId("P001")).thenReturn(0);
 		when(patientFileItemDAO.deleteAllByPatientFileId("P001")).thenReturn(0);
 		doThrow(new RuntimeException("")).when(patientFileDAO).deleteById("P001");
-		doThrow(new DeleteException("")).when(userService).deleteUser("P001");
 
 		DeleteException ex = assertThrows(DeleteException.class, () -> patientFileService.deletePatientFile("P001"));
 
 		verify(correspondenceDAO, times(1)).deleteAllByPatientFileId("P001");
 		verify(patientFileItemDAO, times(1)).deleteAllByPatientFileId("P001");
 		verify(patientFileDAO, times(1)).deleteById("P001");
-		verify(userService, times(0)).deleteUser("P001");
+		verify(userSyncService, times(0)).scheduleUserDeletion("P001");
 		assertEquals("Le dossier patient n'a pas pu être supprimé.", ex.getMessage());
 	}
 }
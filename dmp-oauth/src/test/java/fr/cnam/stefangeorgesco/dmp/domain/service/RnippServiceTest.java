@@ -0,0 +1,290 @@
+package fr.cnam.stefangeorgesco.dmp.domain.service;
+
+import fr.cnam.stefangeorgesco.dmp.domain.dto.PatientFileDTO;
+import fr.cnam.stefangeorgesco.dmp.exception.domain.CheckException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RnippServiceTest {
+
+	private static final String UNAVAILABLE = "Le RNIPP est momentanément indisponible, veuillez réessayer.";
+
+	private final AtomicInteger requests = new AtomicInteger();
+
+	private Mono<ClientResponse> firstResponse;
+
+	private MeterRegistry meterRegistry;
+
+	private CompletableFuture<Void> gate;
+
+	private HttpStatus status;
+
+	private String body;
+
+	private PatientFileDTO patientFileDTO;
+
+	@BeforeEach
+	public void setup() {
+		requests.set(0);
+		firstResponse = null;
+		meterRegistry = new SimpleMeterRegistry();
+		gate = CompletableFuture.completedFuture(null);
+		status = HttpStatus.OK;
+		body = "{\"result\":true,\"message\":\"ok\"}";
+
+		patientFileDTO = new PatientFileDTO();
+		patientFileDTO.setId("P002");
+		patientFileDTO.setFirstname("Patrick");
+		patientFileDTO.setLastname("Dubois");
+		patientFileDTO.setDateOfBirth(LocalDate.of(2000, 2, 13));
+	}
+
+	private RnippService rnippService(Duration positiveTtl, Duration negativeTtl, Duration notAcceptableTtl) {
+		return rnippService(positiveTtl, negativeTtl, notAcceptableTtl, Duration.ofSeconds(10), Duration.ofSeconds(10));
+	}
+
+	private RnippService rnippService(Duration positiveTtl, Duration negativeTtl, Duration notAcceptableTtl,
+			Duration budget, Duration initialHedgeDelay) {
+		WebClient rnippClient = WebClient.builder().exchangeFunction(request -> {
+			if (requests.incrementAndGet() == 1 && firstResponse != null) {
+				return firstResponse;
+			}
+			return Mono.fromFuture(gate).then(Mono.fromSupplier(() -> ClientResponse.create(status)
+					.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE).body(body).build()));
+		}).build();
+
+		return new RnippServiceImpl(rnippClient, meterRegistry, 100, positiveTtl, negativeTtl, notAcceptableTtl,
+				budget, initialHedgeDelay, Duration.ofMillis(50), 2, Duration.ofMillis(10));
+	}
+
+	private double attempts(String kind, String outcome) {
+		return meterRegistry.get("rnipp.attempt").tag("kind", kind).tag("outcome", outcome).timer().count();
+	}
+
+	@Test
+	public void testPositiveVerdictIsCached() {
+		RnippService rnippService = rnippService(Duration.ofMinutes(10), Duration.ZERO, Duration.ZERO);
+
+		assertDoesNotThrow(() -> rnippService.checkPatientData(patientFileDTO));
+		assertDoesNotThrow(() -> rnippService.checkPatientData(patientFileDTO));
+
+		assertEquals(1, requests.get());
+	}
+
+	@Test
+	public void testNegativeVerdictIsCachedWithItsOwnTtl() {
+		body = "{\"result\":false,\"message\":\"not found\"}";
+		RnippService rnippService = rnippService(Duration.ZERO, Duration.ofMinutes(2), Duration.ZERO);
+
+		CheckException ex = assertThrows(CheckException.class, () -> rnippService.checkPatientData(patientFileDTO));
+		assertEquals("Les données fournies sont incorrectes. Pas d'enregistrement RNIPP.", ex.getMessage());
+		assertThrows(CheckException.class, () -> rnippService.checkPatientData(patientFileDTO));
+
+		assertEquals(1, requests.get());
+	}
+
+	@Test
+	public void testNotAcceptableVerdictIsNotCachedWithZeroTtl() {
+		status = HttpStatus.NOT_ACCEPTABLE;
+		body = "{\"dateOfBirth\":\"invalid\"}";
+		RnippService rnippService = rnippService(Duration.ofMinutes(10), Duration.ofMinutes(2), Duration.ZERO);
+
+		CheckException ex = assertThrows(CheckException.class, () -> rnippService.checkPatientData(patientFileDTO));
+		assertEquals("RNIPP - dateOfBirth : invalid", ex.getMessage());
+		assertThrows(CheckException.class, () -> rnippService.checkPatientData(patientFileDTO));
+
+		assertEquals(2, requests.get());
+	}
+
+	@Test
+	public void testServerErrorIsNotCached() {
+		status = HttpStatus.INTERNAL_SERVER_ERROR;
+		body = "{}";
+		RnippService rnippService = rnippService(Duration.ofMinutes(10), Duration.ofMinutes(2), Duration.ofMinutes(1));
+
+		CheckException ex = assertThrows(CheckException.class, () -> rnippService.checkPatientData(patientFileDTO));
+		assertEquals(UNAVAILABLE, ex.getMessage());
+		assertEquals(3, requests.get());
+		assertEquals(1, attempts("primary", "failure"));
+		assertEquals(2, attempts("retry", "failure"));
+		assertEquals(1, meterRegistry.get("rnipp.call").tag("outcome", "failure").timer().count());
+
+		status = HttpStatus.OK;
+		body = "{\"result\":true,\"message\":\"ok\"}";
+
+		assertDoesNotThrow(() -> rnippService.checkPatientData(patientFileDTO));
+		assertEquals(4, requests.get());
+	}
+
+	@Test
+	public void testServerErrorIsRetried() {
+		firstResponse = Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+		RnippService rnippService = rnippService(Duration.ZERO, Duration.ZERO, Duration.ZERO);
+
+		assertDoesNotThrow(() -> rnippService.checkPatientData(patientFileDTO));
+
+		assertEquals(2, requests.get());
+		assertEquals(1, attempts("primary", "failure"));
+		assertEquals(1, attempts("retry", "success"));
+	}
+
+	@Test
+	public void testSlowRequestIsHedged() throws InterruptedException {
+		firstResponse = Mono.never();
+		RnippService rnippService = rnippService(Duration.ZERO, Duration.ZERO, Duration.ZERO, Duration.ofSeconds(10),
+				Duration.ofMillis(100));
+
+		long start = System.nanoTime();
+		assertDoesNotThrow(() -> rnippService.checkPatientData(patientFileDTO));
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertTrue(elapsedMillis < 2000, "durée : " + elapsedMillis + " ms");
+		assertEquals(2, requests.get());
+		assertEquals(1, attempts("hedge", "success"));
+
+		// la requête abandonnée est annulée après l'émission de la réponse
+		for (int i = 0; i < 100 && meterRegistry.find("rnipp.attempt").tag("kind", "primary")
+				.tag("outcome", "cancelled").timer() == null; i++) {
+			Thread.sleep(10);
+		}
+		assertEquals(1, attempts("primary", "cancelled"));
+	}
+
+	@Test
+	public void testFastRequestIsNotHedged() throws InterruptedException {
+		RnippService rnippService = rnippService(Duration.ZERO, Duration.ZERO, Duration.ZERO, Duration.ofSeconds(10),
+				Duration.ofMillis(100));
+
+		assertDoesNotThrow(() -> rnippService.checkPatientData(patientFileDTO));
+		Thread.sleep(200);
+
+		assertEquals(1, requests.get());
+	}
+
+	@Test
+	public void testBudgetExhausted() {
+		gate = new CompletableFuture<>();
+		RnippService rnippService = rnippService(Duration.ZERO, Duration.ZERO, Duration.ZERO, Duration.ofMillis(300),
+				Duration.ofMillis(100));
+
+		long start = System.nanoTime();
+		CheckException ex = assertThrows(CheckException.class, () -> rnippService.checkPatientData(patientFileDTO));
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertEquals(UNAVAILABLE, ex.getMessage());
+		assertTrue(elapsedMillis < 2000, "durée : " + elapsedMillis + " ms");
+		assertEquals(2, requests.get());
+		assertEquals(1, meterRegistry.get("rnipp.call").tag("outcome", "budget-exhausted").timer().count());
+	}
+
+	@Test
+	public void testHedgeDelayFollowsObservedLatency() {
+		RnippService rnippService = rnippService(Duration.ZERO, Duration.ZERO, Duration.ZERO);
+
+		assertEquals(10000, meterRegistry.get("rnipp.hedge.delay").timeGauge().value(TimeUnit.MILLISECONDS));
+
+		for (int i = 0; i < 30; i++) {
+			assertDoesNotThrow(() -> rnippService.checkPatientData(patientFileDTO));
+		}
+
+		double hedgeDelay = meterRegistry.get("rnipp.hedge.delay").timeGauge().value(TimeUnit.MILLISECONDS);
+		assertTrue(hedgeDelay >= 50 && hedgeDelay < 10000, "délai : " + hedgeDelay + " ms");
+	}
+
+	@Test
+	public void testDifferentDataAreCheckedSeparately() {
+		RnippService rnippService = rnippService(Duration.ofMinutes(10), Duration.ZERO, Duration.ZERO);
+
+		assertDoesNotThrow(() -> rnippService.checkPatientData(patientFileDTO));
+		patientFileDTO.setFirstname("Patrice");
+		assertDoesNotThrow(() -> rnippService.checkPatientData(patientFileDTO));
+
+		assertEquals(2, requests.get());
+	}
+
+	@Test
+	public void testConcurrentIdenticalChecksAreCoalesced() throws Exception {
+		gate = new CompletableFuture<>();
+		RnippService rnippService = rnippService(Duration.ZERO, Duration.ZERO, Duration.ZERO);
+
+		CompletableFuture<Void> first = rnippService.checkPatientDataAsync(patientFileDTO).toFuture();
+		CompletableFuture<Void> second = rnippService.checkPatientDataAsync(patientFileDTO).toFuture();
+
+		gate.complete(null);
+
+		first.get();
+		second.get();
+		assertEquals(1, requests.get());
+	}
+
+	@Test
+	public void testCheckIsRequestedOnSubscription() throws Exception {
+		gate = new CompletableFuture<>();
+		RnippService rnippService = rnippService(Duration.ZERO, Duration.ZERO, Duration.ZERO);
+
+		Mono<Void> neverSubscribed = rnippService.checkPatientDataAsync(patientFileDTO);
+		Mono<Void> subscribedLater = rnippService.checkPatientDataAsync(patientFileDTO);
+
+		assertNotNull(neverSubscribed);
+		assertEquals(0, requests.get());
+
+		CompletableFuture<Void> check = subscribedLater.toFuture();
+		assertEquals(1, requests.get());
+
+		gate.complete(null);
+		check.get(5, TimeUnit.SECONDS);
+
+		assertDoesNotThrow(() -> rnippService.checkPatientData(patientFileDTO));
+		assertEquals(2, requests.get());
+	}
+
+	@Test
+	public void testCancelledCheckDoesNotCancelSharedRequest() throws Exception {
+		gate = new CompletableFuture<>();
+		RnippService rnippService = rnippService(Duration.ofMinutes(10), Duration.ZERO, Duration.ZERO);
+
+		Disposable cancelled = rnippService.checkPatientDataAsync(patientFileDTO).subscribe();
+		CompletableFuture<Void> coalesced = rnippService.checkPatientDataAsync(patientFileDTO).toFuture();
+
+		cancelled.dispose();
+		gate.complete(null);
+
+		coalesced.get(5, TimeUnit.SECONDS);
+		assertEquals(1, requests.get());
+	}
+
+	@Test
+	public void testShortCircuitedZipDoesNotCancelSharedRequest() {
+		gate = new CompletableFuture<>();
+		RnippService rnippService = rnippService(Duration.ofMinutes(10), Duration.ZERO, Duration.ZERO);
+
+		// autre vérification en échec : Mono.zip annule la vérification RNIPP
+		assertThrows(IllegalStateException.class, () -> Mono.zip(
+				rnippService.checkPatientDataAsync(patientFileDTO).thenReturn(true),
+				Mono.error(new IllegalStateException("duplicate"))).block());
+
+		gate.complete(null);
+
+		// la requête annulée par son seul appelant a abouti et son verdict est conservé
+		assertDoesNotThrow(() -> rnippService.checkPatientData(patientFileDTO));
+		assertEquals(1, requests.get());
+	}
+
+}
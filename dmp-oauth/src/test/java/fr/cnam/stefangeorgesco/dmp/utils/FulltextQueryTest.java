@@ -0,0 +1,41 @@
+package fr.cnam.stefangeorgesco.dmp.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FulltextQueryTest {
+
+	@Test
+	public void testPhrase() {
+		assertEquals("\"martin\"", FulltextQuery.phrase("  martin "));
+		assertEquals("\"jean martin\"", FulltextQuery.phrase("jean   martin"));
+	}
+
+	@Test
+	public void testPhraseTooShort() {
+		assertNull(FulltextQuery.phrase(null));
+		assertNull(FulltextQuery.phrase(" m "));
+		assertNull(FulltextQuery.phrase("\"\""));
+	}
+
+	@Test
+	public void testPhraseOperatorCharacters() {
+		// les guillemets ne peuvent pas fermer la phrase : les autres opérateurs
+		// (+ - < > ( ) ~ * @) restent à l'intérieur et n'y sont pas interprétés
+		assertEquals("\"+jean -martin*\"", FulltextQuery.phrase("+jean -martin*"));
+		assertEquals("\"a b\"", FulltextQuery.phrase("a\" b"));
+		assertEquals("\"(mar) ~tin @2\"", FulltextQuery.phrase("\"(mar) ~tin\" @2"));
+		assertEquals("\"<ma>\"", FulltextQuery.phrase("<ma>"));
+	}
+
+	@Test
+	public void testLikePrefix() {
+		assertEquals("P001", FulltextQuery.likePrefix(" P001 "));
+		assertEquals("P!%", FulltextQuery.likePrefix("P%"));
+		assertEquals("P!_01", FulltextQuery.likePrefix("P_01"));
+		assertEquals("P!!01", FulltextQuery.likePrefix("P!01"));
+		assertEquals("\\'", FulltextQuery.likePrefix("\\'"));
+	}
+
+}
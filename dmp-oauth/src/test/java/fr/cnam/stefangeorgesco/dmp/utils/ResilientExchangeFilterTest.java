@@ -0,0 +1,114 @@
+package fr.cnam.stefangeorgesco.dmp.utils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResilientExchangeFilterTest {
+
+	private final AtomicInteger requests = new AtomicInteger();
+
+	private Deque<Mono<ClientResponse>> responses;
+
+	private MeterRegistry meterRegistry;
+
+	@BeforeEach
+	public void setup() {
+		requests.set(0);
+		responses = new ArrayDeque<>();
+		meterRegistry = new SimpleMeterRegistry();
+	}
+
+	private WebClient webClient(int failureThreshold, Duration openDuration) {
+		return WebClient.builder().exchangeFunction(request -> {
+			requests.incrementAndGet();
+			Mono<ClientResponse> response = responses.poll();
+			return response != null ? response : Mono.just(ClientResponse.create(HttpStatus.OK).body("ok").build());
+		}).filter(new ResilientExchangeFilter("test", Duration.ofSeconds(5), 10, failureThreshold, openDuration,
+				meterRegistry)).build();
+	}
+
+	private static Mono<String> call(WebClient webClient) {
+		return webClient.get().uri("http://localhost/test").retrieve().bodyToMono(String.class);
+	}
+
+	private static Mono<ClientResponse> serverError() {
+		return Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).body("error").build());
+	}
+
+	private double circuitState() {
+		return meterRegistry.get("http.client.circuit.state").tag("client", "test").gauge().value();
+	}
+
+	@Test
+	public void testEmptyTrialReleasesPermission() throws InterruptedException {
+		WebClient webClient = webClient(1, Duration.ofMillis(100));
+
+		responses.add(serverError());
+		assertThrows(RuntimeException.class, () -> call(webClient).block());
+		assertEquals(1, circuitState());
+
+		Thread.sleep(150);
+
+		// requête d'essai sans réponse : une autre requête d'essai est autorisée
+		responses.add(Mono.empty());
+		call(webClient).onErrorResume(e -> Mono.empty()).block();
+		assertEquals(2, circuitState());
+
+		assertEquals("ok", call(webClient).block());
+		assertEquals(0, circuitState());
+		assertEquals(3, requests.get());
+	}
+
+	@Test
+	public void testServerErrorWithFailedBodyCountsOnce() {
+		WebClient webClient = webClient(2, Duration.ofSeconds(10));
+
+		Flux<DataBuffer> failingBody = Flux.error(new IOException("Connexion interrompue."));
+		responses.add(Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).body(failingBody).build()));
+
+		assertThrows(RuntimeException.class, () -> call(webClient).block());
+
+		assertEquals(0, circuitState());
+		assertEquals("ok", call(webClient).block());
+	}
+
+	@Test
+	public void testLateSuccessDoesNotCloseOpenCircuit() throws Exception {
+		WebClient webClient = webClient(1, Duration.ofSeconds(10));
+
+		CompletableFuture<Void> gate = new CompletableFuture<>();
+		responses.add(Mono.fromFuture(gate).then(Mono.fromSupplier(
+				() -> ClientResponse.create(HttpStatus.OK).body("late").build())));
+		responses.add(serverError());
+
+		CompletableFuture<String> late = call(webClient).toFuture();
+		assertThrows(RuntimeException.class, () -> call(webClient).block());
+		assertEquals(1, circuitState());
+
+		gate.complete(null);
+
+		assertEquals("late", late.get(5, TimeUnit.SECONDS));
+		assertEquals(1, circuitState());
+		assertThrows(ResilientExchangeFilter.CallNotPermittedException.class, () -> call(webClient).block());
+		assertEquals(2, requests.get());
+	}
+
+}
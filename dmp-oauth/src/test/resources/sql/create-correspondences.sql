@@ -1,15 +1,15 @@
-insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values('5b17ffa7-81e2-43ac-9246-7cab5b2f0f6b', '2023-05-02', 'D002', 'P001');
-insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values('a376a45f-17d3-4b75-ad08-6b1da02616b6', '2024-01-05', 'D002', 'P004');
-insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values('531c2161-5507-485f-8a23-de65416b4644', '2022-04-12', 'D004', 'P005');
-insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values('680e2054-b757-4d1e-94dc-1baeb0dbedf8', '2022-11-30', 'D005', 'P006');
-insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values('119b2f84-80ee-4d83-adb1-d788d85c76fd', '2023-10-31', 'D006', 'P007');
-insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values('e1eb3425-d257-4c5e-8600-b125731c458c', '2023-01-01', 'D007', 'P001');
-insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values('2454a376-9f8c-4e01-ab07-87b3cb992ae3', '2026-03-22', 'D008', 'P011');
-insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values('f549abff-1a11-4d9e-9cea-fcbef29eb35c', '2023-06-15', 'D009', 'P012');
-insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values('77aaab4e-6b17-4c3a-88c0-b007122db4bc', '2022-07-12', 'D001', 'P013');
-insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values('ef11c7e1-1694-474e-8d34-eb0a1677b140', '2023-04-24', 'D011', 'P001');
-insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values('3d80bbeb-997e-4354-82d3-68cea80256d6', '2023-08-14', 'D012', 'P004');
-insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values('1bd7028d-c850-4439-8cd3-8a38fb9365a2', '2024-02-07', 'D013', 'P013');
-insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values('1e5670ac-3c72-4671-a22f-94a57ab72982', '2022-11-03', 'D004', 'P009');
-insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values('7fd83511-1709-44b4-b60d-b100093402cb', '2025-12-12', 'D005', 'P008');
-insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values('8ea37abc-052d-4bc3-9aa1-f9a47e366e11', '2027-05-07', 'D001', 'P006');
+insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values(X'5b17ffa781e243ac92467cab5b2f0f6b', '2023-05-02', 'D002', 'P001');
+insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values(X'a376a45f17d34b75ad086b1da02616b6', '2024-01-05', 'D002', 'P004');
+insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values(X'531c21615507485f8a23de65416b4644', '2022-04-12', 'D004', 'P005');
+insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values(X'680e2054b7574d1e94dc1baeb0dbedf8', '2022-11-30', 'D005', 'P006');
+insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values(X'119b2f8480ee4d83adb1d788d85c76fd', '2023-10-31', 'D006', 'P007');
+insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values(X'e1eb3425d2574c5e8600b125731c458c', '2023-01-01', 'D007', 'P001');
+insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values(X'2454a3769f8c4e01ab0787b3cb992ae3', '2026-03-22', 'D008', 'P011');
+insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values(X'f549abff1a114d9e9ceafcbef29eb35c', '2023-06-15', 'D009', 'P012');
+insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values(X'77aaab4e6b174c3a88c0b007122db4bc', '2022-07-12', 'D001', 'P013');
+insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values(X'ef11c7e11694474e8d34eb0a1677b140', '2023-04-24', 'D011', 'P001');
+insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values(X'3d80bbeb997e435482d368cea80256d6', '2023-08-14', 'D012', 'P004');
+insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values(X'1bd7028dc85044398cd38a38fb9365a2', '2024-02-07', 'D013', 'P013');
+insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values(X'1e5670ac3c724671a22f94a57ab72982', '2022-11-03', 'D004', 'P009');
+insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values(X'7fd83511170944b4b60db100093402cb', '2025-12-12', 'D005', 'P008');
+insert into t_correspondence(id, date_until, doctor_id, patient_file_id) values(X'8ea37abc052d4bc39aa1f9a47e366e11', '2027-05-07', 'D001', 'P006');
@@ -1,205 +1,205 @@
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('1b57e70f-8eb0-4a97-99c6-5d44f138c22c', '2021-10-11', 'Praesent varius est eget risus rhoncus eleifend.', 'D001', 'P005');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('707b71f1-0bbd-46ec-b79c-c9717bd6b2cd', '2019-03-23', 'Phasellus id ligula nec risus vehicula rhoncus.', 'D009', 'P007');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('3ab3d311-585c-498e-aaca-728c00beb86e', '2021-02-03', 'Sed euismod felis et leo vestibulum, nec faucibus sapien pellentesque.', 'D004', 'P001');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('31571533-a9d4-4b10-ac46-8afe0247e6cd', '2020-12-26', 'Ut tincidunt risus sed ipsum egestas, aliquam facilisis velit commodo.', 'D002', 'P004');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('142763cf-6eeb-47a5-b8f8-8ec85f0025c4', '2022-05-07', 'Ut posuere quam in placerat gravida.', 'D001', 'P013');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('f6de43eb-d86b-49bd-8a57-bb005fc5b062', '2019-01-17', 'Duis lobortis arcu sed enim fermentum fermentum.', 'D005', 'P012');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('cf708537-91cc-4e03-8979-c7988234d375', '2021-07-30', 'Curabitur sit amet felis aliquam, sodales justo quis, ornare tellus.', 'D006', 'P011');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('736bab44-5c6d-4beb-9e1e-5be4f3b082a3', '2020-11-16', 'Mauris lacinia nibh sed blandit ultricies.', 'D013', 'P009');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('643bce5b-9c74-4e6f-8ae2-5809a31bedb4', '2022-08-01', 'Vivamus faucibus enim efficitur tellus egestas, sed condimentum erat porta.', 'D012', 'P006');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('8dddad2f-b9e0-48fb-be56-298c9c512015', '2019-04-06', 'Donec tincidunt risus nec massa scelerisque eleifend.', 'D011', 'P010');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('b087dee3-b0bc-4b3e-9e34-56f14a2c9511', '2021-09-20', 'Etiam pharetra risus sed bibendum vulputate.', 'D010', 'P008');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('c793da7f-5ca8-41f5-a0f0-1cc77b34b6fe', '2020-06-29', 'Etiam at ex quis lacus hendrerit egestas.', 'D007', 'P005');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('aab462f4-04ab-47d9-8ab5-3229404e8c13', '2021-10-28', 'Quisque sagittis ante eget arcu faucibus dictum.', 'D008', 'P007');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('eaf55efd-c8bf-4f70-a6a4-60ab2b1d7824', '2019-03-15', 'Mauris vitae ante sed ex dignissim euismod.', 'D009', 'P001');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('a46b49de-de29-4912-a13e-62c0cf995317', '2021-02-12', 'Nullam eget risus ac tortor mollis malesuada sit amet eu sem.', 'D004', 'P004');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('9babb2b2-21b5-4490-95da-4a33db04eff4', '2020-12-02', 'Quisque cursus quam in sollicitudin imperdiet.', 'D002', 'P013');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('b7bdb6e4-da4b-47f9-9b67-cfd67567aaca', '2022-05-31', 'Cras eget risus eget ante cursus finibus.', 'D001', 'P012');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('bb2bb081-fcd1-41eb-a054-91d6ae433a2c', '2019-01-22', 'Nulla quis diam congue, volutpat lectus tempus, pellentesque risus.', 'D005', 'P011');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('b0a5e8d0-4ba7-491e-b109-3e0620a3b0c4', '2021-07-09', 'Nam eget nibh nec urna finibus feugiat.', 'D006', 'P009');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('4a3e7cc1-2298-4ff0-9d7a-1d0f4377e24a', '2020-11-10', 'Vivamus eleifend ipsum ut urna auctor, sed maximus justo scelerisque.', 'D013', 'P006');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('d4383a18-231e-4f8a-9bca-17de42d98968', '2022-08-04', 'Sed condimentum massa et metus blandit feugiat.', 'D012', 'P010');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('4b2d490e-2024-4a63-a5f9-97dbcdc8d823', '2019-04-27', 'Integer eu nulla nec lorem tempus tempor ut at lacus.', 'D011', 'P008');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('83b2f235-f183-4144-8eb8-2e4cac07d434', '2021-09-24', 'Suspendisse et tortor ut ligula consequat rhoncus.', 'D010', 'P005');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('c4846634-e4a0-41eb-b9b0-778cfbf31642', '2020-06-05', 'Aliquam at arcu dapibus, luctus ante et, volutpat sem.', 'D007', 'P007');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('bde02c78-723b-416e-ad87-3a917a11cf5f', '2021-10-13', 'Proin nec urna a dui eleifend eleifend non vitae erat.', 'D008', 'P001');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('849031b7-eb23-49e8-995a-8c5077e86e02', '2019-03-25', 'Fusce sagittis urna eget bibendum varius.', 'D009', 'P004');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('788c2cb1-400d-4125-9924-bb105efbced7', '2021-02-21', 'Aenean quis elit at nulla volutpat aliquam.', 'D004', 'P013');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('42b68587-6756-4d4c-9429-eda577d6ffee', '2020-12-08', 'Quisque tristique mi eget euismod blandit.', 'D002', 'P012');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('62f0ab70-f9ef-4bde-a9c3-a63aa15f4631', '2022-05-18', 'Nullam nec mi et odio bibendum venenatis nec ac mauris.', 'D001', 'P011');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('5b0ce20b-4ecf-4b23-ae8b-24fb085767ff', '2019-01-14', 'Sed tincidunt tellus vel justo convallis euismod.', 'D005', 'P009');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('150d4d20-b686-41c4-8b41-04d876462dcb', '2021-07-19', 'Vivamus sit amet sapien condimentum, lobortis lacus non, tristique urna.', 'D006', 'P006');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('7f765c81-109f-48f8-bad0-3e3c9e0bb8f7', '2020-11-11', 'Pellentesque pulvinar tortor eget dui varius, vel fringilla elit ultricies.', 'D013', 'P010');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('3acac16c-a6cd-4be0-82ad-0fc6d0cc7a61', '2021-08-23', 'Proin gravida ligula ac dapibus mollis.', 'D012', 'P008');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('ad377732-f2f2-4be8-84b9-537a2f919635', '2019-04-03', 'Nullam vestibulum orci ut pretium porta.', 'D011', 'P005');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('bd3fb440-2bbd-4aaa-9e7f-3fef7e72916c', '2021-09-26', 'Donec a tellus non sapien dignissim ultricies non vitae nunc.', 'D010', 'P007');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('72cdad41-1c2c-4f08-b6dc-71dd66b0f5b0', '2020-06-07', 'Mauris quis felis eu nisi sollicitudin sollicitudin non nec eros.', 'D007', 'P001');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('18d302d8-a079-4752-b4e7-be02a6ec9991', '2021-10-17', 'Donec ac erat eu mi venenatis vulputate eget quis libero.', 'D008', 'P004');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('8b2ff04d-198d-433a-b36f-b4b1f5f4a195', '2019-03-30', 'Integer bibendum ante a lectus tristique, euismod vulputate lorem gravida.', 'D009', 'P013');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('b3b56f38-3405-4d53-a286-71dee9cfca6a', '2021-02-16', 'Nulla viverra nisi vitae arcu varius, eu auctor nulla sodales.', 'D004', 'P012');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('65f20273-feb3-4a22-80d9-90b756dca5ab', '2020-12-01', 'Proin tincidunt dolor a risus ultrices, ac lacinia diam condimentum.', 'D002', 'P011');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('1857ab96-2629-4290-a9c3-a18d476f1d2b', '2022-05-06', 'Mauris eget ex non elit fermentum bibendum eu sit amet ligula.', 'D001', 'P009');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('dfd08a78-a082-4c1f-9d3f-3836465a73cd', '2019-01-20', 'Nunc euismod mi ut posuere tristique.', 'D005', 'P006');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('8684ae68-38eb-46ee-9856-e8617a42d648', '2021-07-29', 'Fusce sed turpis eu leo mollis ultrices.', 'D006', 'P010');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('a070afff-23f9-4efc-9b7f-91cd09ba08a5', '2020-11-28', 'Maecenas vel risus id purus ultrices vulputate quis et risus.', 'D013', 'P008');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('8682091d-376f-4229-8f8b-ae03cc2c3c24', '2021-08-15', 'Cras ac arcu a magna tempor tempor eu nec sem.', 'D012', 'P005');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('66a923b3-a7ca-44ca-8fd9-40f47ffa3b3c', '2019-04-12', 'Integer congue magna non metus ultricies vehicula.', 'D011', 'P007');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('9a59e70b-a843-4a17-9384-5c118ab9a707', '2021-09-02', 'Nam bibendum risus in metus condimentum, eget hendrerit lectus vulputate.', 'D010', 'P001');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('73a2c66e-8a32-40fc-96f2-48222e1814b5', '2020-07-01', 'Maecenas fermentum nibh non mi commodo venenatis.', 'D007', 'P004');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('0b5ae054-c0f2-4cfa-ab56-e360f90519b5', '2021-10-22', 'Donec consequat quam sed erat condimentum, vel blandit nibh auctor.', 'D008', 'P013');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('71823f86-6bfd-4d62-a83c-9c0b33c355f6', '2019-03-09', 'Etiam ut tellus ac justo iaculis fermentum.', 'D009', 'P012');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('a2751d5c-8bb4-4b0e-b6d5-d3df7eb7a37d', '2021-02-10', 'Quisque vitae turpis sollicitudin lacus imperdiet rhoncus non non magna.', 'D004', 'P011');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('8fbed7ca-75d3-4e10-835d-b97a7e604eec', '2020-12-04', 'Praesent rutrum augue eu aliquam dictum.', 'D002', 'P009');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('7f331dd1-0950-4991-964c-2383ba92699e', '2022-05-27', 'Sed eget sem sit amet nisi rhoncus rutrum.', 'D001', 'P006');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('5a6dfb97-52c1-4d24-bda4-b08251a9150c', '2019-01-24', 'Donec interdum neque tempor, semper erat sed, mollis justo.', 'D005', 'P010');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('a3c3b562-8b87-42de-be73-13862451933e', '2021-07-05', 'Integer dapibus augue quis sodales ultrices.', 'D006', 'P008');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('e9e3b05c-6ff4-4d27-8d1e-ef978163f1e3', '2020-11-13', 'Etiam convallis leo quis viverra aliquam.', 'D013', 'P005');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('ce8d561d-ffe4-4495-81a3-eb3b95b10474', '2021-08-25', 'Donec lacinia lacus non urna feugiat vehicula.', 'D012', 'P007');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('c18db363-8069-4b61-9d39-321859316c7d', '2019-04-21', 'Vivamus lacinia urna quis enim ultrices, sed venenatis ipsum laoreet.', 'D011', 'P001');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('ebada6b3-4191-4b24-86cf-f88426fd61b1', '2021-09-08', 'Quisque ut lectus in libero cursus eleifend.', 'D010', 'P004');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('ff39ec29-11ee-4ee8-bce7-a97216eff1bd', '2020-06-18', 'Suspendisse vehicula ante sit amet leo gravida, eu vestibulum metus bibendum.', 'D007', 'P013');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('86c16f7b-9d9d-4e6d-a887-0e497c8bbe8b', '2021-10-14', 'Praesent cursus dolor ut nibh ullamcorper consectetur.', 'D008', 'P012');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('df94df69-b823-466f-be66-12f048e0ce46', '2019-03-19', 'Aliquam faucibus lectus ut ex suscipit, sit amet ultrices odio lacinia.', 'D009', 'P011');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('9b647283-e52e-4951-a979-e52cc6b221a7', '2021-02-11', 'Aenean in est eu sapien varius iaculis eu ac lacus.', 'D004', 'P009');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('69a80238-0d85-4169-b295-c0851bd44f0f', '2020-12-23', 'Pellentesque a eros iaculis, placerat ipsum sed, sodales ex.', 'D002', 'P006');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('44c1e292-9d00-484c-b9ff-ff2c6d903bbd', '2022-05-03', 'Integer non lorem ut nibh pulvinar mollis.', 'D001', 'P010');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('bab52f72-82b8-4b36-8da1-ce82d61a83c9', '2019-01-26', 'Pellentesque pulvinar eros a nunc mattis, eu tempus sapien luctus.', 'D005', 'P008');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('8cd2d329-ad34-41dc-9b62-8cd66083fc33', '2021-07-07', 'Nullam vestibulum turpis aliquet eros sagittis, eu varius augue congue.', 'D006', 'P005');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('2d8a6ee3-a349-4106-804c-6956e9acf156', '2020-11-17', 'Curabitur ac felis vitae lectus luctus cursus vitae non ante.', 'D013', 'P007');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('22300513-e865-4f60-bf1e-8606691d24db', '2021-08-30', 'Morbi dictum purus sed tellus condimentum consectetur.', 'D012', 'P001');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('57ad62b6-4fa1-46e3-93fb-99e43b67d74e', '2019-04-16', 'Aenean egestas leo ac aliquet tincidunt.', 'D011', 'P004');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('5c9fe905-b471-49c7-81db-64bd2f3cc5c3', '2021-09-01', 'Vestibulum ac dui pretium, venenatis odio at, ullamcorper odio.', 'D010', 'P013');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('48a32c91-8d2d-40b8-bd49-155f8e9c666b', '2020-06-06', 'Nunc laoreet felis a dignissim consequat.', 'D007', 'P012');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('241a677a-5b3d-47cc-a8bd-a603cb993035', '2021-10-20', 'Sed sed lectus id urna condimentum aliquam.', 'D008', 'P011');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('714751b8-dbc4-49d1-b679-15d08a5b5e0f', '2019-03-29', 'Aliquam nec augue vel sem congue tempor.', 'D009', 'P009');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('3f519dd2-ca6e-4076-924d-983bd4272257', '2021-02-28', 'Etiam efficitur lorem non urna commodo dictum.', 'D004', 'P006');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('61a30190-1c5f-4870-abe2-5a18c3643cc7', '2020-12-15', 'In eget neque at diam consequat ultricies eget eget elit.', 'D002', 'P010');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('ef0fe410-fca7-4092-9b25-9e4e75dc6d59', '2022-05-12', 'Vestibulum ut justo non nisl vulputate elementum vitae ut mi.', 'D001', 'P008');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('1f889473-c2d0-4b36-9e98-900643938cc3', '2019-01-02', 'Nam vitae sem vitae mi ornare pretium.', 'D005', 'P005');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('b3bb91c8-c5ea-4722-8f76-b4869553dd3a', '2021-07-31', 'Sed eu purus eget risus lobortis vestibulum.', 'D006', 'P007');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('312533c5-0344-43a2-8b26-ef9af85219ef', '2020-11-22', 'Integer porttitor leo a hendrerit cursus.', 'D013', 'P001');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('2949a262-7e7e-40d1-8896-a46b7001a709', '2021-08-09', 'Donec vel sapien eu augue suscipit mollis.', 'D012', 'P004');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('cb92a46b-5862-439c-9916-3d1c8fd1dd39', '2019-04-10', 'Phasellus sodales augue eget lectus porta feugiat.', 'D011', 'P013');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('d2afe536-df79-41f4-b9be-06cf4d6de7d8', '2021-09-04', 'Morbi ut risus commodo, blandit risus eget, pharetra nibh.', 'D010', 'P012');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('4be3a09d-d5c3-4fd2-9789-070046e8cc42', '2020-06-27', 'Maecenas vitae ex eu dui aliquam faucibus nec id velit.', 'D007', 'P011');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('0231fb3b-795b-4955-a55a-2f490e4df6ea', '2021-10-24', 'Etiam bibendum ante in mi dictum ornare.', 'D008', 'P009');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('1ccb8280-7013-4a5e-a9ac-a90108f039c8', '2019-03-05', 'Vivamus quis felis vestibulum, auctor risus id, feugiat erat.', 'D009', 'P006');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('27e4287e-ae8b-4f70-aaeb-39b71a735a9f', '2021-02-13', 'Nullam consectetur ipsum eu diam suscipit gravida.', 'D004', 'P010');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('71f16ef3-1b17-431f-b7a0-f1c89c10bca1', '2020-12-25', 'Cras in erat et orci finibus accumsan non ut ante.', 'D002', 'P008');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('25f57a12-7035-407d-9fbc-f0b0beecd311', '2022-05-21', 'Ut in augue vitae sapien aliquam feugiat nec cursus quam.', 'D001', 'P005');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('631460b1-4327-4358-bbaa-bde06d0b494e', '2019-01-08', 'Curabitur hendrerit ex non imperdiet tincidunt.', 'D005', 'P007');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('39d9d0f4-d2b0-442c-8326-d6663a717aaf', '2021-07-18', 'Cras in erat nec leo ullamcorper suscipit.', 'D006', 'P001');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('3933c480-aed5-4d83-8ef1-8646affe3bf6', '2020-11-14', 'Nullam non leo vitae nulla sodales lobortis.', 'D013', 'P004');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('29574db3-44c6-4dc2-9789-15b7d03da27b', '2021-08-19', 'Nam ornare eros sed odio maximus, eu consequat tortor sodales.', 'D012', 'P013');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('f3246078-7756-429c-a49e-2cc885cb1605', '2019-04-11', 'Aliquam vitae augue vitae dolor maximus vulputate id ac nibh.', 'D011', 'P012');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('dd76168d-ceed-4486-b4bb-43bcb4bd05ce', '2021-09-23', 'Vestibulum vitae libero sit amet nibh molestie tincidunt.', 'D010', 'P011');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('54aa4a61-5da9-4a02-8e53-003049d26db7', '2020-06-03', 'Morbi venenatis tellus ac odio viverra cursus.', 'D007', 'P009');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('e62bca05-27ef-4516-a0a5-36c2f25464c9', '2021-10-26', 'Vestibulum aliquam magna vel massa laoreet ornare facilisis ut ex.', 'D008', 'P006');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('137b673f-9ee8-4789-9f49-9e55f094c15a', '2019-03-07', 'Sed euismod ligula at tortor molestie porttitor.', 'D009', 'P010');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('681b3a1c-38c2-408e-8ea9-be6a9345f070', '2021-02-17', 'Quisque non nibh vitae massa feugiat porttitor.', 'D004', 'P008');
-insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values('e61db19c-0d6f-420d-9d33-1ee6edeb426c', '2020-12-30', 'Sed vitae est a mi cursus suscipit ut at mi.', 'D002', 'P005');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'1b57e70f8eb04a9799c65d44f138c22c', '2021-10-11', 'Praesent varius est eget risus rhoncus eleifend.', 'D001', 'P005');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'707b71f10bbd46ecb79cc9717bd6b2cd', '2019-03-23', 'Phasellus id ligula nec risus vehicula rhoncus.', 'D009', 'P007');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'3ab3d311585c498eaaca728c00beb86e', '2021-02-03', 'Sed euismod felis et leo vestibulum, nec faucibus sapien pellentesque.', 'D004', 'P001');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'31571533a9d44b10ac468afe0247e6cd', '2020-12-26', 'Ut tincidunt risus sed ipsum egestas, aliquam facilisis velit commodo.', 'D002', 'P004');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'142763cf6eeb47a5b8f88ec85f0025c4', '2022-05-07', 'Ut posuere quam in placerat gravida.', 'D001', 'P013');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'f6de43ebd86b49bd8a57bb005fc5b062', '2019-01-17', 'Duis lobortis arcu sed enim fermentum fermentum.', 'D005', 'P012');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'cf70853791cc4e038979c7988234d375', '2021-07-30', 'Curabitur sit amet felis aliquam, sodales justo quis, ornare tellus.', 'D006', 'P011');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'736bab445c6d4beb9e1e5be4f3b082a3', '2020-11-16', 'Mauris lacinia nibh sed blandit ultricies.', 'D013', 'P009');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'643bce5b9c744e6f8ae25809a31bedb4', '2022-08-01', 'Vivamus faucibus enim efficitur tellus egestas, sed condimentum erat porta.', 'D012', 'P006');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'8dddad2fb9e048fbbe56298c9c512015', '2019-04-06', 'Donec tincidunt risus nec massa scelerisque eleifend.', 'D011', 'P010');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'b087dee3b0bc4b3e9e3456f14a2c9511', '2021-09-20', 'Etiam pharetra risus sed bibendum vulputate.', 'D010', 'P008');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'c793da7f5ca841f5a0f01cc77b34b6fe', '2020-06-29', 'Etiam at ex quis lacus hendrerit egestas.', 'D007', 'P005');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'aab462f404ab47d98ab53229404e8c13', '2021-10-28', 'Quisque sagittis ante eget arcu faucibus dictum.', 'D008', 'P007');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'eaf55efdc8bf4f70a6a460ab2b1d7824', '2019-03-15', 'Mauris vitae ante sed ex dignissim euismod.', 'D009', 'P001');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'a46b49dede294912a13e62c0cf995317', '2021-02-12', 'Nullam eget risus ac tortor mollis malesuada sit amet eu sem.', 'D004', 'P004');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'9babb2b221b5449095da4a33db04eff4', '2020-12-02', 'Quisque cursus quam in sollicitudin imperdiet.', 'D002', 'P013');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'b7bdb6e4da4b47f99b67cfd67567aaca', '2022-05-31', 'Cras eget risus eget ante cursus finibus.', 'D001', 'P012');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'bb2bb081fcd141eba05491d6ae433a2c', '2019-01-22', 'Nulla quis diam congue, volutpat lectus tempus, pellentesque risus.', 'D005', 'P011');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'b0a5e8d04ba7491eb1093e0620a3b0c4', '2021-07-09', 'Nam eget nibh nec urna finibus feugiat.', 'D006', 'P009');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'4a3e7cc122984ff09d7a1d0f4377e24a', '2020-11-10', 'Vivamus eleifend ipsum ut urna auctor, sed maximus justo scelerisque.', 'D013', 'P006');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'd4383a18231e4f8a9bca17de42d98968', '2022-08-04', 'Sed condimentum massa et metus blandit feugiat.', 'D012', 'P010');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'4b2d490e20244a63a5f997dbcdc8d823', '2019-04-27', 'Integer eu nulla nec lorem tempus tempor ut at lacus.', 'D011', 'P008');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'83b2f235f18341448eb82e4cac07d434', '2021-09-24', 'Suspendisse et tortor ut ligula consequat rhoncus.', 'D010', 'P005');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'c4846634e4a041ebb9b0778cfbf31642', '2020-06-05', 'Aliquam at arcu dapibus, luctus ante et, volutpat sem.', 'D007', 'P007');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'bde02c78723b416ead873a917a11cf5f', '2021-10-13', 'Proin nec urna a dui eleifend eleifend non vitae erat.', 'D008', 'P001');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'849031b7eb2349e8995a8c5077e86e02', '2019-03-25', 'Fusce sagittis urna eget bibendum varius.', 'D009', 'P004');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'788c2cb1400d41259924bb105efbced7', '2021-02-21', 'Aenean quis elit at nulla volutpat aliquam.', 'D004', 'P013');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'42b6858767564d4c9429eda577d6ffee', '2020-12-08', 'Quisque tristique mi eget euismod blandit.', 'D002', 'P012');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'62f0ab70f9ef4bdea9c3a63aa15f4631', '2022-05-18', 'Nullam nec mi et odio bibendum venenatis nec ac mauris.', 'D001', 'P011');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'5b0ce20b4ecf4b23ae8b24fb085767ff', '2019-01-14', 'Sed tincidunt tellus vel justo convallis euismod.', 'D005', 'P009');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'150d4d20b68641c48b4104d876462dcb', '2021-07-19', 'Vivamus sit amet sapien condimentum, lobortis lacus non, tristique urna.', 'D006', 'P006');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'7f765c81109f48f8bad03e3c9e0bb8f7', '2020-11-11', 'Pellentesque pulvinar tortor eget dui varius, vel fringilla elit ultricies.', 'D013', 'P010');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'3acac16ca6cd4be082ad0fc6d0cc7a61', '2021-08-23', 'Proin gravida ligula ac dapibus mollis.', 'D012', 'P008');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'ad377732f2f24be884b9537a2f919635', '2019-04-03', 'Nullam vestibulum orci ut pretium porta.', 'D011', 'P005');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'bd3fb4402bbd4aaa9e7f3fef7e72916c', '2021-09-26', 'Donec a tellus non sapien dignissim ultricies non vitae nunc.', 'D010', 'P007');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'72cdad411c2c4f08b6dc71dd66b0f5b0', '2020-06-07', 'Mauris quis felis eu nisi sollicitudin sollicitudin non nec eros.', 'D007', 'P001');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'18d302d8a0794752b4e7be02a6ec9991', '2021-10-17', 'Donec ac erat eu mi venenatis vulputate eget quis libero.', 'D008', 'P004');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'8b2ff04d198d433ab36fb4b1f5f4a195', '2019-03-30', 'Integer bibendum ante a lectus tristique, euismod vulputate lorem gravida.', 'D009', 'P013');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'b3b56f3834054d53a28671dee9cfca6a', '2021-02-16', 'Nulla viverra nisi vitae arcu varius, eu auctor nulla sodales.', 'D004', 'P012');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'65f20273feb34a2280d990b756dca5ab', '2020-12-01', 'Proin tincidunt dolor a risus ultrices, ac lacinia diam condimentum.', 'D002', 'P011');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'1857ab9626294290a9c3a18d476f1d2b', '2022-05-06', 'Mauris eget ex non elit fermentum bibendum eu sit amet ligula.', 'D001', 'P009');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'dfd08a78a0824c1f9d3f3836465a73cd', '2019-01-20', 'Nunc euismod mi ut posuere tristique.', 'D005', 'P006');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'8684ae6838eb46ee9856e8617a42d648', '2021-07-29', 'Fusce sed turpis eu leo mollis ultrices.', 'D006', 'P010');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'a070afff23f94efc9b7f91cd09ba08a5', '2020-11-28', 'Maecenas vel risus id purus ultrices vulputate quis et risus.', 'D013', 'P008');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'8682091d376f42298f8bae03cc2c3c24', '2021-08-15', 'Cras ac arcu a magna tempor tempor eu nec sem.', 'D012', 'P005');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'66a923b3a7ca44ca8fd940f47ffa3b3c', '2019-04-12', 'Integer congue magna non metus ultricies vehicula.', 'D011', 'P007');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'9a59e70ba8434a1793845c118ab9a707', '2021-09-02', 'Nam bibendum risus in metus condimentum, eget hendrerit lectus vulputate.', 'D010', 'P001');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'73a2c66e8a3240fc96f248222e1814b5', '2020-07-01', 'Maecenas fermentum nibh non mi commodo venenatis.', 'D007', 'P004');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'0b5ae054c0f24cfaab56e360f90519b5', '2021-10-22', 'Donec consequat quam sed erat condimentum, vel blandit nibh auctor.', 'D008', 'P013');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'71823f866bfd4d62a83c9c0b33c355f6', '2019-03-09', 'Etiam ut tellus ac justo iaculis fermentum.', 'D009', 'P012');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'a2751d5c8bb44b0eb6d5d3df7eb7a37d', '2021-02-10', 'Quisque vitae turpis sollicitudin lacus imperdiet rhoncus non non magna.', 'D004', 'P011');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'8fbed7ca75d34e10835db97a7e604eec', '2020-12-04', 'Praesent rutrum augue eu aliquam dictum.', 'D002', 'P009');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'7f331dd109504991964c2383ba92699e', '2022-05-27', 'Sed eget sem sit amet nisi rhoncus rutrum.', 'D001', 'P006');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'5a6dfb9752c14d24bda4b08251a9150c', '2019-01-24', 'Donec interdum neque tempor, semper erat sed, mollis justo.', 'D005', 'P010');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'a3c3b5628b8742debe7313862451933e', '2021-07-05', 'Integer dapibus augue quis sodales ultrices.', 'D006', 'P008');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'e9e3b05c6ff44d278d1eef978163f1e3', '2020-11-13', 'Etiam convallis leo quis viverra aliquam.', 'D013', 'P005');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'ce8d561dffe4449581a3eb3b95b10474', '2021-08-25', 'Donec lacinia lacus non urna feugiat vehicula.', 'D012', 'P007');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'c18db36380694b619d39321859316c7d', '2019-04-21', 'Vivamus lacinia urna quis enim ultrices, sed venenatis ipsum laoreet.', 'D011', 'P001');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'ebada6b341914b2486cff88426fd61b1', '2021-09-08', 'Quisque ut lectus in libero cursus eleifend.', 'D010', 'P004');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'ff39ec2911ee4ee8bce7a97216eff1bd', '2020-06-18', 'Suspendisse vehicula ante sit amet leo gravida, eu vestibulum metus bibendum.', 'D007', 'P013');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'86c16f7b9d9d4e6da8870e497c8bbe8b', '2021-10-14', 'Praesent cursus dolor ut nibh ullamcorper consectetur.', 'D008', 'P012');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'df94df69b823466fbe6612f048e0ce46', '2019-03-19', 'Aliquam faucibus lectus ut ex suscipit, sit amet ultrices odio lacinia.', 'D009', 'P011');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'9b647283e52e4951a979e52cc6b221a7', '2021-02-11', 'Aenean in est eu sapien varius iaculis eu ac lacus.', 'D004', 'P009');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'69a802380d854169b295c0851bd44f0f', '2020-12-23', 'Pellentesque a eros iaculis, placerat ipsum sed, sodales ex.', 'D002', 'P006');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'44c1e2929d00484cb9ffff2c6d903bbd', '2022-05-03', 'Integer non lorem ut nibh pulvinar mollis.', 'D001', 'P010');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'bab52f7282b84b368da1ce82d61a83c9', '2019-01-26', 'Pellentesque pulvinar eros a nunc mattis, eu tempus sapien luctus.', 'D005', 'P008');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'8cd2d329ad3441dc9b628cd66083fc33', '2021-07-07', 'Nullam vestibulum turpis aliquet eros sagittis, eu varius augue congue.', 'D006', 'P005');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'2d8a6ee3a3494106804c6956e9acf156', '2020-11-17', 'Curabitur ac felis vitae lectus luctus cursus vitae non ante.', 'D013', 'P007');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'22300513e8654f60bf1e8606691d24db', '2021-08-30', 'Morbi dictum purus sed tellus condimentum consectetur.', 'D012', 'P001');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'57ad62b64fa146e393fb99e43b67d74e', '2019-04-16', 'Aenean egestas leo ac aliquet tincidunt.', 'D011', 'P004');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'5c9fe905b47149c781db64bd2f3cc5c3', '2021-09-01', 'Vestibulum ac dui pretium, venenatis odio at, ullamcorper odio.', 'D010', 'P013');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'48a32c918d2d40b8bd49155f8e9c666b', '2020-06-06', 'Nunc laoreet felis a dignissim consequat.', 'D007', 'P012');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'241a677a5b3d47cca8bda603cb993035', '2021-10-20', 'Sed sed lectus id urna condimentum aliquam.', 'D008', 'P011');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'714751b8dbc449d1b67915d08a5b5e0f', '2019-03-29', 'Aliquam nec augue vel sem congue tempor.', 'D009', 'P009');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'3f519dd2ca6e4076924d983bd4272257', '2021-02-28', 'Etiam efficitur lorem non urna commodo dictum.', 'D004', 'P006');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'61a301901c5f4870abe25a18c3643cc7', '2020-12-15', 'In eget neque at diam consequat ultricies eget eget elit.', 'D002', 'P010');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'ef0fe410fca740929b259e4e75dc6d59', '2022-05-12', 'Vestibulum ut justo non nisl vulputate elementum vitae ut mi.', 'D001', 'P008');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'1f889473c2d04b369e98900643938cc3', '2019-01-02', 'Nam vitae sem vitae mi ornare pretium.', 'D005', 'P005');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'b3bb91c8c5ea47228f76b4869553dd3a', '2021-07-31', 'Sed eu purus eget risus lobortis vestibulum.', 'D006', 'P007');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'312533c5034443a28b26ef9af85219ef', '2020-11-22', 'Integer porttitor leo a hendrerit cursus.', 'D013', 'P001');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'2949a2627e7e40d18896a46b7001a709', '2021-08-09', 'Donec vel sapien eu augue suscipit mollis.', 'D012', 'P004');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'cb92a46b5862439c99163d1c8fd1dd39', '2019-04-10', 'Phasellus sodales augue eget lectus porta feugiat.', 'D011', 'P013');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'd2afe536df7941f4b9be06cf4d6de7d8', '2021-09-04', 'Morbi ut risus commodo, blandit risus eget, pharetra nibh.', 'D010', 'P012');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'4be3a09dd5c34fd29789070046e8cc42', '2020-06-27', 'Maecenas vitae ex eu dui aliquam faucibus nec id velit.', 'D007', 'P011');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'0231fb3b795b4955a55a2f490e4df6ea', '2021-10-24', 'Etiam bibendum ante in mi dictum ornare.', 'D008', 'P009');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'1ccb828070134a5ea9aca90108f039c8', '2019-03-05', 'Vivamus quis felis vestibulum, auctor risus id, feugiat erat.', 'D009', 'P006');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'27e4287eae8b4f70aaeb39b71a735a9f', '2021-02-13', 'Nullam consectetur ipsum eu diam suscipit gravida.', 'D004', 'P010');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'71f16ef31b17431fb7a0f1c89c10bca1', '2020-12-25', 'Cras in erat et orci finibus accumsan non ut ante.', 'D002', 'P008');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'25f57a127035407d9fbcf0b0beecd311', '2022-05-21', 'Ut in augue vitae sapien aliquam feugiat nec cursus quam.', 'D001', 'P005');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'631460b143274358bbaabde06d0b494e', '2019-01-08', 'Curabitur hendrerit ex non imperdiet tincidunt.', 'D005', 'P007');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'39d9d0f4d2b0442c8326d6663a717aaf', '2021-07-18', 'Cras in erat nec leo ullamcorper suscipit.', 'D006', 'P001');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'3933c480aed54d838ef18646affe3bf6', '2020-11-14', 'Nullam non leo vitae nulla sodales lobortis.', 'D013', 'P004');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'29574db344c64dc2978915b7d03da27b', '2021-08-19', 'Nam ornare eros sed odio maximus, eu consequat tortor sodales.', 'D012', 'P013');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'f32460787756429ca49e2cc885cb1605', '2019-04-11', 'Aliquam vitae augue vitae dolor maximus vulputate id ac nibh.', 'D011', 'P012');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'dd76168dceed4486b4bb43bcb4bd05ce', '2021-09-23', 'Vestibulum vitae libero sit amet nibh molestie tincidunt.', 'D010', 'P011');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'54aa4a615da94a028e53003049d26db7', '2020-06-03', 'Morbi venenatis tellus ac odio viverra cursus.', 'D007', 'P009');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'e62bca0527ef4516a0a536c2f25464c9', '2021-10-26', 'Vestibulum aliquam magna vel massa laoreet ornare facilisis ut ex.', 'D008', 'P006');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'137b673f9ee847899f499e55f094c15a', '2019-03-07', 'Sed euismod ligula at tortor molestie porttitor.', 'D009', 'P010');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'681b3a1c38c2408e8ea9be6a9345f070', '2021-02-17', 'Quisque non nibh vitae massa feugiat porttitor.', 'D004', 'P008');
+insert into t_patient_file_item(id, date, comments, authoring_doctor_id, patient_file_id) values(X'e61db19c0d6f420d9d331ee6edeb426c', '2020-12-30', 'Sed vitae est a mi cursus suscipit ut at mi.', 'D002', 'P005');
 
-insert into t_act(id, medical_act_id) values('1b57e70f-8eb0-4a97-99c6-5d44f138c22c', 'HBQK331');
-insert into t_act(id, medical_act_id) values('f6de43eb-d86b-49bd-8a57-bb005fc5b062', 'HBQK389');
-insert into t_act(id, medical_act_id) values('b087dee3-b0bc-4b3e-9e34-56f14a2c9511', 'HBQK424');
-insert into t_act(id, medical_act_id) values('9babb2b2-21b5-4490-95da-4a33db04eff4', 'HBQK428');
-insert into t_act(id, medical_act_id) values('d4383a18-231e-4f8a-9bca-17de42d98968', 'HBQK430');
-insert into t_act(id, medical_act_id) values('849031b7-eb23-49e8-995a-8c5077e86e02', 'HBQK443');
-insert into t_act(id, medical_act_id) values('150d4d20-b686-41c4-8b41-04d876462dcb', 'HBQK476');
-insert into t_act(id, medical_act_id) values('72cdad41-1c2c-4f08-b6dc-71dd66b0f5b0', 'HBQK480');
-insert into t_act(id, medical_act_id) values('1857ab96-2629-4290-a9c3-a18d476f1d2b', 'HBSD001');
-insert into t_act(id, medical_act_id) values('66a923b3-a7ca-44ca-8fd9-40f47ffa3b3c', 'HCAE192');
-insert into t_act(id, medical_act_id) values('a2751d5c-8bb4-4b0e-b6d5-d3df7eb7a37d', 'HCAE201');
-insert into t_act(id, medical_act_id) values('e9e3b05c-6ff4-4d27-8d1e-ef978163f1e3', 'HCCA001');
-insert into t_act(id, medical_act_id) values('86c16f7b-9d9d-4e6d-a887-0e497c8bbe8b', 'HCCA002');
-insert into t_act(id, medical_act_id) values('bab52f72-82b8-4b36-8da1-ce82d61a83c9', 'HCCD001');
-insert into t_act(id, medical_act_id) values('5c9fe905-b471-49c7-81db-64bd2f3cc5c3', 'HCEA001');
-insert into t_act(id, medical_act_id) values('61a30190-1c5f-4870-abe2-5a18c3643cc7', 'HCFA001');
-insert into t_act(id, medical_act_id) values('2949a262-7e7e-40d1-8896-a46b7001a709', 'HCFA002');
-insert into t_act(id, medical_act_id) values('1ccb8280-7013-4a5e-a9ac-a90108f039c8', 'HCFA003');
-insert into t_act(id, medical_act_id) values('39d9d0f4-d2b0-442c-8326-d6663a717aaf', 'HCFA004');
-insert into t_act(id, medical_act_id) values('54aa4a61-5da9-4a02-8e53-003049d26db7', 'HBQK303');
+insert into t_act(id, medical_act_id) values(X'1b57e70f8eb04a9799c65d44f138c22c', 'HBQK331');
+insert into t_act(id, medical_act_id) values(X'f6de43ebd86b49bd8a57bb005fc5b062', 'HBQK389');
+insert into t_act(id, medical_act_id) values(X'b087dee3b0bc4b3e9e3456f14a2c9511', 'HBQK424');
+insert into t_act(id, medical_act_id) values(X'9babb2b221b5449095da4a33db04eff4', 'HBQK428');
+insert into t_act(id, medical_act_id) values(X'd4383a18231e4f8a9bca17de42d98968', 'HBQK430');
+insert into t_act(id, medical_act_id) values(X'849031b7eb2349e8995a8c5077e86e02', 'HBQK443');
+insert into t_act(id, medical_act_id) values(X'150d4d20b68641c48b4104d876462dcb', 'HBQK476');
+insert into t_act(id, medical_act_id) values(X'72cdad411c2c4f08b6dc71dd66b0f5b0', 'HBQK480');
+insert into t_act(id, medical_act_id) values(X'1857ab9626294290a9c3a18d476f1d2b', 'HBSD001');
+insert into t_act(id, medical_act_id) values(X'66a923b3a7ca44ca8fd940f47ffa3b3c', 'HCAE192');
+insert into t_act(id, medical_act_id) values(X'a2751d5c8bb44b0eb6d5d3df7eb7a37d', 'HCAE201');
+insert into t_act(id, medical_act_id) values(X'e9e3b05c6ff44d278d1eef978163f1e3', 'HCCA001');
+insert into t_act(id, medical_act_id) values(X'86c16f7b9d9d4e6da8870e497c8bbe8b', 'HCCA002');
+insert into t_act(id, medical_act_id) values(X'bab52f7282b84b368da1ce82d61a83c9', 'HCCD001');
+insert into t_act(id, medical_act_id) values(X'5c9fe905b47149c781db64bd2f3cc5c3', 'HCEA001');
+insert into t_act(id, medical_act_id) values(X'61a301901c5f4870abe25a18c3643cc7', 'HCFA001');
+insert into t_act(id, medical_act_id) values(X'2949a2627e7e40d18896a46b7001a709', 'HCFA002');
+insert into t_act(id, medical_act_id) values(X'1ccb828070134a5ea9aca90108f039c8', 'HCFA003');
+insert into t_act(id, medical_act_id) values(X'39d9d0f4d2b0442c8326d6663a717aaf', 'HCFA004');
+insert into t_act(id, medical_act_id) values(X'54aa4a615da94a028e53003049d26db7', 'HBQK303');
 
-insert into t_diagnosis(id, disease_id) values('707b71f1-0bbd-46ec-b79c-c9717bd6b2cd', 'J010');
-insert into t_diagnosis(id, disease_id) values('cf708537-91cc-4e03-8979-c7988234d375', 'J011');
-insert into t_diagnosis(id, disease_id) values('c793da7f-5ca8-41f5-a0f0-1cc77b34b6fe', 'J012');
-insert into t_diagnosis(id, disease_id) values('b7bdb6e4-da4b-47f9-9b67-cfd67567aaca', 'J013');
-insert into t_diagnosis(id, disease_id) values('4b2d490e-2024-4a63-a5f9-97dbcdc8d823', 'J014');
-insert into t_diagnosis(id, disease_id) values('788c2cb1-400d-4125-9924-bb105efbced7', 'J018');
-insert into t_diagnosis(id, disease_id) values('7f765c81-109f-48f8-bad0-3e3c9e0bb8f7', 'J019');
-insert into t_diagnosis(id, disease_id) values('18d302d8-a079-4752-b4e7-be02a6ec9991', 'J02');
-insert into t_diagnosis(id, disease_id) values('dfd08a78-a082-4c1f-9d3f-3836465a73cd', 'J020');
-insert into t_diagnosis(id, disease_id) values('9a59e70b-a843-4a17-9384-5c118ab9a707', 'J028');
-insert into t_diagnosis(id, disease_id) values('8fbed7ca-75d3-4e10-835d-b97a7e604eec', 'J029');
-insert into t_diagnosis(id, disease_id) values('ce8d561d-ffe4-4495-81a3-eb3b95b10474', 'J03');
-insert into t_diagnosis(id, disease_id) values('df94df69-b823-466f-be66-12f048e0ce46', 'J030');
-insert into t_diagnosis(id, disease_id) values('8cd2d329-ad34-41dc-9b62-8cd66083fc33', 'J038');
-insert into t_diagnosis(id, disease_id) values('48a32c91-8d2d-40b8-bd49-155f8e9c666b', 'J039');
-insert into t_diagnosis(id, disease_id) values('ef0fe410-fca7-4092-9b25-9e4e75dc6d59', 'J04');
-insert into t_diagnosis(id, disease_id) values('cb92a46b-5862-439c-9916-3d1c8fd1dd39', 'J040');
-insert into t_diagnosis(id, disease_id) values('27e4287e-ae8b-4f70-aaeb-39b71a735a9f', 'J041');
-insert into t_diagnosis(id, disease_id) values('3933c480-aed5-4d83-8ef1-8646affe3bf6', 'J00');
-insert into t_diagnosis(id, disease_id) values('e62bca05-27ef-4516-a0a5-36c2f25464c9', 'J01');
+insert into t_diagnosis(id, disease_id) values(X'707b71f10bbd46ecb79cc9717bd6b2cd', 'J010');
+insert into t_diagnosis(id, disease_id) values(X'cf70853791cc4e038979c7988234d375', 'J011');
+insert into t_diagnosis(id, disease_id) values(X'c793da7f5ca841f5a0f01cc77b34b6fe', 'J012');
+insert into t_diagnosis(id, disease_id) values(X'b7bdb6e4da4b47f99b67cfd67567aaca', 'J013');
+insert into t_diagnosis(id, disease_id) values(X'4b2d490e20244a63a5f997dbcdc8d823', 'J014');
+insert into t_diagnosis(id, disease_id) values(X'788c2cb1400d41259924bb105efbced7', 'J018');
+insert into t_diagnosis(id, disease_id) values(X'7f765c81109f48f8bad03e3c9e0bb8f7', 'J019');
+insert into t_diagnosis(id, disease_id) values(X'18d302d8a0794752b4e7be02a6ec9991', 'J02');
+insert into t_diagnosis(id, disease_id) values(X'dfd08a78a0824c1f9d3f3836465a73cd', 'J020');
+insert into t_diagnosis(id, disease_id) values(X'9a59e70ba8434a1793845c118ab9a707', 'J028');
+insert into t_diagnosis(id, disease_id) values(X'8fbed7ca75d34e10835db97a7e604eec', 'J029');
+insert into t_diagnosis(id, disease_id) values(X'ce8d561dffe4449581a3eb3b95b10474', 'J03');
+insert into t_diagnosis(id, disease_id) values(X'df94df69b823466fbe6612f048e0ce46', 'J030');
+insert into t_diagnosis(id, disease_id) values(X'8cd2d329ad3441dc9b628cd66083fc33', 'J038');
+insert into t_diagnosis(id, disease_id) values(X'48a32c918d2d40b8bd49155f8e9c666b', 'J039');
+insert into t_diagnosis(id, disease_id) values(X'ef0fe410fca740929b259e4e75dc6d59', 'J04');
+insert into t_diagnosis(id, disease_id) values(X'cb92a46b5862439c99163d1c8fd1dd39', 'J040');
+insert into t_diagnosis(id, disease_id) values(X'27e4287eae8b4f70aaeb39b71a735a9f', 'J041');
+insert into t_diagnosis(id, disease_id) values(X'3933c480aed54d838ef18646affe3bf6', 'J00');
+insert into t_diagnosis(id, disease_id) values(X'e62bca0527ef4516a0a536c2f25464c9', 'J01');
 
-insert into t_mail(id, text, recipient_doctor_id) values('3ab3d311-585c-498e-aaca-728c00beb86e', 'Lorem ipsum dolor sit amet, consectetur adipiscing elit.', 'D006');
-insert into t_mail(id, text, recipient_doctor_id) values('736bab44-5c6d-4beb-9e1e-5be4f3b082a3', 'Sed quis risus a turpis blandit efficitur.', 'D013');
-insert into t_mail(id, text, recipient_doctor_id) values('aab462f4-04ab-47d9-8ab5-3229404e8c13', 'Vivamus eget dui nec ligula imperdiet tempus.', 'D012');
-insert into t_mail(id, text, recipient_doctor_id) values('bb2bb081-fcd1-41eb-a054-91d6ae433a2c', 'Sed ut nunc commodo, tristique nisl eu, laoreet nulla.', 'D011');
-insert into t_mail(id, text, recipient_doctor_id) values('83b2f235-f183-4144-8eb8-2e4cac07d434', 'Nullam tempor felis eget varius efficitur.', 'D010');
-insert into t_mail(id, text, recipient_doctor_id) values('42b68587-6756-4d4c-9429-eda577d6ffee', 'Mauris ultricies tellus at quam finibus imperdiet.', 'D007');
-insert into t_mail(id, text, recipient_doctor_id) values('3acac16c-a6cd-4be0-82ad-0fc6d0cc7a61', 'Cras sed nunc ac ex lacinia auctor eget viverra ipsum.', 'D008');
-insert into t_mail(id, text, recipient_doctor_id) values('8b2ff04d-198d-433a-b36f-b4b1f5f4a195', 'Ut id tortor id magna commodo auctor id ac mi.', 'D009');
-insert into t_mail(id, text, recipient_doctor_id) values('8684ae68-38eb-46ee-9856-e8617a42d648', 'Nulla et neque at est consectetur scelerisque.', 'D004');
-insert into t_mail(id, text, recipient_doctor_id) values('73a2c66e-8a32-40fc-96f2-48222e1814b5', 'Nullam accumsan nulla ac sem fringilla, ac ullamcorper lectus tristique.', 'D002');
-insert into t_mail(id, text, recipient_doctor_id) values('7f331dd1-0950-4991-964c-2383ba92699e', 'Vestibulum ut lacus a dui ornare faucibus.', 'D002');
-insert into t_mail(id, text, recipient_doctor_id) values('c18db363-8069-4b61-9d39-321859316c7d', 'Cras dapibus purus ut aliquet sodales.', 'D005');
-insert into t_mail(id, text, recipient_doctor_id) values('9b647283-e52e-4951-a979-e52cc6b221a7', 'Nam tincidunt magna vestibulum ex finibus tempor et vitae ante.', 'D006');
-insert into t_mail(id, text, recipient_doctor_id) values('2d8a6ee3-a349-4106-804c-6956e9acf156', 'Cras sit amet ex vestibulum, aliquet urna id, bibendum lacus.', 'D013');
-insert into t_mail(id, text, recipient_doctor_id) values('241a677a-5b3d-47cc-a8bd-a603cb993035', 'Aenean aliquet nunc nec tellus aliquet porttitor.', 'D012');
-insert into t_mail(id, text, recipient_doctor_id) values('1f889473-c2d0-4b36-9e98-900643938cc3', 'Sed quis orci aliquet, lacinia erat non, pulvinar ante.', 'D011');
-insert into t_mail(id, text, recipient_doctor_id) values('d2afe536-df79-41f4-b9be-06cf4d6de7d8', 'Vivamus eu justo vitae ante sagittis imperdiet aliquet at lacus.', 'D010');
-insert into t_mail(id, text, recipient_doctor_id) values('71f16ef3-1b17-431f-b7a0-f1c89c10bca1', 'Etiam sit amet tortor varius, ultrices sapien at, sagittis leo.', 'D007');
-insert into t_mail(id, text, recipient_doctor_id) values('29574db3-44c6-4dc2-9789-15b7d03da27b', 'Morbi vestibulum lorem sit amet eleifend imperdiet.', 'D008');
-insert into t_mail(id, text, recipient_doctor_id) values('137b673f-9ee8-4789-9f49-9e55f094c15a', 'Nam eu diam ac mi consequat eleifend.', 'D009');
+insert into t_mail(id, text, recipient_doctor_id) values(X'3ab3d311585c498eaaca728c00beb86e', 'Lorem ipsum dolor sit amet, consectetur adipiscing elit.', 'D006');
+insert into t_mail(id, text, recipient_doctor_id) values(X'736bab445c6d4beb9e1e5be4f3b082a3', 'Sed quis risus a turpis blandit efficitur.', 'D013');
+insert into t_mail(id, text, recipient_doctor_id) values(X'aab462f404ab47d98ab53229404e8c13', 'Vivamus eget dui nec ligula imperdiet tempus.', 'D012');
+insert into t_mail(id, text, recipient_doctor_id) values(X'bb2bb081fcd141eba05491d6ae433a2c', 'Sed ut nunc commodo, tristique nisl eu, laoreet nulla.', 'D011');
+insert into t_mail(id, text, recipient_doctor_id) values(X'83b2f235f18341448eb82e4cac07d434', 'Nullam tempor felis eget varius efficitur.', 'D010');
+insert into t_mail(id, text, recipient_doctor_id) values(X'42b6858767564d4c9429eda577d6ffee', 'Mauris ultricies tellus at quam finibus imperdiet.', 'D007');
+insert into t_mail(id, text, recipient_doctor_id) values(X'3acac16ca6cd4be082ad0fc6d0cc7a61', 'Cras sed nunc ac ex lacinia auctor eget viverra ipsum.', 'D008');
+insert into t_mail(id, text, recipient_doctor_id) values(X'8b2ff04d198d433ab36fb4b1f5f4a195', 'Ut id tortor id magna commodo auctor id ac mi.', 'D009');
+insert into t_mail(id, text, recipient_doctor_id) values(X'8684ae6838eb46ee9856e8617a42d648', 'Nulla et neque at est consectetur scelerisque.', 'D004');
+insert into t_mail(id, text, recipient_doctor_id) values(X'73a2c66e8a3240fc96f248222e1814b5', 'Nullam accumsan nulla ac sem fringilla, ac ullamcorper lectus tristique.', 'D002');
+insert into t_mail(id, text, recipient_doctor_id) values(X'7f331dd109504991964c2383ba92699e', 'Vestibulum ut lacus a dui ornare faucibus.', 'D002');
+insert into t_mail(id, text, recipient_doctor_id) values(X'c18db36380694b619d39321859316c7d', 'Cras dapibus purus ut aliquet sodales.', 'D005');
+insert into t_mail(id, text, recipient_doctor_id) values(X'9b647283e52e4951a979e52cc6b221a7', 'Nam tincidunt magna vestibulum ex finibus tempor et vitae ante.', 'D006');
+insert into t_mail(id, text, recipient_doctor_id) values(X'2d8a6ee3a3494106804c6956e9acf156', 'Cras sit amet ex vestibulum, aliquet urna id, bibendum lacus.', 'D013');
+insert into t_mail(id, text, recipient_doctor_id) values(X'241a677a5b3d47cca8bda603cb993035', 'Aenean aliquet nunc nec tellus aliquet porttitor.', 'D012');
+insert into t_mail(id, text, recipient_doctor_id) values(X'1f889473c2d04b369e98900643938cc3', 'Sed quis orci aliquet, lacinia erat non, pulvinar ante.', 'D011');
+insert into t_mail(id, text, recipient_doctor_id) values(X'd2afe536df7941f4b9be06cf4d6de7d8', 'Vivamus eu justo vitae ante sagittis imperdiet aliquet at lacus.', 'D010');
+insert into t_mail(id, text, recipient_doctor_id) values(X'71f16ef31b17431fb7a0f1c89c10bca1', 'Etiam sit amet tortor varius, ultrices sapien at, sagittis leo.', 'D007');
+insert into t_mail(id, text, recipient_doctor_id) values(X'29574db344c64dc2978915b7d03da27b', 'Morbi vestibulum lorem sit amet eleifend imperdiet.', 'D008');
+insert into t_mail(id, text, recipient_doctor_id) values(X'137b673f9ee847899f499e55f094c15a', 'Nam eu diam ac mi consequat eleifend.', 'D009');
 
-insert into t_prescription(id, description) values('31571533-a9d4-4b10-ac46-8afe0247e6cd', 'Lorem ipsum dolor sit amet, consectetur adipiscing elit.');
-insert into t_prescription(id, description) values('643bce5b-9c74-4e6f-8ae2-5809a31bedb4', 'Donec vitae neque eget lacus bibendum suscipit.');
-insert into t_prescription(id, description) values('eaf55efd-c8bf-4f70-a6a4-60ab2b1d7824', 'Integer dignissim urna et odio fermentum, vitae sollicitudin enim sodales.');
-insert into t_prescription(id, description) values('b0a5e8d0-4ba7-491e-b109-3e0620a3b0c4', 'Nullam eu nulla pulvinar, accumsan tortor id, convallis ante.');
-insert into t_prescription(id, description) values('c4846634-e4a0-41eb-b9b0-778cfbf31642', 'Integer sagittis velit vitae ornare tincidunt.');
-insert into t_prescription(id, description) values('62f0ab70-f9ef-4bde-a9c3-a63aa15f4631', 'Maecenas ultrices eros sed scelerisque ullamcorper.');
-insert into t_prescription(id, description) values('ad377732-f2f2-4be8-84b9-537a2f919635', 'Ut et dui at nibh sagittis luctus.');
-insert into t_prescription(id, description) values('b3b56f38-3405-4d53-a286-71dee9cfca6a', 'Fusce vel ipsum eget mi malesuada pretium.');
-insert into t_prescription(id, description) values('a070afff-23f9-4efc-9b7f-91cd09ba08a5', 'Pellentesque venenatis massa id dolor gravida, nec vehicula nisi commodo.');
-insert into t_prescription(id, description) values('0b5ae054-c0f2-4cfa-ab56-e360f90519b5', 'Integer iaculis lorem id nisi mollis ultricies.');
-insert into t_prescription(id, description) values('5a6dfb97-52c1-4d24-bda4-b08251a9150c', 'Nunc sollicitudin nisl eget purus accumsan finibus.');
-insert into t_prescription(id, description) values('ebada6b3-4191-4b24-86cf-f88426fd61b1', 'Phasellus in tellus tincidunt lorem sollicitudin tincidunt ut vehicula augue.');
-insert into t_prescription(id, description) values('69a80238-0d85-4169-b295-c0851bd44f0f', 'Mauris luctus velit imperdiet tortor faucibus lobortis.');
-insert into t_prescription(id, description) values('22300513-e865-4f60-bf1e-8606691d24db', 'Suspendisse a ex sit amet massa ultricies eleifend in eget orci.');
-insert into t_prescription(id, description) values('714751b8-dbc4-49d1-b679-15d08a5b5e0f', 'Donec scelerisque sem a justo volutpat pharetra.');
-insert into t_prescription(id, description) values('b3bb91c8-c5ea-4722-8f76-b4869553dd3a', 'Maecenas suscipit nulla sit amet est efficitur placerat.');
-insert into t_prescription(id, description) values('4be3a09d-d5c3-4fd2-9789-070046e8cc42', 'Praesent semper magna eget dui vestibulum sagittis ut sit amet quam.');
-insert into t_prescription(id, description) values('25f57a12-7035-407d-9fbc-f0b0beecd311', 'Proin in massa convallis, tristique risus vitae, vulputate eros.');
-insert into t_prescription(id, description) values('f3246078-7756-429c-a49e-2cc885cb1605', 'Mauris tempus mauris lobortis, maximus enim et, mattis magna.');
-insert into t_prescription(id, description) values('681b3a1c-38c2-408e-8ea9-be6a9345f070', 'Quisque non dolor rhoncus, faucibus augue sed, elementum erat.');
+insert into t_prescription(id, description) values(X'31571533a9d44b10ac468afe0247e6cd', 'Lorem ipsum dolor sit amet, consectetur adipiscing elit.');
+insert into t_prescription(id, description) values(X'643bce5b9c744e6f8ae25809a31bedb4', 'Donec vitae neque eget lacus bibendum suscipit.');
+insert into t_prescription(id, description) values(X'eaf55efdc8bf4f70a6a460ab2b1d7824', 'Integer dignissim urna et odio fermentum, vitae sollicitudin enim sodales.');
+insert into t_prescription(id, description) values(X'b0a5e8d04ba7491eb1093e0620a3b0c4', 'Nullam eu nulla pulvinar, accumsan tortor id, convallis ante.');
+insert into t_prescription(id, description) values(X'c4846634e4a041ebb9b0778cfbf31642', 'Integer sagittis velit vitae ornare tincidunt.');
+insert into t_prescription(id, description) values(X'62f0ab70f9ef4bdea9c3a63aa15f4631', 'Maecenas ultrices eros sed scelerisque ullamcorper.');
+insert into t_prescription(id, description) values(X'ad377732f2f24be884b9537a2f919635', 'Ut et dui at nibh sagittis luctus.');
+insert into t_prescription(id, description) values(X'b3b56f3834054d53a28671dee9cfca6a', 'Fusce vel ipsum eget mi malesuada pretium.');
+insert into t_prescription(id, description) values(X'a070afff23f94efc9b7f91cd09ba08a5', 'Pellentesque venenatis massa id dolor gravida, nec vehicula nisi commodo.');
+insert into t_prescription(id, description) values(X'0b5ae054c0f24cfaab56e360f90519b5', 'Integer iaculis lorem id nisi mollis ultricies.');
+insert into t_prescription(id, description) values(X'5a6dfb9752c14d24bda4b08251a9150c', 'Nunc sollicitudin nisl eget purus accumsan finibus.');
+insert into t_prescription(id, description) values(X'ebada6b341914b2486cff88426fd61b1', 'Phasellus in tellus tincidunt lorem sollicitudin tincidunt ut vehicula augue.');
+insert into t_prescription(id, description) values(X'69a802380d854169b295c0851bd44f0f', 'Mauris luctus velit imperdiet tortor faucibus lobortis.');
+insert into t_prescription(id, description) values(X'22300513e8654f60bf1e8606691d24db', 'Suspendisse a ex sit amet massa ultricies eleifend in eget orci.');
+insert into t_prescription(id, description) values(X'714751b8dbc449d1b67915d08a5b5e0f', 'Donec scelerisque sem a justo volutpat pharetra.');
+insert into t_prescription(id, description) values(X'b3bb91c8c5ea47228f76b4869553dd3a', 'Maecenas suscipit nulla sit amet est efficitur placerat.');
+insert into t_prescription(id, description) values(X'4be3a09dd5c34fd29789070046e8cc42', 'Praesent semper magna eget dui vestibulum sagittis ut sit amet quam.');
+insert into t_prescription(id, description) values(X'25f57a127035407d9fbcf0b0beecd311', 'Proin in massa convallis, tristique risus vitae, vulputate eros.');
+insert into t_prescription(id, description) values(X'f32460787756429ca49e2cc885cb1605', 'Mauris tempus mauris lobortis, maximus enim et, mattis magna.');
+insert into t_prescription(id, description) values(X'681b3a1c38c2408e8ea9be6a9345f070', 'Quisque non dolor rhoncus, faucibus augue sed, elementum erat.');
 
-insert into t_symptom(id, description) values('142763cf-6eeb-47a5-b8f8-8ec85f0025c4', 'Lorem ipsum dolor sit amet, consectetur adipiscing elit.');
-insert into t_symptom(id, description) values('8dddad2f-b9e0-48fb-be56-298c9c512015', 'Curabitur ut ante rutrum, tincidunt magna nec, gravida sapien.');
-insert into t_symptom(id, description) values('a46b49de-de29-4912-a13e-62c0cf995317', 'Suspendisse at nibh lacinia, suscipit nisl eget, dapibus augue.');
-insert into t_symptom(id, description) values('4a3e7cc1-2298-4ff0-9d7a-1d0f4377e24a', 'Fusce tristique libero eget nibh commodo, ac convallis nunc ullamcorper.');
-insert into t_symptom(id, description) values('bde02c78-723b-416e-ad87-3a917a11cf5f', 'Donec mattis felis vel arcu faucibus hendrerit sed non enim.');
-insert into t_symptom(id, description) values('5b0ce20b-4ecf-4b23-ae8b-24fb085767ff', 'Nunc sed mi eget libero cursus maximus molestie in nibh.');
-insert into t_symptom(id, description) values('bd3fb440-2bbd-4aaa-9e7f-3fef7e72916c', 'Ut imperdiet metus sit amet commodo luctus.');
-insert into t_symptom(id, description) values('65f20273-feb3-4a22-80d9-90b756dca5ab', 'Ut molestie elit sit amet ante maximus, ac tincidunt nisi mattis.');
-insert into t_symptom(id, description) values('8682091d-376f-4229-8f8b-ae03cc2c3c24', 'Fusce condimentum neque ac odio vulputate, eget vehicula ex ultricies.');
-insert into t_symptom(id, description) values('71823f86-6bfd-4d62-a83c-9c0b33c355f6', 'Phasellus a lorem porta, vulputate tortor vel, interdum velit.');
-insert into t_symptom(id, description) values('a3c3b562-8b87-42de-be73-13862451933e', 'In volutpat turpis in quam lobortis, nec condimentum leo mollis.');
-insert into t_symptom(id, description) values('ff39ec29-11ee-4ee8-bce7-a97216eff1bd', 'Sed malesuada nulla quis neque pulvinar consequat.');
-insert into t_symptom(id, description) values('44c1e292-9d00-484c-b9ff-ff2c6d903bbd', 'Curabitur dignissim metus ac felis sagittis, eu consequat erat luctus.');
-insert into t_symptom(id, description) values('57ad62b6-4fa1-46e3-93fb-99e43b67d74e', 'Proin dictum turpis lobortis enim lacinia, et rhoncus enim posuere.');
-insert into t_symptom(id, description) values('3f519dd2-ca6e-4076-924d-983bd4272257', 'Duis varius ipsum id nisl interdum, nec luctus leo imperdiet.');
-insert into t_symptom(id, description) values('312533c5-0344-43a2-8b26-ef9af85219ef', 'Ut sodales risus vitae egestas semper.');
-insert into t_symptom(id, description) values('0231fb3b-795b-4955-a55a-2f490e4df6ea', 'Nulla lacinia enim id nisi sodales, consequat pharetra ipsum pulvinar.');
-insert into t_symptom(id, description) values('631460b1-4327-4358-bbaa-bde06d0b494e', 'Ut eu ex ut diam ultricies bibendum sed in erat.');
-insert into t_symptom(id, description) values('dd76168d-ceed-4486-b4bb-43bcb4bd05ce', 'In at diam in arcu auctor interdum.');
-insert into t_symptom(id, description) values('e61db19c-0d6f-420d-9d33-1ee6edeb426c', 'Pellentesque aliquet ex vel velit convallis, sit amet dictum arcu fringilla.');
+insert into t_symptom(id, description) values(X'142763cf6eeb47a5b8f88ec85f0025c4', 'Lorem ipsum dolor sit amet, consectetur adipiscing elit.');
+insert into t_symptom(id, description) values(X'8dddad2fb9e048fbbe56298c9c512015', 'Curabitur ut ante rutrum, tincidunt magna nec, gravida sapien.');
+insert into t_symptom(id, description) values(X'a46b49dede294912a13e62c0cf995317', 'Suspendisse at nibh lacinia, suscipit nisl eget, dapibus augue.');
+insert into t_symptom(id, description) values(X'4a3e7cc122984ff09d7a1d0f4377e24a', 'Fusce tristique libero eget nibh commodo, ac convallis nunc ullamcorper.');
+insert into t_symptom(id, description) values(X'bde02c78723b416ead873a917a11cf5f', 'Donec mattis felis vel arcu faucibus hendrerit sed non enim.');
+insert into t_symptom(id, description) values(X'5b0ce20b4ecf4b23ae8b24fb085767ff', 'Nunc sed mi eget libero cursus maximus molestie in nibh.');
+insert into t_symptom(id, description) values(X'bd3fb4402bbd4aaa9e7f3fef7e72916c', 'Ut imperdiet metus sit amet commodo luctus.');
+insert into t_symptom(id, description) values(X'65f20273feb34a2280d990b756dca5ab', 'Ut molestie elit sit amet ante maximus, ac tincidunt nisi mattis.');
+insert into t_symptom(id, description) values(X'8682091d376f42298f8bae03cc2c3c24', 'Fusce condimentum neque ac odio vulputate, eget vehicula ex ultricies.');
+insert into t_symptom(id, description) values(X'71823f866bfd4d62a83c9c0b33c355f6', 'Phasellus a lorem porta, vulputate tortor vel, interdum velit.');
+insert into t_symptom(id, description) values(X'a3c3b5628b8742debe7313862451933e', 'In volutpat turpis in quam lobortis, nec condimentum leo mollis.');
+insert into t_symptom(id, description) values(X'ff39ec2911ee4ee8bce7a97216eff1bd', 'Sed malesuada nulla quis neque pulvinar consequat.');
+insert into t_symptom(id, description) values(X'44c1e2929d00484cb9ffff2c6d903bbd', 'Curabitur dignissim metus ac felis sagittis, eu consequat erat luctus.');
+insert into t_symptom(id, description) values(X'57ad62b64fa146e393fb99e43b67d74e', 'Proin dictum turpis lobortis enim lacinia, et rhoncus enim posuere.');
+insert into t_symptom(id, description) values(X'3f519dd2ca6e4076924d983bd4272257', 'Duis varius ipsum id nisl interdum, nec luctus leo imperdiet.');
+insert into t_symptom(id, description) values(X'312533c5034443a28b26ef9af85219ef', 'Ut sodales risus vitae egestas semper.');
+insert into t_symptom(id, description) values(X'0231fb3b795b4955a55a2f490e4df6ea', 'Nulla lacinia enim id nisi sodales, consequat pharetra ipsum pulvinar.');
+insert into t_symptom(id, description) values(X'631460b143274358bbaabde06d0b494e', 'Ut eu ex ut diam ultricies bibendum sed in erat.');
+insert into t_symptom(id, description) values(X'dd76168dceed4486b4bb43bcb4bd05ce', 'In at diam in arcu auctor interdum.');
+insert into t_symptom(id, description) values(X'e61db19c0d6f420d9d331ee6edeb426c', 'Pellentesque aliquet ex vel velit convallis, sit amet dictum arcu fringilla.');
@@ -1 +1,2 @@
-delete from t_correspondence where 1;
\ No newline at end of file
+delete from t_correspondence where 1;
+delete from t_tombstone where 1;
\ No newline at end of file